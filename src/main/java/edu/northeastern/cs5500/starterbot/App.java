@@ -3,14 +3,55 @@ package edu.northeastern.cs5500.starterbot;
 import static spark.Spark.get;
 import static spark.Spark.port;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.northeastern.cs5500.starterbot.service.HealthReport;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public class App {
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final String JSON_CONTENT_TYPE = "application/json";
+    static final int SERVICE_UNAVAILABLE = 503;
 
     public static void main(String[] arg) {
 
-        DaggerBotComponent.create().bot().start();
+        BotComponent component = DaggerBotComponent.create();
+        ObjectMapper objectMapper = new ObjectMapper();
 
+        // Serve HTTP before starting the bot so the health checks can report a failed start
         port(8080);
 
         get("/", (request, response) -> "{\"status\": \"OK\"}");
+
+        get(
+                "/metrics",
+                (request, response) -> {
+                    response.type(PROMETHEUS_CONTENT_TYPE);
+                    return component.metrics().scrape();
+                });
+
+        get(
+                "/health/live",
+                (request, response) -> {
+                    response.type(JSON_CONTENT_TYPE);
+                    return objectMapper.writeValueAsString(component.health().live());
+                });
+
+        get(
+                "/health/ready",
+                (request, response) -> {
+                    HealthReport report = component.health().ready();
+                    if (!report.isHealthy()) {
+                        response.status(SERVICE_UNAVAILABLE);
+                    }
+                    response.type(JSON_CONTENT_TYPE);
+                    return objectMapper.writeValueAsString(report);
+                });
+
+        try {
+            component.bot().start();
+        } catch (Exception e) {
+            log.error("Unable to start the bot", e);
+        }
     }
 }
@@ -2,15 +2,30 @@ package edu.northeastern.cs5500.starterbot;
 
 import dagger.Component;
 import edu.northeastern.cs5500.starterbot.command.CommandModule;
+import edu.northeastern.cs5500.starterbot.controller.CollaborativeFilteringJob;
+import edu.northeastern.cs5500.starterbot.controller.DomainEventSubscribers;
+import edu.northeastern.cs5500.starterbot.controller.MeetingScheduler;
 import edu.northeastern.cs5500.starterbot.controller.ReminderController;
+import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.listener.MessageListener;
 import edu.northeastern.cs5500.starterbot.repository.RepositoryModule;
 import edu.northeastern.cs5500.starterbot.seeder.InterestSeeder;
 import edu.northeastern.cs5500.starterbot.seeder.RoomSeeder;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
+import edu.northeastern.cs5500.starterbot.service.HealthService;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.OutboxDispatcher;
 import edu.northeastern.cs5500.starterbot.service.ServiceModule;
+import edu.northeastern.cs5500.starterbot.service.SessionModule;
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -22,10 +37,15 @@ import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
             CommandModule.class,
             RepositoryModule.class,
             ServiceModule.class,
+            SessionModule.class,
         })
 @Singleton
 interface BotComponent {
     public Bot bot();
+
+    public MetricsService metrics();
+
+    public HealthService health();
 }
 
 @Slf4j
@@ -40,45 +60,83 @@ public class Bot {
     @Inject InterestSeeder interestSeeder;
     @Inject RoomSeeder roomSeeder;
     @Inject ReminderController reminderController;
+    @Inject MeetingScheduler meetingScheduler;
+    @Inject StudentController studentController;
+    @Inject DirectMessageService directMessageService;
+    @Inject DomainEventSubscribers domainEventSubscribers;
+    @Inject OutboxDispatcher outboxDispatcher;
+    @Inject CollaborativeFilteringJob collaborativeFilteringJob;
 
     private static final String WELCOME_CHANNEL = "1317335221544161291";
     private static final String TADA_EMOJI = "\uD83C\uDF89";
     private static final String ROCKET_EMOJI = "\uD83D\uDE80";
     private static final String STAR_EMOJI = "\u2B50";
+    private static final int STARTUP_THREADS = 4;
+
+    private final ExecutorService startupExecutor = Executors.newFixedThreadPool(STARTUP_THREADS);
 
     void start() {
-        var span = openTelemetryService.span("updateCommands", SpanKind.PRODUCER);
+        var span = openTelemetryService.span("start", SpanKind.PRODUCER);
+        long startNanos = System.nanoTime();
         try (Scope scope = span.makeCurrent()) {
+            // Listeners only need the JDA instance, so interactions are handled while the
+            // remaining stages run in the background
             jda.addEventListener(messageListener);
-            CommandListUpdateAction commands = jda.updateCommands();
-            commands.addCommands(messageListener.allCommandData());
-            commands.queue();
-            interestSeeder.seedInterests();
-
-            String channelId = WELCOME_CHANNEL;
-            String welcomeMessage =
-                    TADA_EMOJI
-                            + " Welcome to StudyBuddyFinder!\n"
-                            + " Start with /profile, then we will find some matching groups for you!\n\n"
-                            + ROCKET_EMOJI
-                            + "Some helpful commands:\n"
-                            + "/mystudygroups : Manage your study groups and create meetings\n"
-                            + "/meetings : Manage your meetings\n"
-                            + "/interests: When you want to change your interests\n"
-                            + "/findgroups: When you want to find some more groups that match your interests\n"
-                            + "/viewapplications: View applications to your groups\n"
-                            + "/reminder: Set up reminders for your meetings\n"
-                            + STAR_EMOJI
-                            + " There are more, feel free to explore!";
-
-            var channel = jda.getTextChannelById(channelId);
-            if (channel != null) {
-                channel.sendMessage(welcomeMessage).queue();
-            } else {
-                log.error("Channel not found. Check the channel ID.");
-            }
-            roomSeeder.seedRooms();
-            reminderController.start();
+
+            ExecutorService executor = Context.current().wrap(startupExecutor);
+            CompletableFuture<Void> commands =
+                    stage(executor, "updateCommands", this::updateCommands);
+            CompletableFuture<Void> interests =
+                    stage(executor, "seedInterests", interestSeeder::seedInterests);
+            CompletableFuture<Void> rooms = stage(executor, "seedRooms", roomSeeder::seedRooms);
+            CompletableFuture<Void> students =
+                    stage(executor, "seedStudents", studentController::seedFakeStudents);
+            CompletableFuture<Void> events =
+                    stage(executor, "startDomainEvents", domainEventSubscribers::start);
+            CompletableFuture<Void> ready = stage(executor, "awaitReady", this::awaitReady);
+            CompletableFuture<Void> welcome =
+                    ready.thenRunAsync(
+                            () -> runStage("welcomeMessage", this::sendWelcomeMessage), executor);
+            CompletableFuture<Void> directMessages =
+                    ready.thenRunAsync(
+                            () -> runStage("startDirectMessages", directMessageService::start),
+                            executor);
+            CompletableFuture<Void> outbox =
+                    ready.thenRunAsync(
+                            () -> runStage("startOutbox", outboxDispatcher::start), executor);
+            CompletableFuture<Void> affinities =
+                    ready.thenRunAsync(
+                            () -> runStage("startGroupAffinity", collaborativeFilteringJob::start),
+                            executor);
+            CompletableFuture<Void> reminders =
+                    ready.thenRunAsync(
+                            () -> runStage("startReminders", reminderController::start),
+                            executor);
+            CompletableFuture<Void> meetings =
+                    ready.thenRunAsync(
+                            () -> runStage("startMeetingCleanup", meetingScheduler::start),
+                            executor);
+
+            CompletableFuture.allOf(
+                            commands,
+                            interests,
+                            rooms,
+                            students,
+                            events,
+                            welcome,
+                            directMessages,
+                            outbox,
+                            affinities,
+                            reminders,
+                            meetings)
+                    .whenComplete(
+                            (result, error) -> {
+                                log.info(
+                                        "Startup finished in {} ms",
+                                        TimeUnit.NANOSECONDS.toMillis(
+                                                System.nanoTime() - startNanos));
+                                startupExecutor.shutdown();
+                            });
         } catch (Exception e) {
             log.error("Unable to add message listeners", e);
             span.recordException(e);
@@ -86,4 +144,68 @@ public class Bot {
             span.end();
         }
     }
+
+    /** Schedule a startup stage that has no dependencies on the other stages. */
+    private CompletableFuture<Void> stage(ExecutorService executor, String name, Runnable task) {
+        return CompletableFuture.runAsync(() -> runStage(name, task), executor);
+    }
+
+    /** Run a single startup stage inside its own span and log how long it took. */
+    private void runStage(String name, Runnable task) {
+        var span = openTelemetryService.span(name, SpanKind.INTERNAL);
+        long stageStartNanos = System.nanoTime();
+        try (Scope scope = span.makeCurrent()) {
+            task.run();
+        } catch (Exception e) {
+            log.error("Startup stage {} failed", name, e);
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            long elapsedMillis =
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStartNanos);
+            span.setAttribute("durationMs", elapsedMillis);
+            span.end();
+            log.info("Startup stage {} finished in {} ms", name, elapsedMillis);
+        }
+    }
+
+    private void updateCommands() {
+        CommandListUpdateAction commands = jda.updateCommands();
+        commands.addCommands(messageListener.allCommandData());
+        commands.complete();
+    }
+
+    private void awaitReady() {
+        try {
+            jda.awaitReady();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for JDA", e);
+        }
+    }
+
+    private void sendWelcomeMessage() {
+        String welcomeMessage =
+                TADA_EMOJI
+                        + " Welcome to StudyBuddyFinder!\n"
+                        + " Start with /profile, then we will find some matching groups for you!\n\n"
+                        + ROCKET_EMOJI
+                        + "Some helpful commands:\n"
+                        + "/mystudygroups : Manage your study groups and create meetings\n"
+                        + "/meetings : Manage your meetings\n"
+                        + "/interests: When you want to change your interests\n"
+                        + "/findgroups: When you want to find some more groups that match your interests\n"
+                        + "/viewapplications: View applications to your groups\n"
+                        + "/reminder: Set up reminders for your meetings\n"
+                        + STAR_EMOJI
+                        + " There are more, feel free to explore!";
+
+        var channel = jda.getTextChannelById(WELCOME_CHANNEL);
+        if (channel != null) {
+            channel.sendMessage(welcomeMessage).queue();
+        } else {
+            log.error("Channel not found. Check the channel ID.");
+        }
+    }
 }
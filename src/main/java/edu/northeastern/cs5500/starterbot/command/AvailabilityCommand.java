@@ -3,7 +3,8 @@ package edu.northeastern.cs5500.starterbot.command;
 import edu.northeastern.cs5500.starterbot.controller.StudentAvailabilityController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.model.Student;
-import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import edu.northeastern.cs5500.starterbot.model.WeeklyTimeSlot;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -13,6 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.components.ActionRow;
@@ -28,12 +31,20 @@ public class AvailabilityCommand
     static final String ADD_BUTTON = NAME + ":add_time";
     static final String REMOVE_BUTTON = NAME + ":remove_time";
     static final String NOT_NOW = NAME + ":not";
+    static final String TIME_ZONE_OPTION = "timezone";
     static List<String> selectedTime = new ArrayList<>();
     static final String FINISH_BUTTON = NAME + ":finish";
     private static final String TIME_EMOJI = "\u23f0";
     private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-    private final List<String> DAY_ORDER =
-            List.of("Sunday", "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday");
+    private final List<DayOfWeek> DAY_ORDER =
+            List.of(
+                    DayOfWeek.SUNDAY,
+                    DayOfWeek.MONDAY,
+                    DayOfWeek.TUESDAY,
+                    DayOfWeek.WEDNESDAY,
+                    DayOfWeek.THURSDAY,
+                    DayOfWeek.FRIDAY,
+                    DayOfWeek.SATURDAY);
 
     // Avoid using magic numbers, the date index will always be 0
     static final Integer DAY_INDEX = 0;
@@ -70,7 +81,12 @@ public class AvailabilityCommand
     @Override
     @Nonnull
     public CommandData getCommandData() {
-        return Commands.slash(getName(), "Set your availability");
+        return Commands.slash(getName(), "Set your availability")
+                .addOption(
+                        OptionType.STRING,
+                        TIME_ZONE_OPTION,
+                        "The time zone you enter and see times in, e.g. America/New_York",
+                        false);
     }
 
     /**
@@ -83,6 +99,18 @@ public class AvailabilityCommand
         log.info("event: /availiability");
 
         String discordUserId = event.getUser().getId();
+        String timeZoneMessage = "";
+        OptionMapping timeZoneOption = event.getOption(TIME_ZONE_OPTION);
+        if (timeZoneOption != null) {
+            String timeZone = timeZoneOption.getAsString();
+            if (!studentController.setTimeZoneForStudent(discordUserId, timeZone)) {
+                event.reply("Unknown time zone: " + timeZone + ". Try e.g. America/New_York.")
+                        .setEphemeral(true)
+                        .queue();
+                return;
+            }
+            timeZoneMessage = "Your time zone is now " + timeZone.trim() + ".\n\n";
+        }
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
 
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
@@ -90,7 +118,7 @@ public class AvailabilityCommand
                 messageCreateBuilder.addActionRow(Button.primary(ADD_BUTTON, "Add Availability"));
 
         // only show remove button when there are availibility to be removed
-        List<TimeSlot> currentAvailability = student.getAvailability();
+        List<WeeklyTimeSlot> currentAvailability = student.getAvailability();
         if (currentAvailability != null && !currentAvailability.isEmpty()) {
             messageCreateBuilder.addActionRow(Button.danger(REMOVE_BUTTON, "Remove Availability"));
         }
@@ -99,7 +127,8 @@ public class AvailabilityCommand
                 messageCreateBuilder.addActionRow(Button.secondary(NOT_NOW, "Not Now"));
         messageCreateBuilder =
                 messageCreateBuilder.setContent(
-                        getCurrentAvailability(student)
+                        timeZoneMessage
+                                + getCurrentAvailability(student)
                                 + "\n\nDo you want to update your availability?");
         event.reply(messageCreateBuilder.build()).setEphemeral(true).setEphemeral(true).queue();
     }
@@ -109,7 +138,7 @@ public class AvailabilityCommand
      *
      * @param availability the list of availability
      */
-    private List<TimeSlot> sortAvailability(List<TimeSlot> availability) {
+    private List<WeeklyTimeSlot> sortAvailability(List<WeeklyTimeSlot> availability) {
         // Sort availability by day (Sunday to Saturday) and then by start time
         availability.sort(
                 (slot1, slot2) -> {
@@ -120,7 +149,7 @@ public class AvailabilityCommand
                     if (dayComparison != 0) {
                         return dayComparison;
                     }
-                    return slot1.getStart().compareTo(slot2.getStart());
+                    return Integer.compare(slot1.getStartMinute(), slot2.getStartMinute());
                 });
 
         return availability;
@@ -132,7 +161,7 @@ public class AvailabilityCommand
      * @param student student
      */
     private String getCurrentAvailability(Student student) {
-        List<TimeSlot> currentAvailability = sortAvailability(student.getAvailability());
+        List<WeeklyTimeSlot> currentAvailability = sortAvailability(student.getAvailability());
 
         if (currentAvailability == null || currentAvailability.isEmpty()) {
             return "You have not set any availability yet.";
@@ -140,8 +169,8 @@ public class AvailabilityCommand
 
         // Merge overlapping or contiguous time slots
         Map<String, List<String>> mergedAvailability = new LinkedHashMap<>();
-        for (TimeSlot timeSlot : currentAvailability) {
-            String day = timeSlot.getDay();
+        for (WeeklyTimeSlot timeSlot : currentAvailability) {
+            String day = timeSlot.getDayName();
             mergedAvailability.putIfAbsent(day, new ArrayList<>());
 
             List<String> slotsForDay = mergedAvailability.get(day);
@@ -151,11 +180,11 @@ public class AvailabilityCommand
                 String lastSlot = slotsForDay.get(slotsForDay.size() - 1);
                 String[] lastSlotTimes = lastSlot.split(" - ");
                 LocalTime lastEnd = LocalTime.parse(lastSlotTimes[1], timeFormatter);
-                LocalTime currentStart = timeSlot.getStart().toLocalTime();
+                LocalTime currentStart = timeSlot.getStartTime();
 
                 if (!lastEnd.isBefore(currentStart)) {
                     // Merge overlapping or contiguous slots
-                    LocalTime currentEnd = timeSlot.getEnd().toLocalTime();
+                    LocalTime currentEnd = timeSlot.getEndTime();
                     String mergedSlot = lastSlotTimes[0] + " - " + currentEnd.format(timeFormatter);
                     slotsForDay.set(slotsForDay.size() - 1, mergedSlot);
                 } else {
@@ -163,16 +192,16 @@ public class AvailabilityCommand
                     slotsForDay.add(
                             String.format(
                                     "%s - %s",
-                                    timeSlot.getStart().toLocalTime().format(timeFormatter),
-                                    timeSlot.getEnd().toLocalTime().format(timeFormatter)));
+                                    timeSlot.getStartTime().format(timeFormatter),
+                                    timeSlot.getEndTime().format(timeFormatter)));
                 }
             } else {
                 // Add the first time slot for the day
                 slotsForDay.add(
                         String.format(
                                 "%s - %s",
-                                timeSlot.getStart().toLocalTime().format(timeFormatter),
-                                timeSlot.getEnd().toLocalTime().format(timeFormatter)));
+                                timeSlot.getStartTime().format(timeFormatter),
+                                timeSlot.getEndTime().format(timeFormatter)));
             }
         }
 
@@ -263,7 +292,7 @@ public class AvailabilityCommand
     private void handleRemoveTimeSlots(ButtonInteractionEvent event) {
         String discordUserId = event.getUser().getId();
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
-        List<TimeSlot> availability = sortAvailability(student.getAvailability());
+        List<WeeklyTimeSlot> availability = sortAvailability(student.getAvailability());
 
         StringSelectMenu.Builder menuBuilder =
                 StringSelectMenu.create(TIMESLOT_SELECT)
@@ -271,19 +300,16 @@ public class AvailabilityCommand
                         .setMaxValues(availability.size())
                         .setMinValues(1);
 
-        for (TimeSlot slot : availability) {
+        for (WeeklyTimeSlot slot : availability) {
             String display =
                     String.format(
                             "%s: %s - %s",
-                            slot.getDay(),
-                            slot.getStart().toLocalTime().format(timeFormatter),
-                            slot.getEnd().toLocalTime().format(timeFormatter));
+                            slot.getDayName(),
+                            slot.getStartTime().format(timeFormatter),
+                            slot.getEndTime().format(timeFormatter));
             String value =
                     String.format(
-                            "%s|%s|%s",
-                            slot.getDay(),
-                            slot.getStart().toLocalTime(),
-                            slot.getEnd().toLocalTime());
+                            "%s|%s|%s", slot.getDayName(), slot.getStartTime(), slot.getEndTime());
 
             menuBuilder.addOption(display, value);
         }
@@ -444,7 +470,7 @@ public class AvailabilityCommand
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
         messageCreateBuilder =
                 messageCreateBuilder.addActionRow(Button.primary(ADD_BUTTON, "Add Availability"));
-        List<TimeSlot> currentAvailability = student.getAvailability();
+        List<WeeklyTimeSlot> currentAvailability = student.getAvailability();
         if (currentAvailability != null && !currentAvailability.isEmpty()) {
             messageCreateBuilder.addActionRow(Button.danger(REMOVE_BUTTON, "Remove Availability"));
         }
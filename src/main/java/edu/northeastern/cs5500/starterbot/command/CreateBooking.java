@@ -11,12 +11,13 @@ import edu.northeastern.cs5500.starterbot.model.Room;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -31,7 +32,7 @@ public class CreateBooking implements StringSelectHandler, ButtonHandler {
     @Inject StudentController studentController;
     @Inject MeetingController meetingController;
     @Inject StudyGroupController studyGroupController;
-    @Inject JDA jda;
+    @Inject DirectMessageService directMessageService;
 
     // id
     static final String SELECT_ROOM = "select-room";
@@ -74,15 +75,16 @@ public class CreateBooking implements StringSelectHandler, ButtonHandler {
      * first time slot of the provided AbstractMeeting.
      *
      * @param meeting the AbstractMeeting object containing the meeting details
+     * @param zoneId the zone of the student booking
      * @return a MessageCreateBuilder object containing the dropdown menu
      */
-    MessageCreateBuilder startCreateBooking(AbstractMeeting meeting) {
+    MessageCreateBuilder startCreateBooking(AbstractMeeting meeting, ZoneId zoneId) {
         log.info("event: createbooking");
 
         Booking booking = bookingController.getBookingForMeeting(meeting);
 
         if (booking != null) {
-            String bookingDetails = getBookingDetails(meeting, booking);
+            String bookingDetails = getBookingDetails(meeting, booking, zoneId);
             return new MessageCreateBuilder()
                     .setContent(
                             CALENDAR_EMOJI
@@ -169,25 +171,13 @@ public class CreateBooking implements StringSelectHandler, ButtonHandler {
         }
 
         StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
-        String message = getBookingDetails(meeting, booking);
 
-        // Notify each member in the study group
+        // Notify each member in the study group, with the time in their own zone
         for (Student member : studyGroupController.getMemberListOfStudyGroup(studyGroup)) {
-            jda.retrieveUserById(member.getDiscordUserId())
-                    .queue(
-                            user -> {
-                                user.openPrivateChannel()
-                                        .flatMap(channel -> channel.sendMessage(message))
-                                        .queue();
-                            },
-                            error -> {
-                                // Handle cases where the user cannot be notified (e.g., invalid
-                                // Discord ID)
-                                log.error(
-                                        "Failed to send notification to user: "
-                                                + member.getDiscordUserId(),
-                                        error);
-                            });
+            String message =
+                    getBookingDetails(
+                            meeting, booking, StudentController.getZoneForStudent(member));
+            directMessageService.send(member.getDiscordUserId(), message);
         }
     }
 
@@ -196,17 +186,18 @@ public class CreateBooking implements StringSelectHandler, ButtonHandler {
      *
      * @param meeting the abstract meeting
      * @param booking the booking
+     * @param zoneId the zone of the reader
      * @return the booking info
      */
-    private String getBookingDetails(AbstractMeeting meeting, Booking booking) {
+    private String getBookingDetails(AbstractMeeting meeting, Booking booking, ZoneId zoneId) {
         StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
         Room room = bookingController.getRoombyId(booking.getRoomId());
 
         // Format the meeting date and time
         TimeSlot timeSlot = meeting.getTimeSlots().get(0);
-        String meetingDate = timeSlot.getStart().format(dateFormatter);
-        String meetingStartTime = timeSlot.getStart().format(timeFormatter);
-        String meetingEndTime = timeSlot.getEnd().format(timeFormatter);
+        String meetingDate = timeSlot.getStartIn(zoneId).format(dateFormatter);
+        String meetingStartTime = timeSlot.getStartIn(zoneId).format(timeFormatter);
+        String meetingEndTime = timeSlot.getEndIn(zoneId).format(timeFormatter);
         String message =
                 String.format(
                         "%s The meeting for your study group '%s' is booked!\n\n"
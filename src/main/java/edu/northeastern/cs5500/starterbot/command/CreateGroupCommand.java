@@ -1,21 +1,18 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import edu.northeastern.cs5500.starterbot.controller.InterestController;
+import edu.northeastern.cs5500.starterbot.controller.OutboxController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
-import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.service.SessionStore;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.entities.Guild;
-import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
@@ -44,7 +41,8 @@ public class CreateGroupCommand
     @Inject StudentController studentController;
     @Inject StudyGroupController studyGroupController;
     @Inject InterestController interestController;
-    @Inject InMemoryRepository<StudyGroup> studyGroupMemory;
+    @Inject OutboxController outboxController;
+    @Inject SessionStore<StudyGroup> studyGroupMemory;
     // Action constants
     static final String SELECT_INTEREST_ACTION = "select-interest";
     static final String ENABLE_AUTO_APPROVE_ACTION = "enable-auto-approve";
@@ -61,6 +59,8 @@ public class CreateGroupCommand
     private static final String ROCKET_EMOJI = "\uD83D\uDE80";
     private static final String WINK_EMOJI = "\uD83D\uDE09";
     private static final String PARTY_EMOJI = "\uD83C\uDF89";
+    private static final String NO_DRAFT_MESSAGE =
+            CROSS_MARK_EMOJI + " Error: No creating study group found for you. Please try again.";
 
     @Inject
     public CreateGroupCommand() {
@@ -237,7 +237,7 @@ public class CreateGroupCommand
                             .autoApprove(true) // Default to true; adjust as needed
                             .customCriteria("")
                             .build();
-            studyGroupMemory.add(newStudyGroup);
+            studyGroupMemory.put(discordUserId, newStudyGroup);
 
             // Create the modal
             Modal modal =
@@ -333,18 +333,18 @@ public class CreateGroupCommand
                 return;
             }
 
-            Student groupLeader = studentController.getStudentByDiscordUserId(discordUserId);
-            StudyGroupController temporaryStudyGroupController =
-                    new StudyGroupController(studyGroupMemory, null, null);
-            StudyGroup currentGroup =
-                    temporaryStudyGroupController.getStudyGroupForLeader(groupLeader);
+            StudyGroup currentGroup = studyGroupMemory.get(discordUserId);
+            if (currentGroup == null) {
+                event.reply(NO_DRAFT_MESSAGE).setEphemeral(true).queue();
+                return;
+            }
             log.info(currentGroup.getInterestSet().toString());
             currentGroup.setName(groupName);
             currentGroup.setDescription(groupDescription);
             currentGroup.setMaxMembers(maxMembers);
 
             // Save the study group
-            studyGroupMemory.update(currentGroup);
+            studyGroupMemory.put(discordUserId, currentGroup);
 
             MessageCreateBuilder messageBuilder =
                     new MessageCreateBuilder()
@@ -381,18 +381,10 @@ public class CreateGroupCommand
         String discordUserId = event.getUser().getId();
         Student groupLeader = studentController.getStudentByDiscordUserId(discordUserId);
 
-        StudyGroupController temporaryStudyGroupController =
-                new StudyGroupController(studyGroupMemory, null, null);
-        log.info("studyGroupMemory size: " + studyGroupMemory.getAll().size());
-
-        StudyGroup currentGroup = temporaryStudyGroupController.getStudyGroupForLeader(groupLeader);
+        StudyGroup currentGroup = studyGroupMemory.get(discordUserId);
         // Handling situation if no group found
         if (currentGroup == null) {
-            event.reply(
-                            CROSS_MARK_EMOJI
-                                    + " Error: No creating study group found for you. Please try again.")
-                    .setEphemeral(true)
-                    .queue();
+            event.reply(NO_DRAFT_MESSAGE).setEphemeral(true).queue();
             return;
         }
 
@@ -415,7 +407,7 @@ public class CreateGroupCommand
         }
 
         // Remove the temporary group
-        studyGroupMemory.delete(currentGroup.getId());
+        studyGroupMemory.remove(discordUserId);
         createPrivateChannelForGroup(event, currentGroup, groupLeader);
         // Confirm successful group creation to the user
         event.reply(
@@ -427,79 +419,31 @@ public class CreateGroupCommand
                 .queue();
     }
 
-    // Create a private channel for new study group
+    // Queue creating a private channel for the new study group, with a welcome message
     private void createPrivateChannelForGroup(
             ButtonInteractionEvent event, StudyGroup group, Student leader) {
-        String leaderDiscordUserId = leader.getDiscordUserId();
-
-        // Validate the guild
         if (event.getGuild() == null) {
-            event.reply("Unable to retrieve current server.").setEphemeral(true).queue();
+            log.warn("Unable to retrieve current server, no channel for group {}", group.getId());
             return;
         }
-        Guild currentGuild = event.getGuild();
-        // Retrieve the leader as a member
-        currentGuild
-                .retrieveMemberById(leaderDiscordUserId)
-                .queue(
-                        member -> createTextChannelForGroupHelper(currentGuild, group, member),
-                        error ->
-                                log.error(
-                                        "Unable to retrieve member with ID: {}",
-                                        leaderDiscordUserId,
-                                        error));
-    }
-
-    // Helper function to create the text channel for the group and set permissions
-    private void createTextChannelForGroupHelper(
-            Guild currentGuild, StudyGroup group, Member member) {
-        currentGuild
-                .createTextChannel(group.getName().toLowerCase())
-                .setTopic("Private channel for the study group: " + group.getName())
-                .addPermissionOverride(
-                        currentGuild.getPublicRole(),
-                        null,
-                        EnumSet.of(Permission.VIEW_CHANNEL)) // Deny public access
-                .addPermissionOverride(
-                        member,
-                        EnumSet.of(
-                                Permission.VIEW_CHANNEL,
-                                Permission.MANAGE_CHANNEL,
-                                Permission.MANAGE_PERMISSIONS),
-                        null) // Allow access and manage permissions to the leader
-                .queue(
-                        channel -> handleChannelCreationSuccess(channel, group),
-                        error ->
-                                log.error(
-                                        "Failed to create private channel for group: {}",
-                                        group.getName(),
-                                        error));
-    }
-
-    // Handle successfully channel creation:
-    // 1. Update study group with the new channel id
-    // 2. Send welcome message
-    private void handleChannelCreationSuccess(TextChannel channel, StudyGroup group) {
-        // Save the channel id to the study group
-        group.setChannelId(channel.getId());
-        studyGroupController.updateStudyGroup(group);
-        channel.sendMessage(
-                        String.format(
-                                TADA_EMOJI
-                                        + " Welcome to your new study group! \n"
-                                        + "**Group Name:** %s\n"
-                                        + "**Interests:** %s\n"
-                                        + "**Description:** %s\n"
-                                        + "**Max Members:** %d\n"
-                                        + "**Auto-Approve:** %s",
-                                group.getName(),
-                                group.getInterestSet().stream()
-                                        .map(Interest::getStudentInterest)
-                                        .collect(Collectors.joining(", ")),
-                                group.getDescription(),
-                                group.getMaxMembers(),
-                                group.isAutoApprove() ? "Yes" : "No"))
-                .queue();
-        log.info("Private channel created and saved for group: {}", group.getName());
+        outboxController.createGroupChannel(
+                event.getGuild().getId(),
+                group,
+                leader.getDiscordUserId(),
+                String.format(
+                        TADA_EMOJI
+                                + " Welcome to your new study group! \n"
+                                + "**Group Name:** %s\n"
+                                + "**Interests:** %s\n"
+                                + "**Description:** %s\n"
+                                + "**Max Members:** %d\n"
+                                + "**Auto-Approve:** %s",
+                        group.getName(),
+                        group.getInterestSet().stream()
+                                .map(Interest::getStudentInterest)
+                                .collect(Collectors.joining(", ")),
+                        group.getDescription(),
+                        group.getMaxMembers(),
+                        group.isAutoApprove() ? "Yes" : "No"));
     }
 }
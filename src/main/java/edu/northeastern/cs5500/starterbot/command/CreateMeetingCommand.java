@@ -9,6 +9,7 @@ import edu.northeastern.cs5500.starterbot.model.Booking;
 import edu.northeastern.cs5500.starterbot.model.Frequency;
 import edu.northeastern.cs5500.starterbot.model.InPersonMeeting;
 import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
@@ -136,11 +137,11 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
 
         switch (action) {
             case ONLINE:
-                createMeetingInMemory(ONLINE, actionId[2], student);
+                createMeetingInMemory(ONLINE, actionId[2], discordUserId, student);
                 event.replyModal(meetingTopicLinkModal(true)).queue();
                 break;
             case IN_PERSON:
-                createMeetingInMemory(IN_PERSON, actionId[2], student);
+                createMeetingInMemory(IN_PERSON, actionId[2], discordUserId, student);
                 event.replyModal(meetingTopicLinkModal(false)).queue();
                 break;
             case CONFIRM_BUTTON:
@@ -157,7 +158,8 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
             case YES_BUTTON:
                 AbstractMeeting meeting =
                         meetingController.getMeetingById(new ObjectId(actionId[2]));
-                event.reply(createBooking.startCreateBooking(meeting).build())
+                ZoneId zoneId = StudentController.getZoneForStudent(student);
+                event.reply(createBooking.startCreateBooking(meeting, zoneId).build())
                         .setEphemeral(true)
                         .queue();
                 break;
@@ -190,35 +192,36 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
      */
     private void handleCreateMeeting(String discordUserId, @Nonnull ButtonInteractionEvent event) {
 
-        AbstractMeeting meeting =
-                meetingController.getMeetingFromMemorybyDiscordId(discordUserId, studentController);
+        AbstractMeeting meeting = meetingController.getMeetingFromMemorybyDiscordId(discordUserId);
 
         if (meeting.getType().equals("InPersonMeeting")) {
             InPersonMeeting inPersonMeeting = (InPersonMeeting) meeting;
-            meetingController.createInPersonMeeting(
-                    inPersonMeeting, studyGroupController, reminderController);
+            meetingController.createInPersonMeeting(inPersonMeeting, studyGroupController);
             // give options to choose whether to create booking now
-            MessageCreateBuilder messageCreateBuilder = getCreateBookingMessage(inPersonMeeting);
+            MessageCreateBuilder messageCreateBuilder =
+                    getCreateBookingMessage(
+                            inPersonMeeting,studentController.getZoneForStudent(discordUserId));
             event.reply(messageCreateBuilder.build()).setEphemeral(true).queue();
 
         } else if (meeting.getType().equals("OnlineMeeting")) {
             OnlineMeeting onlineMeeting = (OnlineMeeting) meeting;
-            meetingController.createOnlineMeeting(
-                    onlineMeeting, studyGroupController, reminderController);
+            meetingController.createOnlineMeeting(onlineMeeting, studyGroupController);
             event.reply(TADA_EMOJI + "Onine meeting successfully set!").setEphemeral(true).queue();
         } else {
             throw new IllegalArgumentException("Unpexted meeting type");
         }
+        meetingController.deleteMeetingFromMemory(discordUserId);
         // Prompt user to set reminder
     }
 
-    private MessageCreateBuilder getCreateBookingMessage(InPersonMeeting inPersonMeeting) {
+    private MessageCreateBuilder getCreateBookingMessage(
+            InPersonMeeting inPersonMeeting, ZoneId zoneId) {
         // Get the first time slot for the next meeting
         TimeSlot nextTimeSlot = inPersonMeeting.getTimeSlots().get(0);
 
-        String nextMeetingDate = nextTimeSlot.getStart().format(dateFormatter);
-        String nextMeetingStartTime = nextTimeSlot.getStart().format(timeFormatter);
-        String nextMeetingEndTime = nextTimeSlot.getEnd().format(timeFormatter);
+        String nextMeetingDate = nextTimeSlot.getStartIn(zoneId).format(dateFormatter);
+        String nextMeetingStartTime = nextTimeSlot.getStartIn(zoneId).format(timeFormatter);
+        String nextMeetingEndTime = nextTimeSlot.getEndIn(zoneId).format(timeFormatter);
 
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
         messageCreateBuilder.setContent(
@@ -248,14 +251,12 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
 
     /** Remove the creating meeting in memory repository for the user */
     private void handleCancelCreateMeeting(String discordUserId) {
-        meetingController.deleteMeetingFromMemory(
-                meetingController
-                        .getMeetingFromMemorybyDiscordId(discordUserId, studentController)
-                        .getId());
+        meetingController.deleteMeetingFromMemory(discordUserId);
     }
 
     /** create a new meeting based on meeting type to in memory repository */
-    private void createMeetingInMemory(String meetingType, String studyGroupId, Student student) {
+    private void createMeetingInMemory(
+            String meetingType, String studyGroupId, String discordUserId, Student student) {
         log.info("Creating " + meetingType);
         StudyGroup studyGroup = studyGroupController.getStudyGroupById(new ObjectId(studyGroupId));
         if (meetingType.equals(ONLINE)) {
@@ -269,9 +270,9 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
                             .studyGroup(studyGroup.getId())
                             .organizer(student.getId())
                             .meetingLink("")
-                            .participants(new HashMap<>())
+                            .participants(new ParticipantStatusMap())
                             .build();
-            meetingController.addMeetingToMemory(newOnlineMeeting);
+            meetingController.addMeetingToMemory(discordUserId, newOnlineMeeting);
             log.info("Creating " + newOnlineMeeting.getType());
         } else {
             // in person
@@ -284,9 +285,9 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
                             .studyGroup(studyGroup.getId())
                             .organizer(student.getId())
                             .booking(new Booking())
-                            .participants(new HashMap<>())
+                            .participants(new ParticipantStatusMap())
                             .build();
-            meetingController.addMeetingToMemory(newInPersonMeeting);
+            meetingController.addMeetingToMemory(discordUserId, newInPersonMeeting);
             log.info("Creating " + newInPersonMeeting.getType());
         }
     }
@@ -335,10 +336,9 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
             // update meeting topic in memory
 
             AbstractMeeting meeting =
-                    meetingController.getMeetingFromMemorybyDiscordId(
-                            discordUserId, studentController);
+                    meetingController.getMeetingFromMemorybyDiscordId(discordUserId);
             meeting.setTopic(topic);
-            meetingController.updateMeetingToMemory(meeting);
+            meetingController.updateMeetingToMemory(discordUserId, meeting);
 
             StringBuilder message =
                     new StringBuilder(CHECK_EMOJI + "Got it! The topic will be " + topic);
@@ -349,7 +349,7 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
                 String meetingLink = event.getValue("meetingLink").getAsString();
                 OnlineMeeting onlineMeeting = (OnlineMeeting) meeting;
                 onlineMeeting.setMeetingLink(meetingLink);
-                meetingController.updateMeetingToMemory(onlineMeeting);
+                meetingController.updateMeetingToMemory(discordUserId, onlineMeeting);
                 message.append("\n The meeting link is set to" + meetingLink);
             }
 
@@ -452,15 +452,14 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
         selectedTime.addAll(currentSelections);
         log.info("Current Selections: {}", selectedTime);
 
-        AbstractMeeting meeting =
-                meetingController.getMeetingFromMemorybyDiscordId(discordUserId, studentController);
+        AbstractMeeting meeting = meetingController.getMeetingFromMemorybyDiscordId(discordUserId);
 
         if (FREQUENCY_SELECT.equals(event.getComponentId())) {
             String frequency = event.getInteraction().getValues().get(0);
             Objects.requireNonNull(frequency);
             boolean setFrequency = true;
             meeting.setFrequency(Frequency.valueOf(frequency.toUpperCase()));
-            meetingController.updateMeetingToMemory(meeting);
+            meetingController.updateMeetingToMemory(discordUserId, meeting);
             if (setFrequency) {
                 MessageCreateBuilder messageBuilder = getEnterTimeSlotsMessage();
                 event.reply(messageBuilder.getContent())
@@ -515,6 +514,8 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
                 .append("\n");
 
         List<TimeSlot> timeSlotList = new ArrayList<>();
+        // The organizer picks times on their own wall clock
+        ZoneId zoneId = studentController.getZoneForStudent(event.getUser().getId());
 
         // Parse the selected date
         LocalDate date;
@@ -539,7 +540,6 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
             }
 
             // Convert to ZonedDateTime
-            ZoneId zoneId = ZoneId.of("UTC");
             ZonedDateTime startZone = start.atDate(date).atZone(zoneId);
             ZonedDateTime endZone = end.atDate(date).atZone(zoneId);
 
@@ -556,14 +556,12 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
                     break;
                 default:
                     // Add a single instance for one-time meetings
-                    timeSlotList.add(
-                            createTimeSlot(
-                                    startZone.getDayOfWeek().toString(), startZone, endZone));
+                    timeSlotList.add(TimeSlot.of(startZone, endZone));
             }
         }
 
         meeting.setTimeSlots(timeSlotList);
-        meetingController.updateMeetingToMemory(meeting);
+        meetingController.updateMeetingToMemory(event.getUser().getId(), meeting);
 
         // Prepare response message
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
@@ -588,20 +586,10 @@ public class CreateMeetingCommand implements ButtonHandler, StringSelectHandler,
 
         // Add time slots for a year
         while (currentStart.isBefore(ZonedDateTime.now().plusYears(1))) {
-            timeSlotList.add(
-                    createTimeSlot(
-                            currentStart.getDayOfWeek().toString(), currentStart, currentEnd));
+            // Same wall time each time, so the instant moves with daylight saving
+            timeSlotList.add(TimeSlot.of(currentStart, currentEnd));
             currentStart = currentStart.plusDays(intervalDays);
             currentEnd = currentEnd.plusDays(intervalDays);
         }
     }
-
-    /** Creates a new time slot with the specified day and time range. */
-    private TimeSlot createTimeSlot(String day, ZonedDateTime startZone, ZonedDateTime endZone) {
-        return TimeSlot.builder()
-                .day(day)
-                .start(startZone.toLocalDateTime())
-                .end(endZone.toLocalDateTime())
-                .build();
-    }
 }
@@ -1,22 +1,17 @@
 package edu.northeastern.cs5500.starterbot.command;
 
-import edu.northeastern.cs5500.starterbot.controller.IteratorHandlerController;
-import edu.northeastern.cs5500.starterbot.controller.MeetingController;
-import edu.northeastern.cs5500.starterbot.controller.ReminderController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController.RankedGroup;
 import edu.northeastern.cs5500.starterbot.model.Interest;
-import edu.northeastern.cs5500.starterbot.model.IteratorHandler;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.interactions.InteractionHook;
@@ -24,11 +19,15 @@ import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import org.bson.types.ObjectId;
 
 /**
  * The FindGroupCommand class handles the "findgroups" slash command. It recommends study groups to
  * users based on their interests and allows them to interact with groups by joining or declining.
  *
+ * <p>Nothing is remembered between clicks: each button carries the id and rank of the group it was
+ * shown with, and the next recommendation is looked up after them.
+ *
  * @author Team Wolf
  */
 @Slf4j
@@ -37,10 +36,6 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
     @Inject StudentController studentController;
     @Inject StudyGroupController studyGroupController;
     @Inject CreateGroupCommand createGroupCommand;
-    @Inject IteratorHandlerController<StudyGroup> iteratorHandlerController;
-    @Inject MeetingController meetingController;
-    @Inject ReminderController reminderController;
-    @Inject JDA jda;
 
     static final String JOIN_BUTTON_ACTION = "join";
     static final String DECLINE_BUTTON_ACTION = "decline";
@@ -48,7 +43,6 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
     static final String CREATEGROUP_BUTTON_ACTION = "creategroup";
     static final String JOIN_BUTTON_LABEL = "\uD83D\uDC4D Join!";
     static final String DECLINE_BUTTON_LABEL = "\uD83D\uDE45 Nope!";
-    static final String TADA_EMOJI = "\uD83C\uDF89";
 
     @Inject
     public FindGroupCommand() {
@@ -99,20 +93,33 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
      * @param discordUserId the discord user id
      */
     public void handleGroupIteratorInstantiation(InteractionHook hook, String discordUserId) {
-        // get matched group to iterator
-        Iterator<StudyGroup> groupIterator =
-                studyGroupController
-                        .recommendStudyGroups(discordUserId, studentController)
-                        .iterator();
-        hook.sendMessage(getSlashCommandResponse(groupIterator, discordUserId).build())
-                .setEphemeral(true)
-                .queue();
+        RankedGroup firstGroup =
+                studyGroupController.findNextRecommendedGroup(
+                        discordUserId, null, 0, studentController);
+        getSlashCommandResponse(firstGroup)
+                .thenAccept(
+                        response ->
+                                hook.sendMessage(response.build()).setEphemeral(true).queue())
+                .exceptionally(
+                        error -> {
+                            log.error("Unable to display study group recommendation", error);
+                            hook.sendMessage("Something went wrong, please try again.")
+                                    .setEphemeral(true)
+                                    .queue();
+                            return null;
+                        });
     }
 
-    MessageCreateBuilder getSlashCommandResponse(
-            Iterator<StudyGroup> groupIterator, String discordUserId) {
+    /**
+     * Creates text reply and buttons when /findgroups is called
+     *
+     * @param firstGroup the first recommended group, or null if there is none
+     * @return completes with the text reply and buttons
+     */
+    CompletableFuture<MessageCreateBuilder> getSlashCommandResponse(
+            @Nullable RankedGroup firstGroup) {
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
-        if (groupIterator == null || !groupIterator.hasNext()) {
+        if (firstGroup == null) {
             // suggest user to creat a group if no matched group
             messageCreateBuilder =
                     messageCreateBuilder.addActionRow(
@@ -124,35 +131,46 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
             messageCreateBuilder =
                     messageCreateBuilder.setContent(
                             "Unfortunately, there is no study group that matched your interests at the moment.\nWould you like to create your own?");
+            return CompletableFuture.completedFuture(messageCreateBuilder);
+        }
 
-        } else {
-            // there are groups to display
-            // store the iterator and the current group to memory
-            StudyGroup currentGroup = groupIterator.next();
-            IteratorHandler<StudyGroup> matchedGroups =
-                    IteratorHandler.<StudyGroup>builder()
-                            .currentItem(currentGroup)
-                            .discordUserId(discordUserId)
-                            .iterator(groupIterator)
-                            .build();
-            iteratorHandlerController.addIteratorHandler(matchedGroups);
+        // disply the first group
+        return describeStudyGroup(firstGroup.getStudyGroup())
+                .thenApply(
+                        groupDetails ->
+                                new MessageCreateBuilder()
+                                        .setContent(groupDetails)
+                                        .addActionRow(getGroupButtons(firstGroup)));
+    }
 
-            // disply the first group
-            Student groupLeader =
-                    studentController.getStudentByStudentId(currentGroup.getGroupLeaderId());
-            String groupDetails = formatStudyGroupDetails(currentGroup, groupLeader);
-            messageCreateBuilder =
-                    new MessageCreateBuilder()
-                            .setContent(groupDetails)
-                            .addActionRow(
-                                    Button.primary(
-                                            getName() + ":" + JOIN_BUTTON_ACTION,
-                                            JOIN_BUTTON_LABEL),
-                                    Button.danger(
-                                            getName() + ":" + DECLINE_BUTTON_ACTION,
-                                            DECLINE_BUTTON_LABEL));
-        }
-        return messageCreateBuilder;
+    /**
+     * Looks up the leader and the members of a group at the same time, then formats the group.
+     *
+     * @param group the group to describe
+     * @return completes with the formatted group details
+     */
+    CompletableFuture<String> describeStudyGroup(StudyGroup group) {
+        CompletableFuture<Student> groupLeader =
+                studentController.getStudentByStudentIdAsync(group.getGroupLeaderId());
+        CompletableFuture<Long> memberCount =
+                studyGroupController.countMembersOfStudyGroupAsync(group);
+        return groupLeader.thenCombine(
+                memberCount, (leader, count) -> formatStudyGroupDetails(group, leader, count));
+    }
+
+    /**
+     * The join and decline buttons for a group, each carrying the group id and rank as the cursor
+     *
+     * @param group the group being shown, with its rank
+     * @return the buttons
+     */
+    Button[] getGroupButtons(RankedGroup group) {
+        String cursor = group.getStudyGroup().getId().toHexString() + ":" + group.getRank();
+        return new Button[] {
+            Button.primary(getName() + ":" + JOIN_BUTTON_ACTION + ":" + cursor, JOIN_BUTTON_LABEL),
+            Button.danger(
+                    getName() + ":" + DECLINE_BUTTON_ACTION + ":" + cursor, DECLINE_BUTTON_LABEL)
+        };
     }
 
     /**
@@ -192,6 +210,19 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
                 groupLeader.getDisplayName());
     }
 
+    /**
+     * Formats the details of a study group, including how many members it has.
+     *
+     * @param group the group to describe
+     * @param groupLeader the leader of the group
+     * @param memberCount the number of students in the group
+     * @return the group details, ending with the member count
+     */
+    String formatStudyGroupDetails(StudyGroup group, Student groupLeader, long memberCount) {
+        return formatStudyGroupDetails(group, groupLeader)
+                + String.format("\n**Current Members:** %d", memberCount);
+    }
+
     /**
      * Handles button interactions
      *
@@ -215,39 +246,66 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
         }
 
         // case 2: displaying groups
-        // get matched group from memory
-        IteratorHandler<StudyGroup> matchedGroups =
-                iteratorHandlerController.getIteratorHandlerByDiscordUserId(discordUserId);
-        event.reply(handleJoinGroup(action, matchedGroups)).setEphemeral(true).queue();
+        // the button carries the group it was shown with and its rank
+        if (buttonIdParts.length < 3) {
+            // A button from before the cursor was added to the id
+            event.reply("These results have expired, please run /findgroups again.")
+                    .setEphemeral(true)
+                    .queue();
+            return;
+        }
+        ObjectId currentGroupId = null;
+        int currentRank = 0;
+        StudyGroup currentGroup = null;
+        try {
+            currentGroupId = new ObjectId(buttonIdParts[2]);
+            // Buttons from before the rank was added start from the top
+            if (buttonIdParts.length > 3) {
+                currentRank = Integer.parseInt(buttonIdParts[3]);
+            }
+            currentGroup = studyGroupController.getStudyGroupById(currentGroupId);
+        } catch (IllegalArgumentException e) {
+            // A malformed id or rank, since the lookup wraps its own errors
+            event.reply("These results have expired, please run /findgroups again.")
+                    .setEphemeral(true)
+                    .queue();
+            return;
+        } catch (RuntimeException e) {
+            // The group was disbanded after it was shown
+            log.warn("Study group {} is no longer available", currentGroupId, e);
+        }
+        if (currentGroup == null) {
+            event.reply("This study group is no longer available.").setEphemeral(true).queue();
+        } else {
+            event.reply(handleJoinGroup(action, currentGroup, discordUserId))
+                    .setEphemeral(true)
+                    .queue();
+        }
 
         // Display the next group
-        displayNextGroup(event, matchedGroups);
+        displayNextGroup(event, currentGroupId, currentRank);
     }
 
     /**
      * Handles user actions for joining or declining a study group.
      *
      * @param action
-     * @param matchedGroups
+     * @param currentGroup
+     * @param discordUserId
      * @return
      */
-    String handleJoinGroup(String action, IteratorHandler<StudyGroup> matchedGroups) {
+    String handleJoinGroup(String action, StudyGroup currentGroup, String discordUserId) {
         if (JOIN_BUTTON_ACTION.equals(action)) {
-            StudyGroup currentGroup = matchedGroups.getCurrentItem();
-            String discordUserId = matchedGroups.getDiscordUserId();
             Student student = studentController.getStudentByDiscordUserId(discordUserId);
             if (currentGroup.isAutoApprove()) {
-                // Add student to the study group
+                // Add student to the study group, which also lets them into its channel
                 studyGroupController.addStudyGroup(student, currentGroup, studentController);
-                meetingController.updateParticipantsAfterJoinGroup(
-                        student, currentGroup, reminderController);
-                addUserToChannel(student, currentGroup);
                 // Notify the user
                 return "This group is auto-approved. You are now a member of **"
                         + currentGroup.getName()
                         + "**!";
             } else {
-                // Submit a group application
+                // Submit a group application, which also notifies the group leader
                 String message =
                         student.getDisplayName()
                                 + " wants to join your group "
@@ -257,12 +315,8 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
                         discordUserId,
                         currentGroup,
                         message,
-                        studentController,
-                        meetingController,
-                        reminderController);
+                        studentController);
 
-                // Notify the group leader
-                notifyGroupLeader(currentGroup);
                 // Notify the user
                 return "An application has been submitted to join **"
                         + currentGroup.getName()
@@ -275,103 +329,40 @@ public class FindGroupCommand implements SlashCommandHandler, ButtonHandler {
     }
 
     /**
-     * Displays the next study group in the matched groups iterator.
+     * Displays the next recommended study group after the one the user just answered.
      *
-     * @param event
-     * @param matchedGroups
+     * @param event the button click
+     * @param previousGroupId the id of the group the user answered
+     * @param previousRank the rank that group was shown at
      */
-    void displayNextGroup(ButtonInteractionEvent event, IteratorHandler<StudyGroup> matchedGroups) {
-        Iterator<StudyGroup> groupIterator = matchedGroups.getIterator();
-        if (groupIterator == null || !groupIterator.hasNext()) {
+    void displayNextGroup(
+            ButtonInteractionEvent event, ObjectId previousGroupId, int previousRank) {
+        RankedGroup nextGroup =
+                studyGroupController.findNextRecommendedGroup(
+                        event.getUser().getId(), previousGroupId, previousRank, studentController);
+        if (nextGroup == null) {
             event.getHook()
                     .sendMessage("\uD83D\uDE22 No more study groups that match your interests.")
                     .setEphemeral(true)
                     .queue();
-            iteratorHandlerController.removeIteratorHandler(matchedGroups);
             return;
         }
 
-        StudyGroup currentGroup = groupIterator.next();
-        matchedGroups.setCurrentItem(currentGroup);
-        iteratorHandlerController.updateIteratorHandler(matchedGroups);
-
-        Student groupLeader =
-                studentController.getStudentByStudentId(currentGroup.getGroupLeaderId());
-        String groupDetails = formatStudyGroupDetails(currentGroup, groupLeader);
-
-        event.getHook()
-                .sendMessage(groupDetails)
-                .setActionRow(
-                        Button.primary(getName() + ":" + JOIN_BUTTON_ACTION, JOIN_BUTTON_LABEL),
-                        Button.danger(
-                                getName() + ":" + DECLINE_BUTTON_ACTION, DECLINE_BUTTON_LABEL))
-                .setEphemeral(true)
-                .queue();
-    }
-
-    /**
-     * Notify the group leader about new group application through dm
-     *
-     * @param group
-     */
-    private void notifyGroupLeader(StudyGroup group) {
-        Student leader = studentController.getStudentByStudentId(group.getGroupLeaderId());
-        String leaderDiscordId = leader.getDiscordUserId();
-
-        if (leaderDiscordId == null || leaderDiscordId.isBlank()) {
-            log.warn("Group {} has no leader Discord ID. Unable to send DM.", group.getName());
-            return;
-        }
-
-        String message =
-                TADA_EMOJI
-                        + "Your group **"
-                        + group.getName()
-                        + "** has received a new application. Please use /viewapplications to check it out!";
-        // Retrieve the leader's User object using JDA
-        jda.retrieveUserById(leaderDiscordId)
-                .queue(
-                        user -> {
-                            user.openPrivateChannel()
-                                    .flatMap(channel -> channel.sendMessage(message))
-                                    .queue();
-                        });
-    }
-
-    /**
-     * When student joins a group with auto-approve, add the student to the private channel the
-     * group associates with
-     *
-     * @param student
-     * @param studyGroup
-     */
-    void addUserToChannel(@Nonnull Student student, @Nonnull StudyGroup studyGroup) {
-        String channelId = studyGroup.getChannelId();
-        String applicantDiscordId = student.getDiscordUserId();
-        log.info("!!!Attempting to retrieve channel with ID: {}", channelId);
-        if (channelId == null || channelId.isBlank() || jda.getTextChannelById(channelId) == null) {
-            log.info("Group channel not found.");
-            return;
-        }
-        TextChannel currentChannel = jda.getTextChannelById(channelId);
-        currentChannel
-                .getGuild()
-                .retrieveMemberById(applicantDiscordId)
-                .queue(
-                        member -> {
-                            currentChannel
-                                    .upsertPermissionOverride(member)
-                                    .grant(
-                                            Permission.VIEW_CHANNEL,
-                                            Permission.MESSAGE_SEND,
-                                            Permission.MESSAGE_HISTORY)
-                                    .queue(
-                                            success ->
-                                                    log.info("Permissions granted successfully."),
-                                            error ->
-                                                    log.error(
-                                                            "Failed to grant permissions: ",
-                                                            error));
+        describeStudyGroup(nextGroup.getStudyGroup())
+                .thenAccept(
+                        groupDetails ->
+                                event.getHook()
+                                        .sendMessage(groupDetails)
+                                        .setActionRow(getGroupButtons(nextGroup))
+                                        .setEphemeral(true)
+                                        .queue())
+                .exceptionally(
+                        error -> {
+                            log.error(
+                                    "Unable to display study group {}",
+                                    nextGroup.getStudyGroup().getId(),
+                                    error);
+                            return null;
                         });
     }
 }
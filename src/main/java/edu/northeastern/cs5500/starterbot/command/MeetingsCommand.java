@@ -1,6 +1,8 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import edu.northeastern.cs5500.starterbot.controller.BookingController;
+import edu.northeastern.cs5500.starterbot.controller.DashboardController;
+import edu.northeastern.cs5500.starterbot.controller.GroupApplicationController;
 import edu.northeastern.cs5500.starterbot.controller.MeetingController;
 import edu.northeastern.cs5500.starterbot.controller.ReminderController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
@@ -11,13 +13,15 @@ import edu.northeastern.cs5500.starterbot.model.InPersonMeeting;
 import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
 import edu.northeastern.cs5500.starterbot.model.Room;
 import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudentDashboard;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
+import java.time.ZoneId;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
@@ -53,7 +57,9 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
     @Inject CreateBooking createBooking;
     @Inject BookingController bookingController;
     @Inject ReminderController reminderController;
-    @Inject JDA jda;
+    @Inject DirectMessageService directMessageService;
+    @Inject DashboardController dashboardController;
+    @Inject GroupApplicationController groupApplicationController;
 
     @Inject
     public MeetingsCommand() {
@@ -93,12 +99,17 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
         log.info("event: /meetings");
 
-        // Get user's Discord ID and find the student
+        // Get the meetings of the student from their dashboard
         String discordUserId = event.getUser().getId();
-        Student student = studentController.getStudentByDiscordUserId(discordUserId);
-
-        // Get meetings for the student
-        List<AbstractMeeting> meetings = meetingController.getMeetingsForStudent(student);
+        List<StudentDashboard.MeetingEntry> meetings =
+                dashboardController
+                        .getDashboard(
+                                discordUserId,
+                                studentController,
+                                studyGroupController,
+                                meetingController,
+                                groupApplicationController)
+                        .getMeetings();
 
         if (meetings.isEmpty()) {
             event.reply("You have no meetings scheduled.").setEphemeral(true).queue();
@@ -114,23 +125,20 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
                 .queue();
     }
 
-    private StringSelectMenu formatMeetingSelection(List<AbstractMeeting> meetings) {
+    private StringSelectMenu formatMeetingSelection(List<StudentDashboard.MeetingEntry> meetings) {
         StringSelectMenu.Builder menuBuilder =
                 StringSelectMenu.create(SELECT_MEETING).setPlaceholder("Choose a meeting");
 
-        for (AbstractMeeting meeting : meetings) {
-            // Get study group name
-            StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
-
+        for (StudentDashboard.MeetingEntry meeting : meetings) {
             // Format meeting details for dropdown
             String meetingLabel =
                     String.format(
                             "%s - %s (%s)",
                             meeting.getTopic(),
-                            studyGroup != null ? studyGroup.getName() : "No Group",
+                            meeting.getGroupName() != null ? meeting.getGroupName() : "No Group",
                             meeting.getFrequency());
 
-            menuBuilder.addOption(meetingLabel, meeting.getId().toString());
+            menuBuilder.addOption(meetingLabel, meeting.getMeetingId().toString());
         }
 
         return menuBuilder.build();
@@ -196,7 +204,8 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
                     rejectMeetingCancellation(event);
                     break;
                 case CREATE_BOOKING:
-                    event.reply(createBooking.startCreateBooking(meeting).build())
+                    ZoneId zoneId = StudentController.getZoneForStudent(student);
+                    event.reply(createBooking.startCreateBooking(meeting, zoneId).build())
                             .setEphemeral(true)
                             .queue();
                     break;
@@ -286,37 +295,7 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
 
         // Send private message to each member
         for (Student member : members) {
-            try {
-                jda.retrieveUserById(member.getDiscordUserId())
-                        .queue(
-                                user -> {
-                                    user.openPrivateChannel()
-                                            .flatMap(
-                                                    channel ->
-                                                            channel.sendMessage(
-                                                                    cancellationMessage))
-                                            .queue(
-                                                    success ->
-                                                            log.info(
-                                                                    "Cancellation notification sent to user: "
-                                                                            + member
-                                                                                    .getDisplayName()),
-                                                    failure ->
-                                                            log.error(
-                                                                    "Failed to send cancellation notification to user: "
-                                                                            + member
-                                                                                    .getDisplayName()));
-                                },
-                                failure ->
-                                        log.error(
-                                                "Failed to retrieve user for cancellation notification: "
-                                                        + member.getDiscordUserId()));
-            } catch (Exception e) {
-                log.error(
-                        "Error sending cancellation notification to member: "
-                                + member.getDisplayName(),
-                        e);
-            }
+            directMessageService.send(member.getDiscordUserId(), cancellationMessage);
         }
     }
 
@@ -347,15 +326,16 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
             timeSlot = "No time slots!";
         } else {
             TimeSlot slot = meeting.getTimeSlots().get(0);
-            String date = slot.getStart().toLocalDate().toString();
-            String startTime = slot.getStart().toLocalTime().toString();
-            String endTime = slot.getEnd().toLocalTime().toString();
+            ZoneId zoneId = StudentController.getZoneForStudent(student);
+            String date = slot.getStartIn(zoneId).toLocalDate().toString();
+            String startTime = slot.getStartIn(zoneId).toLocalTime().toString();
+            String endTime = slot.getEndIn(zoneId).toLocalTime().toString();
             timeSlot = String.format("Date: %s, Time: %s - %s", date, startTime, endTime);
         }
 
         AbstractMeeting.Status userStatus =
                 meeting.getParticipants()
-                        .getOrDefault(student.getId().toString(), AbstractMeeting.Status.TENTATIVE);
+                        .getOrDefault(student.getId(), AbstractMeeting.Status.TENTATIVE);
 
         // Create meeting details string
         String meetingDetails =
@@ -415,8 +395,7 @@ public class MeetingsCommand implements SlashCommandHandler, StringSelectHandler
         } else {
             AbstractMeeting.Status currStatus =
                     meeting.getParticipants()
-                            .getOrDefault(
-                                    student.getId().toString(), AbstractMeeting.Status.TENTATIVE);
+                            .getOrDefault(student.getId(), AbstractMeeting.Status.TENTATIVE);
             // For participants, add accept/decline options
             if (currStatus == AbstractMeeting.Status.TENTATIVE
                     || currStatus == AbstractMeeting.Status.DECLINE) {
@@ -1,12 +1,16 @@
 package edu.northeastern.cs5500.starterbot.command;
 
 import edu.northeastern.cs5500.starterbot.controller.BookingController;
+import edu.northeastern.cs5500.starterbot.controller.DashboardController;
+import edu.northeastern.cs5500.starterbot.controller.GroupApplicationController;
 import edu.northeastern.cs5500.starterbot.controller.MeetingController;
 import edu.northeastern.cs5500.starterbot.controller.ReminderController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
 import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudentDashboard;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -41,7 +45,10 @@ public class MyStudyGroupsCommand
     @Inject MeetingController meetingController;
     @Inject BookingController bookingController;
     @Inject ReminderController reminderController;
+    @Inject DashboardController dashboardController;
+    @Inject GroupApplicationController groupApplicationController;
     @Inject JDA jda;
+    @Inject DirectMessageService directMessageService;
 
     // emoji
     static final String ENVELOPE = "\u2709";
@@ -107,16 +114,21 @@ public class MyStudyGroupsCommand
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
         log.info("event: /mystudygroups");
 
-        // get user discord id and get student with the discord id
         String discordUserId = event.getUser().getId();
-        Student student = studentController.getStudentByDiscordUserId(discordUserId);
-        List<ObjectId> groupList = student.getGroupList();
-        if (groupList.isEmpty()) {
+        StudentDashboard dashboard =
+                dashboardController.getDashboard(
+                        discordUserId,
+                        studentController,
+                        studyGroupController,
+                        meetingController,
+                        groupApplicationController);
+        List<StudentDashboard.GroupEntry> groups = dashboard.getGroups();
+        if (groups.isEmpty()) {
             event.reply("You are not part of any study group.").setEphemeral(true).queue();
             return;
         }
 
-        StringSelectMenu studyGroupSelectMenu = formatGroupSelection(groupList);
+        StringSelectMenu studyGroupSelectMenu = formatGroupSelection(groups);
 
         event.reply(CURIOUS_FACE + " Please select a study group:")
                 .setEphemeral(true)
@@ -124,14 +136,18 @@ public class MyStudyGroupsCommand
                 .queue();
     }
 
-    /** Formats a selection menu for choosing study groups. */
-    private StringSelectMenu formatGroupSelection(List<ObjectId> groupList) {
+    /** Formats a selection menu for choosing study groups, marking the ones the student leads. */
+    private StringSelectMenu formatGroupSelection(List<StudentDashboard.GroupEntry> groups) {
         StringSelectMenu.Builder menuBuilder =
                 StringSelectMenu.create(SELECT_GROUP).setPlaceholder("Choose a study group.");
 
-        for (ObjectId groupId : groupList) {
-            StudyGroup studyGroup = studyGroupController.getStudyGroupById(groupId);
-            menuBuilder.addOption(studyGroup.getName(), groupId.toString());
+        for (StudentDashboard.GroupEntry group : groups) {
+            String groupId = group.getGroupId().toString();
+            if (group.isLeader()) {
+                menuBuilder.addOption(group.getName(), groupId, STAR + " You lead this group");
+            } else {
+                menuBuilder.addOption(group.getName(), groupId);
+            }
         }
         return menuBuilder.build();
     }
@@ -285,13 +301,7 @@ public class MyStudyGroupsCommand
 
         Student leader = studentController.getStudentByStudentId(leaveGroup.getGroupLeaderId());
         if (leader != null) {
-            jda.retrieveUserById(leader.getDiscordUserId())
-                    .queue(
-                            user -> {
-                                user.openPrivateChannel()
-                                        .flatMap(channel -> channel.sendMessage(message))
-                                        .queue();
-                            });
+            directMessageService.send(leader.getDiscordUserId(), message);
         }
     }
 
@@ -364,12 +374,7 @@ public class MyStudyGroupsCommand
         removeAllUsersFromChannelAndRemoveChannel(disbandGroup.getId());
 
         List<Student> members = studyGroupController.getMemberListOfStudyGroup(disbandGroup);
-        studyGroupController.disbandGroup(
-                disbandGroup,
-                studentController,
-                meetingController,
-                bookingController,
-                reminderController);
+        studyGroupController.disbandGroup(disbandGroup, studentController);
 
         // Notify the leader
         notifyMemberAboutDisband(disbandGroup, members);
@@ -402,13 +407,7 @@ public class MyStudyGroupsCommand
                             + disbandGroup.getName()
                             + "**";
             for (Student member : members) {
-                jda.retrieveUserById(member.getDiscordUserId())
-                        .queue(
-                                user -> {
-                                    user.openPrivateChannel()
-                                            .flatMap(channel -> channel.sendMessage(message))
-                                            .queue();
-                                });
+                directMessageService.send(member.getDiscordUserId(), message);
             }
         }
     }
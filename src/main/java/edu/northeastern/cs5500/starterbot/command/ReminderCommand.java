@@ -9,12 +9,15 @@ import javax.inject.Inject;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.components.selections.StringSelectMenu;
 
 public class ReminderCommand implements SlashCommandHandler, StringSelectHandler {
     static final String NAME = "reminder";
+    static final String DM_OPTION = "dm";
     static final Integer ONE = 1;
     static final Integer TEN = 10;
     static final Integer ONE_HUNDRED_TWENTY = 120;
@@ -46,7 +49,12 @@ public class ReminderCommand implements SlashCommandHandler, StringSelectHandler
     @Override
     @Nonnull
     public CommandData getCommandData() {
-        return Commands.slash(getName(), "Set your reminder preference.");
+        return Commands.slash(getName(), "Set your reminder preference.")
+                .addOption(
+                        OptionType.BOOLEAN,
+                        DM_OPTION,
+                        "Get reminders as DMs instead of a mention in the group channel",
+                        false);
     }
 
     /**
@@ -57,6 +65,19 @@ public class ReminderCommand implements SlashCommandHandler, StringSelectHandler
     @Override
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
         event.deferReply().setEphemeral(true).queue();
+        OptionMapping dmOption = event.getOption(DM_OPTION);
+        if (dmOption != null) {
+            boolean enabled = dmOption.getAsBoolean();
+            reminderController.setDirectMessageReminders(event.getUser().getId(), enabled);
+            event.getHook()
+                    .sendMessage(
+                            enabled
+                                    ? "Reminders will be sent to you as DMs."
+                                    : "Reminders will mention you in your study group channels.")
+                    .setEphemeral(true)
+                    .queue();
+            return;
+        }
         handleReminderPreference(event.getHook());
     }
 
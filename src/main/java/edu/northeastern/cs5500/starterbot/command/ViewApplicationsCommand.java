@@ -1,29 +1,33 @@
 package edu.northeastern.cs5500.starterbot.command;
 
+import edu.northeastern.cs5500.starterbot.controller.DashboardController;
 import edu.northeastern.cs5500.starterbot.controller.GroupApplicationController;
-import edu.northeastern.cs5500.starterbot.controller.IteratorHandlerController;
+import edu.northeastern.cs5500.starterbot.controller.MeetingController;
 import edu.northeastern.cs5500.starterbot.controller.StudentController;
 import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
 import edu.northeastern.cs5500.starterbot.model.GroupApplication;
 import edu.northeastern.cs5500.starterbot.model.Interest;
-import edu.northeastern.cs5500.starterbot.model.IteratorHandler;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
 import java.time.format.DateTimeFormatter;
-import java.util.Iterator;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import org.bson.types.ObjectId;
 
+/**
+ * Handles the "viewapplications" slash command, which lets a group leader walk through the
+ * applications to their groups one at a time. Each button carries the id of the application it was
+ * shown with, so the next one is looked up after that id and nothing is kept between clicks.
+ */
 @Slf4j
 public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandler {
     static final String NAME = "viewapplications";
@@ -33,11 +37,12 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
     static final String TADA_EMOJI = "\uD83C\uDF89";
     static final String CRYING_FACE = "\uD83D\uDE22";
 
-    @Inject JDA jda;
+    @Inject DirectMessageService directMessageService;
     @Inject GroupApplicationController groupApplicationController;
     @Inject StudentController studentController;
     @Inject StudyGroupController studyGroupController;
-    @Inject IteratorHandlerController<GroupApplication> iteratorHandlerController;
+    @Inject MeetingController meetingController;
+    @Inject DashboardController dashboardController;
 
     @Inject
     public ViewApplicationsCommand() {
@@ -74,48 +79,58 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
     @Override
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
         String discordUserId = event.getUser().getId();
-        Iterator<GroupApplication> applicationIterator =
-                groupApplicationController.getApplicationsByLeader(discordUserId).iterator();
+        int pending =
+                dashboardController
+                        .getDashboard(
+                                discordUserId,
+                                studentController,
+                                studyGroupController,
+                                meetingController,
+                                groupApplicationController)
+                        .getPendingApplications();
+        // The dashboard knows when there is nothing to show, without looking for applications
+        GroupApplication firstApplication =
+                pending == 0
+                        ? null
+                        : groupApplicationController.getNextApplicationForLeader(
+                                discordUserId, null);
 
-        event.reply(getSlashCommandResponse(applicationIterator, discordUserId).build())
-                .setEphemeral(true)
-                .queue();
+        event.reply(getSlashCommandResponse(firstApplication).build()).setEphemeral(true).queue();
     }
     /**
      * Creates text reply and buttons when /viewapplications is called
      *
-     * @param applicationIterator
-     * @param discordUserId
+     * @param firstApplication the oldest pending application, or null if there is none
      * @return text reply and buttons
      */
-    MessageCreateBuilder getSlashCommandResponse(
-            Iterator<GroupApplication> applicationIterator, String discordUserId) {
+    MessageCreateBuilder getSlashCommandResponse(@Nullable GroupApplication firstApplication) {
         MessageCreateBuilder messageCreateBuilder = new MessageCreateBuilder();
 
-        if (applicationIterator == null || !applicationIterator.hasNext()) {
+        if (firstApplication == null) {
             messageCreateBuilder.setContent("You have no pending group applications.");
         } else {
-            GroupApplication currentApplication = applicationIterator.next();
-
-            IteratorHandler<GroupApplication> iteratorHandler =
-                    IteratorHandler.<GroupApplication>builder()
-                            .currentItem(currentApplication)
-                            .discordUserId(discordUserId)
-                            .iterator(applicationIterator)
-                            .build();
-
-            iteratorHandlerController.addIteratorHandler(iteratorHandler);
-
             messageCreateBuilder
-                    .setContent(formatGroupApplicationDetails(currentApplication))
-                    .addActionRow(
-                            Button.success(NAME + ":" + ACCEPT_BUTTON_ACTION, "Accept"),
-                            Button.danger(NAME + ":" + DECLINE_BUTTON_ACTION, "Decline"),
-                            Button.secondary(NAME + ":" + NEXT_BUTTON_ACTION, "Next"));
+                    .setContent(formatGroupApplicationDetails(firstApplication))
+                    .addActionRow(getApplicationButtons(firstApplication));
         }
         return messageCreateBuilder;
     }
 
+    /**
+     * The accept, decline and next buttons for an application, each carrying the application id
+     *
+     * @param application the application being shown
+     * @return the buttons
+     */
+    Button[] getApplicationButtons(GroupApplication application) {
+        String suffix = ":" + application.getId().toHexString();
+        return new Button[] {
+            Button.success(NAME + ":" + ACCEPT_BUTTON_ACTION + suffix, "Accept"),
+            Button.danger(NAME + ":" + DECLINE_BUTTON_ACTION + suffix, "Decline"),
+            Button.secondary(NAME + ":" + NEXT_BUTTON_ACTION + suffix, "Next")
+        };
+    }
+
     /**
      * Format Group Application String into a block of text
      *
@@ -152,16 +167,24 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
         String action = buttonIdParts[1];
         String discordUserId = event.getUser().getId();
 
-        IteratorHandler<GroupApplication> iteratorHandler =
-                iteratorHandlerController.getIteratorHandlerByDiscordUserId(discordUserId);
-
-        if (iteratorHandler == null) {
+        if (buttonIdParts.length < 3) {
+            // A button from before the cursor was added to the id
             event.reply("No active group applications.").setEphemeral(true).queue();
             return;
         }
-        GroupApplication currentApplication = iteratorHandler.getCurrentItem();
+        ObjectId currentApplicationId = new ObjectId(buttonIdParts[2]);
+        GroupApplication currentApplication;
+        try {
+            currentApplication =
+                    groupApplicationController.getApplicationById(currentApplicationId);
+        } catch (IllegalArgumentException e) {
+            // Already accepted or declined, e.g. from an older copy of this message
+            event.reply("This application has already been handled.").setEphemeral(true).queue();
+            displayNextApplication(event, discordUserId, currentApplicationId);
+            return;
+        }
         if (ACCEPT_BUTTON_ACTION.equals(action)) {
-            handleAcceptAction(event, currentApplication);
+            handleAcceptAction(currentApplication);
             notifyApplicant(currentApplication, true);
             event.reply(TADA_EMOJI + "Hooray! New member!").setEphemeral(true).queue();
         } else if (DECLINE_BUTTON_ACTION.equals(action)) {
@@ -172,12 +195,11 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
             event.deferReply().setEphemeral(true).queue();
         }
 
-        displayNextApplication(event, iteratorHandler);
+        displayNextApplication(event, discordUserId, currentApplicationId);
     }
 
-    void handleAcceptAction(
-            @Nonnull ButtonInteractionEvent event, @Nonnull GroupApplication application) {
-        addUserToChannel(event, application);
+    void handleAcceptAction(@Nonnull GroupApplication application) {
+        // Accepting also lets the applicant into the group's channel
         groupApplicationController.acceptApplication(application);
     }
 
@@ -185,64 +207,21 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
         groupApplicationController.declineApplication(application);
     }
 
-    /**
-     * Add the approved user to the private channel of the group. the group is not auto-approve.
-     *
-     * @param application
-     */
-    void addUserToChannel(
-            @Nonnull ButtonInteractionEvent event, @Nonnull GroupApplication application) {
-        StudyGroup studyGroup = studyGroupController.getStudyGroupById(application.getReceiver());
-        String channelId = studyGroup.getChannelId();
-        String applicantDiscordId = application.getSender();
-        log.info("!!!Attempting to retrieve channel with ID: {}", channelId);
-        if (channelId == null || channelId.isBlank() || jda.getTextChannelById(channelId) == null) {
-            event.reply("Group channel not found.").setEphemeral(true).queue();
-            return;
-        }
-        TextChannel currentChannel = jda.getTextChannelById(channelId);
-        currentChannel
-                .getGuild()
-                .retrieveMemberById(applicantDiscordId)
-                .queue(
-                        member -> {
-                            currentChannel
-                                    .upsertPermissionOverride(member)
-                                    .grant(
-                                            Permission.VIEW_CHANNEL,
-                                            Permission.MESSAGE_SEND,
-                                            Permission.MESSAGE_HISTORY)
-                                    .queue(
-                                            success ->
-                                                    log.info("Permissions granted successfully."),
-                                            error ->
-                                                    log.error(
-                                                            "Failed to grant permissions: ",
-                                                            error));
-                        });
-    }
-
     /** Display next application after user clicks Accept or Decline or Next button. */
     void displayNextApplication(
-            ButtonInteractionEvent event, IteratorHandler<GroupApplication> iteratorHandler) {
-        Iterator<GroupApplication> applicationIterator = iteratorHandler.getIterator();
+            ButtonInteractionEvent event, String discordUserId, ObjectId previousApplicationId) {
+        GroupApplication nextApplication =
+                groupApplicationController.getNextApplicationForLeader(
+                        discordUserId, previousApplicationId);
 
-        if (applicationIterator == null || !applicationIterator.hasNext()) {
+        if (nextApplication == null) {
             event.getHook().sendMessage("No more pending applications.").setEphemeral(true).queue();
-            iteratorHandlerController.removeIteratorHandler(iteratorHandler);
             return;
         }
-        // Update the iterator
-        GroupApplication nextApplication = applicationIterator.next();
-        iteratorHandler.setCurrentItem(nextApplication);
-        iteratorHandlerController.updateIteratorHandler(iteratorHandler);
 
         event.getHook()
                 .sendMessage(formatGroupApplicationDetails(nextApplication))
-                .setActionRow(
-                        Button.success(NAME + ":" + ACCEPT_BUTTON_ACTION, "Accept"),
-                        Button.danger(NAME + ":" + DECLINE_BUTTON_ACTION, "Decline"),
-                        Button.secondary(NAME + ":" + NEXT_BUTTON_ACTION, "Next"))
+                .setActionRow(getApplicationButtons(nextApplication))
                 .queue();
     }
 
@@ -272,12 +251,6 @@ public class ViewApplicationsCommand implements SlashCommandHandler, ButtonHandl
                                 + groupName
                                 + "** has been declined. But don't worry, use /findgroups to find other groups!";
 
-        jda.retrieveUserById(applicantDiscordId)
-                .queue(
-                        user -> {
-                            user.openPrivateChannel()
-                                    .flatMap(channel -> channel.sendMessage(message))
-                                    .queue();
-                        });
+        directMessageService.send(applicantDiscordId, message);
     }
 }
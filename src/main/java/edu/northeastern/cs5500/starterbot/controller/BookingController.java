@@ -55,10 +55,8 @@ public class BookingController {
         Set<TimeSlot> bookedSlots = room.getBookedSlots();
 
         for (TimeSlot bookedSlot : bookedSlots) {
-            // Check for overlap
-            if (bookedSlot.getDay().equalsIgnoreCase(timeSlot.getDay())
-                    && !(timeSlot.getEnd().isBefore(bookedSlot.getStart())
-                            || timeSlot.getStart().isAfter(bookedSlot.getEnd()))) {
+            // Instants already carry the day, so this is two comparisons in any zone
+            if (bookedSlot.overlaps(timeSlot)) {
                 return false;
             }
         }
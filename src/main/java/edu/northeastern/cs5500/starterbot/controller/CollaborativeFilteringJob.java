@@ -0,0 +1,417 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Model;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.AffinityStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.CachingStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.IndexedStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Ranks groups for every student from what students like them joined, and stores the best ones as
+ * a {@link GroupAffinity} for {@link AffinityStudyGroupRecommender} to blend into recommendations.
+ * Cached recommendations are dropped after each run so the new rankings are used.
+ *
+ * <p>Each run reads every student and group once and numbers them densely, keeping the members of
+ * each group as a compressed bitmap of student numbers. It then works in two parallel passes on a
+ * fork/join pool with one thread per core. The first finds each group's nearest groups by the
+ * cosine similarity of their members, so that "students who joined X also joined Y". The second
+ * scores, for each student, the neighbours of their groups plus every group sharing an interest,
+ * weighted by the Jaccard similarity of the two interest sets. Both passes only visit groups that
+ * share a member or an interest, so a run grows with the number of memberships rather than with
+ * students times groups.
+ *
+ * @author Team Wolf
+ */
+@Singleton
+@Slf4j
+public class CollaborativeFilteringJob {
+    static final int TOP_GROUPS = 20;
+    static final int NEIGHBOURS = 50;
+    static final double CO_MEMBERSHIP_WEIGHT = 1.0;
+    static final double INTEREST_WEIGHT = 0.5;
+    // A task stops splitting at this many students or groups
+    static final int TASK_SIZE = 256;
+    static final int PAGE_SIZE = 1000;
+    static final long RUN_INTERVAL_HOURS = 6;
+    private static final String SCHEDULER_NAME = "groupAffinity";
+
+    GenericRepository<Student> studentRepository;
+    GenericRepository<StudyGroup> studyGroupRepository;
+    GroupAffinityController groupAffinityController;
+    @Inject MetricsService metricsService;
+    @Inject CachingStudyGroupRecommender studyGroupRecommender;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "group-affinity");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    @Inject
+    public CollaborativeFilteringJob(
+            GenericRepository<Student> studentRepository,
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GroupAffinityController groupAffinityController) {
+        this(
+                studentRepository,
+                studyGroupRepository,
+                groupAffinityController,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    CollaborativeFilteringJob(
+            GenericRepository<Student> studentRepository,
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GroupAffinityController groupAffinityController,
+            int parallelism) {
+        this.studentRepository = studentRepository;
+        this.studyGroupRepository = studyGroupRepository;
+        this.groupAffinityController = groupAffinityController;
+        this.pool = new ForkJoinPool(parallelism);
+
+        metricsService = new MetricsService();
+        studyGroupRecommender =
+                new CachingStudyGroupRecommender(
+                        new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository));
+    }
+
+    /** Compute the affinities now and then again every few hours. */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(
+                this::processAffinities, 0, RUN_INTERVAL_HOURS, TimeUnit.HOURS);
+        log.info("Collaborative filtering job started");
+    }
+
+    void processAffinities() {
+        long tickStart = System.nanoTime();
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("Error occurred while computing group affinities", e);
+        } finally {
+            metricsService
+                    .latency(MetricsService.SCHEDULER_TICK, SCHEDULER_NAME)
+                    .recordNanos(System.nanoTime() - tickStart);
+        }
+    }
+
+    /** Compute and store the affinities of every student. */
+    void run() {
+        List<Student> students = readAll(studentRepository);
+        List<StudyGroup> groups = readAll(studyGroupRepository);
+        long computeStart = System.nanoTime();
+        List<List<GroupAffinity.ScoredGroup>> ranked = compute(students, groups);
+        log.info(
+                "Ranked {} groups for {} students in {} ms",
+                groups.size(),
+                students.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - computeStart));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<GroupAffinity> affinities = new ArrayList<>(students.size());
+        for (int s = 0; s < students.size(); s++) {
+            affinities.add(
+                    GroupAffinity.builder()
+                            .id(students.get(s).getId())
+                            .groups(ranked.get(s))
+                            .computedTime(now)
+                            .build());
+        }
+        // One batch: a single bulk write on MongoDB, a single forced journal append on file
+        groupAffinityController.saveAffinities(affinities);
+        studyGroupRecommender.invalidateAll();
+    }
+
+    /**
+     * Rank groups for students.
+     *
+     * @param students the students
+     * @param groups every group
+     * @return for each student, in the same order, at most {@link #TOP_GROUPS} groups best first,
+     *     none of which the student is in or which are full
+     */
+    List<List<GroupAffinity.ScoredGroup>> compute(List<Student> students, List<StudyGroup> groups) {
+        Memberships memberships = new Memberships(students, groups);
+        int[][] neighbours = new int[groups.size()][];
+        double[][] similarities = new double[groups.size()][];
+        pool.invoke(
+                new RangeTask(
+                        0,
+                        groups.size(),
+                        (from, to) ->
+                                memberships.findNeighbours(from, to, neighbours, similarities)));
+
+        List<GroupAffinity.ScoredGroup> none = List.of();
+        // Each task sets its own students' entries, and invoke waits for all of them
+        List<List<GroupAffinity.ScoredGroup>> ranked =
+                new ArrayList<>(Collections.nCopies(students.size(), none));
+        pool.invoke(
+                new RangeTask(
+                        0,
+                        students.size(),
+                        (from, to) ->
+                                memberships.rankGroups(
+                                        from, to, neighbours, similarities, ranked)));
+        return ranked;
+    }
+
+    private static <T extends Model> List<T> readAll(GenericRepository<T> repository) {
+        List<T> items = new ArrayList<>();
+        ObjectId after = null;
+        List<T> page;
+        do {
+            page = repository.getPage(after, PAGE_SIZE);
+            items.addAll(page);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return items;
+    }
+
+    /** Work on a range of numbers, with scratch space shared by the whole range. */
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /** Splits a range in halves until it is small enough to work on in one go. */
+    private static class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        RangeTask(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_SIZE) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, action), new RangeTask(middle, to, action));
+        }
+    }
+
+    /** Students, groups and interests numbered from zero, read only once built. */
+    private static class Memberships {
+        final List<StudyGroup> groups;
+        final int[][] groupsOfStudent;
+        final int[][] interestsOfStudent;
+        final RoaringBitmap[] membersOfGroup;
+        final int[] memberCount;
+        final int[] interestCountOfGroup;
+        final boolean[] full;
+        final List<RoaringBitmap> groupsWithInterest = new ArrayList<>();
+
+        Memberships(List<Student> students, List<StudyGroup> groups) {
+            this.groups = groups;
+            Map<ObjectId, Integer> groupNumbers = new HashMap<>();
+            for (int g = 0; g < groups.size(); g++) {
+                groupNumbers.put(groups.get(g).getId(), g);
+            }
+            Map<ObjectId, Integer> interestNumbers = new HashMap<>();
+
+            membersOfGroup = new RoaringBitmap[groups.size()];
+            interestCountOfGroup = new int[groups.size()];
+            for (int g = 0; g < groups.size(); g++) {
+                membersOfGroup[g] = new RoaringBitmap();
+                Set<Interest> interests = groups.get(g).getInterestSet();
+                interestCountOfGroup[g] = interests.size();
+                for (Interest interest : interests) {
+                    int i = number(interestNumbers, interest.getId());
+                    groupsWithInterest.get(i).add(g);
+                }
+            }
+
+            groupsOfStudent = new int[students.size()][];
+            interestsOfStudent = new int[students.size()][];
+            for (int s = 0; s < students.size(); s++) {
+                Student student = students.get(s);
+                groupsOfStudent[s] =
+                        student.getGroupList().stream()
+                                .map(groupNumbers::get)
+                                .filter(Objects::nonNull)
+                                .mapToInt(Integer::intValue)
+                                .distinct()
+                                .toArray();
+                for (int g : groupsOfStudent[s]) {
+                    membersOfGroup[g].add(s);
+                }
+                interestsOfStudent[s] =
+                        student.getInterestSet().stream()
+                                .mapToInt(interest -> number(interestNumbers, interest.getId()))
+                                .distinct()
+                                .toArray();
+            }
+
+            memberCount = new int[groups.size()];
+            full = new boolean[groups.size()];
+            for (int g = 0; g < groups.size(); g++) {
+                membersOfGroup[g].runOptimize();
+                memberCount[g] = membersOfGroup[g].getCardinality();
+                Integer maxMembers = groups.get(g).getMaxMembers();
+                full[g] = maxMembers != null && memberCount[g] >= maxMembers;
+            }
+        }
+
+        private int number(Map<ObjectId, Integer> numbers, ObjectId id) {
+            return numbers.computeIfAbsent(
+                    id,
+                    key -> {
+                        groupsWithInterest.add(new RoaringBitmap());
+                        return groupsWithInterest.size() - 1;
+                    });
+        }
+
+        /** For each group, the groups sharing the most members with it relative to their size. */
+        void findNeighbours(int from, int to, int[][] neighbours, double[][] similarities) {
+            int[] shared = new int[groups.size()];
+            double[] similarity = new double[groups.size()];
+            int[] touched = new int[groups.size()];
+            for (int g = from; g < to; g++) {
+                int count = 0;
+                IntIterator members = membersOfGroup[g].getIntIterator();
+                while (members.hasNext()) {
+                    for (int h : groupsOfStudent[members.next()]) {
+                        if (h != g && shared[h]++ == 0) {
+                            touched[count++] = h;
+                        }
+                    }
+                }
+                for (int j = 0; j < count; j++) {
+                    int h = touched[j];
+                    similarity[h] = shared[h] / Math.sqrt((double) memberCount[g] * memberCount[h]);
+                }
+                neighbours[g] = top(touched, count, similarity, NEIGHBOURS);
+                similarities[g] = new double[neighbours[g].length];
+                for (int j = 0; j < neighbours[g].length; j++) {
+                    similarities[g][j] = similarity[neighbours[g][j]];
+                }
+                for (int j = 0; j < count; j++) {
+                    shared[touched[j]] = 0;
+                    similarity[touched[j]] = 0;
+                }
+            }
+        }
+
+        /** For each student, the best groups they are not in and that have room. */
+        void rankGroups(
+                int from,
+                int to,
+                int[][] neighbours,
+                double[][] similarities,
+                List<List<GroupAffinity.ScoredGroup>> ranked) {
+            double[] score = new double[groups.size()];
+            int[] overlap = new int[groups.size()];
+            boolean[] seen = new boolean[groups.size()];
+            int[] touched = new int[groups.size()];
+            int[] candidates = new int[groups.size()];
+            for (int s = from; s < to; s++) {
+                int count = 0;
+                for (int g : groupsOfStudent[s]) {
+                    for (int j = 0; j < neighbours[g].length; j++) {
+                        int h = neighbours[g][j];
+                        if (!seen[h]) {
+                            seen[h] = true;
+                            touched[count++] = h;
+                        }
+                        score[h] += CO_MEMBERSHIP_WEIGHT * similarities[g][j];
+                    }
+                }
+                for (int i : interestsOfStudent[s]) {
+                    IntIterator withInterest = groupsWithInterest.get(i).getIntIterator();
+                    while (withInterest.hasNext()) {
+                        int h = withInterest.next();
+                        if (!seen[h]) {
+                            seen[h] = true;
+                            touched[count++] = h;
+                        }
+                        overlap[h]++;
+                    }
+                }
+
+                int candidateCount = 0;
+                for (int j = 0; j < count; j++) {
+                    int h = touched[j];
+                    if (overlap[h] > 0) {
+                        int union =
+                                interestsOfStudent[s].length
+                                        + interestCountOfGroup[h]
+                                        - overlap[h];
+                        score[h] += INTEREST_WEIGHT * overlap[h] / union;
+                    }
+                    if (!full[h] && !joined(s, h) && score[h] > 0) {
+                        candidates[candidateCount++] = h;
+                    }
+                }
+                List<GroupAffinity.ScoredGroup> best = new ArrayList<>();
+                for (int h : top(candidates, candidateCount, score, TOP_GROUPS)) {
+                    best.add(new GroupAffinity.ScoredGroup(groups.get(h).getId(), score[h]));
+                }
+                ranked.set(s, best);
+
+                for (int j = 0; j < count; j++) {
+                    int h = touched[j];
+                    score[h] = 0;
+                    overlap[h] = 0;
+                    seen[h] = false;
+                }
+            }
+        }
+
+        private boolean joined(int s, int g) {
+            for (int joined : groupsOfStudent[s]) {
+                if (joined == g) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** The limit candidates with the highest scores, best first, ties going to the lower number. */
+    static int[] top(int[] candidates, int count, double[] scores, int limit) {
+        Comparator<Integer> worstFirst =
+                (a, b) ->
+                        scores[a] != scores[b]
+                                ? Double.compare(scores[a], scores[b])
+                                : Integer.compare(b, a);
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int j = 0; j < count; j++) {
+            best.add(candidates[j]);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        int[] result = new int[best.size()];
+        for (int j = result.length - 1; j >= 0; j--) {
+            result[j] = best.poll();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,230 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudentDashboard;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/**
+ * Keeps a {@link StudentDashboard} for each student in its own collection. Controllers call {@link
+ * #invalidate} for every student a write affects, which deletes the stored dashboard, and the next
+ * {@link #getDashboard} builds it again from the indexed lookups and stores it. A student who reads
+ * more often than they change anything gets each dashboard command from one keyed read.
+ *
+ * <p>A rebuilt dashboard is only stored if no invalidation of its student landed while it was
+ * being built. Writes and invalidations run on different threads, so the check and the store hold
+ * the same per-student lock as {@link #invalidate}.
+ *
+ * @author Team Wolf
+ */
+@Singleton
+@Slf4j
+public class DashboardController {
+    static final String DISCORD_USER_ID_FIELD = "discordUserId";
+    static final int LOCK_STRIPES = 64;
+
+    GenericRepository<StudentDashboard> dashboardRepository;
+    @Inject OpenTelemetry openTelemetry;
+    // Counts invalidations, so a build can tell whether one happened while it was reading
+    private final AtomicLong invalidationClock = new AtomicLong();
+    // Only students invalidated since their dashboard was last stored
+    final Map<ObjectId, Long> lastInvalidation = new ConcurrentHashMap<>();
+    // The latest invalidation dropped from lastInvalidation, for builds that started before it
+    private final AtomicLong prunedInvalidation = new AtomicLong();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * The DashboardController constructor
+     *
+     * @param dashboardRepository repo for the stored dashboards
+     */
+    @Inject
+    public DashboardController(GenericRepository<StudentDashboard> dashboardRepository) {
+        this.dashboardRepository = dashboardRepository;
+        openTelemetry = new FakeOpenTelemetryService();
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    private Object lockFor(ObjectId studentId) {
+        return locks[Math.floorMod(studentId.hashCode(), locks.length)];
+    }
+
+    /**
+     * Get the dashboard of a student, building it first if a write dropped it.
+     *
+     * @param discordUserId the discord user id of the student
+     * @param studentController the student controller
+     * @param studyGroupController the study group controller
+     * @param meetingController the meeting controller
+     * @param groupApplicationController the group application controller
+     * @return the dashboard
+     */
+    @Nonnull
+    public StudentDashboard getDashboard(
+            String discordUserId,
+            StudentController studentController,
+            StudyGroupController studyGroupController,
+            MeetingController meetingController,
+            GroupApplicationController groupApplicationController) {
+        var span = openTelemetry.span("getDashboard");
+        span.setAttribute("discordUserId", discordUserId);
+
+        try (Scope scope = span.makeCurrent()) {
+            List<StudentDashboard> stored =
+                    dashboardRepository.findBy(
+                            DISCORD_USER_ID_FIELD,
+                            StudentDashboard::getDiscordUserId,
+                            discordUserId);
+            if (!stored.isEmpty()) {
+                span.setAttribute("rebuilt", false);
+                return stored.get(0);
+            }
+            span.setAttribute("rebuilt", true);
+
+            long startedAt = invalidationClock.get();
+            Student student = studentController.getStudentByDiscordUserId(discordUserId);
+            StudentDashboard dashboard =
+                    buildDashboard(
+                            student,
+                            studyGroupController,
+                            meetingController,
+                            groupApplicationController);
+            span.setAttribute("stored", store(dashboard, startedAt));
+            return dashboard;
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Store a rebuilt dashboard, unless a write that landed during the build may be missing from
+     * it, in which case it is left for the next read to build again.
+     *
+     * @param dashboard the rebuilt dashboard
+     * @param startedAt the invalidation clock when the build started
+     * @return true if the dashboard was stored
+     */
+    private boolean store(StudentDashboard dashboard, long startedAt) {
+        ObjectId studentId = dashboard.getId();
+        synchronized (lockFor(studentId)) {
+            Long invalidatedAt = lastInvalidation.get(studentId);
+            long latest = invalidatedAt == null ? prunedInvalidation.get() : invalidatedAt;
+            if (latest > startedAt) {
+                return false;
+            }
+            dashboardRepository.update(dashboard);
+            if (invalidatedAt != null) {
+                // Slower builds of this student now compare against the pruned mark instead
+                prunedInvalidation.accumulateAndGet(invalidatedAt, Math::max);
+                lastInvalidation.remove(studentId);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Drop the stored dashboards of students, after a write that changes what they show.
+     *
+     * @param studentIds the ids of the students
+     */
+    public void invalidate(@Nonnull Collection<ObjectId> studentIds) {
+        for (ObjectId studentId : studentIds) {
+            synchronized (lockFor(studentId)) {
+                lastInvalidation.put(studentId, invalidationClock.incrementAndGet());
+                dashboardRepository.delete(studentId);
+            }
+        }
+    }
+
+    /**
+     * Drop the stored dashboards of students, after a write that changes what they show.
+     *
+     * @param studentIds the ids of the students
+     */
+    public void invalidate(@Nonnull ObjectId... studentIds) {
+        invalidate(Arrays.asList(studentIds));
+    }
+
+    /** Work the dashboard out from the groups, meetings and applications of the student. */
+    StudentDashboard buildDashboard(
+            Student student,
+            StudyGroupController studyGroupController,
+            MeetingController meetingController,
+            GroupApplicationController groupApplicationController) {
+        List<ObjectId> groupList = student.getGroupList();
+        Map<ObjectId, StudyGroup> groupsById = new HashMap<>();
+        for (StudyGroup studyGroup : studyGroupController.getStudyGroupsByIds(groupList)) {
+            groupsById.put(studyGroup.getId(), studyGroup);
+        }
+
+        List<StudentDashboard.GroupEntry> groups = new ArrayList<>();
+        for (ObjectId groupId : groupList) {
+            StudyGroup studyGroup = groupsById.get(groupId);
+            if (studyGroup == null) {
+                log.warn("Student {} is in missing group {}", student.getId(), groupId);
+                continue;
+            }
+            groups.add(
+                    StudentDashboard.GroupEntry.builder()
+                            .groupId(groupId)
+                            .name(studyGroup.getName())
+                            .leader(student.getId().equals(studyGroup.getGroupLeaderId()))
+                            .build());
+        }
+
+        List<AbstractMeeting> meetings = meetingController.getMeetingsForStudent(student);
+        List<ObjectId> otherGroupIds = new ArrayList<>();
+        for (AbstractMeeting meeting : meetings) {
+            if (!groupsById.containsKey(meeting.getStudyGroup())) {
+                otherGroupIds.add(meeting.getStudyGroup());
+            }
+        }
+        if (!otherGroupIds.isEmpty()) {
+            for (StudyGroup studyGroup : studyGroupController.getStudyGroupsByIds(otherGroupIds)) {
+                groupsById.put(studyGroup.getId(), studyGroup);
+            }
+        }
+        List<StudentDashboard.MeetingEntry> meetingEntries = new ArrayList<>();
+        for (AbstractMeeting meeting : meetings) {
+            StudyGroup studyGroup = groupsById.get(meeting.getStudyGroup());
+            meetingEntries.add(
+                    StudentDashboard.MeetingEntry.builder()
+                            .meetingId(meeting.getId())
+                            .topic(meeting.getTopic())
+                            .groupName(studyGroup == null ? null : studyGroup.getName())
+                            .frequency(meeting.getFrequency())
+                            .timeSlots(new ArrayList<>(meeting.getTimeSlots()))
+                            .build());
+        }
+
+        return StudentDashboard.builder()
+                .id(student.getId())
+                .discordUserId(student.getDiscordUserId())
+                .groups(groups)
+                .meetings(meetingEntries)
+                .pendingApplications(
+                        groupApplicationController.countPendingApplicationsForLeader(student))
+                .reminderTimeInMin(student.getReminderTimeInMin())
+                .directMessageReminders(student.isDirectMessageReminders())
+                .build();
+    }
+}
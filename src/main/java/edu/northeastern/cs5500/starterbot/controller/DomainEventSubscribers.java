@@ -0,0 +1,107 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.event.DomainEvent;
+import edu.northeastern.cs5500.starterbot.event.DomainEventBus;
+import edu.northeastern.cs5500.starterbot.event.GroupDisbanded;
+import edu.northeastern.cs5500.starterbot.event.MeetingCreated;
+import edu.northeastern.cs5500.starterbot.event.StudentJoinedGroup;
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/**
+ * The work that follows a domain event, moved out of the controller method that publishes it so
+ * the interaction can be answered first. Each event is handled on its own: one that fails is
+ * logged and counted in {@link MetricsService#DOMAIN_EVENT_FAILURES}, and the rest of the batch
+ * still runs.
+ *
+ * @author Team Wolf
+ */
+@Singleton
+@Slf4j
+public class DomainEventSubscribers {
+    @Inject DomainEventBus eventBus;
+    @Inject StudyGroupController studyGroupController;
+    @Inject MeetingController meetingController;
+    @Inject ReminderController reminderController;
+    @Inject BookingController bookingController;
+    @Inject MetricsService metricsService;
+
+    @Inject
+    public DomainEventSubscribers() {
+        // Empty and public for Dagger
+    }
+
+    /** Subscribe to every event and start delivering them, including any already published. */
+    public void start() {
+        eventBus.subscribe(StudentJoinedGroup.class, this::onStudentsJoinedGroups);
+        eventBus.subscribe(MeetingCreated.class, this::onMeetingsCreated);
+        eventBus.subscribe(GroupDisbanded.class, this::onGroupsDisbanded);
+        eventBus.start();
+    }
+
+    /** Add each new member to their group's meetings, with reminders if they want them. */
+    void onStudentsJoinedGroups(List<StudentJoinedGroup> events) {
+        forEach(
+                events,
+                event ->
+                        meetingController.updateParticipantsAfterJoinGroup(
+                                event.getStudent(), event.getStudyGroup(), reminderController));
+    }
+
+    /** Create the reminders of each new meeting for the members of its group. */
+    void onMeetingsCreated(List<MeetingCreated> events) {
+        // Meetings of the same group in one batch share its member list
+        Map<ObjectId, List<Student>> membersByGroup = new HashMap<>();
+        forEach(
+                events,
+                event -> {
+                    StudyGroup studyGroup = event.getStudyGroup();
+                    List<Student> members =
+                            membersByGroup.computeIfAbsent(
+                                    studyGroup.getId(),
+                                    groupId ->
+                                            studyGroupController.getMemberListOfStudyGroup(
+                                                    studyGroup));
+                    reminderController.createRemindersForMeeting(
+                            event.getMeeting().getId(), studyGroup, members);
+                });
+    }
+
+    /** Cancel the meetings, with their reminders and bookings, of each disbanded group. */
+    void onGroupsDisbanded(List<GroupDisbanded> events) {
+        forEach(
+                events,
+                event -> {
+                    for (AbstractMeeting meeting :
+                            meetingController.getMeetingsForStudyGroup(event.getStudyGroup())) {
+                        meetingController.cancelMeeting(
+                                meeting, bookingController, reminderController);
+                    }
+                });
+    }
+
+    private <E extends DomainEvent> void forEach(List<E> events, Consumer<E> handler) {
+        for (E event : events) {
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                metricsService
+                        .counter(
+                                MetricsService.DOMAIN_EVENT_FAILURES,
+                                event.getClass().getSimpleName())
+                        .increment();
+                log.error("Unable to handle {}", event, e);
+            }
+        }
+    }
+}
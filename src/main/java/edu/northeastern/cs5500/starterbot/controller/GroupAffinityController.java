@@ -0,0 +1,57 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.bson.types.ObjectId;
+
+/**
+ * Keeps the precomputed {@link GroupAffinity} of each student, which CollaborativeFilteringJob
+ * replaces on every run and AffinityStudyGroupRecommender blends into recommendations.
+ *
+ * @author Team Wolf
+ */
+public class GroupAffinityController {
+    GenericRepository<GroupAffinity> groupAffinityRepository;
+
+    @Inject
+    public GroupAffinityController(GenericRepository<GroupAffinity> groupAffinityRepository) {
+        this.groupAffinityRepository = groupAffinityRepository;
+    }
+
+    /**
+     * Get the ids of the groups a student is most likely to join.
+     *
+     * @param studentId the id of the student
+     * @return the ids, best first, or an empty list if the job has not covered the student yet
+     */
+    @Nonnull
+    public List<ObjectId> getTopGroupIds(@Nonnull ObjectId studentId) {
+        GroupAffinity affinity = groupAffinityRepository.get(studentId);
+        List<ObjectId> groupIds = new ArrayList<>();
+        if (affinity != null) {
+            affinity.getGroups().forEach(group -> groupIds.add(group.getGroupId()));
+        }
+        return groupIds;
+    }
+
+    /**
+     * Replace the stored groups of a student.
+     *
+     * @param affinity the new groups, with the student's id
+     */
+    public void saveAffinity(@Nonnull GroupAffinity affinity) {
+        groupAffinityRepository.update(affinity);
+    }
+
+    /**
+     * Replace the stored groups of many students in one batch.
+     *
+     * @param affinities the new groups, each with its student's id
+     */
+    public void saveAffinities(@Nonnull Collection<GroupAffinity> affinities) {
+        groupAffinityRepository.updateAll(affinities);
+    }
+}
@@ -4,6 +4,7 @@ import edu.northeastern.cs5500.starterbot.model.GroupApplication;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
 import io.opentelemetry.api.trace.StatusCode;
@@ -11,6 +12,7 @@ import io.opentelemetry.context.Scope;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
@@ -21,11 +23,13 @@ import org.bson.types.ObjectId;
  */
 @Slf4j
 public class GroupApplicationController {
+    static final String RECEIVER_FIELD = "receiver";
 
     GenericRepository<GroupApplication> groupApplicationRepository;
     @Inject OpenTelemetry openTelemetry;
     @Inject StudentController studentController;
     @Inject StudyGroupController studyGroupController;
+    @Inject DashboardController dashboardController;
 
     @Inject
     public GroupApplicationController(
@@ -36,6 +40,7 @@ public class GroupApplicationController {
         this.studentController = studentController;
         this.studyGroupController = studyGroupController;
         this.openTelemetry = new FakeOpenTelemetryService();
+        this.dashboardController = new DashboardController(new InMemoryRepository<>());
     }
     /**
      * Retrieves all group applications for the groups owned by a specific leader.
@@ -71,6 +76,55 @@ public class GroupApplicationController {
         }
     }
 
+    /**
+     * Retrieves the next group application for the groups owned by a specific leader, continuing
+     * after the one the leader saw last. Application ids are assigned when they are submitted, so
+     * they come back in the same order as {@link #getApplicationsByLeader(String)}.
+     *
+     * @param leaderDiscordUserId The Discord user ID of the group leader.
+     * @param after The ID of the application seen last, or null to start from the oldest.
+     * @return The next group application, or null if there are no more.
+     */
+    @Nullable
+    public GroupApplication getNextApplicationForLeader(
+            String leaderDiscordUserId, @Nullable ObjectId after) {
+        var span = openTelemetry.span("getNextApplicationForLeader");
+        span.setAttribute("leaderDiscordUserId", leaderDiscordUserId);
+        Student leader = studentController.getStudentByDiscordUserId(leaderDiscordUserId);
+        try (Scope scope = span.makeCurrent()) {
+            List<ObjectId> groupIds = studyGroupController.getStudyGroupIdsForLeader(leader);
+            if (groupIds.isEmpty()) {
+                return null;
+            }
+            List<GroupApplication> page =
+                    groupApplicationRepository.findPage(
+                            RECEIVER_FIELD, GroupApplication::getReceiver, groupIds, after, 1);
+            return page.isEmpty() ? null : page.get(0);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Count the applications waiting on the groups a student leads.
+     *
+     * @param leader the group leader
+     * @return the number of pending applications
+     */
+    public int countPendingApplicationsForLeader(Student leader) {
+        List<ObjectId> groupIds = studyGroupController.getStudyGroupIdsForLeader(leader);
+        if (groupIds.isEmpty()) {
+            return 0;
+        }
+        return groupApplicationRepository
+                .findByAny(RECEIVER_FIELD, GroupApplication::getReceiver, groupIds)
+                .size();
+    }
+
     /**
      * Accepts a group application and performs necessary actions.
      *
@@ -89,6 +143,7 @@ public class GroupApplicationController {
             studyGroupController.addStudyGroup(applicant, studyGroup, studentController);
             // Remove the application from the repository
             groupApplicationRepository.delete(applicationId);
+            dashboardController.invalidate(studyGroup.getGroupLeaderId());
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -110,6 +165,10 @@ public class GroupApplicationController {
         try (Scope scope = span.makeCurrent()) {
             // Remove the application from the repository
             groupApplicationRepository.delete(applicationId);
+            StudyGroup studyGroup = studyGroupController.findGroupByApplication(application);
+            if (studyGroup != null) {
+                dashboardController.invalidate(studyGroup.getGroupLeaderId());
+            }
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -1,32 +1,51 @@
 package edu.northeastern.cs5500.starterbot.controller;
 
-import com.mongodb.MongoException;
+import edu.northeastern.cs5500.starterbot.event.DomainEventBus;
+import edu.northeastern.cs5500.starterbot.event.MeetingCreated;
 import edu.northeastern.cs5500.starterbot.model.*;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import edu.northeastern.cs5500.starterbot.service.SessionModule;
+import edu.northeastern.cs5500.starterbot.service.SessionStore;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
 import java.util.*;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 
 /**
  * Represents the meeting controller class
  *
+ * <p>Changes to stored meetings come from interactions, the schedulers and domain event
+ * subscribers, each on its own thread. Each change re-reads the meeting and writes it back while
+ * holding one lock, so no change overwrites another, and replaces the participant map rather than
+ * changing it, as the in-memory and file repositories hand out the stored instance.
+ *
  * @author Team Wolf
  */
+@Singleton
 @Slf4j
 public class MeetingController {
     GenericRepository<OnlineMeeting> onlineMeetingRepository;
     GenericRepository<InPersonMeeting> inPersonMeetingRepository;
-    @Inject InMemoryRepository<AbstractMeeting> meetingMemory;
+    @Inject SessionStore<AbstractMeeting> meetingMemory;
     @Inject OpenTelemetry openTelemetry;
     @Inject StudyGroupController studyGroupController;
+    @Inject MeetingExpiryQueue expiryQueue;
+    @Inject DashboardController dashboardController;
+    @Inject DomainEventBus eventBus;
     static final String EMPTY_STRING = "";
+    static final String ORGANIZER_FIELD = "organizer";
+    static final String STUDY_GROUP_FIELD = "studyGroup";
+    // Held for every read-modify-write and delete of a stored meeting
+    private final Object meetingWrites = new Object();
 
     /**
      * The MeetingController constructor
@@ -40,43 +59,44 @@ public class MeetingController {
             GenericRepository<InPersonMeeting> inPersonMeetingRepository) {
         this.onlineMeetingRepository = onlineMeetingRepository;
         this.inPersonMeetingRepository = inPersonMeetingRepository;
-        this.meetingMemory = new InMemoryRepository<>();
+        this.meetingMemory = new SessionStore<>(SessionModule.MEETING_DRAFTS);
         openTelemetry = new FakeOpenTelemetryService();
+        expiryQueue = new MeetingExpiryQueue();
+        dashboardController = new DashboardController(new InMemoryRepository<>());
+        eventBus = DomainEventBus.synchronous();
     }
 
     /**
      * Creates a new online meeting and assigns all members of the associated study group as
-     * tentative participants.
+     * tentative participants. Their reminders are created afterwards, on a {@link MeetingCreated}
+     * event.
      *
-     * @param newMeeting
-     * @param studyGroupController
-     * @param reminderController
+     * @param newOnlineMeeting the meeting
+     * @param studyGroupController the study group controller
      */
     public void createOnlineMeeting(
-            OnlineMeeting newOnlineMeeting,
-            StudyGroupController studyGroupController,
-            ReminderController reminderController) {
+            OnlineMeeting newOnlineMeeting, StudyGroupController studyGroupController) {
         var span = openTelemetry.span("createStudyGroup");
         span.setAttribute("meetingId", newOnlineMeeting.getId().toHexString());
 
         try (Scope scope = span.makeCurrent()) {
-            HashMap<String, AbstractMeeting.Status> participants = new HashMap<>();
+            ParticipantStatusMap participants = new ParticipantStatusMap();
             StudyGroup studyGroup =
                     studyGroupController.getStudyGroupById(newOnlineMeeting.getStudyGroup());
             List<Student> members = studyGroupController.getMemberListOfStudyGroup(studyGroup);
             for (Student member : members) {
 
                 if (member.getId().equals(newOnlineMeeting.getOrganizer())) {
-                    participants.put(member.getId().toString(), AbstractMeeting.Status.ACCEPT);
+                    participants.put(member.getId(), AbstractMeeting.Status.ACCEPT);
                     continue;
                 }
-                participants.put(member.getId().toString(), AbstractMeeting.Status.TENTATIVE);
+                participants.put(member.getId(), AbstractMeeting.Status.TENTATIVE);
             }
             newOnlineMeeting.setParticipants(participants);
             onlineMeetingRepository.add(newOnlineMeeting);
-            createReminderHelper(
-                    studyGroup, reminderController, newOnlineMeeting.getId(), studyGroupController);
-            meetingMemory.delete(newOnlineMeeting.getId()); // delete from creating memory
+            expiryQueue.track(newOnlineMeeting);
+            dashboardController.invalidate(participants.getStudentIds());
+            eventBus.publish(new MeetingCreated(newOnlineMeeting, studyGroup));
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -87,41 +107,36 @@ public class MeetingController {
     }
 
     /**
-     * Creates a new online meeting and assigns all members of the associated study group as
-     * tentative participants.
+     * Creates a new in-person meeting and assigns all members of the associated study group as
+     * tentative participants. Their reminders are created afterwards, on a {@link MeetingCreated}
+     * event.
      *
-     * @param newMeeting
-     * @param studyGroupController
-     * @param reminderController
+     * @param newInPersonMeeting the meeting
+     * @param studyGroupController the study group controller
      */
     public void createInPersonMeeting(
-            InPersonMeeting newInPersonMeeting,
-            StudyGroupController studyGroupController,
-            ReminderController reminderController) {
+            InPersonMeeting newInPersonMeeting, StudyGroupController studyGroupController) {
         var span = openTelemetry.span("createStudyGroup");
         span.setAttribute("meetingId", newInPersonMeeting.getId().toHexString());
 
         try (Scope scope = span.makeCurrent()) {
-            HashMap<String, AbstractMeeting.Status> participants = new HashMap<>();
+            ParticipantStatusMap participants = new ParticipantStatusMap();
             StudyGroup studyGroup =
                     studyGroupController.getStudyGroupById(newInPersonMeeting.getStudyGroup());
             List<Student> members = studyGroupController.getMemberListOfStudyGroup(studyGroup);
             for (Student member : members) {
 
                 if (member.getId().equals(newInPersonMeeting.getOrganizer())) {
-                    participants.put(member.getId().toString(), AbstractMeeting.Status.ACCEPT);
+                    participants.put(member.getId(), AbstractMeeting.Status.ACCEPT);
                     continue;
                 }
-                participants.put(member.getId().toString(), AbstractMeeting.Status.TENTATIVE);
+                participants.put(member.getId(), AbstractMeeting.Status.TENTATIVE);
             }
             newInPersonMeeting.setParticipants(participants);
             inPersonMeetingRepository.add(newInPersonMeeting);
-            createReminderHelper(
-                    studyGroup,
-                    reminderController,
-                    newInPersonMeeting.getId(),
-                    studyGroupController);
-            meetingMemory.delete(newInPersonMeeting.getId()); // delete from creating memory
+            expiryQueue.track(newInPersonMeeting);
+            dashboardController.invalidate(participants.getStudentIds());
+            eventBus.publish(new MeetingCreated(newInPersonMeeting, studyGroup));
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -136,67 +151,89 @@ public class MeetingController {
             Student member, StudyGroup studyGroup, ReminderController reminderController) {
         List<AbstractMeeting> meetings = getMeetingsForStudyGroup(studyGroup);
         for (AbstractMeeting meeting : meetings) {
-            if (member.getReminderTimeInMin() != null) {
-                reminderController.createReminder(
-                        meeting.getId(), member.getReminderTimeInMin(), member);
-            }
-
-            HashMap<String, AbstractMeeting.Status> participants = meeting.getParticipants();
-            participants.put(member.getId().toString(), AbstractMeeting.Status.TENTATIVE);
-            meeting.setParticipants(participants);
-            if (meeting instanceof OnlineMeeting onlineMeeting) {
-                onlineMeetingRepository.update(onlineMeeting);
-            } else if (meeting instanceof InPersonMeeting inPersonMeeting) {
-                inPersonMeetingRepository.update(inPersonMeeting);
+            AbstractMeeting updated =
+                    modify(
+                            meeting,
+                            current ->
+                                    setStatus(
+                                            current,
+                                            member.getId(),
+                                            AbstractMeeting.Status.TENTATIVE));
+            if (updated != null && member.getReminderTimeInMin() != null) {
+                reminderController.addReminderForStudent(updated, member, studyGroup);
             }
         }
+        dashboardController.invalidate(member.getId());
     }
 
     /**
-     * Create the reminder while create meetings
+     * Change a stored meeting, re-reading it first so that changes made since the caller read it
+     * are kept.
      *
-     * @param member student member
-     * @param reminderController
-     * @param meetingId
+     * @param meeting the meeting as the caller read it
+     * @param change the change, applied to the stored meeting
+     * @return the changed meeting, or null if it has been deleted
      */
-    private void createReminderHelper(
-            StudyGroup studyGroup,
-            ReminderController reminderController,
-            ObjectId meetingId,
-            StudyGroupController studyGroupController) {
-        List<Student> members = studyGroupController.getMemberListOfStudyGroup(studyGroup);
-        for (Student member : members) {
-            Integer reminderTimeInMin = member.getReminderTimeInMin();
-            if (reminderTimeInMin != null && reminderTimeInMin > 0) {
-                reminderController.createReminder(meetingId, reminderTimeInMin, member);
+    @Nullable
+    private AbstractMeeting modify(AbstractMeeting meeting, Consumer<AbstractMeeting> change) {
+        synchronized (meetingWrites) {
+            if (meeting instanceof OnlineMeeting) {
+                return modify(onlineMeetingRepository, meeting.getId(), change);
             }
+            return modify(inPersonMeetingRepository, meeting.getId(), change);
         }
     }
 
+    @Nullable
+    private AbstractMeeting getStored(AbstractMeeting meeting) {
+        if (meeting instanceof OnlineMeeting) {
+            return onlineMeetingRepository.get(meeting.getId());
+        }
+        return inPersonMeetingRepository.get(meeting.getId());
+    }
+
+    @Nullable
+    private <T extends AbstractMeeting> T modify(
+            GenericRepository<T> repository, ObjectId meetingId, Consumer<? super T> change) {
+        synchronized (meetingWrites) {
+            T current = repository.get(meetingId);
+            if (current == null) {
+                return null;
+            }
+            change.accept(current);
+            return repository.update(current);
+        }
+    }
+
+    /** Replace the participants of a meeting with a copy without the student. */
+    private static void removeParticipant(AbstractMeeting meeting, ObjectId studentId) {
+        ParticipantStatusMap participants = new ParticipantStatusMap(meeting.getParticipants());
+        participants.remove(studentId);
+        meeting.setParticipants(participants);
+    }
+
+    /** Replace the participants of a meeting with a copy that has the student's new status. */
+    private static void setStatus(
+            AbstractMeeting meeting, ObjectId studentId, AbstractMeeting.Status status) {
+        ParticipantStatusMap participants = new ParticipantStatusMap(meeting.getParticipants());
+        participants.put(studentId, status);
+        meeting.setParticipants(participants);
+    }
+
     /**
-     * Find online meetying by associated discord user id
+     * Find the meeting a discord user is creating
      *
      * @param discordUserId discord user Id
-     * @return OnlineMeeting object
+     * @return the meeting being created
+     * @throws IllegalArgumentException if the user is not creating a meeting, or the draft expired
      */
     @Nonnull
-    public AbstractMeeting getMeetingFromMemorybyDiscordId(
-            String discordUserId, StudentController studentController) {
-        try {
-            Student student = studentController.getStudentByDiscordUserId(discordUserId);
-            Collection<AbstractMeeting> meetings = meetingMemory.getAll();
-            for (AbstractMeeting meeting : meetings) {
-                if (meeting.getOrganizer() != null
-                        && meeting.getOrganizer().equals(student.getId())) {
-                    return meeting;
-                }
-            }
+    public AbstractMeeting getMeetingFromMemorybyDiscordId(String discordUserId) {
+        AbstractMeeting meeting = meetingMemory.get(discordUserId);
+        if (meeting == null) {
             throw new IllegalArgumentException("The discord user does not have meeting creating.");
-        } catch (MongoException e) {
-            throw new RuntimeException("Failed to interact with the database.", e);
-        } catch (Exception e) {
-            throw new RuntimeException("Unexpected error occurred:", e);
         }
+        return meeting;
     }
 
     /**
@@ -211,23 +248,8 @@ public class MeetingController {
 
         try (Scope scope = span.makeCurrent()) {
             List<AbstractMeeting> studentMeetings = new ArrayList<>();
-
-            // Get all online meetings
-            Collection<OnlineMeeting> onlineMeetings = onlineMeetingRepository.getAll();
-            for (OnlineMeeting meeting : onlineMeetings) {
-                if (isMeetingRelevantToStudent(meeting, student)) {
-                    studentMeetings.add(meeting);
-                }
-            }
-
-            // Get all in-person meetings
-            Collection<InPersonMeeting> inPersonMeetings = inPersonMeetingRepository.getAll();
-            for (InPersonMeeting meeting : inPersonMeetings) {
-                if (isMeetingRelevantToStudent(meeting, student)) {
-                    studentMeetings.add(meeting);
-                }
-            }
-
+            studentMeetings.addAll(findMeetingsForStudent(onlineMeetingRepository, student));
+            studentMeetings.addAll(findMeetingsForStudent(inPersonMeetingRepository, student));
             return studentMeetings;
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -238,10 +260,36 @@ public class MeetingController {
         }
     }
 
+    /**
+     * The meetings a student organizes, then those of the student's groups they take part in.
+     * Participants are always members of the meeting's group, so looking through the meetings of
+     * their groups finds every meeting they are in without reading all meetings.
+     */
+    private <T extends AbstractMeeting> List<T> findMeetingsForStudent(
+            GenericRepository<T> repository, Student student) {
+        Map<ObjectId, T> meetings = new LinkedHashMap<>();
+        List<T> organized =
+                repository.findBy(ORGANIZER_FIELD, AbstractMeeting::getOrganizer, student.getId());
+        for (T meeting : organized) {
+            meetings.put(meeting.getId(), meeting);
+        }
+        List<ObjectId> groupList = student.getGroupList();
+        if (groupList != null && !groupList.isEmpty()) {
+            for (T meeting :
+                    repository.findByAny(
+                            STUDY_GROUP_FIELD, AbstractMeeting::getStudyGroup, groupList)) {
+                if (isMeetingRelevantToStudent(meeting, student)) {
+                    meetings.putIfAbsent(meeting.getId(), meeting);
+                }
+            }
+        }
+        return new ArrayList<>(meetings.values());
+    }
+
     /** Helper method to check if a meeting is relevant to a student */
     private boolean isMeetingRelevantToStudent(AbstractMeeting meeting, Student student) {
         return meeting.getOrganizer().equals(student.getId())
-                || meeting.getParticipants().containsKey(student.getId().toString());
+                || meeting.getParticipants().containsKey(student.getId());
     }
 
     /**
@@ -290,13 +338,14 @@ public class MeetingController {
     }
 
     /**
-     * Add the meeting to memory
+     * Add the meeting to memory, replacing any meeting the user was already creating
      *
+     * @param discordUserId the discord user creating the meeting
      * @param newMeeting new abstrct meeting
      */
-    public void addMeetingToMemory(AbstractMeeting newMeeting) {
+    public void addMeetingToMemory(String discordUserId, AbstractMeeting newMeeting) {
         if (newMeeting != null) {
-            meetingMemory.add(newMeeting);
+            meetingMemory.put(discordUserId, newMeeting);
             return;
         }
         throw new IllegalArgumentException("New meeting cannot be null");
@@ -305,11 +354,10 @@ public class MeetingController {
     /**
      * Delete the meeting to memory
      *
-     * @param meetingId the meeting id
+     * @param discordUserId the discord user creating the meeting
      */
-    public void deleteMeetingFromMemory(ObjectId meetingId) {
-        if (meetingId != null) {
-            meetingMemory.delete(meetingId);
+    public void deleteMeetingFromMemory(String discordUserId) {
+        if (meetingMemory.remove(discordUserId) != null) {
             return;
         }
         throw new IllegalArgumentException("This meeting does not exist.");
@@ -318,11 +366,12 @@ public class MeetingController {
     /**
      * Update the meeting to memory
      *
-     * @param meetingId new abstrct meeting
+     * @param discordUserId the discord user creating the meeting
+     * @param meeting new abstrct meeting
      */
-    public void updateMeetingToMemory(AbstractMeeting meeting) {
+    public void updateMeetingToMemory(String discordUserId, AbstractMeeting meeting) {
         if (meeting != null) {
-            meetingMemory.update(meeting);
+            meetingMemory.put(discordUserId, meeting);
             return;
         }
         throw new IllegalArgumentException("This meeting does not exist.");
@@ -341,22 +390,12 @@ public class MeetingController {
         span.setAttribute("meetingId", meeting.getId().toHexString());
 
         try (Scope scope = span.makeCurrent()) {
-
-            reminderController.deleteAllRemindersForMeetingSeries(meeting);
-
-            // Remove the meeting from the appropriate repository
-            if (meeting instanceof OnlineMeeting onlineMeeting) {
-                onlineMeetingRepository.delete(onlineMeeting.getId());
-            } else if (meeting instanceof InPersonMeeting inPersonMeeting) {
-                // cancel the booking related to the meeingt
-                Booking booking = bookingController.getBookingForMeeting(meeting);
-                if (booking != null) {
-                    bookingController.cancelBooking(booking, this);
-                }
-
-                inPersonMeetingRepository.delete(inPersonMeeting.getId());
+            synchronized (meetingWrites) {
+                // Participants may have been added since the caller read the meeting
+                AbstractMeeting current = getStored(meeting);
+                deleteMeeting(
+                        current == null ? meeting : current, bookingController, reminderController);
             }
-
             log.info("Meeting {} has been canceled", meeting.getId());
 
         } catch (Exception e) {
@@ -368,6 +407,30 @@ public class MeetingController {
         }
     }
 
+    private void deleteMeeting(
+            AbstractMeeting meeting,
+            BookingController bookingController,
+            ReminderController reminderController) {
+        reminderController.deleteAllRemindersForMeetingSeries(meeting);
+
+        // Remove the meeting from the appropriate repository
+        if (meeting instanceof OnlineMeeting onlineMeeting) {
+            onlineMeetingRepository.delete(onlineMeeting.getId());
+        } else if (meeting instanceof InPersonMeeting inPersonMeeting) {
+            // cancel the booking related to the meeingt
+            Booking booking = bookingController.getBookingForMeeting(meeting);
+            if (booking != null) {
+                bookingController.cancelBooking(booking, this);
+            }
+
+            inPersonMeetingRepository.delete(inPersonMeeting.getId());
+        }
+        expiryQueue.untrack(meeting.getId());
+        List<ObjectId> affected = new ArrayList<>(meeting.getParticipants().getStudentIds());
+        affected.add(meeting.getOrganizer());
+        dashboardController.invalidate(affected);
+    }
+
     /**
      * Retrieves all meetings associated with a StudyGroup
      *
@@ -396,17 +459,8 @@ public class MeetingController {
         var span = openTelemetry.span("getMeetingsForStudent");
         span.setAttribute("studyGroupId", studyGroup.getId().toHexString());
 
-        List<OnlineMeeting> studyGroupMeetings = new ArrayList<>();
-
-        // Get all online meetings
-        Collection<OnlineMeeting> onlineMeetings = onlineMeetingRepository.getAll();
-        for (OnlineMeeting meeting : onlineMeetings) {
-            if (isMeetingRelevantToStudyGroup(meeting, studyGroup)) {
-                studyGroupMeetings.add(meeting);
-            }
-        }
-
-        return studyGroupMeetings;
+        return onlineMeetingRepository.findBy(
+                STUDY_GROUP_FIELD, OnlineMeeting::getStudyGroup, studyGroup.getId());
     }
 
     /**
@@ -419,22 +473,8 @@ public class MeetingController {
         var span = openTelemetry.span("getMeetingsForStudent");
         span.setAttribute("studyGroupId", studyGroup.getId().toHexString());
 
-        List<InPersonMeeting> studyGroupMeetings = new ArrayList<>();
-
-        // Get all in-person meetings
-        Collection<InPersonMeeting> inPersonMeetings = inPersonMeetingRepository.getAll();
-        for (InPersonMeeting meeting : inPersonMeetings) {
-            if (isMeetingRelevantToStudyGroup(meeting, studyGroup)) {
-                studyGroupMeetings.add(meeting);
-            }
-        }
-
-        return studyGroupMeetings;
-    }
-
-    /** Helper method to check if a meeting is relevant to a student */
-    private boolean isMeetingRelevantToStudyGroup(AbstractMeeting meeting, StudyGroup studyGroup) {
-        return meeting.getStudyGroup().equals(studyGroup.getId());
+        return inPersonMeetingRepository.findBy(
+                STUDY_GROUP_FIELD, InPersonMeeting::getStudyGroup, studyGroup.getId());
     }
 
     /**
@@ -461,11 +501,7 @@ public class MeetingController {
             if (onlineMeeting.getOrganizer().equals(student.getId())) {
                 cancelMeeting(onlineMeeting, bookingController, reminderController);
             } else {
-                HashMap<String, AbstractMeeting.Status> participants =
-                        onlineMeeting.getParticipants();
-                participants.remove(student.getId().toString());
-                onlineMeeting.setParticipants(participants);
-                onlineMeetingRepository.update(onlineMeeting);
+                modify(onlineMeeting, current -> removeParticipant(current, student.getId()));
             }
         }
 
@@ -474,11 +510,7 @@ public class MeetingController {
             if (inPersonMeeting.getOrganizer().equals(student.getId())) {
                 cancelMeeting(inPersonMeeting, bookingController, reminderController);
             } else {
-                HashMap<String, AbstractMeeting.Status> participants =
-                        inPersonMeeting.getParticipants();
-                participants.remove(student.getId().toString());
-                inPersonMeeting.setParticipants(participants);
-                inPersonMeetingRepository.update(inPersonMeeting);
+                modify(inPersonMeeting, current -> removeParticipant(current, student.getId()));
             }
         }
 
@@ -499,15 +531,18 @@ public class MeetingController {
         var span = openTelemetry.span("updateMeetingStatus");
         AbstractMeeting abstractMeeting = getMeetingById(meetingId);
         try (Scope scope = span.makeCurrent()) {
-            if (abstractMeeting.getParticipants().containsKey(studentId.toString())) {
-                abstractMeeting.getParticipants().put(studentId.toString(), status);
-                if (abstractMeeting instanceof OnlineMeeting) {
-                    onlineMeetingRepository.update((OnlineMeeting) abstractMeeting);
-                } else {
-                    inPersonMeetingRepository.update((InPersonMeeting) abstractMeeting);
-                }
-            } else {
-                throw new IllegalArgumentException("Student is not in this meeting!");
+            AbstractMeeting updated =
+                    modify(
+                            abstractMeeting,
+                            current -> {
+                                if (!current.getParticipants().containsKey(studentId)) {
+                                    throw new IllegalArgumentException(
+                                            "Student is not in this meeting!");
+                                }
+                                setStatus(current, studentId, status);
+                            });
+            if (updated == null) {
+                throw new IllegalArgumentException("No meeting found with ID: " + meetingId);
             }
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -520,6 +555,9 @@ public class MeetingController {
 
     public void updateInPersonMeetingBooking(InPersonMeeting inPersonMeeting, Booking booking) {
         inPersonMeeting.setBooking(booking);
-        inPersonMeetingRepository.update(inPersonMeeting);
+        modify(
+                inPersonMeetingRepository,
+                inPersonMeeting.getId(),
+                current -> current.setBooking(booking));
     }
 }
@@ -0,0 +1,124 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+/**
+ * Keeps every meeting ordered by the end of its last time slot, so finding the meetings that are
+ * over only looks at the meetings that are over.
+ *
+ * <p>Entries are never removed from the middle of the heap. Untracking or re-tracking a meeting
+ * only updates the index, and stale heap entries are dropped when they reach the head.
+ *
+ * @author Team Wolf
+ */
+@Singleton
+public class MeetingExpiryQueue {
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<ObjectId, Instant> lastEndById = new HashMap<>();
+
+    @Inject
+    public MeetingExpiryQueue() {
+        // Empty for Dagger
+    }
+
+    /**
+     * Start tracking a meeting, or move it if its time slots changed. Meetings without time slots
+     * are never over, so they are not tracked.
+     *
+     * @param meeting the meeting
+     */
+    public synchronized void track(@Nonnull AbstractMeeting meeting) {
+        Instant lastEnd = lastEndTime(meeting);
+        if (lastEnd == null) {
+            untrack(meeting.getId());
+            return;
+        }
+        Instant previous = lastEndById.put(meeting.getId(), lastEnd);
+        if (!lastEnd.equals(previous)) {
+            queue.add(new Entry(lastEnd, meeting.getId()));
+        }
+    }
+
+    /**
+     * Stop tracking a meeting, e.g. because it was cancelled
+     *
+     * @param meetingId the meeting id
+     */
+    public synchronized void untrack(@Nonnull ObjectId meetingId) {
+        lastEndById.remove(meetingId);
+    }
+
+    /**
+     * Remove and return up to maxCount meetings whose last time slot ended before now, earliest
+     * first
+     *
+     * @param now the current time
+     * @param maxCount the largest batch to return
+     * @return the ids of the expired meetings
+     */
+    public synchronized List<ObjectId> pollExpired(@Nonnull Instant now, int maxCount) {
+        List<ObjectId> expired = new ArrayList<>();
+        while (expired.size() < maxCount && !queue.isEmpty()) {
+            Entry head = queue.peek();
+            if (!head.getLastEnd().equals(lastEndById.get(head.getMeetingId()))) {
+                queue.poll(); // untracked, or re-tracked with another end time
+                continue;
+            }
+            if (!now.isAfter(head.getLastEnd())) {
+                break;
+            }
+            queue.poll();
+            lastEndById.remove(head.getMeetingId());
+            expired.add(head.getMeetingId());
+        }
+        return expired;
+    }
+
+    /** @return the number of meetings being tracked */
+    public synchronized int size() {
+        return lastEndById.size();
+    }
+
+    /**
+     * The end of the latest time slot of a meeting
+     *
+     * @param meeting the meeting
+     * @return the end time, or null if the meeting has no time slots
+     */
+    @Nullable
+    static Instant lastEndTime(@Nonnull AbstractMeeting meeting) {
+        if (meeting.getTimeSlots() == null) {
+            return null;
+        }
+        return meeting.getTimeSlots().stream()
+                .map(TimeSlot::getEnd)
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+
+    @Value
+    private static class Entry implements Comparable<Entry> {
+        Instant lastEnd;
+        ObjectId meetingId;
+
+        @Override
+        public int compareTo(Entry other) {
+            return lastEnd.compareTo(other.lastEnd);
+        }
+    }
+}
@@ -2,20 +2,26 @@ package edu.northeastern.cs5500.starterbot.controller;
 
 import edu.northeastern.cs5500.starterbot.model.*;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
-import java.time.LocalDateTime;
+import edu.northeastern.cs5500.starterbot.service.Heartbeat;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
 import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 
 /**
  * Represents the meeting scheduler class, starts when the bot starts
  *
  * @author Team Wolf
  */
+@Singleton
 @Slf4j
 public class MeetingScheduler {
     GenericRepository<OnlineMeeting> onlineMeetingRepository;
@@ -23,8 +29,14 @@ public class MeetingScheduler {
     @Inject MeetingController meetingController;
     @Inject BookingController bookingController;
     @Inject ReminderController reminderController;
+    @Inject MeetingExpiryQueue expiryQueue;
+    @Inject MetricsService metricsService;
     static final String EMPTY_STRING = "";
+    private static final String SCHEDULER_NAME = "meetings";
+    static final int BATCH_SIZE = 100;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    @Getter
+    private final Heartbeat heartbeat = new Heartbeat(SCHEDULER_NAME, Duration.ofMinutes(1));
 
     @Inject
     public MeetingScheduler(
@@ -32,56 +44,74 @@ public class MeetingScheduler {
             GenericRepository<InPersonMeeting> inPersonMeetingRepository,
             MeetingController meetingController,
             BookingController bookingController,
-            ReminderController reminderController) {
+            ReminderController reminderController,
+            MeetingExpiryQueue expiryQueue) {
         this.onlineMeetingRepository = onlineMeetingRepository;
         this.inPersonMeetingRepository = inPersonMeetingRepository;
         this.meetingController = meetingController;
         this.bookingController = bookingController;
         this.reminderController = reminderController;
+        this.expiryQueue = expiryQueue;
+
+        metricsService = new MetricsService();
     }
 
     public void start() {
+        loadExpiryQueue();
+        heartbeat.markStarted();
         scheduler.scheduleAtFixedRate(this::processMeetings, 0, 1, TimeUnit.MINUTES);
         log.info("Meeting scheduler started");
     }
 
-    /** Filter out all meetings that are over and invoke deletion of the object. */
-    private void processMeetings() {
+    /**
+     * Track every stored meeting once. After this the queue is kept up to date by MeetingController
+     * as meetings are created and cancelled.
+     */
+    void loadExpiryQueue() {
+        onlineMeetingRepository.getAll().forEach(expiryQueue::track);
+        inPersonMeetingRepository.getAll().forEach(expiryQueue::track);
+        log.info("Tracking {} meetings for expiry", expiryQueue.size());
+    }
+
+    /** Cancel every meeting that is over, a batch at a time. */
+    void processMeetings() {
         log.info("Processing meetings");
+        long tickStart = System.nanoTime();
         try {
-            // Combine all meetings into a single stream
-            Collection<OnlineMeeting> onlineMeetings = onlineMeetingRepository.getAll();
-            Collection<InPersonMeeting> inPersonMeetings = inPersonMeetingRepository.getAll();
-
-            // Process all meetings after converting them to AbstractMeeting
-            Stream.concat(
-                            onlineMeetings.stream().map(meeting -> (AbstractMeeting) meeting),
-                            inPersonMeetings.stream().map(meeting -> (AbstractMeeting) meeting))
-                    .filter(this::isMeetingOver)
-                    .forEach(this::cancelMeeting);
+            Instant now = Instant.now();
+            List<ObjectId> expired;
+            while (!(expired = expiryQueue.pollExpired(now, BATCH_SIZE)).isEmpty()) {
+                findMeetings(expired).forEach(this::cancelMeeting);
+            }
+            heartbeat.beat();
         } catch (Exception e) {
             log.error("Error occurred while processing meetings", e);
+        } finally {
+            metricsService
+                    .latency(MetricsService.SCHEDULER_TICK, SCHEDULER_NAME)
+                    .recordNanos(System.nanoTime() - tickStart);
+        }
+    }
+
+    /** Load a batch of meetings by id with one lookup per meeting type */
+    private List<AbstractMeeting> findMeetings(List<ObjectId> meetingIds) {
+        List<AbstractMeeting> meetings = new ArrayList<>(onlineMeetingRepository.get(meetingIds));
+        Set<ObjectId> remaining = new HashSet<>(meetingIds);
+        meetings.forEach(meeting -> remaining.remove(meeting.getId()));
+        if (!remaining.isEmpty()) {
+            meetings.addAll(inPersonMeetingRepository.get(new ArrayList<>(remaining)));
         }
+        return meetings;
     }
 
     // To be called by processMeetings() only
     private void cancelMeeting(AbstractMeeting meeting) {
         log.info("Canceling meeting {}", meeting.getId());
-        meetingController.cancelMeeting(meeting, bookingController, reminderController);
-    }
-
-    // Check if the meeting has ended based on the latest time slot
-    private boolean isMeetingOver(AbstractMeeting meeting) {
-        if (meeting.getTimeSlots() == null || meeting.getTimeSlots().isEmpty()) {
-            return false; // No time slots, can't determine if it's over
+        try {
+            meetingController.cancelMeeting(meeting, bookingController, reminderController);
+        } catch (Exception e) {
+            // Keep going so one bad meeting does not hold up the rest of the batch
+            log.error("Unable to cancel meeting {}", meeting.getId(), e);
         }
-
-        LocalDateTime lastEndTime =
-                meeting.getTimeSlots().stream()
-                        .map(slot -> slot.getEnd())
-                        .max(LocalDateTime::compareTo)
-                        .orElse(LocalDateTime.MIN);
-
-        return LocalDateTime.now().isAfter(lastEndTime);
     }
 }
@@ -0,0 +1,186 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import edu.northeastern.cs5500.starterbot.model.OutboxEntry;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import java.time.LocalDateTime;
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import org.bson.types.ObjectId;
+
+/**
+ * Saves the Discord calls that follow a write, for OutboxDispatcher to make in the background.
+ * Callers add an entry right after their own write, so an interaction never waits on Discord and a
+ * call is not lost if the bot stops before making it.
+ *
+ * <p>Every entry names the Discord route it is limited on. One group has one channel, so the
+ * calls on a group's channel share a route named after the group, which lets a grant be queued
+ * before the channel exists.
+ *
+ * @author Team Wolf
+ */
+public class OutboxController {
+    static final String STUDY_GROUP_ID_FIELD = "studyGroupId";
+    static final String NEXT_ATTEMPT_TIME_FIELD = "nextAttemptTime";
+    static final String ROUTE_FIELD = "route";
+
+    GenericRepository<OutboxEntry> outboxRepository;
+
+    @Inject
+    public OutboxController(GenericRepository<OutboxEntry> outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Queue a direct message.
+     *
+     * @param discordUserId the recipient
+     * @param message the message content
+     * @return the saved entry
+     */
+    public OutboxEntry sendDirectMessage(@Nonnull String discordUserId, @Nonnull String message) {
+        return outboxRepository.add(
+                OutboxEntry.builder()
+                        .kind(OutboxEntry.Kind.DIRECT_MESSAGE)
+                        .route("user:" + discordUserId)
+                        .discordUserId(discordUserId)
+                        .message(message)
+                        .build());
+    }
+
+    /**
+     * Queue a message for a text channel.
+     *
+     * @param channelId the channel to post in
+     * @param message the message content
+     * @return the saved entry
+     */
+    public OutboxEntry postToChannel(@Nonnull String channelId, @Nonnull String message) {
+        return outboxRepository.add(
+                OutboxEntry.builder()
+                        .kind(OutboxEntry.Kind.CHANNEL_MESSAGE)
+                        .route("channel:" + channelId)
+                        .channelId(channelId)
+                        .message(message)
+                        .build());
+    }
+
+    /**
+     * Queue letting a member into the private channel of their group. The channel is looked up
+     * when the call is made, so this works for a group whose channel is still being created.
+     *
+     * @param studyGroup the group
+     * @param discordUserId the member
+     * @return the saved entry
+     */
+    public OutboxEntry grantChannelAccess(
+            @Nonnull StudyGroup studyGroup, @Nonnull String discordUserId) {
+        return outboxRepository.add(
+                OutboxEntry.builder()
+                        .kind(OutboxEntry.Kind.GRANT_CHANNEL_ACCESS)
+                        .route("group:" + studyGroup.getId().toHexString())
+                        .discordUserId(discordUserId)
+                        .studyGroupId(studyGroup.getId())
+                        .build());
+    }
+
+    /**
+     * Queue creating the private channel of a new group.
+     *
+     * @param guildId the server to create the channel in
+     * @param studyGroup the group
+     * @param leaderDiscordUserId the leader, who manages the channel
+     * @param welcomeMessage posted in the channel once it exists, or null for none
+     * @return the saved entry
+     */
+    public OutboxEntry createGroupChannel(
+            @Nonnull String guildId,
+            @Nonnull StudyGroup studyGroup,
+            @Nonnull String leaderDiscordUserId,
+            @Nullable String welcomeMessage) {
+        return outboxRepository.add(
+                OutboxEntry.builder()
+                        .kind(OutboxEntry.Kind.CREATE_GROUP_CHANNEL)
+                        .route("guild:" + guildId)
+                        .guildId(guildId)
+                        .discordUserId(leaderDiscordUserId)
+                        .studyGroupId(studyGroup.getId())
+                        .message(welcomeMessage)
+                        .build());
+    }
+
+    /**
+     * Read the entries that are due, grouped by route in the order they were saved. A route with
+     * an entry waiting for a retry is left out until that entry is due, so the call is never
+     * overtaken by a later one on the same route.
+     *
+     * <p>Both lookups are range queries on the next attempt time, served by an index on it, so a
+     * poll reads the waiting and due entries rather than the whole outbox.
+     *
+     * @param now the current time
+     * @param maxPerRoute the most entries to return for one route
+     * @return the due entries of each route, in the order the routes were first used
+     */
+    public Map<String, List<OutboxEntry>> getDueByRoute(
+            @Nonnull LocalDateTime now, int maxPerRoute) {
+        Set<String> blockedRoutes = new HashSet<>();
+        for (OutboxEntry waiting :
+                outboxRepository.findRange(
+                        NEXT_ATTEMPT_TIME_FIELD,
+                        OutboxEntry::getNextAttemptTime,
+                        now,
+                        null,
+                        ROUTE_FIELD,
+                        OutboxEntry::getRoute,
+                        List.of(),
+                        Integer.MAX_VALUE)) {
+            blockedRoutes.add(waiting.getRoute());
+        }
+
+        // Limited per route in the query, so a backed-up route cannot starve the others
+        Map<String, List<OutboxEntry>> dueByRoute = new LinkedHashMap<>();
+        for (OutboxEntry entry :
+                outboxRepository.findRangePerValue(
+                        NEXT_ATTEMPT_TIME_FIELD,
+                        OutboxEntry::getNextAttemptTime,
+                        null,
+                        now,
+                        ROUTE_FIELD,
+                        OutboxEntry::getRoute,
+                        blockedRoutes,
+                        maxPerRoute)) {
+            dueByRoute.computeIfAbsent(entry.getRoute(), k -> new ArrayList<>()).add(entry);
+        }
+        return dueByRoute;
+    }
+
+    /**
+     * Check whether a group's channel is still to be created.
+     *
+     * @param studyGroupId the group id
+     * @return true if a channel creation for the group is queued
+     */
+    public boolean isChannelPending(@Nonnull ObjectId studyGroupId) {
+        return outboxRepository
+                .findBy(STUDY_GROUP_ID_FIELD, OutboxEntry::getStudyGroupId, studyGroupId)
+                .stream()
+                .anyMatch(entry -> entry.getKind() == OutboxEntry.Kind.CREATE_GROUP_CHANNEL);
+    }
+
+    /** Remove an entry whose call was made, or given up on. */
+    public void complete(@Nonnull OutboxEntry entry) {
+        outboxRepository.delete(entry.getId());
+    }
+
+    /** Save an entry's attempt count and next attempt time after a failed call. */
+    public void reschedule(@Nonnull OutboxEntry entry) {
+        outboxRepository.update(entry);
+    }
+
+    /** @return the number of calls still to be made */
+    public long getPendingCount() {
+        return outboxRepository.count();
+    }
+}
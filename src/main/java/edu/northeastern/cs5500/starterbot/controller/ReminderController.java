@@ -2,19 +2,27 @@ package edu.northeastern.cs5500.starterbot.controller;
 
 import edu.northeastern.cs5500.starterbot.model.*;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageService;
+import edu.northeastern.cs5500.starterbot.service.Heartbeat;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.JDA;
 import org.bson.types.ObjectId;
 
+@Singleton
 @Slf4j
 public class ReminderController {
     GenericRepository<Reminder> reminderRepository;
@@ -22,9 +30,14 @@ public class ReminderController {
     @Inject StudyGroupController studyGroupController;
     @Inject MeetingController meetingController;
     @Inject OpenTelemetry openTelemetry;
-    @Inject JDA jda;
+    @Inject DirectMessageService directMessageService;
+    @Inject MetricsService metricsService;
+    private static final String SCHEDULER_NAME = "reminders";
+    static final String MENTION_FORMAT = "<@%s>";
     private static Integer ONE_INDEX = 1;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    @Getter
+    private final Heartbeat heartbeat = new Heartbeat(SCHEDULER_NAME, Duration.ofMinutes(1));
 
     /**
      * The ReminderController constructor
@@ -33,7 +46,7 @@ public class ReminderController {
      * @param studentController the student controller
      * @param meetingController the meeting controller
      * @param studyGroupController the study group controller
-     * @param jda
+     * @param directMessageService the service that delivers the reminder DMs
      */
     @Inject
     public ReminderController(
@@ -41,18 +54,37 @@ public class ReminderController {
             StudentController studentController,
             MeetingController meetingController,
             StudyGroupController studyGroupController,
-            JDA jda) {
+            DirectMessageService directMessageService) {
         this.reminderRepository = reminderRepository;
         this.studentController = studentController;
         this.meetingController = meetingController;
         this.studyGroupController = studyGroupController;
-        this.jda = jda;
+        this.directMessageService = directMessageService;
+
+        metricsService = new MetricsService();
     }
     /** Create a single reminder associated with a meeting and a student and save to repository */
     public Reminder createReminder(
             @NonNull ObjectId meetingId,
             @NonNull Integer reminderTimeInMin,
             @NonNull Student student) {
+        return saveReminder(meetingId, reminderTimeInMin, student);
+    }
+
+    /**
+     * Create a reminder that is posted once to the study group channel, mentioning every member
+     * who uses the same reminder time, and save it to the repository
+     *
+     * @param meetingId the meeting id
+     * @param reminderTimeInMin the reminder time in mins
+     */
+    public Reminder createChannelReminder(
+            @NonNull ObjectId meetingId, @NonNull Integer reminderTimeInMin) {
+        return saveReminder(meetingId, reminderTimeInMin, null);
+    }
+
+    private Reminder saveReminder(
+            ObjectId meetingId, Integer reminderTimeInMin, @Nullable Student student) {
         // Fetch the meeting details using MeetingController
         AbstractMeeting meeting = meetingController.getMeetingById(meetingId);
 
@@ -63,8 +95,8 @@ public class ReminderController {
             throw new IllegalArgumentException("No time slots available for the meeting");
         }
 
-        LocalDateTime meetingStartTime = meeting.getTimeSlots().get(0).getStart();
-        LocalDateTime calculatedReminderTime = meetingStartTime.minusMinutes(reminderTimeInMin);
+        Instant calculatedReminderTime =
+                reminderTime(meeting.getTimeSlots().get(0), reminderTimeInMin);
 
         String formattedMessage = formatReminderMessage(meeting, reminderTimeInMin);
 
@@ -81,6 +113,14 @@ public class ReminderController {
         return reminder;
     }
 
+    /**
+     * When to remind about a time slot. Instants are subtracted as-is, so a reminder an hour
+     * before a meeting is an hour before it across a daylight saving change.
+     */
+    private static Instant reminderTime(TimeSlot timeSlot, int reminderTimeInMin) {
+        return timeSlot.getStart().minus(Duration.ofMinutes(reminderTimeInMin));
+    }
+
     /**
      * Format reminder message
      *
@@ -114,9 +154,10 @@ public class ReminderController {
     }
     /** Scheduling reminder process every minute */
     public void start() {
+        heartbeat.markStarted();
         scheduler.scheduleAtFixedRate(
                 () -> {
-                    log.info("Scheduler heartbeat: " + LocalDateTime.now());
+                    log.info("Scheduler heartbeat: " + Instant.now());
                     processReminders();
                 },
                 0,
@@ -124,6 +165,124 @@ public class ReminderController {
                 TimeUnit.MINUTES);
     }
 
+    /**
+     * Whether a student is reminded through the group channel rather than by DM. Students who opted
+     * into DMs, and groups without a channel, fall back to one DM per student.
+     *
+     * @param student the student
+     * @param studyGroup the study group the meeting belongs to
+     */
+    boolean usesChannelReminder(@Nonnull Student student, @Nullable StudyGroup studyGroup) {
+        return !student.isDirectMessageReminders()
+                && studyGroup != null
+                && studyGroup.getChannelId() != null
+                && !studyGroup.getChannelId().isBlank();
+    }
+
+    /**
+     * Create the reminders for a newly created meeting: one channel reminder per distinct reminder
+     * time among the members reminded in the channel, and one DM reminder per opted-in member
+     *
+     * @param meetingId the meeting id
+     * @param studyGroup the study group the meeting belongs to
+     * @param members the members of the study group
+     */
+    public void createRemindersForMeeting(
+            @NonNull ObjectId meetingId,
+            @NonNull StudyGroup studyGroup,
+            @NonNull List<Student> members) {
+        Set<Integer> channelReminderTimes = new TreeSet<>();
+        for (Student member : members) {
+            Integer reminderTimeInMin = member.getReminderTimeInMin();
+            if (reminderTimeInMin == null || reminderTimeInMin <= 0) {
+                continue;
+            }
+            if (usesChannelReminder(member, studyGroup)) {
+                channelReminderTimes.add(reminderTimeInMin);
+            } else {
+                createReminder(meetingId, reminderTimeInMin, member);
+            }
+        }
+        for (Integer reminderTimeInMin : channelReminderTimes) {
+            createChannelReminder(meetingId, reminderTimeInMin);
+        }
+    }
+
+    /**
+     * Make sure a student who joined a group is reminded of one of its meetings
+     *
+     * @param meeting the meeting
+     * @param student the student
+     * @param studyGroup the study group the meeting belongs to
+     */
+    public void addReminderForStudent(
+            @NonNull AbstractMeeting meeting,
+            @NonNull Student student,
+            @Nullable StudyGroup studyGroup) {
+        Integer reminderTimeInMin = student.getReminderTimeInMin();
+        if (reminderTimeInMin == null) {
+            return;
+        }
+        if (usesChannelReminder(student, studyGroup)) {
+            ensureChannelReminder(meeting.getId(), reminderTimeInMin);
+        } else {
+            createReminder(meeting.getId(), reminderTimeInMin, student);
+        }
+    }
+
+    /** Create the channel reminder for a meeting and reminder time unless it already exists */
+    private void ensureChannelReminder(ObjectId meetingId, Integer reminderTimeInMin) {
+        boolean exists =
+                reminderRepository.getAll().stream()
+                        .anyMatch(
+                                reminder ->
+                                        reminder.getStudent() == null
+                                                && reminder.getMeetingId().equals(meetingId)
+                                                && reminderTimeInMin.equals(
+                                                        reminder.getReminderTimeInMin()));
+        if (!exists) {
+            createChannelReminder(meetingId, reminderTimeInMin);
+        }
+    }
+
+    /**
+     * Choose between DM reminders and being mentioned in the group channel. Existing reminders are
+     * moved over so the student is not reminded twice.
+     *
+     * @param studentDiscordId the student discord id
+     * @param enabled true to get reminders as DMs
+     */
+    public void setDirectMessageReminders(String studentDiscordId, boolean enabled) {
+        Student student = studentController.getStudentByDiscordUserId(studentDiscordId);
+        if (student.isDirectMessageReminders() == enabled) {
+            return;
+        }
+        student.setDirectMessageReminders(enabled);
+        studentController.updateStudent(student);
+
+        if (!enabled) {
+            // DM reminders for groups with a channel are replaced by channel mentions
+            List<Reminder> directReminders =
+                    reminderRepository.getAll().stream()
+                            .filter(
+                                    reminder ->
+                                            reminder.getStudent() != null
+                                                    && reminder.getStudent()
+                                                            .getDiscordUserId()
+                                                            .equals(studentDiscordId))
+                            .collect(Collectors.toList());
+            for (Reminder reminder : directReminders) {
+                AbstractMeeting meeting = meetingController.getMeetingById(reminder.getMeetingId());
+                StudyGroup studyGroup =
+                        studyGroupController.getStudyGroupById(meeting.getStudyGroup());
+                if (usesChannelReminder(student, studyGroup)) {
+                    reminderRepository.delete(reminder.getId());
+                }
+            }
+        }
+        createRemindersForExistingMeetings(studentDiscordId);
+    }
+
     /**
      * Set reminder preference and automatically create reminders for all accepted/created meeting
      * associated with the student
@@ -134,15 +293,16 @@ public class ReminderController {
     public void setReminder(String studentDiscordId, Integer reminderTimeInMin) {
         Student student = studentController.getStudentByDiscordUserId(studentDiscordId);
         student.setReminderTimeInMin(reminderTimeInMin);
-        studentController.studentRepository.update(student);
+        studentController.updateStudent(student);
         createRemindersForExistingMeetings(studentDiscordId);
     }
 
     /** Fetch reminder from repository every minute to send out reminders punctually */
     public void processReminders() {
         log.info("Processing reminders");
+        long tickStart = System.nanoTime();
         try {
-            LocalDateTime now = LocalDateTime.now();
+            Instant now = Instant.now();
             Collection<Reminder> reminders = reminderRepository.getAll();
             log.info("Retrieved reminders: " + (reminders != null ? reminders.size() : 0));
             reminders.forEach(
@@ -154,7 +314,12 @@ public class ReminderController {
 
                             AbstractMeeting meeting =
                                     meetingController.getMeetingById(reminder.getMeetingId());
-                            sendReminder(reminder);
+                            sendReminder(reminder, meeting);
+                            metricsService
+                                    .latency(MetricsService.REMINDER_LAG, "")
+                                    .recordMillis(
+                                            Duration.between(reminder.getReminderDateTime(), now)
+                                                    .toMillis());
 
                             if (!meeting.getFrequency().equals(Frequency.ONETIME)) {
                                 createNextReminder(reminder);
@@ -162,22 +327,48 @@ public class ReminderController {
                             reminderRepository.delete(reminder.getId());
                         }
                     });
+            heartbeat.beat();
         } catch (Exception e) {
             log.error("Error occurred while processing reminders", e);
+        } finally {
+            metricsService
+                    .latency(MetricsService.SCHEDULER_TICK, SCHEDULER_NAME)
+                    .recordNanos(System.nanoTime() - tickStart);
         }
     }
 
-    /** Send reminder in dm to user */
-    private void sendReminder(Reminder reminder) {
+    /** Send reminder in dm to user, or post it to the group channel */
+    private void sendReminder(Reminder reminder, AbstractMeeting meeting) {
         Student student = reminder.getStudent();
-        jda.retrieveUserById(student.getDiscordUserId())
-                .queue(
-                        user ->
-                                user.openPrivateChannel()
-                                        .flatMap(
-                                                channel ->
-                                                        channel.sendMessage(reminder.getMessage()))
-                                        .queue());
+        if (student != null) {
+            directMessageService.send(student.getDiscordUserId(), reminder.getMessage());
+            return;
+        }
+
+        StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
+        if (studyGroup == null || studyGroup.getChannelId() == null) {
+            log.warn("No channel to post the reminder for meeting '{}'", meeting.getTopic());
+            return;
+        }
+        // Mentions are worked out now so joins, leaves and preference changes are picked up
+        String mentions =
+                studyGroupController.getMemberListOfStudyGroup(studyGroup).stream()
+                        .filter(member -> usesChannelReminder(member, studyGroup))
+                        .filter(
+                                member ->
+                                        reminder.getReminderTimeInMin()
+                                                .equals(member.getReminderTimeInMin()))
+                        .filter(
+                                member ->
+                                        meeting.getParticipants().get(member.getId())
+                                                != AbstractMeeting.Status.DECLINE)
+                        .map(member -> String.format(MENTION_FORMAT, member.getDiscordUserId()))
+                        .collect(Collectors.joining(" "));
+        if (mentions.isEmpty()) {
+            return;
+        }
+        directMessageService.post(
+                studyGroup.getChannelId(), mentions + "\n" + reminder.getMessage());
     }
 
     /** Create next reminder when previous reminder is removed for recurring meetings */
@@ -186,8 +377,8 @@ public class ReminderController {
         ObjectId meetingId = currentReminder.getMeetingId();
         AbstractMeeting meeting = meetingController.getMeetingById(currentReminder.getMeetingId());
         TimeSlot nextTimeSlot = meeting.getTimeSlots().get(ONE_INDEX);
-        LocalDateTime nextReminderTime =
-                nextTimeSlot.getStart().minusMinutes(currentReminder.getReminderTimeInMin());
+        Instant nextReminderTime =
+                reminderTime(nextTimeSlot, currentReminder.getReminderTimeInMin());
         // Create the next reminder
         Reminder nextReminder =
                 Reminder.builder()
@@ -228,12 +419,20 @@ public class ReminderController {
                 continue;
             }
 
+            StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
+            if (usesChannelReminder(student, studyGroup)) {
+                // The student is mentioned in the group's channel reminder
+                ensureChannelReminder(meeting.getId(), reminderTimeInMin);
+                continue;
+            }
+
             // Check if a reminder already exists for this student and meeting
             boolean reminderExists =
                     reminderRepository.getAll().stream()
                             .anyMatch(
                                     reminder ->
                                             reminder.getMeetingId().equals(meeting.getId())
+                                                    && reminder.getStudent() != null
                                                     && reminder.getStudent()
                                                             .getDiscordUserId()
                                                             .equals(studentDiscordId));
@@ -249,7 +448,7 @@ public class ReminderController {
             // Use createReminder to generate the reminder and save to repo
             Reminder reminder = createReminder(meeting.getId(), reminderTimeInMin, student);
 
-            if (reminder.getReminderDateTime().isBefore(LocalDateTime.now())) {
+            if (reminder.getReminderDateTime().isBefore(Instant.now())) {
                 log.info(
                         "Skipping reminder for meeting '{}' because the reminder time has already passed.",
                         meeting.getTopic());
@@ -272,6 +471,8 @@ public class ReminderController {
      */
     public void updateReminder(
             String studentDiscordId, Integer reminderTimeInMin, boolean isForRecurringMeeting) {
+        Student student = studentController.getStudentByDiscordUserId(studentDiscordId);
+        Integer previousTimeInMin = student.getReminderTimeInMin();
         // first change student's preference of reminder setting
         setReminder(studentDiscordId, reminderTimeInMin);
         // update all student's reminders
@@ -279,22 +480,65 @@ public class ReminderController {
                 reminderRepository.getAll().stream()
                         .filter(
                                 reminder ->
-                                        reminder.getStudent()
-                                                .getDiscordUserId()
-                                                .equals(studentDiscordId))
+                                        reminder.getStudent() != null
+                                                && reminder.getStudent()
+                                                        .getDiscordUserId()
+                                                        .equals(studentDiscordId))
                         .collect(Collectors.toList());
 
         for (Reminder reminder : remindersForStudent) {
             ObjectId meetingId = reminder.getMeetingId();
             AbstractMeeting meeting = meetingController.getMeetingById(meetingId);
-            LocalDateTime updatedReminderDateTime =
-                    meeting.getTimeSlots().get(0).getStart().minusMinutes(reminderTimeInMin);
+            Instant updatedReminderDateTime =
+                    reminderTime(meeting.getTimeSlots().get(0), reminderTimeInMin);
             reminder.setReminderDateTime(updatedReminderDateTime);
             reminder.setReminderTimeInMin(reminderTimeInMin);
 
             // Update the reminder in the repository
             reminderRepository.update(reminder);
         }
+
+        if (reminderTimeInMin == null || reminderTimeInMin <= 0) {
+            return;
+        }
+        // Students reminded in the channel move to the channel reminder for the new time
+        for (AbstractMeeting meeting : meetingController.getMeetingsForStudent(student)) {
+            if (meeting.getTimeSlots() == null || meeting.getTimeSlots().isEmpty()) {
+                continue;
+            }
+            StudyGroup studyGroup = studyGroupController.getStudyGroupById(meeting.getStudyGroup());
+            if (!usesChannelReminder(student, studyGroup)) {
+                continue;
+            }
+            ensureChannelReminder(meeting.getId(), reminderTimeInMin);
+            if (previousTimeInMin != null && !previousTimeInMin.equals(reminderTimeInMin)) {
+                deleteUnusedChannelReminder(meeting.getId(), studyGroup, previousTimeInMin);
+            }
+        }
+    }
+
+    /** Delete the channel reminder for a reminder time once no member of the group uses it */
+    private void deleteUnusedChannelReminder(
+            ObjectId meetingId, StudyGroup studyGroup, Integer reminderTimeInMin) {
+        boolean used =
+                studyGroupController.getMemberListOfStudyGroup(studyGroup).stream()
+                        .anyMatch(
+                                member ->
+                                        usesChannelReminder(member, studyGroup)
+                                                && reminderTimeInMin.equals(
+                                                        member.getReminderTimeInMin()));
+        if (used) {
+            return;
+        }
+        reminderRepository.getAll().stream()
+                .filter(
+                        reminder ->
+                                reminder.getStudent() == null
+                                        && reminder.getMeetingId().equals(meetingId)
+                                        && reminderTimeInMin.equals(
+                                                reminder.getReminderTimeInMin()))
+                .collect(Collectors.toList())
+                .forEach(reminder -> reminderRepository.delete(reminder.getId()));
     }
     /**
      * Delete reminders for one meeting instance in the recurring series
@@ -314,34 +558,36 @@ public class ReminderController {
             return;
         }
 
-        // Remove the reminder associated with the specific timeslot
-        Reminder reminderToRemove =
+        // Remove every reminder for the timeslot: each student's own and the channel reminders
+        List<Reminder> remindersToRemove =
                 reminderRepository.getAll().stream()
                         .filter(
                                 reminder ->
                                         reminder.getMeetingId().equals(meeting.getId())
                                                 && reminder.getReminderDateTime()
                                                         .equals(
-                                                                timeslotToCancel
-                                                                        .getStart()
-                                                                        .minusMinutes(
-                                                                                reminder
-                                                                                        .getReminderTimeInMin())))
-                        .findFirst()
-                        .orElse(null);
+                                                                reminderTime(
+                                                                        timeslotToCancel,
+                                                                        reminder
+                                                                                .getReminderTimeInMin())))
+                        .collect(Collectors.toList());
 
-        if (reminderToRemove != null) {
-            reminderRepository.delete(reminderToRemove.getId());
-        } else {
+        if (remindersToRemove.isEmpty()) {
             log.warn("No reminder found！");
             return;
         }
 
-        // If the canceled timeslot is the first in the list, create a new reminder for the next
+        // If the canceled timeslot is the first in the list, create new reminders for the next
         // timeslot
-        if (!timeSlots.isEmpty() && timeSlots.get(0).equals(timeslotToCancel)) {
-            createNextReminder(reminderToRemove);
-            log.info("New reminder created for the next timeslot");
+        boolean firstTimeSlot = timeSlots.get(0).equals(timeslotToCancel);
+        for (Reminder reminderToRemove : remindersToRemove) {
+            reminderRepository.delete(reminderToRemove.getId());
+            if (firstTimeSlot && timeSlots.size() > ONE_INDEX) {
+                createNextReminder(reminderToRemove);
+            }
+        }
+        if (firstTimeSlot) {
+            log.info("New reminders created for the next timeslot");
         }
     }
     /**
@@ -384,9 +630,10 @@ public class ReminderController {
                 reminderRepository.getAll().stream()
                         .filter(
                                 reminder ->
-                                        reminder.getStudent()
-                                                .getDiscordUserId()
-                                                .equals(studentDiscordId))
+                                        reminder.getStudent() != null
+                                                && reminder.getStudent()
+                                                        .getDiscordUserId()
+                                                        .equals(studentDiscordId))
                         .collect(Collectors.toList());
 
         // Filter reminders associated with the study group
@@ -443,9 +690,10 @@ public class ReminderController {
                 reminderRepository.getAll().stream()
                         .filter(
                                 reminder ->
-                                        reminder.getStudent()
-                                                .getDiscordUserId()
-                                                .equals(studentDiscordId))
+                                        reminder.getStudent() != null
+                                                && reminder.getStudent()
+                                                        .getDiscordUserId()
+                                                        .equals(studentDiscordId))
                         .collect(Collectors.toList());
 
         // Filter for reminders matching the timeslot and meeting
@@ -456,11 +704,10 @@ public class ReminderController {
                                         reminder.getMeetingId().equals(meeting.getId())
                                                 && reminder.getReminderDateTime()
                                                         .equals(
-                                                                timeSlotToDelete
-                                                                        .getStart()
-                                                                        .minusMinutes(
-                                                                                reminder
-                                                                                        .getReminderTimeInMin())))
+                                                                reminderTime(
+                                                                        timeSlotToDelete,
+                                                                        reminder
+                                                                                .getReminderTimeInMin())))
                         .findFirst()
                         .orElse(null);
 
@@ -4,11 +4,8 @@ import edu.northeastern.cs5500.starterbot.model.*;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import javax.inject.Inject;
@@ -50,24 +47,17 @@ public class StudentAvailabilityController {
         span.setAttribute("endTime", endTime);
 
         try (Scope scope = span.makeCurrent()) {
+            DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT));
             LocalTime start = LocalTime.parse(startTime, formatter);
             LocalTime end = LocalTime.parse(endTime, formatter);
             // Check if its a valid time range
             if (!start.isBefore(end))
                 throw new IllegalArgumentException(
                         "Start time have to be ealier than the end time!");
-            // To avoid time zone issue
-            ZoneId zoneId = ZoneId.of("UTC");
-            ZonedDateTime startZone = start.atDate(LocalDate.now()).atZone(zoneId);
-            ZonedDateTime endZone = end.atDate(LocalDate.now()).atZone(zoneId);
-            TimeSlot timeSlot =
-                    TimeSlot.builder()
-                            .day(day)
-                            .start(startZone.toLocalDateTime())
-                            .end(endZone.toLocalDateTime())
-                            .build();
             Student student = studentController.getStudentByDiscordUserId(discordUserId);
-            List<TimeSlot> availabilityList = student.getAvailability();
+            // The times are the student's wall clock, every week
+            WeeklyTimeSlot timeSlot = WeeklyTimeSlot.of(dayOfWeek, start, end);
+            List<WeeklyTimeSlot> availabilityList = student.getAvailability();
 
             if (!isDuplicate(availabilityList, timeSlot)) {
                 availabilityList.add(timeSlot);
@@ -84,15 +74,13 @@ public class StudentAvailabilityController {
         }
     }
 
-    private boolean isDuplicate(List<TimeSlot> availabilityList, TimeSlot timeSlot) {
+    private boolean isDuplicate(List<WeeklyTimeSlot> availabilityList, WeeklyTimeSlot timeSlot) {
         return availabilityList.stream()
                 .anyMatch(
                         existingSlot ->
-                                existingSlot.getDay().equals(timeSlot.getDay())
-                                        && existingSlot
-                                                .getStart()
-                                                .toLocalTime()
-                                                .equals(timeSlot.getStart().toLocalTime()));
+                                existingSlot.getDay() == timeSlot.getDay()
+                                        && existingSlot.getStartMinute()
+                                                == timeSlot.getStartMinute());
     }
 
     /**
@@ -105,25 +93,19 @@ public class StudentAvailabilityController {
      */
     public boolean removeTimeSlot(String discordUserId, String day, String startTime) {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
-        List<TimeSlot> availability = student.getAvailability();
+        List<WeeklyTimeSlot> availability = student.getAvailability();
 
         if (availability.isEmpty()) {
             return false; // No availability to remove
         }
 
+        DayOfWeek dayOfWeek = DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT));
         LocalTime start = LocalTime.parse(startTime);
-        // To avoid time zone issue
-
-        LocalDateTime startDateTime = start.atDate(LocalDate.now());
 
         // Remove the matching time slot
         boolean removed =
                 availability.removeIf(
-                        slot ->
-                                slot.getDay().equals(day)
-                                        && slot.getStart()
-                                                .toLocalTime()
-                                                .equals(startDateTime.toLocalTime()));
+                        slot -> slot.getDay() == dayOfWeek && slot.getStartTime().equals(start));
 
         if (removed) {
             studentController.setAvailabilityForStudent(discordUserId, availability);
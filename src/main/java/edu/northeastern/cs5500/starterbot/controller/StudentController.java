@@ -3,12 +3,20 @@ package edu.northeastern.cs5500.starterbot.controller;
 import com.mongodb.MongoException;
 import com.mongodb.lang.Nullable;
 import edu.northeastern.cs5500.starterbot.model.*;
+import edu.northeastern.cs5500.starterbot.repository.AsyncGenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.AsyncRepositoryAdapter;
+import edu.northeastern.cs5500.starterbot.repository.CachingStudyGroupRecommender;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.IndexedStudyGroupRecommender;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -23,7 +31,10 @@ import org.bson.types.ObjectId;
 public class StudentController {
     GenericRepository<Student> studentRepository;
     InterestController interestController;
+    @Inject AsyncGenericRepository<Student> asyncStudentRepository;
     @Inject OpenTelemetry openTelemetry;
+    @Inject DashboardController dashboardController;
+    @Inject CachingStudyGroupRecommender studyGroupRecommender;
     static final String EMPTY_STRING = "";
     static final Pattern EMAIL_PATTERN = Pattern.compile("^[\\w.-]+@northeastern\\.edu$");
 
@@ -38,7 +49,22 @@ public class StudentController {
             GenericRepository<Student> studentRepository, InterestController interestController) {
         this.studentRepository = studentRepository;
         this.interestController = interestController;
+        this.asyncStudentRepository = new AsyncRepositoryAdapter<>(studentRepository);
 
+        openTelemetry = new FakeOpenTelemetryService();
+        dashboardController = new DashboardController(new InMemoryRepository<>());
+        studyGroupRecommender =
+                new CachingStudyGroupRecommender(
+                        new IndexedStudyGroupRecommender(
+                                new InMemoryRepository<>(), studentRepository));
+    }
+
+    /**
+     * Add the fake students used for manual testing when the repository is empty. Called once
+     * during startup instead of from the constructor so that building the object graph does not
+     * wait on the database.
+     */
+    public void seedFakeStudents() {
         if (studentRepository.count() == 0) {
             HashSet<Interest> interests = new HashSet<>();
             Interest interest = new Interest();
@@ -66,7 +92,6 @@ public class StudentController {
                             .build();
             studentRepository.add(student2);
         }
-        openTelemetry = new FakeOpenTelemetryService();
     }
 
     /**
@@ -173,6 +198,72 @@ public class StudentController {
         }
     }
 
+    /**
+     * Set the time zone for student
+     *
+     * @param discordUserId the discord user id
+     * @param timeZone a zone id such as America/New_York
+     * @return true if the time zone have been updated
+     */
+    public boolean setTimeZoneForStudent(String discordUserId, String timeZone) {
+        if (timeZone == null) {
+            return false;
+        }
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(timeZone.trim());
+        } catch (DateTimeException e) {
+            return false; // Unknown or malformed zone
+        }
+        var span = openTelemetry.span("setTimeZoneForStudent");
+        span.setAttribute("discordUserId", discordUserId);
+        span.setAttribute("timeZone", zone.getId());
+
+        try (Scope scope = span.makeCurrent()) {
+            Student student = getStudentByDiscordUserId(discordUserId);
+            student.setTimeZone(zone.getId());
+            studentRepository.update(student);
+            return true;
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Get the zone a student enters and reads times in
+     *
+     * @param student the student
+     * @return the student's zone, or {@link TimeSlot#DEFAULT_ZONE} if they have not set one
+     */
+    @Nonnull
+    public static ZoneId getZoneForStudent(@Nonnull Student student) {
+        String timeZone = student.getTimeZone();
+        if (timeZone == null) {
+            return TimeSlot.DEFAULT_ZONE;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            log.warn("Student {} has unknown time zone {}", student.getId(), timeZone);
+            return TimeSlot.DEFAULT_ZONE;
+        }
+    }
+
+    /**
+     * Get the zone a student enters and reads times in
+     *
+     * @param discordUserId the discord user id
+     * @return the student's zone, or {@link TimeSlot#DEFAULT_ZONE} if they have not set one
+     */
+    @Nonnull
+    public ZoneId getZoneForStudent(String discordUserId) {
+        return getZoneForStudent(getStudentByDiscordUserId(discordUserId));
+    }
+
     /**
      * Set the interests for student
      *
@@ -198,6 +289,7 @@ public class StudentController {
             // Update the student's interest set
             student.setInterestSet(interestSet);
             studentRepository.update(student);
+            studyGroupRecommender.invalidateStudent(student.getId());
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -225,6 +317,7 @@ public class StudentController {
             // Update the student's interest set with the provided interests
             student.setInterestSet(interests);
             studentRepository.update(student);
+            studyGroupRecommender.invalidateStudent(student.getId());
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -283,6 +376,7 @@ public class StudentController {
             }
             student.setInterestSet(filteredInterests);
             studentRepository.update(student);
+            studyGroupRecommender.invalidateStudent(student.getId());
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -298,7 +392,7 @@ public class StudentController {
      * @param discordUserId the discord user id
      * @param availability the student availability
      */
-    public void setAvailabilityForStudent(String discordUserId, List<TimeSlot> availability) {
+    public void setAvailabilityForStudent(String discordUserId, List<WeeklyTimeSlot> availability) {
         var span = openTelemetry.span("setAvailabilityForStudent");
         span.setAttribute("discordUserId", discordUserId);
         span.setAttribute("availability", availability.toString());
@@ -323,7 +417,7 @@ public class StudentController {
      * @return a list of time slot uer selected
      */
     @Nullable
-    public List<TimeSlot> getAvailabilityForStudent(String discordUserId) {
+    public List<WeeklyTimeSlot> getAvailabilityForStudent(String discordUserId) {
         var span = openTelemetry.span("getAvailabilityForStudent");
         span.setAttribute("discordUserId", discordUserId);
 
@@ -404,6 +498,25 @@ public class StudentController {
         }
     }
 
+    /**
+     * Get the student by student id without blocking the calling thread
+     *
+     * @param studentId the student id
+     * @return completes with the student, or exceptionally if there is no student with that id
+     */
+    public CompletableFuture<Student> getStudentByStudentIdAsync(ObjectId studentId) {
+        return asyncStudentRepository
+                .get(studentId)
+                .thenApply(
+                        student -> {
+                            if (student == null) {
+                                throw new IllegalArgumentException(
+                                        "Unable to find student with ID: " + studentId);
+                            }
+                            return student;
+                        });
+    }
+
     /**
      * Update the student
      *
@@ -415,6 +528,8 @@ public class StudentController {
 
         try (Scope scope = span.makeCurrent()) {
             studentRepository.update(student);
+            dashboardController.invalidate(student.getId());
+            studyGroupRecommender.invalidateStudent(student.getId());
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
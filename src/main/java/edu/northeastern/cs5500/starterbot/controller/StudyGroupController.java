@@ -1,15 +1,28 @@
 package edu.northeastern.cs5500.starterbot.controller;
 
 import com.mongodb.MongoException;
+import edu.northeastern.cs5500.starterbot.event.DomainEventBus;
+import edu.northeastern.cs5500.starterbot.event.GroupDisbanded;
+import edu.northeastern.cs5500.starterbot.event.StudentJoinedGroup;
 import edu.northeastern.cs5500.starterbot.model.*;
+import edu.northeastern.cs5500.starterbot.repository.AffinityStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.AsyncGenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.AsyncRepositoryAdapter;
+import edu.northeastern.cs5500.starterbot.repository.CachingStudyGroupRecommender;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.IndexedStudyGroupRecommender;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Scope;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 
@@ -23,8 +36,17 @@ public class StudyGroupController {
     GenericRepository<StudyGroup> studyGroupRepository;
     GenericRepository<GroupApplication> groupApplicationRepository;
     GenericRepository<Student> studentRepository;
+    @Inject AsyncGenericRepository<StudyGroup> asyncStudyGroupRepository;
+    @Inject AsyncGenericRepository<Student> asyncStudentRepository;
     @Inject OpenTelemetry openTelemetry;
+    @Inject DashboardController dashboardController;
+    @Inject DomainEventBus eventBus;
+    @Inject OutboxController outboxController;
+    @Inject CachingStudyGroupRecommender studyGroupRecommender;
     static final String EMPTY_STRING = "";
+    static final String TADA_EMOJI = "\uD83C\uDF89";
+    static final String GROUP_LEADER_FIELD = "groupLeaderId";
+    static final String GROUP_LIST_FIELD = "groupList";
 
     /**
      * The StudyGroupController constructor
@@ -41,6 +63,8 @@ public class StudyGroupController {
         this.studyGroupRepository = studyGroupRepository;
         this.groupApplicationRepository = groupApplicationRepository;
         this.studentRepository = studentRepository;
+        this.asyncStudyGroupRepository = new AsyncRepositoryAdapter<>(studyGroupRepository);
+        this.asyncStudentRepository = new AsyncRepositoryAdapter<>(studentRepository);
 
         if (studyGroupRepository.count() == 0) {
             StudyGroup studyGroup =
@@ -58,6 +82,17 @@ public class StudyGroupController {
         }
 
         openTelemetry = new FakeOpenTelemetryService();
+        dashboardController = new DashboardController(new InMemoryRepository<>());
+        eventBus = DomainEventBus.synchronous();
+        outboxController = new OutboxController(new InMemoryRepository<>());
+        studyGroupRecommender =
+                new CachingStudyGroupRecommender(
+                        new AffinityStudyGroupRecommender(
+                                new IndexedStudyGroupRecommender(
+                                        studyGroupRepository, studentRepository),
+                                new InMemoryRepository<>(),
+                                studyGroupRepository,
+                                studentRepository));
     }
 
     /**
@@ -77,7 +112,9 @@ public class StudyGroupController {
         try (Scope scope = span.makeCurrent()) {
 
             studyGroupRepository.add(newGroup);
-            addStudyGroup(leader, newGroup, studentController);
+            studyGroupRecommender.invalidateGroup(newGroup);
+            // The leader gets access when the channel is created
+            joinStudyGroup(leader, newGroup, studentController);
             return newGroup;
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -100,6 +137,14 @@ public class StudyGroupController {
 
         try (Scope scope = span.makeCurrent()) {
             studyGroupRepository.update(newGroup);
+            // Members see the group's name, and its leader may have changed
+            List<ObjectId> affected = new ArrayList<>();
+            for (Student member : getMemberListOfStudyGroup(newGroup)) {
+                affected.add(member.getId());
+            }
+            affected.add(newGroup.getGroupLeaderId());
+            dashboardController.invalidate(affected);
+            studyGroupRecommender.invalidateGroup(newGroup);
             return newGroup;
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -111,7 +156,8 @@ public class StudyGroupController {
     }
 
     /**
-     * Recommend study group based on the user's preferences
+     * Recommend study group based on the user's preferences, blending the groups sharing the most
+     * interests with the ones students like them joined
      *
      * @param discordUserId discord user id
      * @param studentController student contoller class
@@ -124,13 +170,54 @@ public class StudyGroupController {
 
         try (Scope scope = span.makeCurrent()) {
             Student student = studentController.getStudentByDiscordUserId(discordUserId);
-            List<StudyGroup> recommendList = new ArrayList<>();
-            for (StudyGroup group : studyGroupRepository.getAll()) {
-                if (matchedGroup(student, group)) {
-                    recommendList.add(group);
+            List<StudyGroup> recommendList = studyGroupRecommender.recommend(student);
+            span.setAttribute("recommendedCount", recommendList.size());
+            return recommendList;
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Find the next study group to recommend, continuing after the one the student saw last. Groups
+     * are offered in the same blended order as {@link #recommendStudyGroups}. The cursor is the
+     * group seen last and its rank: if that group has left the ranking since, because the student
+     * joined it or it filled up, the group now at its rank is the next one.
+     *
+     * @param discordUserId discord user id
+     * @param after the id of the group the student saw last, or null to start from the beginning
+     * @param afterRank the rank the group seen last was shown at, ignored when after is null
+     * @param studentController student contoller class
+     * @return the next study group and its rank, or null if there are no more
+     */
+    @Nullable
+    public RankedGroup findNextRecommendedGroup(
+            String discordUserId,
+            @Nullable ObjectId after,
+            int afterRank,
+            StudentController studentController) {
+        var span = openTelemetry.span("findNextRecommendedGroup");
+        span.setAttribute("discordUserId", discordUserId);
+
+        try (Scope scope = span.makeCurrent()) {
+            Student student = studentController.getStudentByDiscordUserId(discordUserId);
+            List<StudyGroup> ranked = studyGroupRecommender.recommend(student);
+            int rank = 0;
+            if (after != null) {
+                rank = Math.max(afterRank, 0);
+                for (int i = 0; i < ranked.size(); i++) {
+                    if (ranked.get(i).getId().equals(after)) {
+                        rank = i + 1;
+                        break;
+                    }
                 }
             }
-            return recommendList;
+            span.setAttribute("rank", rank);
+            return rank < ranked.size() ? new RankedGroup(ranked.get(rank), rank) : null;
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
             span.recordException(e);
@@ -140,6 +227,48 @@ public class StudyGroupController {
         }
     }
 
+    /** A recommended study group and its position in the student's blended ranking. */
+    @Value
+    public static class RankedGroup {
+        StudyGroup studyGroup;
+        int rank;
+    }
+
+    /**
+     * Get the study groups led by a student, oldest first. Served by an index on groupLeaderId,
+     * so the cost does not grow with the number of groups.
+     *
+     * @param groupLeader the group leader
+     * @return the groups the student leads
+     */
+    public List<StudyGroup> getStudyGroupsLedBy(Student groupLeader) {
+        return studyGroupRepository.findBy(
+                GROUP_LEADER_FIELD, StudyGroup::getGroupLeaderId, groupLeader.getId());
+    }
+
+    /**
+     * Get several study groups in one read. Ids without a group are skipped, and the order of the
+     * result is not specified.
+     *
+     * @param groupIds the group ids
+     * @return the study groups that were found
+     */
+    public List<StudyGroup> getStudyGroupsByIds(List<ObjectId> groupIds) {
+        return studyGroupRepository.get(groupIds);
+    }
+
+    /**
+     * Get the ids of every study group led by a student
+     *
+     * @param groupLeader the group leader
+     * @return the group ids
+     */
+    public List<ObjectId> getStudyGroupIdsForLeader(Student groupLeader) {
+        return getStudyGroupsLedBy(groupLeader).stream()
+                .map(StudyGroup::getId)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Submit application to join the study group
      *
@@ -154,9 +283,7 @@ public class StudyGroupController {
             String discordUserId,
             StudyGroup studyGroup,
             String message,
-            StudentController studentController,
-            MeetingController meetingController,
-            ReminderController reminderController) {
+            StudentController studentController) {
         var span = openTelemetry.span("submitApplication");
         span.setAttribute("studentId", studentId.toHexString());
         span.setAttribute("discordUserId", discordUserId);
@@ -176,10 +303,10 @@ public class StudyGroupController {
                                 .message(message)
                                 .build();
                 groupApplicationRepository.add(application);
+                dashboardController.invalidate(studyGroup.getGroupLeaderId());
+                notifyGroupLeader(studyGroup);
             } else {
                 addStudyGroup(student, studyGroup, studentController);
-                meetingController.updateParticipantsAfterJoinGroup(
-                        student, studyGroup, reminderController);
             }
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -197,10 +324,7 @@ public class StudyGroupController {
      * @param studentController student contoller class
      */
     public void approveApplication(
-            GroupApplication application,
-            StudentController studentController,
-            MeetingController meetingController,
-            ReminderController reminderController) {
+            GroupApplication application, StudentController studentController) {
         var span = openTelemetry.span("approveApplication");
         span.setAttribute("applicationId", application.getId().toHexString());
 
@@ -209,9 +333,8 @@ public class StudyGroupController {
             StudyGroup studyGroup = studyGroupRepository.get(application.getReceiver());
             if (student != null && studyGroup != null) {
                 addStudyGroup(student, studyGroup, studentController);
-                meetingController.updateParticipantsAfterJoinGroup(
-                        student, studyGroup, reminderController);
                 groupApplicationRepository.delete(application.getId());
+                dashboardController.invalidate(studyGroup.getGroupLeaderId());
             }
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR);
@@ -223,7 +346,28 @@ public class StudyGroupController {
     }
 
     /**
-     * Add the student to the study group that has available spots
+     * Queue a DM telling the leader of a group that it has a new application
+     *
+     * @param studyGroup the study group
+     */
+    private void notifyGroupLeader(StudyGroup studyGroup) {
+        Student leader = studentRepository.get(studyGroup.getGroupLeaderId());
+        if (leader == null || leader.getDiscordUserId().isBlank()) {
+            log.warn("Group {} has no leader Discord ID. Unable to send DM.", studyGroup.getName());
+            return;
+        }
+        outboxController.sendDirectMessage(
+                leader.getDiscordUserId(),
+                TADA_EMOJI
+                        + "Your group **"
+                        + studyGroup.getName()
+                        + "** has received a new application. Please use /viewapplications to check it out!");
+    }
+
+    /**
+     * Add the student to the study group that has available spots. Adding the student to the
+     * group's meetings happens afterwards, on a {@link StudentJoinedGroup} event, and access to
+     * the group's channel is granted from the outbox.
      *
      * @param student group application student submitted
      * @param studyGroup the study group
@@ -232,13 +376,26 @@ public class StudyGroupController {
      */
     public void addStudyGroup(
             Student student, StudyGroup studyGroup, StudentController studentController) {
-        if (studyGroup.getMaxMembers() == null
-                || getMemberListOfStudyGroup(studyGroup).size() < studyGroup.getMaxMembers()) {
-            student.getGroupList().add(studyGroup.getId());
-            studentController.updateStudent(student);
+        if (joinStudyGroup(student, studyGroup, studentController)) {
+            outboxController.grantChannelAccess(studyGroup, student.getDiscordUserId());
         }
     }
 
+    /** @return false if the group is full */
+    private boolean joinStudyGroup(
+            Student student, StudyGroup studyGroup, StudentController studentController) {
+        if (studyGroup.getMaxMembers() != null
+                && getMemberListOfStudyGroup(studyGroup).size() >= studyGroup.getMaxMembers()) {
+            return false;
+        }
+        student.getGroupList().add(studyGroup.getId());
+        studentController.updateStudent(student);
+        // The group may be full now, and is no longer recommended to the student
+        studyGroupRecommender.invalidateGroup(studyGroup);
+        eventBus.publish(new StudentJoinedGroup(student, studyGroup));
+        return true;
+    }
+
     /**
      * Find the group by application
      *
@@ -267,7 +424,8 @@ public class StudyGroupController {
     }
 
     /**
-     * Get the member list of the study group
+     * Get the member list of the study group, in ascending id order. Served by the repository's
+     * index on the group lists of students, so it does not read every student.
      *
      * @param studyGroup the study group whose members are to be retrieved
      * @return a list of students who are members of the specified study group
@@ -278,15 +436,9 @@ public class StudyGroupController {
         span.setAttribute("studyGroupId", studyGroup.getId().toString());
 
         try (Scope scope = span.makeCurrent()) {
-            // Filter students to list
             List<Student> memberList =
-                    studentRepository.getAll().stream()
-                            .filter(
-                                    student -> {
-                                        return new HashSet<>(student.getGroupList())
-                                                .contains(studyGroup.getId());
-                                    })
-                            .toList();
+                    studentRepository.findByAny(
+                            GROUP_LIST_FIELD, Student::getGroupList, List.of(studyGroup.getId()));
             span.setAttribute("memberCount", memberList.size());
             return memberList;
         } catch (Exception e) {
@@ -298,6 +450,37 @@ public class StudyGroupController {
         }
     }
 
+    /**
+     * Count the members of the study group without blocking the calling thread. The count is
+     * answered by the repository's index on the group lists of students, not by reading them.
+     *
+     * @param studyGroup the study group whose members are to be counted
+     * @return completes with the number of students who are members of the specified study group
+     */
+    public CompletableFuture<Long> countMembersOfStudyGroupAsync(StudyGroup studyGroup) {
+        return asyncStudentRepository.countByAny(
+                GROUP_LIST_FIELD, Student::getGroupList, List.of(studyGroup.getId()));
+    }
+
+    /**
+     * Retrieves a StudyGroup object by its unique identifier without blocking the calling thread.
+     *
+     * @param groupId the unique identifier of the study group to retrieve.
+     * @return completes with the study group, or exceptionally if there is no group with that id.
+     */
+    public CompletableFuture<StudyGroup> getStudyGroupByIdAsync(ObjectId groupId) {
+        return asyncStudyGroupRepository
+                .get(groupId)
+                .thenApply(
+                        studyGroup -> {
+                            if (studyGroup == null) {
+                                throw new IllegalArgumentException(
+                                        "Unable to find study group with ID: " + groupId);
+                            }
+                            return studyGroup;
+                        });
+    }
+
     /**
      * Retrieves a StudyGroup object by its unique identifier.
      *
@@ -328,31 +511,19 @@ public class StudyGroupController {
      * @return the study group
      */
     public StudyGroup getStudyGroupForLeader(Student groupLeader) {
-        return studyGroupRepository.getAll().stream()
-                .filter(group -> group.getGroupLeaderId().equals(groupLeader.getId()))
-                .findFirst()
-                .orElse(null);
+        List<StudyGroup> groups = getStudyGroupsLedBy(groupLeader);
+        return groups.isEmpty() ? null : groups.get(0);
     }
 
     /**
      * Disbands a study group by removing all relationships between the group and its members and
-     * deleting the group from the repository.
-     */
-    /**
-     * Disbands a study group by removing all relationships between the group and its members,
-     * canceling all related meetings and reminders, and deleting the group from the repository.
+     * deleting the group from the repository. Its meetings and reminders are cancelled afterwards,
+     * on a {@link GroupDisbanded} event.
      *
-     * @param studyGroup
-     * @param studentController
-     * @param meetingController
-     * @param bookingController
+     * @param studyGroup the study group
+     * @param studentController the student controller
      */
-    public void disbandGroup(
-            StudyGroup studyGroup,
-            StudentController studentController,
-            MeetingController meetingController,
-            BookingController bookingController,
-            ReminderController reminderController) {
+    public void disbandGroup(StudyGroup studyGroup, StudentController studentController) {
         List<Student> members = getMemberListOfStudyGroup(studyGroup);
         for (Student member : members) {
             List<ObjectId> memberGroupList = member.getGroupList();
@@ -363,14 +534,10 @@ public class StudyGroupController {
             studentController.updateStudent(member);
         }
 
-        // Cancel all related meetings
-        List<AbstractMeeting> studyGroupMeetings =
-                meetingController.getMeetingsForStudyGroup(studyGroup);
-        for (AbstractMeeting meeting : studyGroupMeetings) {
-            meetingController.cancelMeeting(meeting, bookingController, reminderController);
-        }
-
         studyGroupRepository.delete(studyGroup.getId());
+        dashboardController.invalidate(studyGroup.getGroupLeaderId());
+        studyGroupRecommender.invalidateGroup(studyGroup);
+        eventBus.publish(new GroupDisbanded(studyGroup));
     }
 
     /**
@@ -396,5 +563,8 @@ public class StudyGroupController {
         studentGroupList.remove(leaveGroup.getId());
         student.setGroupList(studentGroupList);
         studentRepository.update(student);
+        dashboardController.invalidate(student.getId());
+        studyGroupRecommender.invalidateStudent(student.getId());
+        studyGroupRecommender.invalidateGroup(leaveGroup);
     }
 }
@@ -0,0 +1,7 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+/**
+ * Something that happened in the bot's domain, published on the {@link DomainEventBus} after the
+ * write that caused it, so the work that follows from it can run off the interaction's thread.
+ */
+public interface DomainEvent {}
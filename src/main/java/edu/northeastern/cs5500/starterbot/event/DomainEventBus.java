@@ -0,0 +1,153 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers {@link DomainEvent}s to the subscribers of their type, so a controller can return once
+ * its own write is saved and leave the work that follows from it to a background thread.
+ *
+ * <p>Events are delivered in the order they were published, on a single thread, so a subscriber
+ * never sees a later event before an earlier one. The thread takes whatever has queued up since
+ * its last pass, up to {@link #MAX_BATCH}, and hands each run of events of the same type to that
+ * type's subscribers in one call, in the order they subscribed. A subscriber that throws is logged
+ * and counted; the others still get the events.
+ *
+ * <p>A bus made with {@link #synchronous()} delivers each event on the publishing thread before
+ * {@link #publish} returns, which keeps tests deterministic.
+ */
+@Singleton
+@Slf4j
+public class DomainEventBus {
+    static final int MAX_PENDING_EVENTS = 10_000;
+    static final int MAX_BATCH = 100;
+
+    private final boolean synchronous;
+    private final MetricsService metricsService;
+    private final Map<Class<?>, List<EventSubscriber<?>>> subscribers = new ConcurrentHashMap<>();
+    private final BlockingQueue<DomainEvent> pending =
+            new LinkedBlockingQueue<>(MAX_PENDING_EVENTS);
+    private Thread dispatcher;
+
+    @Inject
+    public DomainEventBus(MetricsService metricsService) {
+        this(false, metricsService);
+    }
+
+    private DomainEventBus(boolean synchronous, MetricsService metricsService) {
+        this.synchronous = synchronous;
+        this.metricsService = metricsService;
+    }
+
+    /** A bus that delivers every event before {@link #publish} returns. */
+    public static DomainEventBus synchronous() {
+        return new DomainEventBus(true, new MetricsService());
+    }
+
+    /**
+     * Deliver every later event of a type to a subscriber.
+     *
+     * @param type the event type
+     * @param subscriber the subscriber
+     */
+    public <E extends DomainEvent> void subscribe(
+            @Nonnull Class<E> type, @Nonnull EventSubscriber<E> subscriber) {
+        subscribers.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /** Start the background thread that delivers published events. */
+    public synchronized void start() {
+        if (synchronous || dispatcher != null) {
+            return;
+        }
+        dispatcher = new Thread(this::dispatch, "domain-events");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Domain event dispatcher started");
+    }
+
+    /**
+     * Publish an event. Events published before {@link #start} wait for it. When the queue is full
+     * the publisher waits for room rather than drop an event or deliver it out of order.
+     *
+     * @param event the event
+     */
+    public void publish(@Nonnull DomainEvent event) {
+        metricsService.counter(MetricsService.DOMAIN_EVENTS, eventName(event)).increment();
+        if (synchronous) {
+            deliver(List.of(event));
+            return;
+        }
+        if (!pending.offer(event)) {
+            log.warn("Domain event queue is full, waiting to publish {}", eventName(event));
+            try {
+                pending.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted publishing " + eventName(event), e);
+            }
+        }
+    }
+
+    /** The number of events waiting to be delivered. */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void dispatch() {
+        List<DomainEvent> batch = new ArrayList<>(MAX_BATCH);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, MAX_BATCH - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** Hand each run of same-typed events to the subscribers of that type. */
+    private void deliver(List<DomainEvent> events) {
+        int start = 0;
+        while (start < events.size()) {
+            Class<?> type = events.get(start).getClass();
+            int end = start + 1;
+            while (end < events.size() && events.get(end).getClass() == type) {
+                end++;
+            }
+            List<DomainEvent> run = events.subList(start, end);
+            for (EventSubscriber<?> subscriber : subscribers.getOrDefault(type, List.of())) {
+                deliverRun(subscriber, run);
+            }
+            start = end;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliverRun(EventSubscriber<?> subscriber, List<DomainEvent> run) {
+        String name = eventName(run.get(0));
+        try {
+            ((EventSubscriber<DomainEvent>) subscriber).onEvents(List.copyOf(run));
+        } catch (RuntimeException e) {
+            metricsService.counter(MetricsService.DOMAIN_EVENT_FAILURES, name).increment();
+            log.error("A subscriber failed on {} {} event(s)", run.size(), name, e);
+        }
+    }
+
+    private static String eventName(DomainEvent event) {
+        return event.getClass().getSimpleName();
+    }
+}
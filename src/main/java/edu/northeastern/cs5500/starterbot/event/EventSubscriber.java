@@ -0,0 +1,13 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Handles the events of one type. Events published close together arrive in one call, in the
+ * order they were published, so a subscriber can share lookups across them.
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends DomainEvent> {
+    void onEvents(@Nonnull List<E> events);
+}
@@ -0,0 +1,11 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import lombok.NonNull;
+import lombok.Value;
+
+/** A study group was deleted and its members no longer list it. */
+@Value
+public class GroupDisbanded implements DomainEvent {
+    @NonNull StudyGroup studyGroup;
+}
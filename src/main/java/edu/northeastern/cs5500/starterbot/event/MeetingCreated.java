@@ -0,0 +1,13 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import lombok.NonNull;
+import lombok.Value;
+
+/** A meeting was saved with the members of its group as participants. */
+@Value
+public class MeetingCreated implements DomainEvent {
+    @NonNull AbstractMeeting meeting;
+    @NonNull StudyGroup studyGroup;
+}
@@ -0,0 +1,13 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import lombok.NonNull;
+import lombok.Value;
+
+/** A student was added to a study group, after their group list was saved. */
+@Value
+public class StudentJoinedGroup implements DomainEvent {
+    @NonNull Student student;
+    @NonNull StudyGroup studyGroup;
+}
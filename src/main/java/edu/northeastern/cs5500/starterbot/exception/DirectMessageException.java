@@ -0,0 +1,7 @@
+package edu.northeastern.cs5500.starterbot.exception;
+
+import lombok.experimental.StandardException;
+
+/** A direct message could not be delivered and should not be retried. */
+@StandardException
+public class DirectMessageException extends RuntimeException {}
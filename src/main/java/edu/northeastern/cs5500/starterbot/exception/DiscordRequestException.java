@@ -0,0 +1,7 @@
+package edu.northeastern.cs5500.starterbot.exception;
+
+import lombok.experimental.StandardException;
+
+/** A Discord request failed and should not be retried. */
+@StandardException
+public class DiscordRequestException extends RuntimeException {}
@@ -0,0 +1,7 @@
+package edu.northeastern.cs5500.starterbot.exception;
+
+import lombok.experimental.StandardException;
+
+/** A direct message could not be delivered, but a later attempt may succeed. */
+@StandardException
+public class RetryableDirectMessageException extends DirectMessageException {}
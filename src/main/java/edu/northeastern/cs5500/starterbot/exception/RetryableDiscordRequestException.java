@@ -0,0 +1,7 @@
+package edu.northeastern.cs5500.starterbot.exception;
+
+import lombok.experimental.StandardException;
+
+/** A Discord request failed, but a later attempt may succeed. */
+@StandardException
+public class RetryableDiscordRequestException extends DiscordRequestException {}
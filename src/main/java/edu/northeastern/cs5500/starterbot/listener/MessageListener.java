@@ -8,6 +8,7 @@ import edu.northeastern.cs5500.starterbot.exception.ButtonNotFoundException;
 import edu.northeastern.cs5500.starterbot.exception.CommandNotFoundException;
 import edu.northeastern.cs5500.starterbot.exception.ModalNotFoundException;
 import edu.northeastern.cs5500.starterbot.exception.StringSelectNotFoundException;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetryService;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
@@ -38,6 +39,7 @@ public class MessageListener extends ListenerAdapter {
     @Inject Map<String, Provider<ModalHandler>> modals;
 
     @Inject OpenTelemetryService openTelemetryService;
+    @Inject MetricsService metricsService;
 
     @Inject
     public MessageListener() {
@@ -48,6 +50,7 @@ public class MessageListener extends ListenerAdapter {
     public void onSlashCommandInteraction(@Nonnull SlashCommandInteractionEvent event) {
         var name = event.getName();
         Span span = openTelemetryService.span(name);
+        long start = System.nanoTime();
 
         try (Scope scope = span.makeCurrent()) {
             for (Entry<String, Provider<SlashCommandHandler>> entry : commands.entrySet()) {
@@ -65,6 +68,9 @@ public class MessageListener extends ListenerAdapter {
             log.error("onSlashCommandInteraction failed", e);
         } finally {
             span.end();
+            metricsService
+                    .latency(MetricsService.SLASH_COMMAND_LATENCY, name)
+                    .recordNanos(System.nanoTime() - start);
         }
     }
 
@@ -88,6 +94,7 @@ public class MessageListener extends ListenerAdapter {
         String handlerName = id.split(":", 2)[0];
 
         Span span = openTelemetryService.span(handlerName);
+        long start = System.nanoTime();
 
         try (Scope scope = span.makeCurrent()) {
             for (Entry<String, Provider<ButtonHandler>> entry : buttons.entrySet()) {
@@ -105,6 +112,9 @@ public class MessageListener extends ListenerAdapter {
             log.error("onButtonInteraction failed", e);
         } finally {
             span.end();
+            metricsService
+                    .latency(MetricsService.BUTTON_LATENCY, handlerName)
+                    .recordNanos(System.nanoTime() - start);
         }
     }
 
@@ -114,6 +124,7 @@ public class MessageListener extends ListenerAdapter {
         String handlerName = event.getComponent().getId();
 
         Span span = openTelemetryService.span(handlerName);
+        long start = System.nanoTime();
 
         try (Scope scope = span.makeCurrent()) {
             for (Entry<String, Provider<StringSelectHandler>> entry : stringSelects.entrySet()) {
@@ -130,6 +141,9 @@ public class MessageListener extends ListenerAdapter {
             log.error("onStringSelectInteraction failed", e);
         } finally {
             span.end();
+            metricsService
+                    .latency(MetricsService.STRING_SELECT_LATENCY, handlerName)
+                    .recordNanos(System.nanoTime() - start);
         }
     }
 
@@ -139,6 +153,7 @@ public class MessageListener extends ListenerAdapter {
         String handlerName = event.getModalId();
 
         Span span = openTelemetryService.span(handlerName);
+        long start = System.nanoTime();
 
         try (Scope scope = span.makeCurrent()) {
             for (Entry<String, Provider<ModalHandler>> entry : modals.entrySet()) {
@@ -155,6 +170,9 @@ public class MessageListener extends ListenerAdapter {
             log.error("onModalInteraction failed", e);
         } finally {
             span.end();
+            metricsService
+                    .latency(MetricsService.MODAL_LATENCY, handlerName)
+                    .recordNanos(System.nanoTime() - start);
         }
     }
 }
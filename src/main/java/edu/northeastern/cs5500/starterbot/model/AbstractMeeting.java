@@ -30,7 +30,7 @@ public abstract class AbstractMeeting implements Model {
     @NonNull private ObjectId studyGroup;
     @NonNull private ObjectId organizer;
     @NonNull private String type;
-    @NonNull private HashMap<String, Status> participants; // student : status
+    @NonNull private ParticipantStatusMap participants; // student : status
 
     /** Meeting status */
     public enum Status {
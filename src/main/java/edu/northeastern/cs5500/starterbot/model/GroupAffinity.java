@@ -0,0 +1,38 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.bson.types.ObjectId;
+
+/**
+ * The groups a student is most likely to join, as last computed by the collaborative filtering
+ * job from what similar students joined and from shared interests. The id is the student's id.
+ *
+ * @author Team Wolf
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class GroupAffinity implements Model {
+    // The id of the student the groups are for
+    private ObjectId id;
+    // Best first
+    @Builder.Default private List<ScoredGroup> groups = new ArrayList<>();
+    @Builder.Default private LocalDateTime computedTime = LocalDateTime.now();
+
+    /** A group and how strongly it is recommended. */
+    @Data
+    @AllArgsConstructor
+    @Builder
+    @NoArgsConstructor
+    public static class ScoredGroup {
+        @NonNull private ObjectId groupId;
+        private double score;
+    }
+}
@@ -36,7 +36,7 @@ public class InPersonMeeting extends AbstractMeeting {
             @NonNull ObjectId studyGroup,
             @NonNull ObjectId organizer,
             @Nullable Booking booking,
-            @NonNull HashMap<String, Status> participants) {
+            @NonNull ParticipantStatusMap participants) {
         super(
                 id,
                 topic,
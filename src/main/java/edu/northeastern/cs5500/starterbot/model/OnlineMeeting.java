@@ -32,7 +32,7 @@ public class OnlineMeeting extends AbstractMeeting {
             @NonNull ObjectId studyGroup,
             @NonNull ObjectId organizer,
             @NonNull String meetingLink,
-            @NonNull HashMap<String, Status> participants) {
+            @NonNull ParticipantStatusMap participants) {
         super(
                 id,
                 topic,
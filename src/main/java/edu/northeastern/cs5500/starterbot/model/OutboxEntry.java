@@ -0,0 +1,46 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.bson.types.ObjectId;
+
+/**
+ * A Discord call still to be made, saved next to the write that needs it. Entries are deleted once
+ * the call succeeds, so a call that was saved is made at least once even if the bot restarts.
+ *
+ * @author Team Wolf
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class OutboxEntry implements Model {
+    /** The Discord calls the outbox can make. */
+    public enum Kind {
+        DIRECT_MESSAGE,
+        CHANNEL_MESSAGE,
+        GRANT_CHANNEL_ACCESS,
+        CREATE_GROUP_CHANNEL
+    }
+
+    @Builder.Default private ObjectId id = new ObjectId();
+    @NonNull private Kind kind;
+    // Entries on the same route are made in order and share its rate limit
+    @NonNull private String route;
+    // The user to message or let into a channel, or the leader of a new channel
+    private String discordUserId;
+    // The channel to post in
+    private String channelId;
+    // The server to create a channel in
+    private String guildId;
+    // The group whose channel is created or joined
+    private ObjectId studyGroupId;
+    // The message to send, or the welcome message of a new channel
+    private String message;
+    private int attempts;
+    @Builder.Default private LocalDateTime nextAttemptTime = LocalDateTime.now();
+}
@@ -0,0 +1,249 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * The status of each participant of a meeting, keyed by student id.
+ *
+ * <p>Ids are kept sorted as three ints per entry (the twelve ObjectId bytes, big-endian) with a
+ * parallel byte array of status ordinals, so an entry costs thirteen bytes rather than a String, a
+ * boxed map node and an enum reference, and a lookup is a binary search over ints with no hashing.
+ * The number of participants in each status is kept up to date on every change. Iteration is in
+ * ascending id order.
+ *
+ * <p>Statuses are stored by ordinal, both here and by {@link ParticipantStatusMapCodec}, so new
+ * values of {@link AbstractMeeting.Status} must be appended to the end of the enum.
+ */
+public final class ParticipantStatusMap {
+    private static final AbstractMeeting.Status[] STATUSES = AbstractMeeting.Status.values();
+    private static final int INTS_PER_KEY = 3;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] keys;
+    private byte[] statuses;
+    private int size;
+    private final int[] countByStatus = new int[STATUSES.length];
+
+    public ParticipantStatusMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticipantStatusMap(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        keys = new int[capacity * INTS_PER_KEY];
+        statuses = new byte[capacity];
+    }
+
+    /** A copy of another map, which later changes to either do not affect. */
+    public ParticipantStatusMap(@Nonnull ParticipantStatusMap other) {
+        keys = other.keys.clone();
+        statuses = other.statuses.clone();
+        size = other.size;
+        System.arraycopy(other.countByStatus, 0, countByStatus, 0, countByStatus.length);
+    }
+
+    /** The number of participants. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** The number of participants currently in the given status. */
+    public int count(@Nonnull AbstractMeeting.Status status) {
+        return countByStatus[status.ordinal()];
+    }
+
+    public boolean containsKey(@Nonnull ObjectId studentId) {
+        return indexOf(studentId.toByteArray()) >= 0;
+    }
+
+    /** The status of the student, or null if they are not a participant. */
+    @Nullable
+    public AbstractMeeting.Status get(@Nonnull ObjectId studentId) {
+        int index = indexOf(studentId.toByteArray());
+        return index >= 0 ? STATUSES[statuses[index]] : null;
+    }
+
+    @Nonnull
+    public AbstractMeeting.Status getOrDefault(
+            @Nonnull ObjectId studentId, @Nonnull AbstractMeeting.Status defaultStatus) {
+        AbstractMeeting.Status status = get(studentId);
+        return status != null ? status : defaultStatus;
+    }
+
+    /**
+     * Set the status of a student, adding them as a participant if needed.
+     *
+     * @return the previous status, or null if they were not a participant
+     */
+    @Nullable
+    public AbstractMeeting.Status put(
+            @Nonnull ObjectId studentId, @Nonnull AbstractMeeting.Status status) {
+        byte[] key = studentId.toByteArray();
+        int index = indexOf(key);
+        if (index >= 0) {
+            AbstractMeeting.Status previous = STATUSES[statuses[index]];
+            countByStatus[previous.ordinal()]--;
+            countByStatus[status.ordinal()]++;
+            statuses[index] = (byte) status.ordinal();
+            return previous;
+        }
+
+        int insertAt = -(index + 1);
+        if (size == statuses.length) {
+            int capacity = statuses.length * 2;
+            keys = Arrays.copyOf(keys, capacity * INTS_PER_KEY);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+        System.arraycopy(
+                keys,
+                insertAt * INTS_PER_KEY,
+                keys,
+                (insertAt + 1) * INTS_PER_KEY,
+                (size - insertAt) * INTS_PER_KEY);
+        System.arraycopy(statuses, insertAt, statuses, insertAt + 1, size - insertAt);
+        for (int i = 0; i < INTS_PER_KEY; i++) {
+            keys[insertAt * INTS_PER_KEY + i] = intAt(key, i);
+        }
+        statuses[insertAt] = (byte) status.ordinal();
+        countByStatus[status.ordinal()]++;
+        size++;
+        return null;
+    }
+
+    /**
+     * Remove a student from the participants.
+     *
+     * @return their status, or null if they were not a participant
+     */
+    @Nullable
+    public AbstractMeeting.Status remove(@Nonnull ObjectId studentId) {
+        int index = indexOf(studentId.toByteArray());
+        if (index < 0) {
+            return null;
+        }
+        AbstractMeeting.Status previous = STATUSES[statuses[index]];
+        countByStatus[previous.ordinal()]--;
+        System.arraycopy(
+                keys,
+                (index + 1) * INTS_PER_KEY,
+                keys,
+                index * INTS_PER_KEY,
+                (size - index - 1) * INTS_PER_KEY);
+        System.arraycopy(statuses, index + 1, statuses, index, size - index - 1);
+        size--;
+        return previous;
+    }
+
+    /** The participant ids in ascending order. */
+    @Nonnull
+    public List<ObjectId> getStudentIds() {
+        List<ObjectId> studentIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            studentIds.add(idAt(i));
+        }
+        return studentIds;
+    }
+
+    /** Call the action for every participant in ascending id order. */
+    public void forEach(@Nonnull BiConsumer<ObjectId, AbstractMeeting.Status> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(idAt(i), STATUSES[statuses[i]]);
+        }
+    }
+
+    private int indexOf(byte[] key) {
+        int k0 = intAt(key, 0);
+        int k1 = intAt(key, 1);
+        int k2 = intAt(key, 2);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = mid * INTS_PER_KEY;
+            int cmp = Integer.compareUnsigned(keys[offset], k0);
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(keys[offset + 1], k1);
+            }
+            if (cmp == 0) {
+                cmp = Integer.compareUnsigned(keys[offset + 2], k2);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private ObjectId idAt(int index) {
+        byte[] bytes = new byte[INTS_PER_KEY * Integer.BYTES];
+        for (int i = 0; i < INTS_PER_KEY; i++) {
+            int value = keys[index * INTS_PER_KEY + i];
+            bytes[i * 4] = (byte) (value >>> 24);
+            bytes[i * 4 + 1] = (byte) (value >>> 16);
+            bytes[i * 4 + 2] = (byte) (value >>> 8);
+            bytes[i * 4 + 3] = (byte) value;
+        }
+        return new ObjectId(bytes);
+    }
+
+    private static int intAt(byte[] key, int index) {
+        int offset = index * 4;
+        return (key[offset] & 0xff) << 24
+                | (key[offset + 1] & 0xff) << 16
+                | (key[offset + 2] & 0xff) << 8
+                | (key[offset + 3] & 0xff);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ParticipantStatusMap)) {
+            return false;
+        }
+        ParticipantStatusMap that = (ParticipantStatusMap) other;
+        return size == that.size
+                && Arrays.equals(keys, 0, size * INTS_PER_KEY, that.keys, 0, size * INTS_PER_KEY)
+                && Arrays.equals(statuses, 0, size, that.statuses, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size * INTS_PER_KEY; i++) {
+            hash = 31 * hash + keys[i];
+        }
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + statuses[i];
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach(
+                (studentId, status) -> {
+                    if (builder.length() > 1) {
+                        builder.append(", ");
+                    }
+                    builder.append(studentId.toHexString()).append('=').append(status);
+                });
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,78 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.nio.ByteBuffer;
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Stores a {@link ParticipantStatusMap} as one binary value: for each participant in ascending id
+ * order, the twelve ObjectId bytes followed by one status ordinal byte.
+ *
+ * <p>Meetings written before the map existed hold participants as a document of hex id to status
+ * name. Those still decode, and are written back in the binary form the next time the meeting is
+ * updated.
+ */
+public class ParticipantStatusMapCodec implements Codec<ParticipantStatusMap> {
+    private static final int ID_BYTES = 12;
+    private static final int ENTRY_BYTES = ID_BYTES + 1;
+    private static final AbstractMeeting.Status[] STATUSES = AbstractMeeting.Status.values();
+
+    @Override
+    public void encode(
+            BsonWriter writer, ParticipantStatusMap value, EncoderContext encoderContext) {
+        ByteBuffer buffer = ByteBuffer.allocate(value.size() * ENTRY_BYTES);
+        value.forEach(
+                (studentId, status) -> {
+                    studentId.putToByteBuffer(buffer);
+                    buffer.put((byte) status.ordinal());
+                });
+        writer.writeBinaryData(new BsonBinary(buffer.array()));
+    }
+
+    @Override
+    public ParticipantStatusMap decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+            return decodeLegacy(reader);
+        }
+
+        byte[] data = reader.readBinaryData().getData();
+        if (data.length % ENTRY_BYTES != 0) {
+            throw new IllegalStateException(
+                    "Participant data length " + data.length + " is not a whole number of entries");
+        }
+        ParticipantStatusMap participants = new ParticipantStatusMap(data.length / ENTRY_BYTES);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte[] id = new byte[ID_BYTES];
+        while (buffer.hasRemaining()) {
+            buffer.get(id);
+            int ordinal = buffer.get();
+            if (ordinal < 0 || ordinal >= STATUSES.length) {
+                throw new IllegalStateException("Unknown participant status " + ordinal);
+            }
+            participants.put(new ObjectId(id), STATUSES[ordinal]);
+        }
+        return participants;
+    }
+
+    private ParticipantStatusMap decodeLegacy(BsonReader reader) {
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            ObjectId studentId = new ObjectId(reader.readName());
+            participants.put(studentId, AbstractMeeting.Status.valueOf(reader.readString()));
+        }
+        reader.readEndDocument();
+        return participants;
+    }
+
+    @Override
+    public Class<ParticipantStatusMap> getEncoderClass() {
+        return ParticipantStatusMap.class;
+    }
+}
@@ -1,8 +1,6 @@
 package edu.northeastern.cs5500.starterbot.model;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.Instant;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,30 +19,11 @@ import org.bson.types.ObjectId;
 @NoArgsConstructor
 public class Reminder implements Model {
     @Builder.Default private ObjectId id = new ObjectId();
-    private LocalDateTime reminderDateTime;
+    // Stored as a BSON date, which reminders written as UTC wall times already were
+    private Instant reminderDateTime;
     @NonNull private String message;
     @NonNull private Integer reminderTimeInMin;
     @NonNull private ObjectId meetingId;
-    @NonNull private Student student;
-
-    // Override setter for reminderDateTime to store time in UTC
-    public void setReminderDateTime(LocalDateTime reminderDateTime) {
-        if (reminderDateTime != null) {
-            ZonedDateTime utcDateTime =
-                    reminderDateTime
-                            .atZone(ZoneId.systemDefault())
-                            .withZoneSameInstant(ZoneId.of("UTC"));
-            this.reminderDateTime = utcDateTime.toLocalDateTime();
-        } else {
-            this.reminderDateTime = null;
-        }
-    }
-
-    // Getter to convert UTC back to the system's local time
-    public LocalDateTime getReminderDateTimeInLocal() {
-        return reminderDateTime
-                .atZone(ZoneId.of("UTC"))
-                .withZoneSameInstant(ZoneId.systemDefault())
-                .toLocalDateTime();
-    }
+    // Null for a reminder posted to the study group channel instead of sent as a DM
+    private Student student;
 }
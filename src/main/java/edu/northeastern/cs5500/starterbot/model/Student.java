@@ -21,11 +21,15 @@ public class Student implements Model {
     @Builder.Default private ObjectId id = new ObjectId();
     @NonNull private String displayName;
     @NonNull private String email;
-    @NonNull private List<TimeSlot> availability;
+    @NonNull private List<WeeklyTimeSlot> availability;
     @NonNull private String discordUserId;
     // List of study groups that student joined
     @Builder.Default private List<ObjectId> groupList = new ArrayList<>();
     // Interest that associated with the student
     @NonNull private Set<Interest> interestSet;
     private Integer reminderTimeInMin;
+    // Send reminders as DMs instead of mentioning the student in the group channel
+    private boolean directMessageReminders;
+    // Zone id such as America/New_York that times are entered and shown in, null for UTC
+    private String timeZone;
 }
@@ -0,0 +1,60 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.util.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.bson.types.ObjectId;
+
+/**
+ * What /mystudygroups, /meetings and /viewapplications show a student, kept ready so each of them
+ * is one read. The id is the student's id. Writes that change any of it drop the stored copy, and
+ * the next read builds it again.
+ *
+ * @author Team Wolf
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class StudentDashboard implements Model {
+    // The id of the student the dashboard belongs to
+    private ObjectId id;
+    @NonNull private String discordUserId;
+    // The groups the student joined, in the order they joined them
+    @Builder.Default private List<GroupEntry> groups = new ArrayList<>();
+    // The meetings the student organizes or takes part in
+    @Builder.Default private List<MeetingEntry> meetings = new ArrayList<>();
+    // Applications waiting on the groups the student leads
+    private int pendingApplications;
+    private Integer reminderTimeInMin;
+    private boolean directMessageReminders;
+
+    /** A group the student is in. */
+    @Data
+    @AllArgsConstructor
+    @Builder
+    @NoArgsConstructor
+    public static class GroupEntry {
+        @NonNull private ObjectId groupId;
+        private String name;
+        // The student leads this group
+        private boolean leader;
+    }
+
+    /** A meeting the student organizes or takes part in. */
+    @Data
+    @AllArgsConstructor
+    @Builder
+    @NoArgsConstructor
+    public static class MeetingEntry {
+        @NonNull private ObjectId meetingId;
+        private String topic;
+        // Null if the meeting's group no longer exists
+        private String groupName;
+        private Frequency frequency;
+        @Builder.Default private List<TimeSlot> timeSlots = new ArrayList<>();
+    }
+}
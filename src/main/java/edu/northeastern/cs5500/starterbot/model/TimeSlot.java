@@ -1,6 +1,13 @@
 package edu.northeastern.cs5500.starterbot.model;
 
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +17,10 @@ import lombok.NonNull;
 /**
  * Represents the time slot for meeting
  *
+ * <p>Start and end are instants, so slots compare the same way whatever zone they were entered
+ * in. The day is the day of the week of the start in that zone. Slots are stored by {@link
+ * TimeSlotCodec} to the second.
+ *
  * @author Team Wolf
  */
 @Data
@@ -17,7 +28,53 @@ import lombok.NonNull;
 @Builder
 @NoArgsConstructor
 public class TimeSlot {
-    @NonNull private String day;
-    @Builder.Default LocalDateTime start = LocalDateTime.now();
-    @Builder.Default LocalDateTime end = LocalDateTime.now();
+    /** The zone of students who have not chosen one, which slots were entered in before zones */
+    public static final ZoneId DEFAULT_ZONE = ZoneOffset.UTC;
+
+    @NonNull private DayOfWeek day;
+    @Builder.Default Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    @Builder.Default Instant end = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    /**
+     * Create a time slot on the day of its start, in the zone of its start
+     *
+     * @param start the start
+     * @param end the end
+     * @return the time slot
+     */
+    public static TimeSlot of(@NonNull ZonedDateTime start, @NonNull ZonedDateTime end) {
+        return new TimeSlot(start.getDayOfWeek(), start.toInstant(), end.toInstant());
+    }
+
+    /**
+     * @param zone the zone of the reader
+     * @return the start as seen in the zone
+     */
+    public ZonedDateTime getStartIn(@NonNull ZoneId zone) {
+        return start.atZone(zone);
+    }
+
+    /**
+     * @param zone the zone of the reader
+     * @return the end as seen in the zone
+     */
+    public ZonedDateTime getEndIn(@NonNull ZoneId zone) {
+        return end.atZone(zone);
+    }
+
+    /** @return the day the slot was entered on, in the zone it was entered in, e.g. Monday */
+    public String getDayName() {
+        return day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+
+    /**
+     * Whether the two slots share any moment. Slots that only touch, one ending when the other
+     * starts, overlap too.
+     *
+     * @param other the other slot
+     * @return true if the slots overlap
+     */
+    public boolean overlaps(@NonNull TimeSlot other) {
+        return !end.isBefore(other.start) && !start.isAfter(other.end);
+    }
 }
@@ -0,0 +1,85 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Locale;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Stores a {@link TimeSlot} as a document of the ISO day of the week as an int32, and start and
+ * end as int64 epoch seconds.
+ *
+ * <p>Slots written before this codec hold the day as a name, e.g. "Monday" or "MONDAY", and start
+ * and end as BSON dates of a UTC wall time, which is the instant itself. Those still decode, and
+ * are written back in the compact form the next time their document is updated.
+ */
+public class TimeSlotCodec implements Codec<TimeSlot> {
+    private static final String DAY = "day";
+    private static final String START = "start";
+    private static final String END = "end";
+
+    @Override
+    public void encode(BsonWriter writer, TimeSlot value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeInt32(DAY, value.getDay().getValue());
+        writer.writeInt64(START, value.getStart().getEpochSecond());
+        writer.writeInt64(END, value.getEnd().getEpochSecond());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public TimeSlot decode(BsonReader reader, DecoderContext decoderContext) {
+        TimeSlot timeSlot = new TimeSlot();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            switch (name) {
+                case DAY:
+                    timeSlot.setDay(readDay(reader));
+                    break;
+                case START:
+                    timeSlot.setStart(readInstant(reader));
+                    break;
+                case END:
+                    timeSlot.setEnd(readInstant(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        if (timeSlot.getDay() == null) {
+            throw new IllegalStateException("Time slot has no day");
+        }
+        return timeSlot;
+    }
+
+    private static DayOfWeek readDay(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return DayOfWeek.valueOf(reader.readString().toUpperCase(Locale.ROOT));
+        }
+        return DayOfWeek.of(reader.readInt32());
+    }
+
+    private static Instant readInstant(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return Instant.ofEpochSecond(reader.readInt64());
+            case DATE_TIME:
+                return Instant.ofEpochMilli(reader.readDateTime());
+            default:
+                throw new IllegalStateException(
+                        "Unexpected time slot time " + reader.getCurrentBsonType());
+        }
+    }
+
+    @Override
+    public Class<TimeSlot> getEncoderClass() {
+        return TimeSlot.class;
+    }
+}
@@ -0,0 +1,64 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Locale;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * Represents a slot of a student's availability that repeats every week
+ *
+ * <p>Unlike a {@link TimeSlot}, which is a dated pair of instants, the slot is a day of the week
+ * and minutes of the day on the student's wall clock, so 9am Monday stays 9am Monday across
+ * daylight saving changes and zone changes. Slots are stored by {@link WeeklyTimeSlotCodec}.
+ *
+ * @author Team Wolf
+ */
+@Data
+@AllArgsConstructor
+@Builder
+@NoArgsConstructor
+public class WeeklyTimeSlot {
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    @NonNull private DayOfWeek day;
+    // Minutes since midnight in the student's zone
+    private int startMinute;
+    private int endMinute;
+
+    /**
+     * Create a weekly slot from wall clock times
+     *
+     * @param day the day of the week
+     * @param start the start on the student's wall clock
+     * @param end the end on the student's wall clock
+     * @return the weekly slot
+     */
+    public static WeeklyTimeSlot of(
+            @NonNull DayOfWeek day, @NonNull LocalTime start, @NonNull LocalTime end) {
+        return new WeeklyTimeSlot(
+                day,
+                start.toSecondOfDay() / SECONDS_PER_MINUTE,
+                end.toSecondOfDay() / SECONDS_PER_MINUTE);
+    }
+
+    /** @return the start on the student's wall clock */
+    public LocalTime getStartTime() {
+        return LocalTime.ofSecondOfDay((long) startMinute * SECONDS_PER_MINUTE);
+    }
+
+    /** @return the end on the student's wall clock */
+    public LocalTime getEndTime() {
+        return LocalTime.ofSecondOfDay((long) endMinute * SECONDS_PER_MINUTE);
+    }
+
+    /** @return the day for display, e.g. Monday */
+    public String getDayName() {
+        return day.getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+}
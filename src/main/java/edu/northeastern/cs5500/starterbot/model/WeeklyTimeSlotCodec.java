@@ -0,0 +1,102 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Locale;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Stores a {@link WeeklyTimeSlot} as a document of the ISO day of the week, and start and end
+ * minutes of the day, all as int32.
+ *
+ * <p>Availability written before this codec was stored as {@link TimeSlot} documents, with start
+ * and end as instants, either int64 epoch seconds or BSON dates. Those still decode: the day is
+ * kept as stored and the times are read as wall times in {@link TimeSlot#DEFAULT_ZONE}, which is
+ * what they were entered in unless the student had already chosen a zone. They are written back in
+ * this form the next time the student is updated.
+ */
+public class WeeklyTimeSlotCodec implements Codec<WeeklyTimeSlot> {
+    private static final String DAY = "day";
+    private static final String START_MINUTE = "startMinute";
+    private static final String END_MINUTE = "endMinute";
+    private static final String LEGACY_START = "start";
+    private static final String LEGACY_END = "end";
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    @Override
+    public void encode(BsonWriter writer, WeeklyTimeSlot value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        writer.writeInt32(DAY, value.getDay().getValue());
+        writer.writeInt32(START_MINUTE, value.getStartMinute());
+        writer.writeInt32(END_MINUTE, value.getEndMinute());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public WeeklyTimeSlot decode(BsonReader reader, DecoderContext decoderContext) {
+        WeeklyTimeSlot timeSlot = new WeeklyTimeSlot();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            switch (name) {
+                case DAY:
+                    timeSlot.setDay(readDay(reader));
+                    break;
+                case START_MINUTE:
+                    timeSlot.setStartMinute(reader.readInt32());
+                    break;
+                case END_MINUTE:
+                    timeSlot.setEndMinute(reader.readInt32());
+                    break;
+                case LEGACY_START:
+                    timeSlot.setStartMinute(readLegacyMinute(reader));
+                    break;
+                case LEGACY_END:
+                    timeSlot.setEndMinute(readLegacyMinute(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        if (timeSlot.getDay() == null) {
+            throw new IllegalStateException("Weekly time slot has no day");
+        }
+        return timeSlot;
+    }
+
+    private static DayOfWeek readDay(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.STRING) {
+            return DayOfWeek.valueOf(reader.readString().toUpperCase(Locale.ROOT));
+        }
+        return DayOfWeek.of(reader.readInt32());
+    }
+
+    private static int readLegacyMinute(BsonReader reader) {
+        Instant instant;
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                instant = Instant.ofEpochSecond(reader.readInt64());
+                break;
+            case DATE_TIME:
+                instant = Instant.ofEpochMilli(reader.readDateTime());
+                break;
+            default:
+                throw new IllegalStateException(
+                        "Unexpected time slot time " + reader.getCurrentBsonType());
+        }
+        LocalTime time = LocalTime.ofInstant(instant, TimeSlot.DEFAULT_ZONE);
+        return time.toSecondOfDay() / SECONDS_PER_MINUTE;
+    }
+
+    @Override
+    public Class<WeeklyTimeSlot> getEncoderClass() {
+        return WeeklyTimeSlot.class;
+    }
+}
@@ -0,0 +1,84 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+
+/**
+ * Blends the groups CollaborativeFilteringJob ranked for a student, stored as their {@link
+ * GroupAffinity}, into the groups another recommender finds by shared interests. The merge is by
+ * reciprocal rank fusion: each list adds 1 / (offset + rank) to a group's score, so groups high on
+ * both come first. Ranked groups the student has joined or that have filled since the job ran are
+ * left out.
+ */
+public class AffinityStudyGroupRecommender implements StudyGroupRecommender {
+    // Damps the difference between the first few ranks when two rankings are merged
+    static final int RANK_FUSION_OFFSET = 60;
+
+    private final StudyGroupRecommender delegate;
+    private final GenericRepository<GroupAffinity> groupAffinityRepository;
+    private final GenericRepository<StudyGroup> studyGroupRepository;
+    private final GenericRepository<Student> studentRepository;
+
+    public AffinityStudyGroupRecommender(
+            StudyGroupRecommender delegate,
+            GenericRepository<GroupAffinity> groupAffinityRepository,
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository) {
+        this.delegate = delegate;
+        this.groupAffinityRepository = groupAffinityRepository;
+        this.studyGroupRepository = studyGroupRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public List<StudyGroup> recommend(@Nonnull Student student) {
+        List<StudyGroup> byInterest = delegate.recommend(student);
+        GroupAffinity affinity = groupAffinityRepository.get(student.getId());
+        if (affinity == null || affinity.getGroups().isEmpty()) {
+            return byInterest;
+        }
+        List<ObjectId> ranked = new ArrayList<>();
+        affinity.getGroups().forEach(group -> ranked.add(group.getGroupId()));
+
+        Map<ObjectId, StudyGroup> groupsById = new HashMap<>();
+        Map<ObjectId, Double> scores = new HashMap<>();
+        for (int rank = 0; rank < byInterest.size(); rank++) {
+            StudyGroup group = byInterest.get(rank);
+            groupsById.put(group.getId(), group);
+            scores.put(group.getId(), 1.0 / (RANK_FUSION_OFFSET + rank));
+        }
+        List<ObjectId> missing = new ArrayList<>();
+        for (ObjectId groupId : ranked) {
+            if (!groupsById.containsKey(groupId)) {
+                missing.add(groupId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (StudyGroup group : studyGroupRepository.get(missing)) {
+                if (!student.getGroupList().contains(group.getId())
+                        && !IndexedStudyGroupRecommender.isFull(studentRepository, group)) {
+                    groupsById.put(group.getId(), group);
+                }
+            }
+        }
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            if (groupsById.containsKey(ranked.get(rank))) {
+                scores.merge(ranked.get(rank), 1.0 / (RANK_FUSION_OFFSET + rank), Double::sum);
+            }
+        }
+        List<StudyGroup> blended = new ArrayList<>(groupsById.values());
+        blended.sort(
+                Comparator.comparing((StudyGroup group) -> scores.get(group.getId()))
+                        .reversed()
+                        .thenComparing(StudyGroup::getId));
+        return blended;
+    }
+}
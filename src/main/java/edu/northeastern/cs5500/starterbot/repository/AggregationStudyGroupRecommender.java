@@ -0,0 +1,139 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.expr;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.nin;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+
+/**
+ * Recommends study groups with a single MongoDB aggregation, so only the recommended groups are
+ * sent to the bot. Groups are matched through a multikey index on the ids of their interests, and
+ * each one's members are counted by a lookup served by the (groupList, _id) index on students.
+ *
+ * <p>The lookup combines localField with a pipeline, which needs MongoDB 5.0 or later.
+ */
+@Slf4j
+public class AggregationStudyGroupRecommender implements StudyGroupRecommender {
+    static final String MONGODB_ID_FIELD = "_id";
+    static final String INTEREST_ID_FIELD = "interestSet._id";
+    static final String GROUP_LIST_FIELD = "groupList";
+    static final String MAX_MEMBERS_FIELD = "maxMembers";
+    // Added by the pipeline and removed again before the groups are decoded
+    static final String MEMBERS_FIELD = "members";
+    static final String MEMBER_COUNT_FIELD = "memberCount";
+    static final String OVERLAP_FIELD = "overlap";
+
+    private final MongoCollection<StudyGroup> studyGroupCollection;
+    private final MongoCollection<Student> studentCollection;
+    private volatile boolean indexesCreated;
+
+    public AggregationStudyGroupRecommender(@Nonnull MongoDBService mongoDBService) {
+        this(
+                mongoDBService
+                        .getMongoDatabase()
+                        .getCollection(StudyGroup.class.getName(), StudyGroup.class)
+                        .withReadPreference(mongoDBService.getReadPreference()),
+                mongoDBService
+                        .getMongoDatabase()
+                        .getCollection(Student.class.getName(), Student.class));
+    }
+
+    /** Use collections as they are, for benchmarks against a throwaway database. */
+    AggregationStudyGroupRecommender(
+            @Nonnull MongoCollection<StudyGroup> studyGroupCollection,
+            @Nonnull MongoCollection<Student> studentCollection) {
+        this.studyGroupCollection = studyGroupCollection;
+        this.studentCollection = studentCollection;
+    }
+
+    @Override
+    public List<StudyGroup> recommend(@Nonnull Student student) {
+        List<ObjectId> interestIds = new ArrayList<>();
+        for (Interest interest : student.getInterestSet()) {
+            interestIds.add(interest.getId());
+        }
+        if (interestIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureIndexes();
+        return studyGroupCollection
+                .aggregate(pipeline(interestIds, student.getGroupList()))
+                .into(new ArrayList<>());
+    }
+
+    List<Bson> pipeline(List<ObjectId> interestIds, List<ObjectId> joinedGroupIds) {
+        // Only the ids of the members are needed to count them
+        Document lookupMembers =
+                new Document("from", studentCollection.getNamespace().getCollectionName())
+                        .append("localField", MONGODB_ID_FIELD)
+                        .append("foreignField", GROUP_LIST_FIELD)
+                        .append(
+                                "pipeline",
+                                List.of(
+                                        new Document(
+                                                "$project",
+                                                new Document(MONGODB_ID_FIELD, 1))))
+                        .append("as", MEMBERS_FIELD);
+        return List.of(
+                Aggregates.match(
+                        and(
+                                in(INTEREST_ID_FIELD, interestIds),
+                                nin(MONGODB_ID_FIELD, joinedGroupIds))),
+                new Document("$lookup", lookupMembers),
+                Aggregates.addFields(
+                        new Field<>(MEMBER_COUNT_FIELD, new Document("$size", "$" + MEMBERS_FIELD)),
+                        new Field<>(
+                                OVERLAP_FIELD,
+                                new Document(
+                                        "$size",
+                                        new Document(
+                                                "$setIntersection",
+                                                List.of("$" + INTEREST_ID_FIELD, interestIds))))),
+                Aggregates.match(
+                        expr(
+                                new Document(
+                                        "$lt",
+                                        List.of(
+                                                "$" + MEMBER_COUNT_FIELD,
+                                                "$" + MAX_MEMBERS_FIELD)))),
+                Aggregates.sort(
+                        Sorts.orderBy(
+                                Sorts.descending(OVERLAP_FIELD),
+                                Sorts.ascending(MONGODB_ID_FIELD))),
+                Aggregates.project(
+                        Projections.exclude(MEMBERS_FIELD, MEMBER_COUNT_FIELD, OVERLAP_FIELD)));
+    }
+
+    /** Create the indexes the pipeline relies on, the first time it runs. */
+    private void ensureIndexes() {
+        if (indexesCreated) {
+            return;
+        }
+        try {
+            studyGroupCollection.createIndex(Indexes.ascending(INTEREST_ID_FIELD));
+            studentCollection.createIndex(Indexes.ascending(GROUP_LIST_FIELD, MONGODB_ID_FIELD));
+            indexesCreated = true;
+        } catch (MongoException e) {
+            log.warn("Unable to create the indexes used for recommendations", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+
+/**
+ * The non-blocking counterpart of {@link GenericRepository}. Every call returns at once, and the
+ * future completes when the database answers, so independent lookups can be in flight together
+ * instead of each holding a JDA thread for a full round trip.
+ */
+public interface AsyncGenericRepository<T> {
+
+    /** Completes with the item, or with null if there is no item with that id. */
+    public CompletableFuture<T> get(@Nonnull ObjectId id);
+
+    public CompletableFuture<List<T>> get(@Nonnull List<ObjectId> ids);
+
+    public CompletableFuture<T> add(@Nonnull T item);
+
+    public CompletableFuture<T> update(@Nonnull T item);
+
+    public CompletableFuture<Void> delete(@Nonnull ObjectId id);
+
+    public CompletableFuture<Collection<T>> getAll();
+
+    public CompletableFuture<Long> count();
+
+    /**
+     * Completes with the number of items whose field holds any of the values, without reading the
+     * items themselves. Matches the same items as {@link GenericRepository#findByAny}.
+     */
+    public CompletableFuture<Long> countByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values);
+}
@@ -0,0 +1,78 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+
+/**
+ * Presents a {@link GenericRepository} as an {@link AsyncGenericRepository}. Each call runs on the
+ * caller's thread and returns an already completed future, which suits {@link InMemoryRepository}
+ * and lets tests exercise async code paths without a database.
+ */
+public class AsyncRepositoryAdapter<T> implements AsyncGenericRepository<T> {
+    private final GenericRepository<T> delegate;
+
+    public AsyncRepositoryAdapter(@Nonnull GenericRepository<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<T> get(@Nonnull ObjectId id) {
+        return complete(() -> delegate.get(id));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> get(@Nonnull List<ObjectId> ids) {
+        return complete(() -> delegate.get(ids));
+    }
+
+    @Override
+    public CompletableFuture<T> add(@Nonnull T item) {
+        return complete(() -> delegate.add(item));
+    }
+
+    @Override
+    public CompletableFuture<T> update(@Nonnull T item) {
+        return complete(() -> delegate.update(item));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(@Nonnull ObjectId id) {
+        return complete(
+                () -> {
+                    delegate.delete(id);
+                    return null;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Collection<T>> getAll() {
+        return complete(delegate::getAll);
+    }
+
+    @Override
+    public CompletableFuture<Long> count() {
+        return complete(delegate::count);
+    }
+
+    @Override
+    public CompletableFuture<Long> countByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        return complete(() -> (long) delegate.findByAny(field, fieldExtractor, values).size());
+    }
+
+    /** Failures complete the future exceptionally, the same as they would from the database. */
+    private static <R> CompletableFuture<R> complete(Supplier<R> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
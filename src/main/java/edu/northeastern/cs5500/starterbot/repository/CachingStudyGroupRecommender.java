@@ -0,0 +1,172 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import org.bson.types.ObjectId;
+
+/**
+ * Keeps the last recommendations of each student in memory, so asking again is a map lookup.
+ *
+ * <p>What a student is recommended depends on their interests and groups, and on the interests and
+ * fullness of other groups. Controllers call {@link #invalidateStudent} when a student's interests
+ * or groups change, and {@link #invalidateGroup} when a group is created, changed, disbanded, or
+ * joined or left. A group only drops the students it can affect: those it was recommended to, and
+ * those sharing one of its interests, found through indexes over the cached students. When the
+ * delegate blends in the group affinities, they are cached too, and {@link #invalidateAll} drops
+ * everything once CollaborativeFilteringJob has replaced them.
+ *
+ * <p>The least recently used students are evicted beyond {@link #MAX_STUDENTS}.
+ */
+public class CachingStudyGroupRecommender implements StudyGroupRecommender {
+    static final int MAX_STUDENTS = 10_000;
+
+    private final StudyGroupRecommender delegate;
+    private final int maxStudents;
+    // Guarded by this, like the indexes below
+    private final Map<ObjectId, Recommendations> recommendationsByStudent;
+    private final Map<ObjectId, Set<ObjectId>> studentsByGroup = new HashMap<>();
+    private final Map<ObjectId, Set<ObjectId>> studentsByInterest = new HashMap<>();
+    // Counts invalidations, so a computation can tell whether one happened while it was reading
+    private long invalidationClock;
+
+    @Value
+    private static class Recommendations {
+        List<StudyGroup> groups;
+        Set<ObjectId> interestIds;
+    }
+
+    public CachingStudyGroupRecommender(@Nonnull StudyGroupRecommender delegate) {
+        this(delegate, MAX_STUDENTS);
+    }
+
+    CachingStudyGroupRecommender(@Nonnull StudyGroupRecommender delegate, int maxStudents) {
+        this.delegate = delegate;
+        this.maxStudents = maxStudents;
+        this.recommendationsByStudent =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<ObjectId, Recommendations> eldest) {
+                        if (size() <= CachingStudyGroupRecommender.this.maxStudents) {
+                            return false;
+                        }
+                        unindex(eldest.getKey(), eldest.getValue());
+                        return true;
+                    }
+                };
+    }
+
+    /** @return a copy the caller may modify */
+    @Override
+    public List<StudyGroup> recommend(@Nonnull Student student) {
+        long startedAt;
+        synchronized (this) {
+            Recommendations cached = recommendationsByStudent.get(student.getId());
+            if (cached != null) {
+                return new ArrayList<>(cached.getGroups());
+            }
+            startedAt = invalidationClock;
+        }
+        List<StudyGroup> groups = delegate.recommend(student);
+        Set<ObjectId> interestIds = new HashSet<>();
+        for (Interest interest : student.getInterestSet()) {
+            interestIds.add(interest.getId());
+        }
+        synchronized (this) {
+            // A write that landed during the computation may not be in it, so do not keep it
+            if (invalidationClock == startedAt) {
+                Recommendations recommendations =
+                        new Recommendations(List.copyOf(groups), interestIds);
+                Recommendations replaced =
+                        recommendationsByStudent.put(student.getId(), recommendations);
+                if (replaced != null) {
+                    unindex(student.getId(), replaced);
+                }
+                index(student.getId(), recommendations);
+            }
+        }
+        return new ArrayList<>(groups);
+    }
+
+    /** @return whether the student's recommendations are cached */
+    synchronized boolean isCached(@Nonnull ObjectId studentId) {
+        return recommendationsByStudent.containsKey(studentId);
+    }
+
+    /**
+     * Drop the recommendations of a student, after their interests or groups change.
+     *
+     * @param studentId the id of the student
+     */
+    public synchronized void invalidateStudent(@Nonnull ObjectId studentId) {
+        invalidationClock++;
+        remove(studentId);
+    }
+
+    /**
+     * Drop the recommendations a group can change, after it is created, changed, disbanded, or
+     * gains or loses a member.
+     *
+     * @param studyGroup the group as it is now
+     */
+    public synchronized void invalidateGroup(@Nonnull StudyGroup studyGroup) {
+        invalidationClock++;
+        Set<ObjectId> affected = new HashSet<>();
+        affected.addAll(studentsByGroup.getOrDefault(studyGroup.getId(), Set.of()));
+        for (Interest interest : studyGroup.getInterestSet()) {
+            affected.addAll(studentsByInterest.getOrDefault(interest.getId(), Set.of()));
+        }
+        affected.forEach(this::remove);
+    }
+
+    /** Drop every student's recommendations, after the group affinities are recomputed. */
+    public synchronized void invalidateAll() {
+        invalidationClock++;
+        recommendationsByStudent.clear();
+        studentsByGroup.clear();
+        studentsByInterest.clear();
+    }
+
+    private void remove(ObjectId studentId) {
+        Recommendations removed = recommendationsByStudent.remove(studentId);
+        if (removed != null) {
+            unindex(studentId, removed);
+        }
+    }
+
+    private void index(ObjectId studentId, Recommendations recommendations) {
+        for (StudyGroup group : recommendations.getGroups()) {
+            studentsByGroup.computeIfAbsent(group.getId(), id -> new HashSet<>()).add(studentId);
+        }
+        for (ObjectId interestId : recommendations.getInterestIds()) {
+            studentsByInterest.computeIfAbsent(interestId, id -> new HashSet<>()).add(studentId);
+        }
+    }
+
+    private void unindex(ObjectId studentId, Recommendations recommendations) {
+        for (StudyGroup group : recommendations.getGroups()) {
+            removeFrom(studentsByGroup, group.getId(), studentId);
+        }
+        for (ObjectId interestId : recommendations.getInterestIds()) {
+            removeFrom(studentsByInterest, interestId, studentId);
+        }
+    }
+
+    private static void removeFrom(
+            Map<ObjectId, Set<ObjectId>> index, ObjectId key, ObjectId studentId) {
+        Set<ObjectId> students = index.get(key);
+        if (students != null && students.remove(studentId) && students.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Model;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+
+/**
+ * A repository that keeps every item in memory and survives restarts without a database. Reads
+ * and queries are served by an {@link InMemoryRepository}; every write is also appended to a
+ * journal file before it returns.
+ *
+ * <p>The journal is a sequence of records, each a put of the whole item encoded as BSON, the same
+ * encoding MongoDB stores, or a delete of an id. Every record carries a CRC32C checksum, so a
+ * record torn by a crash is detected on recovery and cut off along with anything after it. A
+ * write that fails partway is cut off at once, so that later records do not end up behind it. Once
+ * the journal outgrows the last snapshot, the current items are written to a new snapshot, which
+ * replaces the old one atomically, and the journal starts over. Recovery memory-maps the snapshot
+ * and the journal and replays them in order; replaying a journal that the snapshot already covers
+ * is harmless because every record is idempotent.
+ *
+ * <p>All methods are synchronized. Items returned are the stored instances, as with {@link
+ * InMemoryRepository}, and changing one has no effect on disk until it is passed to {@link
+ * #update}.
+ *
+ * @param <T> the model type
+ */
+@Slf4j
+public class FileRepository<T extends Model> implements GenericRepository<T>, Closeable {
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    static final String JOURNAL_SUFFIX = ".journal";
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    // length, checksum, type
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + 1;
+    // A snapshot costs a full rewrite, so let the journal grow to at least this first
+    static final long MIN_COMPACTION_BYTES = 4L * 1024 * 1024;
+    static final String DATA_DIRECTORY_ENV = "REPOSITORY_DATA_DIR";
+    static final String SYNC_WRITES_ENV = "REPOSITORY_SYNC_WRITES";
+
+    private final InMemoryRepository<T> memory = new InMemoryRepository<>();
+    private final Codec<T> codec;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final boolean syncWrites;
+    private final long minCompactionBytes;
+
+    // Package-private so tests can make writes fail
+    FileChannel journal;
+    private long snapshotBytes;
+    // Set once a torn record could not be cut off the journal
+    @Nullable private IOException failure;
+
+    static Path getDataDirectory() {
+        String configured = new ProcessBuilder().environment().get(DATA_DIRECTORY_ENV);
+        return Path.of(configured == null ? "data" : configured);
+    }
+
+    static boolean getSyncWrites() {
+        String configured = new ProcessBuilder().environment().get(SYNC_WRITES_ENV);
+        return configured == null || !configured.trim().equalsIgnoreCase("false");
+    }
+
+    /**
+     * Open the repository in the directory named by REPOSITORY_DATA_DIR, "data" by default. Each
+     * write is forced to the device unless REPOSITORY_SYNC_WRITES is false.
+     *
+     * @param clazz the model class, which also names the files
+     */
+    public FileRepository(@Nonnull Class<T> clazz) {
+        this(clazz, getDataDirectory(), MongoDBService.getCodecRegistry(), getSyncWrites());
+    }
+
+    /**
+     * Open the repository, recovering whatever an earlier instance stored.
+     *
+     * @param clazz the model class, which also names the files
+     * @param directory where the snapshot and journal are kept, created if missing
+     * @param codecRegistry how items are encoded
+     * @param syncWrites whether each write is forced to the device before it returns, rather than
+     *     left to the operating system to flush
+     */
+    public FileRepository(
+            @Nonnull Class<T> clazz,
+            @Nonnull Path directory,
+            @Nonnull CodecRegistry codecRegistry,
+            boolean syncWrites) {
+        this(clazz, directory, codecRegistry, syncWrites, MIN_COMPACTION_BYTES);
+    }
+
+    FileRepository(
+            Class<T> clazz,
+            Path directory,
+            CodecRegistry codecRegistry,
+            boolean syncWrites,
+            long minCompactionBytes) {
+        this.codec = codecRegistry.get(clazz);
+        this.snapshotPath = directory.resolve(clazz.getName() + SNAPSHOT_SUFFIX);
+        this.journalPath = directory.resolve(clazz.getName() + JOURNAL_SUFFIX);
+        this.syncWrites = syncWrites;
+        this.minCompactionBytes = minCompactionBytes;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open " + journalPath, e);
+        }
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        if (Files.exists(snapshotPath)) {
+            try (FileChannel snapshot = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+                snapshotBytes = snapshot.size();
+                long valid = replay(snapshot);
+                if (valid != snapshotBytes) {
+                    // Snapshots are renamed into place only once complete
+                    throw new IOException("Corrupt snapshot " + snapshotPath);
+                }
+            }
+        }
+
+        journal =
+                FileChannel.open(
+                        journalPath,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        long journalBytes = journal.size();
+        long valid = replay(journal);
+        if (valid < journalBytes) {
+            log.warn(
+                    "Dropping {} bytes after the last complete record of {}",
+                    journalBytes - valid,
+                    journalPath);
+            journal.truncate(valid);
+            journal.force(true);
+        }
+        journal.position(valid);
+        log.info(
+                "Recovered {} items from {} in {} ms",
+                memory.count(),
+                journalPath.getFileName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Apply every complete, intact record of a file to memory.
+     *
+     * @return the length of the file up to the end of the last good record
+     */
+    private long replay(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return 0;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int recordStart = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            byte type = buffer.get();
+            if (length < 0 || length > buffer.remaining()) {
+                return recordStart;
+            }
+            ByteBuffer payload = buffer.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(type);
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return recordStart;
+            }
+            apply(type, payload);
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    private void apply(byte type, ByteBuffer payload) {
+        if (type == PUT) {
+            try (BsonBinaryReader reader = new BsonBinaryReader(payload)) {
+                memory.update(codec.decode(reader, DecoderContext.builder().build()));
+            }
+        } else if (type == DELETE) {
+            byte[] id = new byte[payload.remaining()];
+            payload.get(id);
+            memory.delete(new ObjectId(id));
+        } else {
+            throw new IllegalStateException("Unknown record type " + type + " in " + journalPath);
+        }
+    }
+
+    private ByteBuffer record(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(type).put(payload);
+        return record.flip();
+    }
+
+    private byte[] encode(T item) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(
+                    writer,
+                    item,
+                    EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+        }
+        return buffer.toByteArray();
+    }
+
+    private void append(ByteBuffer record) {
+        append(List.of(record));
+    }
+
+    /**
+     * Append records and force them to the device once, after the last. If any write fails, all
+     * of them are cut off again.
+     *
+     * @param records the records, which may be encoded as they are iterated
+     */
+    private void append(Iterable<ByteBuffer> records) {
+        if (failure != null) {
+            throw new UncheckedIOException(
+                    "Refusing writes after failing on " + journalPath, failure);
+        }
+        long recordStart = -1;
+        try {
+            recordStart = journal.position();
+            for (ByteBuffer record : records) {
+                while (record.hasRemaining()) {
+                    journal.write(record);
+                }
+            }
+            if (syncWrites) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            discardFrom(recordStart);
+            throw new UncheckedIOException("Unable to write to " + journalPath, e);
+        }
+        try {
+            long journalBytes = journal.position();
+            if (journalBytes >= minCompactionBytes && journalBytes > snapshotBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact " + journalPath, e);
+        }
+    }
+
+    /**
+     * Cut a partly written record off the end of the journal. Recovery stops at the first torn
+     * record, so any record written after one would be lost. If the journal cannot be cut, no
+     * more writes are accepted.
+     *
+     * @param recordStart where the record began, or -1 if that is unknown
+     */
+    private void discardFrom(long recordStart) {
+        try {
+            if (recordStart < 0) {
+                throw new IOException("Unknown journal position");
+            }
+            journal.truncate(recordStart);
+            journal.position(recordStart);
+        } catch (IOException e) {
+            failure = e;
+            log.error("Unable to cut a torn record off {}, refusing writes", journalPath, e);
+        }
+    }
+
+    private void journalPut(T item) {
+        append(record(PUT, encode(item)));
+    }
+
+    /** Write the current items to a new snapshot and start an empty journal. */
+    synchronized void compact() throws IOException {
+        long start = System.nanoTime();
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel snapshot =
+                FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (T item : memory.getAll()) {
+                ByteBuffer record = record(PUT, encode(item));
+                while (record.hasRemaining()) {
+                    snapshot.write(record);
+                }
+            }
+            snapshot.force(true);
+            snapshotBytes = snapshot.size();
+        }
+        Files.move(
+                temporary,
+                snapshotPath,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        // A crash before this point replays the old journal over the new snapshot, which is safe
+        journal.truncate(0);
+        journal.force(true);
+        log.info(
+                "Compacted {} into a {} byte snapshot in {} ms",
+                journalPath.getFileName(),
+                snapshotBytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public synchronized T get(@Nonnull ObjectId id) {
+        return memory.get(id);
+    }
+
+    @Override
+    public synchronized List<T> get(@Nonnull List<ObjectId> ids) {
+        return memory.get(ids);
+    }
+
+    @Override
+    public synchronized T add(@Nonnull T item) {
+        memory.add(item);
+        journalPut(item);
+        return item;
+    }
+
+    @Override
+    public synchronized T update(@Nonnull T item) {
+        memory.update(item);
+        journalPut(item);
+        return item;
+    }
+
+    /** Appended to the journal as one write, forced to the device once for the whole batch. */
+    @Override
+    public synchronized void updateAll(@Nonnull Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        memory.updateAll(items);
+        append(() -> items.stream().map(item -> record(PUT, encode(item))).iterator());
+    }
+
+    @Override
+    public synchronized void delete(@Nonnull ObjectId id) {
+        if (memory.get(id) != null) {
+            memory.delete(id);
+            append(record(DELETE, id.toByteArray()));
+        }
+    }
+
+    @Override
+    public synchronized Collection<T> getAll() {
+        return memory.getAll();
+    }
+
+    @Override
+    public synchronized long count() {
+        return memory.count();
+    }
+
+    @Override
+    public synchronized void upsertAll(
+            @Nonnull String keyField,
+            @Nonnull Function<T, Object> keyExtractor,
+            @Nonnull Collection<T> items) {
+        memory.upsertAll(keyField, keyExtractor, items);
+        for (T item : items) {
+            // Only the items that were missing were stored
+            if (item.getId() != null && memory.get(item.getId()) == item) {
+                journalPut(item);
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<T> findBy(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Object value) {
+        return memory.findBy(field, fieldExtractor, value);
+    }
+
+    @Override
+    public synchronized List<T> findByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        return memory.findByAny(field, fieldExtractor, values);
+    }
+
+    @Override
+    public synchronized List<T> getPage(@Nullable ObjectId after, int limit) {
+        return memory.getPage(after, limit);
+    }
+
+    @Override
+    public synchronized List<T> findPage(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values,
+            @Nullable ObjectId after,
+            int limit) {
+        return memory.findPage(field, fieldExtractor, values, after, limit);
+    }
+
+    @Override
+    public synchronized List<T> findRange(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String excludedField,
+            @Nonnull Function<T, Object> excludedFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limit) {
+        return memory.findRange(
+                field,
+                fieldExtractor,
+                above,
+                atMost,
+                excludedField,
+                excludedFieldExtractor,
+                excludedValues,
+                limit);
+    }
+
+    @Override
+    public synchronized List<T> findRangePerValue(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String perField,
+            @Nonnull Function<T, Object> perFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limitPerValue) {
+        return memory.findRangePerValue(
+                field,
+                fieldExtractor,
+                above,
+                atMost,
+                perField,
+                perFieldExtractor,
+                excludedValues,
+                limitPerValue);
+    }
+
+    /** The encoded BSON size of an item, in bytes. Only used for sampled trace attributes. */
+    public long sizeOf(@Nonnull T item) {
+        return encode(item).length;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+}
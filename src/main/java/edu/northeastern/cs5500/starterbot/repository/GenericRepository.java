@@ -2,21 +2,189 @@ package edu.northeastern.cs5500.starterbot.repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.bson.types.ObjectId;
 
+/**
+ * Storage for one kind of model, looked up by id. Every implementation must behave the same way,
+ * which GenericRepositoryConformanceTest checks, so callers never depend on which one is wired in.
+ *
+ * @param <T> the model type
+ */
 public interface GenericRepository<T> {
+    /**
+     * Read one item.
+     *
+     * @param id the id of the item
+     * @return the item, or null if there is none with that id
+     */
     public T get(@Nonnull ObjectId id);
 
+    /**
+     * Read several items at once. Ids without an item are skipped, and the order of the result is
+     * not specified.
+     *
+     * @param ids the ids of the items
+     * @return the items that were found
+     */
     public List<T> get(@Nonnull List<ObjectId> ids);
 
+    /**
+     * Store a new item, assigning it an id first if it has none.
+     *
+     * @param item the item to store
+     * @return the same item, with its id set
+     */
     public T add(@Nonnull T item);
 
+    /**
+     * Replace the stored item with the same id, or store it if there is none.
+     *
+     * @param item the new version of the item
+     * @return the same item, as now stored
+     */
     public T update(@Nonnull T item);
 
+    /**
+     * Like {@link #update} for many items at once, as a single batch. Items are replaced in no
+     * particular order, so no two of them may share an id.
+     *
+     * @param items the new versions of the items, each with its id set
+     */
+    public void updateAll(@Nonnull Collection<T> items);
+
+    /** Remove an item. Removing an id that is not stored does nothing. */
     public void delete(@Nonnull ObjectId id);
 
+    /**
+     * Read every item.
+     *
+     * @return a copy that later writes do not change and that the caller may modify
+     */
     public Collection<T> getAll();
 
     public long count();
+
+    /**
+     * Insert every item whose key is not already present, leaving existing items untouched.
+     *
+     * @param keyField the name of the field that uniquely identifies an item
+     * @param keyExtractor reads the value of keyField from an item
+     * @param items the items to insert if absent
+     */
+    public void upsertAll(
+            @Nonnull String keyField,
+            @Nonnull Function<T, Object> keyExtractor,
+            @Nonnull Collection<T> items);
+
+    /**
+     * Read every item whose field holds a value, in ascending id order. Implementations keep an
+     * index on the field, so the cost depends on the number of matches rather than the size of
+     * the collection. A field holding a collection is compared as a whole; use {@link #findByAny}
+     * to match its elements.
+     *
+     * @param field the name of the field to match
+     * @param fieldExtractor reads the value of field from an item
+     * @param value the value to look for
+     * @return the matching items
+     */
+    public List<T> findBy(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Object value);
+
+    /**
+     * Read every item whose field holds any of the given values, in ascending id order. When the
+     * field is a collection, as with the groups of a student, an item matches if any element does,
+     * the same way MongoDB matches arrays. Like {@link #findBy}, this is served by an index.
+     *
+     * @param field the name of the field to match
+     * @param fieldExtractor reads the value of field from an item
+     * @param values the values to look for
+     * @return the matching items, each once
+     */
+    public List<T> findByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values);
+
+    /**
+     * Read the items that come after a cursor, in ascending id order. Ids grow with creation time,
+     * so a caller can page through a collection by passing back the last id it saw, without any
+     * state kept between calls.
+     *
+     * @param after the last id already seen, or null to start from the beginning
+     * @param limit the largest number of items to return
+     * @return at most limit items, all with an id greater than after
+     */
+    public List<T> getPage(@Nullable ObjectId after, int limit);
+
+    /**
+     * Like {@link #getPage}, but only for items whose field holds one of the given values.
+     *
+     * @param field the name of the field to match
+     * @param fieldExtractor reads the value of field from an item
+     * @param values the accepted values of field
+     * @param after the last id already seen, or null to start from the beginning
+     * @param limit the largest number of items to return
+     * @return at most limit matching items, all with an id greater than after
+     */
+    public List<T> findPage(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values,
+            @Nullable ObjectId after,
+            int limit);
+
+    /**
+     * Read the items whose field lies in a range, in ascending id order, leaving out those whose
+     * other field holds one of the excluded values. Like {@link #findBy}, this is served by an
+     * index on the field, so the cost depends on the number of items in the range rather than the
+     * size of the collection. Items without a value in the field never match.
+     *
+     * @param field the name of the field to match
+     * @param fieldExtractor reads the value of field from an item
+     * @param above the range starts after this value, or null for no lower bound
+     * @param atMost the range ends at this value, or null for no upper bound
+     * @param excludedField the name of the field checked against excludedValues
+     * @param excludedFieldExtractor reads the value of excludedField from an item
+     * @param excludedValues the values of excludedField whose items are left out
+     * @param limit the largest number of items to return
+     * @return at most limit matching items, those with the lowest ids
+     */
+    public List<T> findRange(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String excludedField,
+            @Nonnull Function<T, Object> excludedFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limit);
+
+    /**
+     * Like {@link #findRange}, but with the limit applied to each value of the other field rather
+     * than to all the matches, so the many items of one value cannot crowd out the others.
+     *
+     * @param field the name of the field to match
+     * @param fieldExtractor reads the value of field from an item
+     * @param above the range starts after this value, or null for no lower bound
+     * @param atMost the range ends at this value, or null for no upper bound
+     * @param perField the name of the field the limit applies to each value of
+     * @param perFieldExtractor reads the value of perField from an item
+     * @param excludedValues the values of perField whose items are left out
+     * @param limitPerValue the largest number of items to return for one value of perField
+     * @return the matching items, those with the lowest ids for each value, in ascending id order
+     */
+    public List<T> findRangePerValue(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String perField,
+            @Nonnull Function<T, Object> perFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limitPerValue);
 }
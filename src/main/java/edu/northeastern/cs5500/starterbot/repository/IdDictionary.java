@@ -0,0 +1,79 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+
+/**
+ * Gives each ObjectId a dense int, 0, 1, 2 and so on in the order ids are first seen, so sets of
+ * ids can be kept as compressed bitmaps. Lookups go through an open-addressing table of ints that
+ * points into an array of the ids themselves, which costs a few bytes per id on top of the ObjectId
+ * the repository already holds, rather than a boxed map entry.
+ *
+ * <p>Numbers are never reused: an id keeps its number after its item is deleted. Not thread-safe;
+ * callers guard it the same way as the repository that owns it.
+ */
+final class IdDictionary {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ObjectId[] ids = new ObjectId[INITIAL_CAPACITY];
+    // Each slot holds a dense id plus one, or zero when empty; always at most half full
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int size;
+
+    /** The number of the id, giving it the next free number if it has none yet. */
+    int intern(@Nonnull ObjectId id) {
+        int slot = slotOf(id);
+        if (slots[slot] != 0) {
+            return slots[slot] - 1;
+        }
+        if (size == ids.length) {
+            grow();
+            slot = slotOf(id);
+        }
+        ids[size] = id;
+        slots[slot] = size + 1;
+        return size++;
+    }
+
+    /** The number of the id, or -1 if it has never been interned. */
+    int lookup(@Nonnull ObjectId id) {
+        return slots[slotOf(id)] - 1;
+    }
+
+    /** The id with the given number. */
+    @Nonnull
+    ObjectId idAt(int number) {
+        if (number < 0 || number >= size) {
+            throw new IndexOutOfBoundsException("No id with number " + number);
+        }
+        return ids[number];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slotOf(ObjectId id) {
+        int mask = slots.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (slots[slot] != 0 && !ids[slots[slot] - 1].equals(id)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+        slots = new int[ids.length * 2];
+        for (int number = 0; number < size; number++) {
+            slots[slotOf(ids[number])] = number + 1;
+        }
+    }
+
+    /** Spread the hash so ids made close together do not land in neighbouring slots. */
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
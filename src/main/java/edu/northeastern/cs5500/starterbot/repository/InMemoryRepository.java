@@ -3,18 +3,39 @@ package edu.northeastern.cs5500.starterbot.repository;
 import edu.northeastern.cs5500.starterbot.model.Model;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.bson.types.ObjectId;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
 
 @Singleton
 public class InMemoryRepository<T extends Model> implements GenericRepository<T> {
 
     HashMap<ObjectId, T> collection;
+    // Built the first time a field is queried with findBy, then kept up to date on every write
+    private final Map<String, FieldIndex> fieldIndexes = new HashMap<>();
+    // Built the first time a field is queried with findByAny; bitmaps hold numbers from ids
+    private final Map<String, ElementIndex> elementIndexes = new HashMap<>();
+    // Built the first time a field is queried with findRange, sorted by the value of the field
+    private final Map<String, RangeIndex> rangeIndexes = new HashMap<>();
+    private final IdDictionary ids = new IdDictionary();
 
     @Inject
     public InMemoryRepository() {
@@ -33,24 +54,54 @@ public class InMemoryRepository<T extends Model> implements GenericRepository<T>
             id = new ObjectId();
             item.setId(id);
         }
-        collection.put(id, item);
+        put(item);
         return item;
     }
 
     @Override
     public T update(@Nonnull T item) {
-        collection.put(item.getId(), item);
+        put(item);
         return item;
     }
 
+    @Override
+    public void updateAll(@Nonnull Collection<T> items) {
+        for (T item : items) {
+            put(item);
+        }
+    }
+
+    private void put(T item) {
+        collection.put(item.getId(), item);
+        for (FieldIndex index : fieldIndexes.values()) {
+            index.put(item);
+        }
+        for (ElementIndex index : elementIndexes.values()) {
+            index.put(item);
+        }
+        for (RangeIndex index : rangeIndexes.values()) {
+            index.put(item);
+        }
+    }
+
     @Override
     public void delete(@Nonnull ObjectId id) {
-        collection.remove(id);
+        if (collection.remove(id) != null) {
+            for (FieldIndex index : fieldIndexes.values()) {
+                index.remove(id);
+            }
+            for (ElementIndex index : elementIndexes.values()) {
+                index.remove(id);
+            }
+            for (RangeIndex index : rangeIndexes.values()) {
+                index.remove(id);
+            }
+        }
     }
 
     @Override
     public Collection<T> getAll() {
-        return collection.values();
+        return new ArrayList<>(collection.values());
     }
 
     @Override
@@ -69,4 +120,283 @@ public class InMemoryRepository<T extends Model> implements GenericRepository<T>
         }
         return results;
     }
+
+    @Override
+    public void upsertAll(
+            @Nonnull String keyField,
+            @Nonnull Function<T, Object> keyExtractor,
+            @Nonnull Collection<T> items) {
+        Set<Object> existingKeys = new HashSet<>();
+        for (T item : collection.values()) {
+            existingKeys.add(keyExtractor.apply(item));
+        }
+        for (T item : items) {
+            if (existingKeys.add(keyExtractor.apply(item))) {
+                add(item);
+            }
+        }
+    }
+
+    /**
+     * Served by an index on the field, so repeated lookups such as the groups of a leader cost the
+     * number of matches. Items changed in place but not yet written back are matched by the value
+     * they were last written with, as they would be in MongoDB.
+     */
+    @Override
+    public List<T> findBy(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Object value) {
+        FieldIndex index =
+                fieldIndexes.computeIfAbsent(field, name -> new FieldIndex(fieldExtractor));
+        List<T> results = new ArrayList<>();
+        for (ObjectId id : index.idsByValue.getOrDefault(value, Collections.emptySortedSet())) {
+            results.add(collection.get(id));
+        }
+        return results;
+    }
+
+    /**
+     * Served by an inverted index from each value to a bitmap of the items holding it, so the
+     * match is a union of bitmaps whatever the number of values. As with findBy, items changed in
+     * place are matched by what they held when last written.
+     */
+    @Override
+    public List<T> findByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        ElementIndex index =
+                elementIndexes.computeIfAbsent(field, name -> new ElementIndex(fieldExtractor));
+        RoaringBitmap matches = new RoaringBitmap();
+        for (Object value : values) {
+            RoaringBitmap holders = index.itemsByElement.get(value);
+            if (holders != null) {
+                matches.or(holders);
+            }
+        }
+        List<T> results = new ArrayList<>(matches.getCardinality());
+        IntIterator numbers = matches.getIntIterator();
+        while (numbers.hasNext()) {
+            results.add(collection.get(ids.idAt(numbers.next())));
+        }
+        results.sort(Comparator.comparing(Model::getId));
+        return results;
+    }
+
+    @Override
+    public List<T> getPage(@Nullable ObjectId after, int limit) {
+        return page(item -> true, after, limit);
+    }
+
+    @Override
+    public List<T> findPage(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values,
+            @Nullable ObjectId after,
+            int limit) {
+        return page(item -> values.contains(fieldExtractor.apply(item)), after, limit);
+    }
+
+    /**
+     * Served by an index that keeps the values of the field in order, so only the items in the
+     * range are read. As with findBy, items changed in place are matched by what they held when
+     * last written.
+     */
+    @Override
+    public List<T> findRange(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String excludedField,
+            @Nonnull Function<T, Object> excludedFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limit) {
+        List<T> results =
+                range(field, fieldExtractor, above, atMost, excludedFieldExtractor, excludedValues);
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    /** Served by the same index as findRange, counting the matches of each value as it goes. */
+    @Override
+    public List<T> findRangePerValue(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String perField,
+            @Nonnull Function<T, Object> perFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limitPerValue) {
+        Map<Object, Integer> counts = new HashMap<>();
+        List<T> results = new ArrayList<>();
+        for (T item :
+                range(field, fieldExtractor, above, atMost, perFieldExtractor, excludedValues)) {
+            if (counts.merge(perFieldExtractor.apply(item), 1, Integer::sum) <= limitPerValue) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+
+    private List<T> range(
+            String field,
+            Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            Function<T, Object> excludedFieldExtractor,
+            Collection<?> excludedValues) {
+        RangeIndex index =
+                rangeIndexes.computeIfAbsent(field, name -> new RangeIndex(fieldExtractor));
+        NavigableMap<Object, SortedSet<ObjectId>> range = index.idsByValue;
+        if (above != null) {
+            range = range.tailMap(above, false);
+        }
+        if (atMost != null) {
+            range = range.headMap(atMost, true);
+        }
+        List<T> results = new ArrayList<>();
+        for (SortedSet<ObjectId> idsWithValue : range.values()) {
+            for (ObjectId id : idsWithValue) {
+                T item = collection.get(id);
+                if (!excludedValues.contains(excludedFieldExtractor.apply(item))) {
+                    results.add(item);
+                }
+            }
+        }
+        results.sort(Comparator.comparing(Model::getId));
+        return results;
+    }
+
+    private List<T> page(Predicate<T> filter, @Nullable ObjectId after, int limit) {
+        return collection.values().stream()
+                .filter(item -> after == null || item.getId().compareTo(after) > 0)
+                .filter(filter)
+                .sorted(Comparator.comparing(Model::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /** The ids of the items holding each value of one field, in ascending id order. */
+    private class FieldIndex {
+        final Function<T, Object> fieldExtractor;
+        final Map<Object, SortedSet<ObjectId>> idsByValue = new HashMap<>();
+        // The value each item was indexed under, since items may be changed in place
+        final Map<ObjectId, Object> valueById = new HashMap<>();
+
+        FieldIndex(Function<T, Object> fieldExtractor) {
+            this.fieldExtractor = fieldExtractor;
+            for (T item : collection.values()) {
+                put(item);
+            }
+        }
+
+        void put(T item) {
+            remove(item.getId());
+            Object value = fieldExtractor.apply(item);
+            valueById.put(item.getId(), value);
+            idsByValue.computeIfAbsent(value, key -> new TreeSet<>()).add(item.getId());
+        }
+
+        void remove(ObjectId id) {
+            if (!valueById.containsKey(id)) {
+                return;
+            }
+            Object value = valueById.remove(id);
+            SortedSet<ObjectId> ids = idsByValue.get(value);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByValue.remove(value);
+            }
+        }
+    }
+
+    /** Like FieldIndex, but ordered by value. Items without a value are left out. */
+    private class RangeIndex {
+        final Function<T, Object> fieldExtractor;
+        final NavigableMap<Object, SortedSet<ObjectId>> idsByValue = new TreeMap<>();
+        final Map<ObjectId, Object> valueById = new HashMap<>();
+
+        RangeIndex(Function<T, Object> fieldExtractor) {
+            this.fieldExtractor = fieldExtractor;
+            for (T item : collection.values()) {
+                put(item);
+            }
+        }
+
+        void put(T item) {
+            remove(item.getId());
+            Object value = fieldExtractor.apply(item);
+            if (value == null) {
+                return;
+            }
+            valueById.put(item.getId(), value);
+            idsByValue.computeIfAbsent(value, key -> new TreeSet<>()).add(item.getId());
+        }
+
+        void remove(ObjectId id) {
+            Object value = valueById.remove(id);
+            if (value == null) {
+                return;
+            }
+            SortedSet<ObjectId> ids = idsByValue.get(value);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByValue.remove(value);
+            }
+        }
+    }
+
+    /**
+     * For each value of one field, or each element when the field is a collection, the bitmap of
+     * the numbers of the items holding it.
+     */
+    private class ElementIndex {
+        final Function<T, Object> fieldExtractor;
+        final Map<Object, RoaringBitmap> itemsByElement = new HashMap<>();
+        // What each item was indexed under, since items may be changed in place
+        final Map<Integer, List<Object>> elementsByItem = new HashMap<>();
+
+        ElementIndex(Function<T, Object> fieldExtractor) {
+            this.fieldExtractor = fieldExtractor;
+            for (T item : collection.values()) {
+                put(item);
+            }
+        }
+
+        void put(T item) {
+            remove(item.getId());
+            int number = ids.intern(item.getId());
+            Object value = fieldExtractor.apply(item);
+            List<Object> elements =
+                    value instanceof Collection
+                            ? new ArrayList<>((Collection<?>) value)
+                            : Collections.singletonList(value);
+            elementsByItem.put(number, elements);
+            for (Object element : elements) {
+                itemsByElement.computeIfAbsent(element, key -> new RoaringBitmap()).add(number);
+            }
+        }
+
+        void remove(ObjectId id) {
+            int number = ids.lookup(id);
+            List<Object> elements = number < 0 ? null : elementsByItem.remove(number);
+            if (elements == null) {
+                return;
+            }
+            for (Object element : elements) {
+                RoaringBitmap holders = itemsByElement.get(element);
+                // A list may hold the same element twice, and the first pass already removed it
+                if (holders == null) {
+                    continue;
+                }
+                holders.remove(number);
+                if (holders.isEmpty()) {
+                    itemsByElement.remove(element);
+                }
+            }
+        }
+    }
 }
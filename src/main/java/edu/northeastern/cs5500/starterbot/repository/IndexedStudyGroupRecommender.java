@@ -0,0 +1,76 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.bson.types.ObjectId;
+
+/**
+ * Recommends study groups in the JVM. The candidates come from the index on the interests of
+ * groups, and each candidate's member count from the index on the group lists of students, so
+ * only groups that share an interest with the student are read.
+ */
+public class IndexedStudyGroupRecommender implements StudyGroupRecommender {
+    static final String INTEREST_SET_FIELD = "interestSet";
+    static final String GROUP_LIST_FIELD = "groupList";
+
+    private final GenericRepository<StudyGroup> studyGroupRepository;
+    private final GenericRepository<Student> studentRepository;
+
+    public IndexedStudyGroupRecommender(
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository) {
+        this.studyGroupRepository = studyGroupRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public List<StudyGroup> recommend(@Nonnull Student student) {
+        Set<ObjectId> interestIds = new HashSet<>();
+        for (Interest interest : student.getInterestSet()) {
+            interestIds.add(interest.getId());
+        }
+        Set<ObjectId> joined = new HashSet<>(student.getGroupList());
+
+        Map<StudyGroup, Integer> overlapByGroup = new HashMap<>();
+        for (StudyGroup group :
+                studyGroupRepository.findByAny(
+                        INTEREST_SET_FIELD, StudyGroup::getInterestSet, student.getInterestSet())) {
+            if (joined.contains(group.getId()) || isFull(studentRepository, group)) {
+                continue;
+            }
+            int overlap = 0;
+            for (Interest interest : group.getInterestSet()) {
+                if (interestIds.contains(interest.getId())) {
+                    overlap++;
+                }
+            }
+            overlapByGroup.put(group, overlap);
+        }
+
+        List<StudyGroup> recommended = new ArrayList<>(overlapByGroup.keySet());
+        recommended.sort(
+                Comparator.comparing((StudyGroup group) -> overlapByGroup.get(group))
+                        .reversed()
+                        .thenComparing(StudyGroup::getId));
+        return recommended;
+    }
+
+    /** @return whether the group has as many members as it allows */
+    static boolean isFull(GenericRepository<Student> studentRepository, StudyGroup group) {
+        // The group list is a collection, which only findByAny matches element by element
+        int members =
+                studentRepository
+                        .findByAny(GROUP_LIST_FIELD, Student::getGroupList, List.of(group.getId()))
+                        .size();
+        return members >= group.getMaxMembers();
+    }
+}
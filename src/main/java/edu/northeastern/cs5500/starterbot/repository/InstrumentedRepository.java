@@ -0,0 +1,352 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.LatencyHistogram;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import edu.northeastern.cs5500.starterbot.service.TraceSampler;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.types.ObjectId;
+
+/**
+ * Decorates a repository so that every call is timed into {@link
+ * MetricsService#REPOSITORY_LATENCY}, labelled with the entity and method name. Calls picked by
+ * the {@link TraceSampler} also get a client span carrying the number of documents involved and,
+ * when a size function is given, their encoded size.
+ *
+ * @param <T> the entity type
+ */
+public class InstrumentedRepository<T> implements GenericRepository<T> {
+    static final String ENTITY_ATTRIBUTE = "repository.entity";
+    static final String METHOD_ATTRIBUTE = "repository.method";
+    static final String DOCUMENT_COUNT_ATTRIBUTE = "repository.document_count";
+    static final String BYTE_SIZE_ATTRIBUTE = "repository.byte_size";
+    static final String BYTE_SIZE_ESTIMATED_ATTRIBUTE = "repository.byte_size_estimated";
+    // Encoding every document of a large getAll would cost as much as the call itself
+    static final int MAX_SIZED_DOCUMENTS = 100;
+
+    private final GenericRepository<T> delegate;
+    private final String entity;
+    private final OpenTelemetry openTelemetry;
+    private final TraceSampler traceSampler;
+    @Nullable private final ToLongFunction<T> sizeOf;
+
+    private final Operation getOperation;
+    private final Operation getManyOperation;
+    private final Operation addOperation;
+    private final Operation updateOperation;
+    private final Operation updateAllOperation;
+    private final Operation deleteOperation;
+    private final Operation getAllOperation;
+    private final Operation countOperation;
+    private final Operation upsertAllOperation;
+    private final Operation findByOperation;
+    private final Operation findByAnyOperation;
+    private final Operation getPageOperation;
+    private final Operation findPageOperation;
+    private final Operation findRangeOperation;
+    private final Operation findRangePerValueOperation;
+
+    /** Record metrics only, without tracing. */
+    public InstrumentedRepository(
+            @Nonnull GenericRepository<T> delegate,
+            @Nonnull String entity,
+            @Nonnull MetricsService metricsService) {
+        this(
+                delegate,
+                entity,
+                metricsService,
+                new FakeOpenTelemetryService(),
+                new TraceSampler(0),
+                null);
+    }
+
+    public InstrumentedRepository(
+            @Nonnull GenericRepository<T> delegate,
+            @Nonnull String entity,
+            @Nonnull MetricsService metricsService,
+            @Nonnull OpenTelemetry openTelemetry,
+            @Nonnull TraceSampler traceSampler,
+            @Nullable ToLongFunction<T> sizeOf) {
+        this.delegate = delegate;
+        this.entity = entity;
+        this.openTelemetry = openTelemetry;
+        this.traceSampler = traceSampler;
+        this.sizeOf = sizeOf;
+        getOperation = new Operation(metricsService, entity, "get");
+        getManyOperation = new Operation(metricsService, entity, "getMany");
+        addOperation = new Operation(metricsService, entity, "add");
+        updateOperation = new Operation(metricsService, entity, "update");
+        updateAllOperation = new Operation(metricsService, entity, "updateAll");
+        deleteOperation = new Operation(metricsService, entity, "delete");
+        getAllOperation = new Operation(metricsService, entity, "getAll");
+        countOperation = new Operation(metricsService, entity, "count");
+        upsertAllOperation = new Operation(metricsService, entity, "upsertAll");
+        findByOperation = new Operation(metricsService, entity, "findBy");
+        findByAnyOperation = new Operation(metricsService, entity, "findByAny");
+        getPageOperation = new Operation(metricsService, entity, "getPage");
+        findPageOperation = new Operation(metricsService, entity, "findPage");
+        findRangeOperation = new Operation(metricsService, entity, "findRange");
+        findRangePerValueOperation = new Operation(metricsService, entity, "findRangePerValue");
+    }
+
+    @Override
+    public T get(@Nonnull ObjectId id) {
+        return record(getOperation, () -> delegate.get(id), this::single);
+    }
+
+    @Override
+    public List<T> get(@Nonnull List<ObjectId> ids) {
+        return record(getManyOperation, () -> delegate.get(ids), Function.identity());
+    }
+
+    @Override
+    public T add(@Nonnull T item) {
+        return record(addOperation, () -> delegate.add(item), this::single);
+    }
+
+    @Override
+    public T update(@Nonnull T item) {
+        return record(updateOperation, () -> delegate.update(item), this::single);
+    }
+
+    @Override
+    public void updateAll(@Nonnull Collection<T> items) {
+        record(
+                updateAllOperation,
+                () -> {
+                    delegate.updateAll(items);
+                    return null;
+                },
+                result -> items);
+    }
+
+    @Override
+    public void delete(@Nonnull ObjectId id) {
+        record(
+                deleteOperation,
+                () -> {
+                    delegate.delete(id);
+                    return null;
+                },
+                null);
+    }
+
+    @Override
+    public Collection<T> getAll() {
+        return record(getAllOperation, delegate::getAll, Function.identity());
+    }
+
+    @Override
+    public long count() {
+        return record(countOperation, delegate::count, null);
+    }
+
+    @Override
+    public void upsertAll(
+            @Nonnull String keyField,
+            @Nonnull Function<T, Object> keyExtractor,
+            @Nonnull Collection<T> items) {
+        record(
+                upsertAllOperation,
+                () -> {
+                    delegate.upsertAll(keyField, keyExtractor, items);
+                    return null;
+                },
+                result -> items);
+    }
+
+    @Override
+    public List<T> findBy(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Object value) {
+        return record(
+                findByOperation,
+                () -> delegate.findBy(field, fieldExtractor, value),
+                Function.identity());
+    }
+
+    @Override
+    public List<T> findByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        return record(
+                findByAnyOperation,
+                () -> delegate.findByAny(field, fieldExtractor, values),
+                Function.identity());
+    }
+
+    @Override
+    public List<T> getPage(@Nullable ObjectId after, int limit) {
+        return record(getPageOperation, () -> delegate.getPage(after, limit), Function.identity());
+    }
+
+    @Override
+    public List<T> findPage(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values,
+            @Nullable ObjectId after,
+            int limit) {
+        return record(
+                findPageOperation,
+                () -> delegate.findPage(field, fieldExtractor, values, after, limit),
+                Function.identity());
+    }
+
+    @Override
+    public List<T> findRange(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String excludedField,
+            @Nonnull Function<T, Object> excludedFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limit) {
+        return record(
+                findRangeOperation,
+                () ->
+                        delegate.findRange(
+                                field,
+                                fieldExtractor,
+                                above,
+                                atMost,
+                                excludedField,
+                                excludedFieldExtractor,
+                                excludedValues,
+                                limit),
+                Function.identity());
+    }
+
+    @Override
+    public List<T> findRangePerValue(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String perField,
+            @Nonnull Function<T, Object> perFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limitPerValue) {
+        return record(
+                findRangePerValueOperation,
+                () ->
+                        delegate.findRangePerValue(
+                                field,
+                                fieldExtractor,
+                                above,
+                                atMost,
+                                perField,
+                                perFieldExtractor,
+                                excludedValues,
+                                limitPerValue),
+                Function.identity());
+    }
+
+    private Collection<T> single(@Nullable T item) {
+        return item == null ? Collections.emptyList() : Collections.singletonList(item);
+    }
+
+    /**
+     * Time a call and, if it is sampled, wrap it in a span.
+     *
+     * @param operation the metric series and span name of the call
+     * @param call the call to the delegate
+     * @param documents the documents the call read or wrote, used for span attributes
+     */
+    private <R> R record(
+            Operation operation,
+            Supplier<R> call,
+            @Nullable Function<R, ? extends Collection<T>> documents) {
+        long start = System.nanoTime();
+        if (!traceSampler.shouldSample()) {
+            try {
+                return call.get();
+            } finally {
+                operation.recordNanos(System.nanoTime() - start);
+            }
+        }
+
+        Span span = openTelemetry.span(operation.spanName, SpanKind.CLIENT);
+        span.setAttribute(ENTITY_ATTRIBUTE, entity);
+        span.setAttribute(METHOD_ATTRIBUTE, operation.method);
+        try (Scope scope = span.makeCurrent()) {
+            R result = call.get();
+            if (documents != null) {
+                setDocumentAttributes(span, documents.apply(result));
+            }
+            return result;
+        } catch (RuntimeException e) {
+            span.setStatus(StatusCode.ERROR);
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+            operation.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private void setDocumentAttributes(Span span, @Nullable Collection<T> documents) {
+        if (documents == null) {
+            return;
+        }
+        span.setAttribute(DOCUMENT_COUNT_ATTRIBUTE, documents.size());
+        if (sizeOf == null || documents.isEmpty()) {
+            return;
+        }
+        long bytes = 0;
+        int sized = 0;
+        for (T document : documents) {
+            if (sized == MAX_SIZED_DOCUMENTS) {
+                break;
+            }
+            bytes += sizeOf.applyAsLong(document);
+            sized++;
+        }
+        if (sized < documents.size()) {
+            bytes = bytes * documents.size() / sized;
+            span.setAttribute(BYTE_SIZE_ESTIMATED_ATTRIBUTE, true);
+        }
+        span.setAttribute(BYTE_SIZE_ATTRIBUTE, bytes);
+    }
+
+    /** The series of an operation is only created once it is called, as most never are. */
+    private static final class Operation {
+        final MetricsService metricsService;
+        final String entity;
+        final String method;
+        final String spanName;
+        @Nullable private volatile LatencyHistogram latency;
+
+        Operation(MetricsService metricsService, String entity, String method) {
+            this.metricsService = metricsService;
+            this.entity = entity;
+            this.method = method;
+            this.spanName = entity + "." + method;
+        }
+
+        void recordNanos(long nanos) {
+            LatencyHistogram series = latency;
+            if (series == null) {
+                // Racing callers get the same series back from the metric family
+                series = metricsService.latency(MetricsService.REPOSITORY_LATENCY, entity, method);
+                latency = series;
+            }
+            series.recordNanos(nanos);
+        }
+    }
+}
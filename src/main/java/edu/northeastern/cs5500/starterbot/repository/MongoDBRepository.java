@@ -1,30 +1,72 @@
 package edu.northeastern.cs5500.starterbot.repository;
 
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.nin;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import edu.northeastern.cs5500.starterbot.model.Model;
 import edu.northeastern.cs5500.starterbot.service.MongoDBService;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWrapper;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
+@Slf4j
 public class MongoDBRepository<T extends Model> implements GenericRepository<T> {
 
     static final String MONGODB_ID_FIELD = "_id";
+    static final int DUPLICATE_KEY_ERROR_CODE = 11000;
 
     MongoCollection<T> collection;
+    // The same collection with the configured read preference, for list and query methods. Gets
+    // by id stay on the primary, so an item is found right after it was written
+    MongoCollection<T> readCollection;
+    private final Set<String> fieldIndexes = ConcurrentHashMap.newKeySet();
 
     @Inject
     public MongoDBRepository(Class<T> clazz, MongoDBService mongoDBService) {
         MongoDatabase mongoDatabase = mongoDBService.getMongoDatabase();
         collection = mongoDatabase.getCollection(clazz.getName(), clazz);
+        readCollection = collection.withReadPreference(mongoDBService.getReadPreference());
+    }
+
+    /** Use a collection as is, for tests against a throwaway database. */
+    MongoDBRepository(@Nonnull MongoCollection<T> collection) {
+        this.collection = collection;
+        this.readCollection = collection;
     }
 
     @Nullable
@@ -46,9 +88,29 @@ public class MongoDBRepository<T extends Model> implements GenericRepository<T>
         return item;
     }
 
+    /** A plain replace, so the stored document is not sent back over the wire. */
     @Override
     public T update(@Nonnull T item) {
-        return collection.findOneAndReplace(eq(MONGODB_ID_FIELD, item.getId()), item);
+        collection.replaceOne(
+                eq(MONGODB_ID_FIELD, item.getId()), item, new ReplaceOptions().upsert(true));
+        return item;
+    }
+
+    /** One unordered bulk write, which the driver sends in as few round trips as it can. */
+    @Override
+    public void updateAll(@Nonnull Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        List<WriteModel<T>> replacements = new ArrayList<>(items.size());
+        for (T item : items) {
+            replacements.add(
+                    new ReplaceOneModel<>(
+                            eq(MONGODB_ID_FIELD, item.getId()),
+                            item,
+                            new ReplaceOptions().upsert(true)));
+        }
+        collection.bulkWrite(replacements, new BulkWriteOptions().ordered(false));
     }
 
     @Override
@@ -58,11 +120,207 @@ public class MongoDBRepository<T extends Model> implements GenericRepository<T>
 
     @Override
     public Collection<T> getAll() {
-        return collection.find().into(new ArrayList<>());
+        return readCollection.find().into(new ArrayList<>());
     }
 
     @Override
     public long count() {
-        return collection.countDocuments();
+        return readCollection.countDocuments();
+    }
+
+    /** Served by the default _id index, so every page is a single index range scan. */
+    @Override
+    public List<T> getPage(@Nullable ObjectId after, int limit) {
+        Bson filter = after == null ? new BsonDocument() : gt(MONGODB_ID_FIELD, after);
+        return readCollection
+                .find(filter)
+                .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                .limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    /**
+     * Served by a compound index on (field, _id), created the first time a field is queried. Each
+     * page is then one index range scan per value instead of a collection scan.
+     */
+    @Override
+    public List<T> findPage(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values,
+            @Nullable ObjectId after,
+            int limit) {
+        ensureFieldIndex(field);
+        Bson filter = in(field, values);
+        if (after != null) {
+            filter = and(filter, gt(MONGODB_ID_FIELD, after));
+        }
+        return readCollection
+                .find(filter)
+                .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                .limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    /** Served by the same (field, _id) index as {@link #findPage}, already in _id order. */
+    @Override
+    public List<T> findBy(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Object value) {
+        ensureFieldIndex(field);
+        return readCollection
+                .find(eq(field, value))
+                .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                .into(new ArrayList<>());
+    }
+
+    /** An array field gets a multikey index, so each element is looked up like a plain value. */
+    @Override
+    public List<T> findByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ensureFieldIndex(field);
+        return readCollection
+                .find(in(field, values))
+                .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                .into(new ArrayList<>());
+    }
+
+    /**
+     * Served by the same (field, _id) index as {@link #findPage}, scanning only the range. The
+     * matches are then sorted by _id, so this suits ranges holding a bounded number of items.
+     */
+    @Override
+    public List<T> findRange(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String excludedField,
+            @Nonnull Function<T, Object> excludedFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limit) {
+        ensureFieldIndex(field);
+        return readCollection
+                .find(rangeFilter(field, above, atMost, excludedField, excludedValues))
+                .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                .limit(limit)
+                .into(new ArrayList<>());
+    }
+
+    /**
+     * Reads the distinct values of perField in the range, then the first items of each through
+     * the (perField, _id) index. That is one query per value, so this suits fields with few values
+     * in the range, like the routes of the outbox.
+     */
+    @Override
+    public List<T> findRangePerValue(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            @Nonnull String perField,
+            @Nonnull Function<T, Object> perFieldExtractor,
+            @Nonnull Collection<?> excludedValues,
+            int limitPerValue) {
+        ensureFieldIndex(field);
+        ensureFieldIndex(perField);
+        Bson range = rangeFilter(field, above, atMost, perField, excludedValues);
+        List<T> results = new ArrayList<>();
+        for (BsonValue value : readCollection.distinct(perField, range, BsonValue.class)) {
+            readCollection
+                    .find(and(range, eq(perField, value)))
+                    .sort(Sorts.ascending(MONGODB_ID_FIELD))
+                    .limit(limitPerValue)
+                    .into(results);
+        }
+        results.sort(Comparator.comparing(Model::getId));
+        return results;
+    }
+
+    private static Bson rangeFilter(
+            String field,
+            @Nullable Object above,
+            @Nullable Object atMost,
+            String excludedField,
+            Collection<?> excludedValues) {
+        List<Bson> filters = new ArrayList<>();
+        // Without a lower bound, still leave out items missing the field
+        filters.add(above == null ? ne(field, null) : gt(field, above));
+        if (atMost != null) {
+            filters.add(lte(field, atMost));
+        }
+        if (!excludedValues.isEmpty()) {
+            filters.add(nin(excludedField, excludedValues));
+        }
+        return and(filters);
+    }
+
+    private void ensureFieldIndex(String field) {
+        if (fieldIndexes.add(field)) {
+            try {
+                collection.createIndex(Indexes.ascending(field, MONGODB_ID_FIELD));
+            } catch (MongoException e) {
+                fieldIndexes.remove(field);
+                log.warn("Unable to create index on {}", field, e);
+            }
+        }
+    }
+
+    /** The encoded BSON size of an item, in bytes. Only used for sampled trace attributes. */
+    public long sizeOf(@Nonnull T item) {
+        Codec<T> codec = collection.getCodecRegistry().get(collection.getDocumentClass());
+        return new RawBsonDocument(item, codec).getByteBuffer().remaining();
+    }
+
+    /**
+     * Inserts the missing items with a single unordered bulk write. Each item becomes an upsert
+     * that only sets fields on insert, so existing documents are never modified, and the unique
+     * index on keyField makes concurrent seeding from several instances safe.
+     */
+    @Override
+    public void upsertAll(
+            @Nonnull String keyField,
+            @Nonnull Function<T, Object> keyExtractor,
+            @Nonnull Collection<T> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            collection.createIndex(Indexes.ascending(keyField), new IndexOptions().unique(true));
+        } catch (MongoException e) {
+            // Existing duplicates prevent the unique index; the upserts below are still correct
+            log.warn("Unable to create unique index on {}", keyField, e);
+        }
+
+        List<WriteModel<T>> upserts = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (item.getId() == null) {
+                item.setId(new ObjectId());
+            }
+            BsonDocument document =
+                    BsonDocumentWrapper.asBsonDocument(item, collection.getCodecRegistry());
+            upserts.add(
+                    new UpdateOneModel<>(
+                            eq(keyField, keyExtractor.apply(item)),
+                            Updates.setOnInsert(document),
+                            new UpdateOptions().upsert(true)));
+        }
+
+        try {
+            collection.bulkWrite(upserts, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Another instance inserted the same key between our filter match and insert
+            for (BulkWriteError error : e.getWriteErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_ERROR_CODE) {
+                    throw e;
+                }
+            }
+        }
     }
 }
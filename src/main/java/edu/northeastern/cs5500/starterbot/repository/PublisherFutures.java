@@ -0,0 +1,89 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nonnull;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/** Bridges the reactive-streams publishers of the MongoDB driver to {@link CompletableFuture}. */
+final class PublisherFutures {
+
+    private PublisherFutures() {
+        // Static helpers only
+    }
+
+    /**
+     * Collect everything a publisher emits
+     *
+     * @param publisher the publisher
+     * @return completes with the items once the publisher completes
+     */
+    static <T> CompletableFuture<List<T>> toList(@Nonnull Publisher<T> publisher) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        publisher.subscribe(
+                new Subscriber<T>() {
+                    private final List<T> items = new ArrayList<>();
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        items.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        future.completeExceptionally(error);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        future.complete(items);
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * Take the first item a publisher emits and cancel the rest
+     *
+     * @param publisher the publisher
+     * @return completes with the first item, or with null if the publisher emits nothing
+     */
+    static <T> CompletableFuture<T> first(@Nonnull Publisher<T> publisher) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        publisher.subscribe(
+                new Subscriber<T>() {
+                    private Subscription subscription;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        this.subscription = subscription;
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(T item) {
+                        future.complete(item);
+                        subscription.cancel();
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        future.completeExceptionally(error);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        future.complete(null);
+                    }
+                });
+        return future;
+    }
+}
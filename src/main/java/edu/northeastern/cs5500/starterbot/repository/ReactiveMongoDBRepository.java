@@ -0,0 +1,114 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import edu.northeastern.cs5500.starterbot.model.Model;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+/**
+ * An {@link AsyncGenericRepository} on the MongoDB reactive-streams driver. It reads and writes
+ * the same collections as {@link MongoDBRepository}, so both can be used side by side.
+ */
+@Slf4j
+public class ReactiveMongoDBRepository<T extends Model> implements AsyncGenericRepository<T> {
+
+    static final String MONGODB_ID_FIELD = "_id";
+
+    MongoCollection<T> collection;
+    // The same collection with the configured read preference, for list and query methods. Gets
+    // by id stay on the primary, so an item is found right after it was written
+    MongoCollection<T> readCollection;
+    private final Set<String> fieldIndexes = ConcurrentHashMap.newKeySet();
+
+    public ReactiveMongoDBRepository(Class<T> clazz, MongoDBService mongoDBService) {
+        MongoDatabase mongoDatabase = mongoDBService.getReactiveMongoDatabase();
+        collection = mongoDatabase.getCollection(clazz.getName(), clazz);
+        readCollection = collection.withReadPreference(mongoDBService.getReadPreference());
+    }
+
+    @Override
+    public CompletableFuture<T> get(@Nonnull ObjectId id) {
+        return PublisherFutures.first(collection.find(eq(MONGODB_ID_FIELD, id)).first());
+    }
+
+    @Override
+    public CompletableFuture<List<T>> get(@Nonnull List<ObjectId> ids) {
+        return PublisherFutures.toList(collection.find(in(MONGODB_ID_FIELD, ids)));
+    }
+
+    @Override
+    public CompletableFuture<T> add(@Nonnull T item) {
+        if (item.getId() == null) {
+            item.setId(new ObjectId());
+        }
+        return PublisherFutures.first(collection.insertOne(item)).thenApply(result -> item);
+    }
+
+    @Override
+    public CompletableFuture<T> update(@Nonnull T item) {
+        return PublisherFutures.first(
+                        collection.replaceOne(
+                                eq(MONGODB_ID_FIELD, item.getId()),
+                                item,
+                                new ReplaceOptions().upsert(true)))
+                .thenApply(result -> item);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(@Nonnull ObjectId id) {
+        return PublisherFutures.first(collection.deleteOne(eq(MONGODB_ID_FIELD, id)))
+                .thenApply(result -> null);
+    }
+
+    @Override
+    public CompletableFuture<Collection<T>> getAll() {
+        return PublisherFutures.toList(readCollection.find()).thenApply(items -> items);
+    }
+
+    @Override
+    public CompletableFuture<Long> count() {
+        return PublisherFutures.first(readCollection.countDocuments());
+    }
+
+    /** An array field gets a multikey index, so the count is answered from the index. */
+    @Override
+    public CompletableFuture<Long> countByAny(
+            @Nonnull String field,
+            @Nonnull Function<T, Object> fieldExtractor,
+            @Nonnull Collection<?> values) {
+        if (values.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        ensureFieldIndex(field);
+        return PublisherFutures.first(readCollection.countDocuments(in(field, values)));
+    }
+
+    /** The same index {@link MongoDBRepository} creates for its field lookups. */
+    private void ensureFieldIndex(String field) {
+        if (fieldIndexes.add(field)) {
+            PublisherFutures.first(
+                            collection.createIndex(Indexes.ascending(field, MONGODB_ID_FIELD)))
+                    .whenComplete(
+                            (name, e) -> {
+                                if (e != null) {
+                                    fieldIndexes.remove(field);
+                                    log.warn("Unable to create index on {}", field, e);
+                                }
+                            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Where study group recommendations are computed. RECOMMENDER sets it, and INDEXED is the default
+ * because it works on every repository backend.
+ */
+@Slf4j
+public enum RecommenderStrategy {
+    /** In the bot, from the repositories' indexes, see {@link IndexedStudyGroupRecommender}. */
+    INDEXED,
+    /** In MongoDB, with one aggregation, see {@link AggregationStudyGroupRecommender}. */
+    AGGREGATION;
+
+    static final String STRATEGY_ENV = "RECOMMENDER";
+
+    /** The strategy configured in the process environment. */
+    public static RecommenderStrategy fromEnvironment() {
+        return fromEnvironment(new ProcessBuilder().environment());
+    }
+
+    static RecommenderStrategy fromEnvironment(@Nonnull Map<String, String> env) {
+        String configured = env.get(STRATEGY_ENV);
+        if (configured == null) {
+            return INDEXED;
+        }
+        try {
+            return valueOf(configured.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid {}: {}", STRATEGY_ENV, configured);
+            return INDEXED;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Where an entity's repository keeps its data. REPOSITORY_BACKEND sets it for every entity, and
+ * REPOSITORY_BACKEND_ followed by the entity's class name in upper case, for example
+ * REPOSITORY_BACKEND_STUDYGROUP, overrides it for one. MongoDB is the default.
+ */
+@Slf4j
+public enum RepositoryBackend {
+    /** A MongoDB collection, see {@link MongoDBRepository}. */
+    MONGODB,
+    /** Local files, see {@link FileRepository}. */
+    FILE;
+
+    static final String BACKEND_ENV = "REPOSITORY_BACKEND";
+
+    /** Every entity that {@link RepositoryModule} provides a repository for. */
+    static final List<Class<? extends Model>> ENTITIES =
+            List.of(
+                    Student.class,
+                    StudyGroup.class,
+                    Interest.class,
+                    GroupApplication.class,
+                    Room.class,
+                    AbstractMeeting.class,
+                    OnlineMeeting.class,
+                    InPersonMeeting.class,
+                    Booking.class,
+                    Reminder.class,
+                    StudentDashboard.class,
+                    GroupAffinity.class,
+                    OutboxEntry.class);
+
+    /** The backend configured in the process environment for an entity. */
+    public static RepositoryBackend forEntity(@Nonnull Class<?> clazz) {
+        return forEntity(clazz, new ProcessBuilder().environment());
+    }
+
+    static RepositoryBackend forEntity(@Nonnull Class<?> clazz, @Nonnull Map<String, String> env) {
+        String entityEnv = BACKEND_ENV + "_" + clazz.getSimpleName().toUpperCase(Locale.ROOT);
+        RepositoryBackend backend = parse(env, entityEnv);
+        if (backend == null) {
+            backend = parse(env, BACKEND_ENV);
+        }
+        return backend == null ? MONGODB : backend;
+    }
+
+    /** Whether any entity keeps its data in MongoDB, so that the bot needs it to be up. */
+    public static boolean isMongoDBUsed() {
+        return isMongoDBUsed(new ProcessBuilder().environment());
+    }
+
+    static boolean isMongoDBUsed(@Nonnull Map<String, String> env) {
+        return ENTITIES.stream().anyMatch(clazz -> forEntity(clazz, env) == MONGODB);
+    }
+
+    private static RepositoryBackend parse(Map<String, String> env, String name) {
+        String configured = env.get(name);
+        if (configured == null) {
+            return null;
+        }
+        try {
+            return valueOf(configured.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid {}: {}", name, configured);
+            return null;
+        }
+    }
+}
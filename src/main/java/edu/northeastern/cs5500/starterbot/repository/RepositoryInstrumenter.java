@@ -0,0 +1,52 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Model;
+import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.TraceSampler;
+import java.util.function.ToLongFunction;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Wraps the stored repositories with timing metrics and sampled tracing. */
+@Singleton
+public class RepositoryInstrumenter {
+    private final MetricsService metricsService;
+    private final OpenTelemetry openTelemetry;
+    private final TraceSampler traceSampler;
+
+    @Inject
+    public RepositoryInstrumenter(
+            MetricsService metricsService,
+            OpenTelemetryService openTelemetryService,
+            TraceSampler traceSampler) {
+        this.metricsService = metricsService;
+        this.traceSampler = traceSampler;
+        // With sampling off no span is ever started, so the real tracer is never touched
+        this.openTelemetry =
+                traceSampler.isEnabled() ? openTelemetryService : new FakeOpenTelemetryService();
+    }
+
+    public <T extends Model> GenericRepository<T> instrument(
+            Class<T> clazz, MongoDBRepository<T> repository) {
+        return instrument(clazz, repository, repository::sizeOf);
+    }
+
+    public <T extends Model> GenericRepository<T> instrument(
+            Class<T> clazz, FileRepository<T> repository) {
+        return instrument(clazz, repository, repository::sizeOf);
+    }
+
+    private <T extends Model> GenericRepository<T> instrument(
+            Class<T> clazz, GenericRepository<T> repository, ToLongFunction<T> sizeOf) {
+        return new InstrumentedRepository<>(
+                repository,
+                clazz.getSimpleName(),
+                metricsService,
+                openTelemetry,
+                traceSampler,
+                sizeOf);
+    }
+}
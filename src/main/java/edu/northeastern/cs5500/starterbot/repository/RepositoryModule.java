@@ -4,40 +4,88 @@ import dagger.Module;
 import dagger.Provides;
 import edu.northeastern.cs5500.starterbot.model.*;
 import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import javax.inject.Provider;
 import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
 
 @Module
+@Slf4j
 public class RepositoryModule {
+    /** The instrumented repository of an entity, on the backend configured for it. */
+    private static <T extends Model> GenericRepository<T> instrument(
+            Class<T> clazz,
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        if (RepositoryBackend.forEntity(clazz) == RepositoryBackend.FILE) {
+            return repositoryInstrumenter.instrument(clazz, new FileRepository<>(clazz));
+        }
+        return repositoryInstrumenter.instrument(
+                clazz, new MongoDBRepository<>(clazz, mongoDBService.get()));
+    }
+
+    /** Without MongoDB the async repository has to share the synchronous one's data. */
+    private static <T extends Model> AsyncGenericRepository<T> async(
+            Class<T> clazz,
+            GenericRepository<T> repository,
+            Provider<MongoDBService> mongoDBService) {
+        if (RepositoryBackend.forEntity(clazz) == RepositoryBackend.FILE) {
+            return new AsyncRepositoryAdapter<>(repository);
+        }
+        return new ReactiveMongoDBRepository<>(clazz, mongoDBService.get());
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Student> provideStudentRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(Student.class, mongoDBService, repositoryInstrumenter);
+    }
+
     @Provides
     @Singleton
-    public GenericRepository<Student> provideStudentRepository(MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(Student.class, mongoDBService);
+    public AsyncGenericRepository<Student> provideAsyncStudentRepository(
+            GenericRepository<Student> repository, Provider<MongoDBService> mongoDBService) {
+        return async(Student.class, repository, mongoDBService);
     }
 
     @Provides
     @Singleton
     public GenericRepository<StudyGroup> provideStudyGroupRepository(
-            MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(StudyGroup.class, mongoDBService);
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(StudyGroup.class, mongoDBService, repositoryInstrumenter);
     }
 
     @Provides
     @Singleton
-    public GenericRepository<Interest> provideInterestRepository(MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(Interest.class, mongoDBService);
+    public AsyncGenericRepository<StudyGroup> provideAsyncStudyGroupRepository(
+            GenericRepository<StudyGroup> repository, Provider<MongoDBService> mongoDBService) {
+        return async(StudyGroup.class, repository, mongoDBService);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Interest> provideInterestRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(Interest.class, mongoDBService, repositoryInstrumenter);
     }
 
     @Provides
     @Singleton
     public GenericRepository<GroupApplication> provideGroupApplicationRepository(
-            MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(GroupApplication.class, mongoDBService);
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(GroupApplication.class, mongoDBService, repositoryInstrumenter);
     }
 
     @Provides
     @Singleton
-    public GenericRepository<Room> provideRoomRepository(MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(Room.class, mongoDBService);
+    public GenericRepository<Room> provideRoomRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(Room.class, mongoDBService, repositoryInstrumenter);
     }
 
     @Provides
@@ -49,26 +97,88 @@ public class RepositoryModule {
     @Provides
     @Singleton
     public GenericRepository<OnlineMeeting> provideOnlineMeetingRepository(
-            MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(OnlineMeeting.class, mongoDBService);
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(OnlineMeeting.class, mongoDBService, repositoryInstrumenter);
     }
 
     @Provides
     @Singleton
     public GenericRepository<InPersonMeeting> provideInPersonMeetingRepository(
-            MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(InPersonMeeting.class, mongoDBService);
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(InPersonMeeting.class, mongoDBService, repositoryInstrumenter);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Booking> provideBookingRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(Booking.class, mongoDBService, repositoryInstrumenter);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Reminder> provideReminderRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(Reminder.class, mongoDBService, repositoryInstrumenter);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<StudentDashboard> provideStudentDashboardRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(StudentDashboard.class, mongoDBService, repositoryInstrumenter);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<GroupAffinity> provideGroupAffinityRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(GroupAffinity.class, mongoDBService, repositoryInstrumenter);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<OutboxEntry> provideOutboxEntryRepository(
+            Provider<MongoDBService> mongoDBService,
+            RepositoryInstrumenter repositoryInstrumenter) {
+        return instrument(OutboxEntry.class, mongoDBService, repositoryInstrumenter);
     }
 
+    /** The aggregation needs both collections in MongoDB, otherwise groups are matched here. */
     @Provides
     @Singleton
-    public GenericRepository<Booking> provideBookingRepository(MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(Booking.class, mongoDBService);
+    public StudyGroupRecommender provideStudyGroupRecommender(
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository,
+            Provider<MongoDBService> mongoDBService) {
+        if (RecommenderStrategy.fromEnvironment() == RecommenderStrategy.AGGREGATION) {
+            if (RepositoryBackend.forEntity(StudyGroup.class) == RepositoryBackend.MONGODB
+                    && RepositoryBackend.forEntity(Student.class) == RepositoryBackend.MONGODB) {
+                return new AggregationStudyGroupRecommender(mongoDBService.get());
+            }
+            log.warn("Aggregation recommendations need MongoDB, using the indexed recommender");
+        }
+        return new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository);
     }
 
     @Provides
     @Singleton
-    public GenericRepository<Reminder> provideReminderRepository(MongoDBService mongoDBService) {
-        return new MongoDBRepository<>(Reminder.class, mongoDBService);
+    public CachingStudyGroupRecommender provideCachingStudyGroupRecommender(
+            StudyGroupRecommender studyGroupRecommender,
+            GenericRepository<GroupAffinity> groupAffinityRepository,
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository) {
+        return new CachingStudyGroupRecommender(
+                new AffinityStudyGroupRecommender(
+                        studyGroupRecommender,
+                        groupAffinityRepository,
+                        studyGroupRepository,
+                        studentRepository));
     }
 }
@@ -0,0 +1,23 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Finds the study groups to recommend to a student: the groups that share at least one of the
+ * student's interests, that the student is not in, and that have room for another member. Groups
+ * sharing more interests come first, and ties are in id order, so every implementation returns
+ * the same list. {@link RecommenderStrategy} chooses the implementation, which {@link
+ * AffinityStudyGroupRecommender} and {@link CachingStudyGroupRecommender} wrap.
+ */
+public interface StudyGroupRecommender {
+    /**
+     * Recommend study groups to a student.
+     *
+     * @param student the student
+     * @return the matching groups, best first
+     */
+    public List<StudyGroup> recommend(@Nonnull Student student);
+}
@@ -2,7 +2,8 @@ package edu.northeastern.cs5500.starterbot.seeder;
 
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 /** A seeder class responsible for populating the interest repository with predefined interests. */
 @Slf4j
 public class InterestSeeder {
+    static final String INTEREST_KEY_FIELD = "studentInterest";
+
     GenericRepository<Interest> interestRepository;
 
     @Inject
@@ -35,41 +38,14 @@ public class InterestSeeder {
                         InterestConstants.SOFTWARE_PROGRAMMING_SKILLS,
                                 Interest.Category.SOFTWARE_PROGRAMMING_SKILLS,
                         InterestConstants.OTHER_TOPICS, Interest.Category.OTHER_TOPICS);
+        List<Interest> interests = new ArrayList<>();
         for (Map.Entry<String[], Interest.Category> entry : interestMappings.entrySet()) {
-            seedInterestsHelper(entry.getKey(), entry.getValue());
-        }
-    }
-
-    /**
-     * Helper function to seed the interest repository with the provided names and category.
-     *
-     * @param interestNames List of interest names to seed
-     * @param category The category for the interests
-     */
-    private void seedInterestsHelper(String[] interestNames, Interest.Category category) {
-        for (String name : interestNames) {
-            if (!interestExists(name)) {
-                Interest interest =
-                        Interest.builder().studentInterest(name).category(category).build();
-                interestRepository.add(interest);
+            for (String name : entry.getKey()) {
+                interests.add(
+                        Interest.builder().studentInterest(name).category(entry.getValue()).build());
             }
         }
+        interestRepository.upsertAll(INTEREST_KEY_FIELD, Interest::getStudentInterest, interests);
         log.info("Interests seeding complete.");
     }
-
-    /**
-     * Helper function to determine if the given interest name already exists in repository.
-     *
-     * @param interestName
-     * @return true if exists, false if not
-     */
-    private boolean interestExists(String interestName) {
-        Collection<Interest> allInterests = interestRepository.getAll();
-        for (Interest interest : allInterests) {
-            if (interestName.equals(interest.getStudentInterest())) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
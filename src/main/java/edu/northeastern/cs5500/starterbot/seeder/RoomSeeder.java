@@ -3,9 +3,9 @@ package edu.northeastern.cs5500.starterbot.seeder;
 import edu.northeastern.cs5500.starterbot.model.Room;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
-import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -20,6 +20,8 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class RoomSeeder {
+    static final String ROOM_KEY_FIELD = "location";
+
     GenericRepository<Room> roomRepository;
 
     /**
@@ -37,12 +39,7 @@ public class RoomSeeder {
         List<Room> rooms = getRooms();
         addFakeBookedSlots(rooms); // Add fake bookings for some rooms
 
-        for (Room room : rooms) {
-            if (!roomExists(room.getLocation())) {
-                roomRepository.add(room);
-            }
-        }
-
+        roomRepository.upsertAll(ROOM_KEY_FIELD, Room::getLocation, rooms);
         log.info("Rooms seeding complete.");
     }
 
@@ -67,22 +64,6 @@ public class RoomSeeder {
         return rooms;
     }
 
-    /**
-     * Checks if a room with the given location already exists in the repository.
-     *
-     * @param roomLocation the location of the room to check
-     * @return true if the room exists, false otherwise
-     */
-    private boolean roomExists(String roomLocation) {
-        Collection<Room> rooms = roomRepository.getAll();
-        for (Room room : rooms) {
-            if (room.getLocation().equals(roomLocation)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Adds fake booked slots to some rooms to simulate room usage.
      *
@@ -101,15 +82,12 @@ public class RoomSeeder {
                 Set<TimeSlot> bookedSlots = new HashSet<>();
 
                 for (int i = 0; i < numberOfSlots; i++) {
-                    LocalDateTime start = LocalDateTime.now().plusDays(random.nextInt(365));
-                    LocalDateTime end = start.plusHours(1 + random.nextInt(3)); // 1 to 3 hours
-                    String day = start.getDayOfWeek().name();
-                    bookedSlots.add(
-                            TimeSlot.builder()
-                                    .day(day) // Set the day based on start's day of the week
-                                    .start(start)
-                                    .end(end)
-                                    .build());
+                    ZonedDateTime start =
+                            ZonedDateTime.now(TimeSlot.DEFAULT_ZONE)
+                                    .truncatedTo(ChronoUnit.HOURS)
+                                    .plusDays(random.nextInt(365));
+                    ZonedDateTime end = start.plusHours(1 + random.nextInt(3)); // 1 to 3 hours
+                    bookedSlots.add(TimeSlot.of(start, end));
                 }
 
                 room.setBookedSlots(bookedSlots);
@@ -0,0 +1,36 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DiscordRequestException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDiscordRequestException;
+import javax.annotation.Nonnull;
+
+/**
+ * The Discord calls needed to manage study group channels. Each method blocks until Discord has
+ * answered and reports failures as {@link DiscordRequestException}, or {@link
+ * RetryableDiscordRequestException} when trying again later may help.
+ */
+public interface ChannelGateway {
+    /**
+     * Let a user read and post in a channel.
+     *
+     * @param channelId the channel id
+     * @param discordUserId the user to let in
+     */
+    void grantAccess(@Nonnull String channelId, @Nonnull String discordUserId);
+
+    /**
+     * Create a text channel that only its leader can see and manage.
+     *
+     * @param guildId the server to create the channel in
+     * @param leaderDiscordUserId the user who manages the channel
+     * @param name the channel name
+     * @param topic the channel topic
+     * @return the id of the new channel
+     */
+    @Nonnull
+    String createPrivateChannel(
+            @Nonnull String guildId,
+            @Nonnull String leaderDiscordUserId,
+            @Nonnull String name,
+            @Nonnull String topic);
+}
@@ -0,0 +1,33 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import javax.annotation.Nonnull;
+
+/**
+ * The Discord calls needed to send a direct message. Each method is one blocking REST request and
+ * reports failures as {@link DirectMessageException}, or {@link RetryableDirectMessageException}
+ * when trying again later may help.
+ */
+public interface DirectMessageGateway {
+    /**
+     * Open the private channel with a user.
+     *
+     * @param discordUserId the user to message
+     * @return the id of the private channel
+     */
+    @Nonnull
+    String openPrivateChannel(@Nonnull String discordUserId);
+
+    /**
+     * Send a message to a private channel returned by {@link #openPrivateChannel}, or to a guild
+     * text channel.
+     *
+     * @param channelId the channel id
+     * @param content the message, at most 2000 characters
+     */
+    void sendMessage(@Nonnull String channelId, @Nonnull String content);
+
+    /** Drop anything held for a channel that is no longer cached by the caller. */
+    void evictChannel(@Nonnull String channelId);
+}
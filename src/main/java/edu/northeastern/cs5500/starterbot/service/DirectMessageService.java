@@ -0,0 +1,305 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers direct messages, and posts to group channels, from a bounded queue on a single
+ * background thread.
+ *
+ * <p>Messages for a recipient who already has something waiting are merged into the same delivery
+ * and sent as few messages as Discord's 2000 character limit allows. Every REST call takes a permit
+ * from a token bucket that stays under Discord's global rate limit, private channel ids are
+ * cached per user so a repeat DM costs one request, and failed deliveries are retried with
+ * exponential backoff and full jitter.
+ */
+@Singleton
+@Slf4j
+public class DirectMessageService {
+    static final int MAX_MESSAGE_LENGTH = 2000;
+    static final String MESSAGE_SEPARATOR = "\n\n";
+    static final int MAX_PENDING_MESSAGES = 10_000;
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_BACKOFF_MS = 1000;
+    static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(1);
+    // Discord allows 50 requests per second per bot; leave room for interaction responses
+    static final double REQUESTS_PER_SECOND = 40;
+    static final int MAX_CACHED_CHANNELS = 10_000;
+    static final String CHANNEL_CACHE = "dmChannels";
+
+    private final DirectMessageGateway gateway;
+    private final MetricsService metricsService;
+    private final TokenBucket tokenBucket;
+    private final long baseBackoffMillis;
+
+    private final DelayQueue<Delivery> deliveries = new DelayQueue<>();
+    // Both guarded by this
+    private final Map<String, Delivery> pendingByRecipient = new HashMap<>();
+    private int pendingMessages;
+
+    // Only touched by the delivering thread
+    private final Map<String, String> channelByUser;
+    private Thread dispatcher;
+
+    @Inject
+    public DirectMessageService(DirectMessageGateway gateway, MetricsService metricsService) {
+        this(
+                gateway,
+                metricsService,
+                new TokenBucket(REQUESTS_PER_SECOND, (int) REQUESTS_PER_SECOND),
+                BASE_BACKOFF_MS);
+    }
+
+    DirectMessageService(
+            DirectMessageGateway gateway,
+            MetricsService metricsService,
+            TokenBucket tokenBucket,
+            long baseBackoffMillis) {
+        this.gateway = gateway;
+        this.metricsService = metricsService;
+        this.tokenBucket = tokenBucket;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.channelByUser =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                        if (size() > MAX_CACHED_CHANNELS) {
+                            gateway.evictChannel(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /** Start the background thread that delivers queued messages. */
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        dispatcher = new Thread(this::dispatch, "dm-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Direct message dispatcher started");
+    }
+
+    /**
+     * Queue a direct message.
+     *
+     * @param discordUserId the recipient
+     * @param message the message content
+     * @return false if the queue is full and the message was dropped
+     */
+    public boolean send(@Nonnull String discordUserId, @Nonnull String message) {
+        return enqueue(new Recipient(discordUserId, false), message);
+    }
+
+    /**
+     * Queue a message for a guild text channel, such as a study group's private channel.
+     *
+     * @param channelId the channel to post in
+     * @param message the message content
+     * @return false if the queue is full and the message was dropped
+     */
+    public boolean post(@Nonnull String channelId, @Nonnull String message) {
+        return enqueue(new Recipient(channelId, true), message);
+    }
+
+    private synchronized boolean enqueue(Recipient recipient, String message) {
+        if (pendingMessages >= MAX_PENDING_MESSAGES) {
+            log.warn("Direct message queue is full, dropping message to {}", recipient.id);
+            return false;
+        }
+        pendingMessages++;
+        Delivery delivery = pendingByRecipient.get(recipient.key());
+        if (delivery != null) {
+            delivery.messages.add(message);
+            return true;
+        }
+        delivery = new Delivery(recipient, 0, 0);
+        delivery.messages.add(message);
+        pendingByRecipient.put(recipient.key(), delivery);
+        deliveries.add(delivery);
+        return true;
+    }
+
+    /** The number of messages waiting to be delivered. */
+    public synchronized int getPendingCount() {
+        return pendingMessages;
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                deliver(deliveries.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error delivering direct messages", e);
+            }
+        }
+    }
+
+    /** Deliver everything that is due now on the calling thread. Used by tests. */
+    void drain() throws InterruptedException {
+        Delivery delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            deliver(delivery);
+        }
+    }
+
+    private void deliver(Delivery delivery) throws InterruptedException {
+        List<String> messages;
+        synchronized (this) {
+            pendingByRecipient.remove(delivery.recipient.key(), delivery);
+            messages = delivery.messages;
+            pendingMessages -= messages.size();
+        }
+
+        List<String> chunks = coalesce(messages);
+        int sent = 0;
+        try {
+            Recipient recipient = delivery.recipient;
+            String channelId = recipient.channel ? recipient.id : getChannel(recipient.id);
+            for (String chunk : chunks) {
+                tokenBucket.acquire();
+                gateway.sendMessage(channelId, chunk);
+                sent++;
+            }
+        } catch (DirectMessageException e) {
+            if (!delivery.recipient.channel) {
+                String channelId = channelByUser.remove(delivery.recipient.id);
+                if (channelId != null) {
+                    gateway.evictChannel(channelId);
+                }
+            }
+            int attempt = delivery.attempt + 1;
+            if (!(e instanceof RetryableDirectMessageException) || attempt >= MAX_ATTEMPTS) {
+                log.error(
+                        "Dropping {} message(s) to {} after {} attempt(s)",
+                        chunks.size() - sent,
+                        delivery.recipient.id,
+                        attempt,
+                        e);
+                return;
+            }
+            log.warn("Retrying message to {}: {}", delivery.recipient.id, e.getMessage());
+            retry(delivery.recipient, chunks.subList(sent, chunks.size()), attempt);
+        }
+    }
+
+    private String getChannel(String discordUserId) throws InterruptedException {
+        String channelId = channelByUser.get(discordUserId);
+        if (channelId != null) {
+            metricsService.recordCacheHit(CHANNEL_CACHE);
+            return channelId;
+        }
+        metricsService.recordCacheMiss(CHANNEL_CACHE);
+        tokenBucket.acquire();
+        channelId = gateway.openPrivateChannel(discordUserId);
+        channelByUser.put(discordUserId, channelId);
+        return channelId;
+    }
+
+    /**
+     * Put unsent messages back at the front of the recipient's queue. Anything queued for the
+     * recipient since the failed attempt waits for the retry as well, so ordering is preserved.
+     */
+    private synchronized void retry(Recipient recipient, List<String> unsent, int attempt) {
+        Delivery retry = new Delivery(recipient, attempt, backoffMillis(attempt));
+        retry.messages.addAll(unsent);
+        Delivery queued = pendingByRecipient.get(recipient.key());
+        if (queued != null) {
+            deliveries.remove(queued);
+            retry.messages.addAll(queued.messages);
+        }
+        pendingMessages += unsent.size();
+        pendingByRecipient.put(recipient.key(), retry);
+        deliveries.add(retry);
+    }
+
+    long backoffMillis(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MS, baseBackoffMillis << Math.min(attempt, 20));
+        return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /** Join messages with a blank line between them into as few Discord messages as possible. */
+    static List<String> coalesce(List<String> messages) {
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String message : messages) {
+            // A message over the limit on its own is split into several pieces
+            int start = 0;
+            do {
+                int end = Math.min(message.length(), start + MAX_MESSAGE_LENGTH);
+                String piece = message.substring(start, end);
+                if (current.length() > 0
+                        && current.length() + MESSAGE_SEPARATOR.length() + piece.length()
+                                > MAX_MESSAGE_LENGTH) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append(MESSAGE_SEPARATOR);
+                }
+                current.append(piece);
+                start = end;
+            } while (start < message.length());
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /** A user to DM, or a channel to post in. */
+    private static final class Recipient {
+        final String id;
+        final boolean channel;
+
+        Recipient(String id, boolean channel) {
+            this.id = id;
+            this.channel = channel;
+        }
+
+        String key() {
+            return (channel ? "channel:" : "user:") + id;
+        }
+    }
+
+    private static final class Delivery implements Delayed {
+        final Recipient recipient;
+        final int attempt;
+        final long dueNanos;
+        final List<String> messages = new ArrayList<>();
+
+        Delivery(Recipient recipient, int attempt, long delayMillis) {
+            this.recipient = recipient;
+            this.attempt = attempt;
+            this.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        }
+
+        @Override
+        public long getDelay(@Nonnull TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@Nonnull Delayed other) {
+            return Long.compare(dueNanos, ((Delivery) other).dueNanos);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+/** The outcome of a single dependency check on the readiness endpoint. */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HealthCheckResult {
+    String name;
+    boolean healthy;
+    Long latencyMs;
+    String detail;
+}
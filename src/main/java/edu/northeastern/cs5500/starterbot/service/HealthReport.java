@@ -0,0 +1,19 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.util.List;
+import lombok.Value;
+
+/** The body of the health endpoints. */
+@Value
+public class HealthReport {
+    static final String UP = "UP";
+    static final String DOWN = "DOWN";
+
+    String status;
+    long uptimeSeconds;
+    List<HealthCheckResult> checks;
+
+    public boolean isHealthy() {
+        return UP.equals(status);
+    }
+}
@@ -0,0 +1,174 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.controller.MeetingScheduler;
+import edu.northeastern.cs5500.starterbot.controller.ReminderController;
+import edu.northeastern.cs5500.starterbot.repository.RepositoryBackend;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.JDA;
+import org.bson.Document;
+
+/**
+ * Backs the /health/live and /health/ready endpoints.
+ *
+ * <p>Liveness only says the process is serving HTTP. Readiness checks that Mongo answers a ping,
+ * unless every repository is on another backend, that the Discord gateway is connected, and that
+ * the schedulers have ticked recently. The bot
+ * dependencies are injected through providers so that a failed JDA login shows up as a failed
+ * check rather than preventing the endpoint from being built.
+ */
+@Singleton
+@Slf4j
+public class HealthService {
+    static final long MONGO_PING_TIMEOUT_MS = 2000;
+    static final String MONGO_CHECK = "mongo";
+    static final String JDA_CHECK = "discordGateway";
+
+    private final Provider<MongoDBService> mongoDBService;
+    private final Provider<JDA> jda;
+    private final Provider<ReminderController> reminderController;
+    private final Provider<MeetingScheduler> meetingScheduler;
+    // Without it, building MongoDBService would only ping a database nothing uses
+    private final boolean mongoDBUsed = RepositoryBackend.isMongoDBUsed();
+    private final ExecutorService pingExecutor =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "health-mongo-ping");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    @Inject
+    public HealthService(
+            Provider<MongoDBService> mongoDBService,
+            Provider<JDA> jda,
+            Provider<ReminderController> reminderController,
+            Provider<MeetingScheduler> meetingScheduler) {
+        this.mongoDBService = mongoDBService;
+        this.jda = jda;
+        this.reminderController = reminderController;
+        this.meetingScheduler = meetingScheduler;
+    }
+
+    public HealthReport live() {
+        return new HealthReport(HealthReport.UP, getUptimeSeconds(), Collections.emptyList());
+    }
+
+    public HealthReport ready() {
+        List<HealthCheckResult> checks = new ArrayList<>();
+        if (mongoDBUsed) {
+            checks.add(checkMongo());
+        }
+        checks.add(checkJda());
+        checks.add(
+                check("reminders", () -> checkHeartbeat(reminderController.get().getHeartbeat())));
+        checks.add(
+                check("meetings", () -> checkHeartbeat(meetingScheduler.get().getHeartbeat())));
+
+        boolean healthy = checks.stream().allMatch(HealthCheckResult::isHealthy);
+        return new HealthReport(
+                healthy ? HealthReport.UP : HealthReport.DOWN, getUptimeSeconds(), checks);
+    }
+
+    private long getUptimeSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /** Run a check, turning any exception into a failed result. */
+    private HealthCheckResult check(String name, Supplier<HealthCheckResult> check) {
+        try {
+            return check.get();
+        } catch (RuntimeException e) {
+            log.warn("Health check {} failed", name, e);
+            return HealthCheckResult.builder()
+                    .name(name)
+                    .healthy(false)
+                    .detail(e.getClass().getSimpleName() + ": " + e.getMessage())
+                    .build();
+        }
+    }
+
+    private HealthCheckResult checkMongo() {
+        return check(
+                MONGO_CHECK,
+                () -> {
+                    long start = System.nanoTime();
+                    Future<?> ping =
+                            pingExecutor.submit(
+                                    () ->
+                                            mongoDBService
+                                                    .get()
+                                                    .getMongoDatabase()
+                                                    .runCommand(new Document("ping", 1)));
+                    try {
+                        ping.get(MONGO_PING_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        ping.cancel(true);
+                        return failed(MONGO_CHECK, "Ping timed out");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return failed(MONGO_CHECK, "Interrupted");
+                    } catch (ExecutionException e) {
+                        return failed(MONGO_CHECK, String.valueOf(e.getCause()));
+                    }
+                    return HealthCheckResult.builder()
+                            .name(MONGO_CHECK)
+                            .healthy(true)
+                            .latencyMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                            .build();
+                });
+    }
+
+    private HealthCheckResult checkJda() {
+        return check(
+                JDA_CHECK,
+                () -> {
+                    JDA discord = jda.get();
+                    JDA.Status status = discord.getStatus();
+                    return HealthCheckResult.builder()
+                            .name(JDA_CHECK)
+                            .healthy(status == JDA.Status.CONNECTED)
+                            .latencyMs(discord.getGatewayPing())
+                            .detail(status.name())
+                            .build();
+                });
+    }
+
+    /**
+     * Check that a scheduler has run recently.
+     *
+     * @param heartbeat the scheduler's heartbeat
+     * @return the result
+     */
+    private HealthCheckResult checkHeartbeat(Heartbeat heartbeat) {
+        if (!heartbeat.isStarted()) {
+            return failed(heartbeat.getName(), "Not started");
+        }
+        Duration age = heartbeat.getAge();
+        String detail =
+                age == null ? "No successful run yet" : "Last run " + age.toSeconds() + "s ago";
+        return HealthCheckResult.builder()
+                .name(heartbeat.getName())
+                .healthy(heartbeat.isHealthy())
+                .detail(detail)
+                .build();
+    }
+
+    private HealthCheckResult failed(String name, String detail) {
+        return HealthCheckResult.builder().name(name).healthy(false).detail(detail).build();
+    }
+}
@@ -0,0 +1,54 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Tracks when a periodic task last completed successfully, so that a dead or stuck scheduler
+ * shows up on the readiness check.
+ */
+public class Heartbeat {
+    /** How many missed periods are tolerated before the task counts as stalled. */
+    static final int MISSED_PERIODS_ALLOWED = 3;
+
+    @Getter private final String name;
+    @Getter private final Duration period;
+    private final Clock clock;
+    @Getter private volatile boolean started;
+    @Getter @Nullable private volatile Instant lastSuccess;
+
+    public Heartbeat(String name, Duration period) {
+        this(name, period, Clock.systemUTC());
+    }
+
+    Heartbeat(String name, Duration period, Clock clock) {
+        this.name = name;
+        this.period = period;
+        this.clock = clock;
+    }
+
+    public void markStarted() {
+        started = true;
+    }
+
+    public void beat() {
+        lastSuccess = clock.instant();
+    }
+
+    /** Time since the last successful run, or null if there has not been one. */
+    @Nullable
+    public Duration getAge() {
+        Instant last = lastSuccess;
+        return last == null ? null : Duration.between(last, clock.instant());
+    }
+
+    public boolean isHealthy() {
+        Duration age = getAge();
+        return started
+                && age != null
+                && age.compareTo(period.multipliedBy(MISSED_PERIODS_ALLOWED)) <= 0;
+    }
+}
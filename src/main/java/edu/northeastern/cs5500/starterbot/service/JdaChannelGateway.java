@@ -0,0 +1,103 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DiscordRequestException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDiscordRequestException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+/** Manages study group channels through JDA. Channels and servers are looked up in its cache. */
+@Singleton
+public class JdaChannelGateway implements ChannelGateway {
+    /** Errors that will not go away by retrying, such as a user who has left the server. */
+    static final Set<ErrorResponse> PERMANENT_ERRORS =
+            EnumSet.of(
+                    ErrorResponse.UNKNOWN_MEMBER,
+                    ErrorResponse.UNKNOWN_USER,
+                    ErrorResponse.UNKNOWN_CHANNEL,
+                    ErrorResponse.UNKNOWN_GUILD,
+                    ErrorResponse.MISSING_ACCESS,
+                    ErrorResponse.MISSING_PERMISSIONS);
+
+    private final JDA jda;
+
+    @Inject
+    public JdaChannelGateway(JDA jda) {
+        this.jda = jda;
+    }
+
+    @Override
+    public void grantAccess(@Nonnull String channelId, @Nonnull String discordUserId) {
+        TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) {
+            throw new DiscordRequestException("Channel " + channelId + " is gone");
+        }
+        Member member = call(() -> channel.getGuild().retrieveMemberById(discordUserId).complete());
+        call(
+                () ->
+                        channel.upsertPermissionOverride(member)
+                                .grant(
+                                        Permission.VIEW_CHANNEL,
+                                        Permission.MESSAGE_SEND,
+                                        Permission.MESSAGE_HISTORY)
+                                .complete());
+    }
+
+    @Override
+    @Nonnull
+    public String createPrivateChannel(
+            @Nonnull String guildId,
+            @Nonnull String leaderDiscordUserId,
+            @Nonnull String name,
+            @Nonnull String topic) {
+        Guild guild = jda.getGuildById(guildId);
+        if (guild == null) {
+            // Not in the cache until the gateway has caught up after a reconnect
+            throw new RetryableDiscordRequestException("Server " + guildId + " is not available");
+        }
+        Member leader = call(() -> guild.retrieveMemberById(leaderDiscordUserId).complete());
+        TextChannel channel =
+                call(
+                        () ->
+                                guild.createTextChannel(name)
+                                        .setTopic(topic)
+                                        // Deny public access
+                                        .addPermissionOverride(
+                                                guild.getPublicRole(),
+                                                null,
+                                                EnumSet.of(Permission.VIEW_CHANNEL))
+                                        // Allow access and manage permissions to the leader
+                                        .addPermissionOverride(
+                                                leader,
+                                                EnumSet.of(
+                                                        Permission.VIEW_CHANNEL,
+                                                        Permission.MANAGE_CHANNEL,
+                                                        Permission.MANAGE_PERMISSIONS),
+                                                null)
+                                        .complete());
+        return channel.getId();
+    }
+
+    private <R> R call(Supplier<R> request) {
+        try {
+            return request.get();
+        } catch (ErrorResponseException e) {
+            if (PERMANENT_ERRORS.contains(e.getErrorResponse())) {
+                throw new DiscordRequestException(e.getMeaning(), e);
+            }
+            throw new RetryableDiscordRequestException(e.getMeaning(), e);
+        } catch (RuntimeException e) {
+            throw new RetryableDiscordRequestException(e.getMessage(), e);
+        }
+    }
+}
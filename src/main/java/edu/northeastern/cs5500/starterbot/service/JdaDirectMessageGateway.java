@@ -0,0 +1,79 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.channel.concrete.PrivateChannel;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+/**
+ * Sends messages through JDA. Private channels are opened by user id in one request; guild text
+ * channels are looked up in the JDA cache.
+ */
+@Singleton
+public class JdaDirectMessageGateway implements DirectMessageGateway {
+    /** Errors that will not go away by retrying, such as a user who has closed their DMs. */
+    static final Set<ErrorResponse> PERMANENT_ERRORS =
+            EnumSet.of(ErrorResponse.CANNOT_SEND_TO_USER, ErrorResponse.UNKNOWN_USER);
+
+    private final JDA jda;
+    // The light JDA client does not cache private channels, so keep the ones we opened
+    private final Map<String, PrivateChannel> channels = new ConcurrentHashMap<>();
+
+    @Inject
+    public JdaDirectMessageGateway(JDA jda) {
+        this.jda = jda;
+    }
+
+    @Override
+    @Nonnull
+    public String openPrivateChannel(@Nonnull String discordUserId) {
+        PrivateChannel channel = call(() -> jda.openPrivateChannelById(discordUserId).complete());
+        channels.put(channel.getId(), channel);
+        return channel.getId();
+    }
+
+    @Override
+    public void sendMessage(@Nonnull String channelId, @Nonnull String content) {
+        MessageChannel channel = channels.get(channelId);
+        if (channel == null) {
+            channel = jda.getPrivateChannelById(channelId);
+        }
+        if (channel == null) {
+            channel = jda.getTextChannelById(channelId);
+        }
+        if (channel == null) {
+            throw new RetryableDirectMessageException("Channel " + channelId + " is gone");
+        }
+        MessageChannel target = channel;
+        call(() -> target.sendMessage(content).complete());
+    }
+
+    @Override
+    public void evictChannel(@Nonnull String channelId) {
+        channels.remove(channelId);
+    }
+
+    private <R> R call(Supplier<R> request) {
+        try {
+            return request.get();
+        } catch (ErrorResponseException e) {
+            if (PERMANENT_ERRORS.contains(e.getErrorResponse())) {
+                throw new DirectMessageException(e.getMeaning(), e);
+            }
+            throw new RetryableDirectMessageException(e.getMeaning(), e);
+        } catch (RuntimeException e) {
+            throw new RetryableDirectMessageException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * A single latency series. Recording goes through an HdrHistogram {@link Recorder}, which is
+ * wait-free and does not allocate, so it is safe to call on every interaction. Values are stored
+ * in microseconds and folded into a cumulative histogram when the series is scraped.
+ *
+ * <p>A series holds four copies of its counts, so they are kept small: two significant digits,
+ * and by default values up to a minute, about 20 KB each. Families that measure slow work, such
+ * as scheduler ticks, are declared with a higher ceiling. Anything slower than the ceiling is
+ * recorded as the ceiling.
+ */
+public class LatencyHistogram {
+    static final long DEFAULT_HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private final long highestTrackableMicros;
+    private final Recorder recorder;
+    private final Histogram cumulative;
+    private Histogram interval;
+
+    LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_MICROS);
+    }
+
+    LatencyHistogram(long highestTrackableMicros) {
+        this.highestTrackableMicros = highestTrackableMicros;
+        recorder = new Recorder(highestTrackableMicros, SIGNIFICANT_DIGITS);
+        cumulative = new Histogram(highestTrackableMicros, SIGNIFICANT_DIGITS);
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(TimeUnit.MILLISECONDS.toMicros(millis));
+    }
+
+    public void recordMicros(long micros) {
+        // Clamp instead of throwing so a stray value never breaks the caller
+        recorder.recordValue(Math.max(0, Math.min(micros, highestTrackableMicros)));
+    }
+
+    /** Fold everything recorded since the last call into the cumulative histogram and copy it. */
+    synchronized Histogram snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        cumulative.add(interval);
+        return cumulative.copy();
+    }
+}
@@ -0,0 +1,303 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.HdrHistogram.Histogram;
+
+/**
+ * In-process metrics rendered in the Prometheus text format by the /metrics endpoint.
+ *
+ * <p>Every metric family is declared here with its label names. Callers look up a series once
+ * (or on every call, for single-label families, which is a plain map read) and record into it;
+ * nothing on the recording path allocates.
+ */
+@Singleton
+public class MetricsService {
+    public static final String SLASH_COMMAND_LATENCY = "discord_slash_command_seconds";
+    public static final String BUTTON_LATENCY = "discord_button_seconds";
+    public static final String STRING_SELECT_LATENCY = "discord_string_select_seconds";
+    public static final String MODAL_LATENCY = "discord_modal_seconds";
+    public static final String REPOSITORY_LATENCY = "repository_operation_seconds";
+    public static final String SCHEDULER_TICK = "scheduler_tick_seconds";
+    public static final String REMINDER_LAG = "reminder_lag_seconds";
+    public static final String CACHE_HITS = "cache_hits_total";
+    public static final String CACHE_MISSES = "cache_misses_total";
+    public static final String SESSION_EVICTIONS = "session_evictions_total";
+    public static final String MONGODB_COMMAND_LATENCY = "mongodb_command_seconds";
+    public static final String MONGODB_COMMAND_FAILURES = "mongodb_command_failures_total";
+    public static final String MONGODB_POOL_WAIT = "mongodb_pool_wait_seconds";
+    public static final String MONGODB_POOL_CHECKOUT_FAILURES =
+            "mongodb_pool_checkout_failures_total";
+    public static final String MONGODB_POOL_IN_USE = "mongodb_pool_connections_in_use";
+    public static final String MONGODB_POOL_MAX_SIZE = "mongodb_pool_max_size";
+    public static final String DOMAIN_EVENTS = "domain_events_total";
+    public static final String DOMAIN_EVENT_FAILURES = "domain_event_subscriber_failures_total";
+    public static final String OUTBOX_DELIVERED = "outbox_delivered_total";
+    public static final String OUTBOX_DROPPED = "outbox_dropped_total";
+    static final String CACHE_HIT_RATIO = "cache_hit_ratio";
+
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String LABEL_SEPARATOR = "\u0000";
+    private static final double MICROS_PER_SECOND = TimeUnit.SECONDS.toMicros(1);
+
+    private final Map<String, MetricFamily<LatencyHistogram>> histograms = new TreeMap<>();
+    private final Map<String, MetricFamily<LongAdder>> counters = new TreeMap<>();
+    private final Map<String, MetricFamily<AtomicLong>> gauges = new TreeMap<>();
+
+    @Inject
+    public MetricsService() {
+        declareHistogram(SLASH_COMMAND_LATENCY, "Slash command handler latency", "command");
+        declareHistogram(BUTTON_LATENCY, "Button handler latency", "handler");
+        declareHistogram(STRING_SELECT_LATENCY, "String select handler latency", "handler");
+        declareHistogram(MODAL_LATENCY, "Modal handler latency", "handler");
+        declareHistogram(
+                REPOSITORY_LATENCY, "Repository operation latency", "entity", "method");
+        declareHistogram(
+                SCHEDULER_TICK, "Duration of a scheduler tick", Duration.ofHours(1), "scheduler");
+        declareHistogram(
+                REMINDER_LAG,
+                "Time between a reminder being due and being sent",
+                Duration.ofHours(1));
+        declareCounter(CACHE_HITS, "Cache lookups that found an entry", "cache");
+        declareCounter(CACHE_MISSES, "Cache lookups that did not find an entry", "cache");
+        declareCounter(
+                SESSION_EVICTIONS, "Idle or overflowing sessions that were dropped", "flow");
+        declareHistogram(MONGODB_COMMAND_LATENCY, "MongoDB command round trip", "command");
+        declareCounter(MONGODB_COMMAND_FAILURES, "MongoDB commands that failed", "command");
+        declareHistogram(
+                MONGODB_POOL_WAIT, "Time spent waiting for a pooled MongoDB connection", "client");
+        declareCounter(
+                MONGODB_POOL_CHECKOUT_FAILURES,
+                "MongoDB connection checkouts that failed, e.g. on timeout",
+                "reason");
+        declareGauge(
+                MONGODB_POOL_IN_USE,
+                "MongoDB connections checked out of the pool",
+                "client",
+                "server");
+        declareGauge(
+                MONGODB_POOL_MAX_SIZE,
+                "Largest number of connections a pool may open",
+                "client",
+                "server");
+        declareCounter(DOMAIN_EVENTS, "Domain events published", "event");
+        declareCounter(
+                DOMAIN_EVENT_FAILURES, "Subscriber calls that threw on domain events", "event");
+        declareCounter(OUTBOX_DELIVERED, "Outbox calls made to Discord", "kind");
+        declareCounter(OUTBOX_DROPPED, "Outbox calls given up on after failing", "kind");
+    }
+
+    private void declareHistogram(String name, String help, String... labelNames) {
+        histograms.put(
+                name, new MetricFamily<>(name, help, labelNames, k -> new LatencyHistogram()));
+    }
+
+    /** Declare a histogram family whose series track values up to {@code highestTrackable} */
+    private void declareHistogram(
+            String name, String help, Duration highestTrackable, String... labelNames) {
+        long highestTrackableMicros = TimeUnit.NANOSECONDS.toMicros(highestTrackable.toNanos());
+        histograms.put(
+                name,
+                new MetricFamily<>(
+                        name,
+                        help,
+                        labelNames,
+                        k -> new LatencyHistogram(highestTrackableMicros)));
+    }
+
+    private void declareCounter(String name, String help, String... labelNames) {
+        counters.put(name, new MetricFamily<>(name, help, labelNames, k -> new LongAdder()));
+    }
+
+    private void declareGauge(String name, String help, String... labelNames) {
+        gauges.put(name, new MetricFamily<>(name, help, labelNames, k -> new AtomicLong()));
+    }
+
+    /**
+     * Get the series of a histogram family with at most one label.
+     *
+     * @param name the family name, one of the constants on this class
+     * @param labelValue the label value, ignored for families without labels
+     * @return the series to record into
+     */
+    @Nonnull
+    public LatencyHistogram latency(@Nonnull String name, @Nonnull String labelValue) {
+        return family(histograms, name).series(labelValue);
+    }
+
+    /**
+     * Get the series of a histogram family with several labels. The key is built on every call,
+     * so hold on to the result rather than calling this on a hot path.
+     */
+    @Nonnull
+    public LatencyHistogram latency(@Nonnull String name, @Nonnull String... labelValues) {
+        return family(histograms, name).series(String.join(LABEL_SEPARATOR, labelValues));
+    }
+
+    @Nonnull
+    public LongAdder counter(@Nonnull String name, @Nonnull String labelValue) {
+        return family(counters, name).series(labelValue);
+    }
+
+    @Nonnull
+    public AtomicLong gauge(@Nonnull String name, @Nonnull String labelValue) {
+        return family(gauges, name).series(labelValue);
+    }
+
+    /** Get the series of a gauge family with several labels, building the key on every call. */
+    @Nonnull
+    public AtomicLong gauge(@Nonnull String name, @Nonnull String... labelValues) {
+        return family(gauges, name).series(String.join(LABEL_SEPARATOR, labelValues));
+    }
+
+    public void recordCacheHit(@Nonnull String cache) {
+        counter(CACHE_HITS, cache).increment();
+    }
+
+    public void recordCacheMiss(@Nonnull String cache) {
+        counter(CACHE_MISSES, cache).increment();
+    }
+
+    private static <M> MetricFamily<M> family(Map<String, MetricFamily<M>> families, String name) {
+        MetricFamily<M> family = families.get(name);
+        if (family == null) {
+            throw new IllegalArgumentException("Unknown metric " + name);
+        }
+        return family;
+    }
+
+    /** Render every series in the Prometheus text exposition format. */
+    @Nonnull
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (MetricFamily<LatencyHistogram> family : histograms.values()) {
+            writeHeader(out, family, "summary");
+            for (Map.Entry<String, LatencyHistogram> entry : family.sortedSeries().entrySet()) {
+                Histogram histogram = entry.getValue().snapshot();
+                String labels = family.labels(entry.getKey());
+                for (double quantile : QUANTILES) {
+                    out.append(family.name)
+                            .append(withLabel(labels, "quantile", Double.toString(quantile)))
+                            .append(' ')
+                            .append(
+                                    histogram.getValueAtPercentile(quantile * 100)
+                                            / MICROS_PER_SECOND)
+                            .append('\n');
+                }
+                out.append(family.name).append("_sum").append(labels).append(' ');
+                out.append(histogram.getMean() * histogram.getTotalCount() / MICROS_PER_SECOND);
+                out.append('\n');
+                out.append(family.name).append("_count").append(labels).append(' ');
+                out.append(histogram.getTotalCount()).append('\n');
+                out.append(family.name).append("_max").append(labels).append(' ');
+                out.append(histogram.getMaxValue() / MICROS_PER_SECOND).append('\n');
+            }
+        }
+        for (MetricFamily<LongAdder> family : counters.values()) {
+            writeHeader(out, family, "counter");
+            for (Map.Entry<String, LongAdder> entry : family.sortedSeries().entrySet()) {
+                out.append(family.name).append(family.labels(entry.getKey())).append(' ');
+                out.append(entry.getValue().sum()).append('\n');
+            }
+        }
+        for (MetricFamily<AtomicLong> family : gauges.values()) {
+            writeHeader(out, family, "gauge");
+            for (Map.Entry<String, AtomicLong> entry : family.sortedSeries().entrySet()) {
+                out.append(family.name).append(family.labels(entry.getKey())).append(' ');
+                out.append(entry.getValue().get()).append('\n');
+            }
+        }
+        writeCacheHitRatio(out);
+        return out.toString();
+    }
+
+    private void writeCacheHitRatio(StringBuilder out) {
+        MetricFamily<LongAdder> hits = counters.get(CACHE_HITS);
+        MetricFamily<LongAdder> misses = counters.get(CACHE_MISSES);
+        out.append("# HELP ")
+                .append(CACHE_HIT_RATIO)
+                .append(" Fraction of cache lookups that found an entry\n");
+        out.append("# TYPE ").append(CACHE_HIT_RATIO).append(" gauge\n");
+        for (Map.Entry<String, LongAdder> entry : hits.sortedSeries().entrySet()) {
+            long hitCount = entry.getValue().sum();
+            LongAdder missAdder = misses.series.get(entry.getKey());
+            long total = hitCount + (missAdder == null ? 0 : missAdder.sum());
+            if (total == 0) {
+                continue;
+            }
+            out.append(CACHE_HIT_RATIO).append(hits.labels(entry.getKey())).append(' ');
+            out.append((double) hitCount / total).append('\n');
+        }
+    }
+
+    private static void writeHeader(StringBuilder out, MetricFamily<?> family, String type) {
+        out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+        out.append("# TYPE ").append(family.name).append(' ').append(type).append('\n');
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        if (labels.isEmpty()) {
+            return "{" + label + "}";
+        }
+        return labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    private static final class MetricFamily<M> {
+        final String name;
+        final String help;
+        final String[] labelNames;
+        final Function<String, M> factory;
+        final ConcurrentMap<String, M> series = new ConcurrentHashMap<>();
+
+        MetricFamily(String name, String help, String[] labelNames, Function<String, M> factory) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames;
+            this.factory = factory;
+        }
+
+        M series(String key) {
+            M existing = series.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            return series.computeIfAbsent(key, factory);
+        }
+
+        Map<String, M> sortedSeries() {
+            return new TreeMap<>(series);
+        }
+
+        /** Turn a series key back into a Prometheus label set such as {a="x",b="y"}. */
+        String labels(String key) {
+            if (labelNames.length == 0) {
+                return "";
+            }
+            String[] values = key.split(LABEL_SEPARATOR, -1);
+            StringBuilder labels = new StringBuilder("{");
+            for (int i = 0; i < labelNames.length; i++) {
+                if (i > 0) {
+                    labels.append(',');
+                }
+                String value = i < values.length ? values[i] : "";
+                labels.append(labelNames[i]).append("=\"").append(escape(value)).append('"');
+            }
+            return labels.append('}').toString();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The tunable part of the MongoDB client settings: wire compression, connection pool size and
+ * wait, socket timeouts, and the read preference used for read-only queries. Each value can be set
+ * with an environment variable and otherwise falls back to a default suited to answering Discord
+ * interactions, which must be acknowledged within three seconds.
+ */
+@Value
+@Builder(toBuilder = true)
+@Slf4j
+public class MongoClientProfile {
+    static final String COMPRESSORS_ENV = "MONGODB_COMPRESSORS";
+    static final String MIN_POOL_SIZE_ENV = "MONGODB_MIN_POOL_SIZE";
+    static final String MAX_POOL_SIZE_ENV = "MONGODB_MAX_POOL_SIZE";
+    static final String MAX_WAIT_MS_ENV = "MONGODB_MAX_WAIT_MS";
+    static final String CONNECT_TIMEOUT_MS_ENV = "MONGODB_CONNECT_TIMEOUT_MS";
+    static final String SOCKET_TIMEOUT_MS_ENV = "MONGODB_SOCKET_TIMEOUT_MS";
+    static final String READ_PREFERENCE_ENV = "MONGODB_READ_PREFERENCE";
+
+    /** Offered to the server in order; it picks the first it supports, or none. */
+    @Builder.Default List<String> compressors = List.of("zstd", "snappy");
+
+    @Builder.Default int minPoolSize = 0;
+    @Builder.Default int maxPoolSize = 100;
+    @Builder.Default long maxWaitMillis = 2_000;
+    @Builder.Default long connectTimeoutMillis = 5_000;
+    @Builder.Default long socketTimeoutMillis = 10_000;
+    @Builder.Default ReadPreference readPreference = ReadPreference.primary();
+
+    /** Build the profile from the process environment. */
+    public static MongoClientProfile fromEnvironment() {
+        return fromEnvironment(new ProcessBuilder().environment());
+    }
+
+    static MongoClientProfile fromEnvironment(@Nonnull Map<String, String> env) {
+        MongoClientProfile defaults = MongoClientProfile.builder().build();
+        MongoClientProfileBuilder profile = MongoClientProfile.builder();
+
+        String compressors = env.get(COMPRESSORS_ENV);
+        if (compressors != null) {
+            List<String> names = new ArrayList<>();
+            for (String name : compressors.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            profile.compressors(names);
+        }
+        profile.minPoolSize((int) parse(env, MIN_POOL_SIZE_ENV, defaults.minPoolSize));
+        profile.maxPoolSize((int) parse(env, MAX_POOL_SIZE_ENV, defaults.maxPoolSize));
+        profile.maxWaitMillis(parse(env, MAX_WAIT_MS_ENV, defaults.maxWaitMillis));
+        profile.connectTimeoutMillis(
+                parse(env, CONNECT_TIMEOUT_MS_ENV, defaults.connectTimeoutMillis));
+        profile.socketTimeoutMillis(
+                parse(env, SOCKET_TIMEOUT_MS_ENV, defaults.socketTimeoutMillis));
+
+        String readPreference = env.get(READ_PREFERENCE_ENV);
+        if (readPreference != null) {
+            try {
+                profile.readPreference(ReadPreference.valueOf(readPreference.trim()));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalid {}: {}", READ_PREFERENCE_ENV, readPreference);
+            }
+        }
+        return profile.build();
+    }
+
+    private static long parse(Map<String, String> env, String name, long defaultValue) {
+        String configured = env.get(name);
+        if (configured == null) {
+            return defaultValue;
+        }
+        try {
+            long value = Long.parseLong(configured.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // fall through to the warning
+        }
+        log.warn("Ignoring invalid {}: {}", name, configured);
+        return defaultValue;
+    }
+
+    /**
+     * The profile of one of several clients that share this profile's pool budget. Each gets an
+     * equal part of the pool sizes, rounded down but at least one connection, so together they
+     * open about {@link #maxPoolSize} connections per server rather than that many each. A max
+     * size of 0, no limit, is kept as it is.
+     *
+     * @param clients the number of clients sharing the budget
+     * @return the profile for one client
+     */
+    MongoClientProfile shareOf(int clients) {
+        if (maxPoolSize == 0) {
+            return this;
+        }
+        int maxShare = Math.max(1, maxPoolSize / clients);
+        return toBuilder()
+                .maxPoolSize(maxShare)
+                .minPoolSize(Math.min(minPoolSize / clients, maxShare))
+                .build();
+    }
+
+    /** The driver compressors for the configured names, skipping names it does not know. */
+    List<MongoCompressor> getMongoCompressors() {
+        List<MongoCompressor> mongoCompressors = new ArrayList<>();
+        for (String name : compressors) {
+            switch (name) {
+                case "zstd":
+                    mongoCompressors.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    mongoCompressors.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    mongoCompressors.add(MongoCompressor.createZlibCompressor());
+                    break;
+                default:
+                    log.warn("Ignoring unknown MongoDB compressor {}", name);
+            }
+        }
+        return mongoCompressors;
+    }
+
+    /**
+     * Apply the profile on top of settings that already hold the connection string, so these
+     * values win over the same options given in the URI.
+     *
+     * @param settings the settings being built
+     * @return the same builder
+     */
+    MongoClientSettings.Builder applyTo(@Nonnull MongoClientSettings.Builder settings) {
+        return settings.compressorList(getMongoCompressors())
+                .applyToConnectionPoolSettings(
+                        pool ->
+                                pool.minSize(minPoolSize)
+                                        .maxSize(maxPoolSize)
+                                        .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(
+                        socket ->
+                                socket.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+                                        .readTimeout(socketTimeoutMillis, TimeUnit.MILLISECONDS));
+    }
+}
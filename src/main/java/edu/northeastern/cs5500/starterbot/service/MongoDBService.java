@@ -1,13 +1,18 @@
 package edu.northeastern.cs5500.starterbot.service;
 
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMapCodec;
+import edu.northeastern.cs5500.starterbot.model.TimeSlotCodec;
+import edu.northeastern.cs5500.starterbot.model.WeeklyTimeSlotCodec;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -30,22 +35,67 @@ public class MongoDBService implements Service {
 
     @Getter private MongoDatabase mongoDatabase;
 
+    /** The read preference for queries that only read, from {@link MongoClientProfile}. */
+    @Getter private ReadPreference readPreference;
+
+    /** The same database through the reactive-streams driver, for non-blocking repositories. */
+    @Getter private com.mongodb.reactivestreams.client.MongoDatabase reactiveMongoDatabase;
+
+    /** How models are encoded to BSON, shared with repositories that store BSON themselves. */
+    public static CodecRegistry getCodecRegistry() {
+        return fromRegistries(
+                fromCodecs(
+                        new ParticipantStatusMapCodec(),
+                        new TimeSlotCodec(),
+                        new WeeklyTimeSlotCodec()),
+                MongoClientSettings.getDefaultCodecRegistry(),
+                fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    }
+
     @Inject
-    public MongoDBService() {
-        CodecRegistry codecRegistry =
-                fromRegistries(
-                        MongoClientSettings.getDefaultCodecRegistry(),
-                        fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    public MongoDBService(MetricsService metricsService) {
+        CodecRegistry codecRegistry = getCodecRegistry();
 
         ConnectionString connectionString = new ConnectionString(getDatabaseURI());
 
-        MongoClientSettings mongoClientSettings =
-                MongoClientSettings.builder()
-                        .codecRegistry(codecRegistry)
-                        .applyConnectionString(connectionString)
-                        .build();
-        MongoClient mongoClient = MongoClients.create(mongoClientSettings);
+        MongoClientProfile profile = MongoClientProfile.fromEnvironment();
+        log.info("MongoDB client profile: {}", profile);
+        readPreference = profile.getReadPreference();
+
+        // Both clients keep their own pool per server, so they split the configured budget
+        MongoClientProfile clientProfile = profile.shareOf(2);
+        MongoClient mongoClient =
+                MongoClients.create(
+                        buildSettings(
+                                clientProfile,
+                                codecRegistry,
+                                connectionString,
+                                new MongoMetricsListener(metricsService, "sync")));
         mongoDatabase = mongoClient.getDatabase(connectionString.getDatabase());
+
+        com.mongodb.reactivestreams.client.MongoClient reactiveMongoClient =
+                com.mongodb.reactivestreams.client.MongoClients.create(
+                        buildSettings(
+                                clientProfile,
+                                codecRegistry,
+                                connectionString,
+                                new MongoMetricsListener(metricsService, "reactive")));
+        reactiveMongoDatabase = reactiveMongoClient.getDatabase(connectionString.getDatabase());
+    }
+
+    private static MongoClientSettings buildSettings(
+            MongoClientProfile profile,
+            CodecRegistry codecRegistry,
+            ConnectionString connectionString,
+            MongoMetricsListener metricsListener) {
+        return profile.applyTo(
+                        MongoClientSettings.builder()
+                                .codecRegistry(codecRegistry)
+                                .applyConnectionString(connectionString))
+                .addCommandListener(metricsListener)
+                .applyToConnectionPoolSettings(
+                        pool -> pool.addConnectionPoolListener(metricsListener))
+                .build();
     }
 
     @Override
@@ -0,0 +1,105 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+/**
+ * Feeds MongoDB driver events into {@link MetricsService}: the round trip of every command, how
+ * long callers wait for a pooled connection, and how many connections of each pool are in use, so
+ * pool saturation shows up as in-use approaching max size and wait time climbing.
+ *
+ * <p>Each client gets its own listener, and its pool series carry the client's name, as every
+ * client keeps a separate pool per server.
+ *
+ * <p>The driver calls these hooks on its own threads, in the middle of every operation, so they
+ * only record into series and never block.
+ */
+public class MongoMetricsListener implements CommandListener, ConnectionPoolListener {
+    private final MetricsService metricsService;
+    private final String client;
+    private final LatencyHistogram poolWait;
+    // Pool series by server address, so checkouts do not build a label key each time
+    private final ConcurrentMap<ServerAddress, AtomicLong> inUse = new ConcurrentHashMap<>();
+
+    public MongoMetricsListener(@Nonnull MetricsService metricsService, @Nonnull String client) {
+        this.metricsService = metricsService;
+        this.client = client;
+        this.poolWait = metricsService.latency(MetricsService.MONGODB_POOL_WAIT, client);
+    }
+
+    private AtomicLong inUse(ServerAddress server) {
+        return inUse.computeIfAbsent(
+                server,
+                s ->
+                        metricsService.gauge(
+                                MetricsService.MONGODB_POOL_IN_USE, client, s.toString()));
+    }
+
+    private AtomicLong maxSize(ServerAddress server) {
+        return metricsService.gauge(
+                MetricsService.MONGODB_POOL_MAX_SIZE, client, server.toString());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        metricsService
+                .latency(MetricsService.MONGODB_COMMAND_LATENCY, event.getCommandName())
+                .recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        metricsService
+                .latency(MetricsService.MONGODB_COMMAND_LATENCY, event.getCommandName())
+                .recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        metricsService
+                .counter(MetricsService.MONGODB_COMMAND_FAILURES, event.getCommandName())
+                .increment();
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        maxSize(event.getServerId().getAddress()).set(event.getSettings().getMaxSize());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        ServerAddress server = event.getServerId().getAddress();
+        inUse(server).set(0);
+        maxSize(server).set(0);
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        poolWait.recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        inUse(event.getConnectionId().getServerId().getAddress()).incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        poolWait.recordNanos(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        metricsService
+                .counter(MetricsService.MONGODB_POOL_CHECKOUT_FAILURES, event.getReason().name())
+                .increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        // Connections still out when the pool closed come back after it was reset to 0
+        inUse(event.getConnectionId().getServerId().getAddress())
+                .updateAndGet(count -> Math.max(0, count - 1));
+    }
+}
@@ -0,0 +1,311 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.controller.OutboxController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.DiscordRequestException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDiscordRequestException;
+import edu.northeastern.cs5500.starterbot.model.OutboxEntry;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes the Discord calls saved by {@link OutboxController}, on a single background thread.
+ *
+ * <p>Each pass reads what is due and works through it one route at a time. Every route has its own
+ * token bucket, sized like Discord's per-route limits, and a route that runs out of permits waits
+ * for the next pass without holding up the others. Every request also takes a permit from a
+ * global bucket, which is kept small because {@link DirectMessageService} sends under the same
+ * global limit. The direct messages queued for one user are sent together, merged into as few
+ * messages as the length limit allows.
+ *
+ * <p>An entry is deleted only after its call succeeded, so a call may be repeated if the bot stops
+ * in between. Failed calls are retried with exponential backoff and full jitter, and the calls
+ * queued behind them on the same route wait so they stay in order.
+ */
+@Singleton
+@Slf4j
+public class OutboxDispatcher {
+    static final int MAX_BATCH = 50;
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_BACKOFF_MS = 1000;
+    static final long MAX_BACKOFF_MS = TimeUnit.MINUTES.toMillis(1);
+    static final long POLL_INTERVAL_MS = 1000;
+    // Discord allows 50 requests per second per bot, most of which DirectMessageService uses
+    static final double REQUESTS_PER_SECOND = 5;
+    // Discord's per-route buckets typically allow 5 requests every 5 seconds
+    static final double ROUTE_REQUESTS_PER_SECOND = 1;
+    static final int ROUTE_BURST = 5;
+    static final int MAX_ROUTES = 10_000;
+    private static final String SCHEDULER_NAME = "outbox";
+
+    private final OutboxController outboxController;
+    private final StudyGroupController studyGroupController;
+    private final ChannelGateway channelGateway;
+    private final DirectMessageGateway directMessageGateway;
+    private final MetricsService metricsService;
+    private final TokenBucket tokenBucket;
+    private final double routeRequestsPerSecond;
+    private final long baseBackoffMillis;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "outbox-dispatcher");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    // Only touched by the dispatching thread
+    private final Map<String, TokenBucket> bucketByRoute =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                    return size() > MAX_ROUTES;
+                }
+            };
+
+    @Inject
+    public OutboxDispatcher(
+            OutboxController outboxController,
+            StudyGroupController studyGroupController,
+            ChannelGateway channelGateway,
+            DirectMessageGateway directMessageGateway,
+            MetricsService metricsService) {
+        this(
+                outboxController,
+                studyGroupController,
+                channelGateway,
+                directMessageGateway,
+                metricsService,
+                new TokenBucket(REQUESTS_PER_SECOND, (int) REQUESTS_PER_SECOND),
+                ROUTE_REQUESTS_PER_SECOND,
+                BASE_BACKOFF_MS);
+    }
+
+    OutboxDispatcher(
+            OutboxController outboxController,
+            StudyGroupController studyGroupController,
+            ChannelGateway channelGateway,
+            DirectMessageGateway directMessageGateway,
+            MetricsService metricsService,
+            TokenBucket tokenBucket,
+            double routeRequestsPerSecond,
+            long baseBackoffMillis) {
+        this.outboxController = outboxController;
+        this.studyGroupController = studyGroupController;
+        this.channelGateway = channelGateway;
+        this.directMessageGateway = directMessageGateway;
+        this.metricsService = metricsService;
+        this.tokenBucket = tokenBucket;
+        this.routeRequestsPerSecond = routeRequestsPerSecond;
+        this.baseBackoffMillis = baseBackoffMillis;
+    }
+
+    /** Start working through the outbox, including anything left from before a restart. */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(
+                this::processOutbox, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        log.info("Outbox dispatcher started with {} pending", outboxController.getPendingCount());
+    }
+
+    void processOutbox() {
+        long tickStart = System.nanoTime();
+        try {
+            deliverDue(LocalDateTime.now());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error occurred while processing the outbox", e);
+        } finally {
+            metricsService
+                    .latency(MetricsService.SCHEDULER_TICK, SCHEDULER_NAME)
+                    .recordNanos(System.nanoTime() - tickStart);
+        }
+    }
+
+    /** Make every call that is due now, as far as the rate limits allow. */
+    void deliverDue(LocalDateTime now) throws InterruptedException {
+        for (List<OutboxEntry> entries : outboxController.getDueByRoute(now, MAX_BATCH).values()) {
+            deliverRoute(entries, now);
+        }
+    }
+
+    private void deliverRoute(List<OutboxEntry> entries, LocalDateTime now)
+            throws InterruptedException {
+        TokenBucket routeBucket =
+                bucketByRoute.computeIfAbsent(
+                        entries.get(0).getRoute(),
+                        route -> new TokenBucket(routeRequestsPerSecond, ROUTE_BURST));
+        if (entries.get(0).getKind() == OutboxEntry.Kind.DIRECT_MESSAGE) {
+            // Only direct messages to the same user share a route
+            if (routeBucket.tryAcquire() == 0) {
+                deliverDirectMessages(entries, now);
+            }
+            return;
+        }
+        for (OutboxEntry entry : entries) {
+            if (routeBucket.tryAcquire() > 0 || !deliver(entry, now)) {
+                return;
+            }
+        }
+    }
+
+    private void deliverDirectMessages(List<OutboxEntry> entries, LocalDateTime now)
+            throws InterruptedException {
+        List<String> messages = new ArrayList<>();
+        entries.forEach(entry -> messages.add(entry.getMessage()));
+        try {
+            tokenBucket.acquire();
+            String channelId =
+                    directMessageGateway.openPrivateChannel(entries.get(0).getDiscordUserId());
+            for (String chunk : DirectMessageService.coalesce(messages)) {
+                tokenBucket.acquire();
+                directMessageGateway.sendMessage(channelId, chunk);
+            }
+        } catch (RuntimeException e) {
+            // Messages already sent are sent again on the retry
+            entries.forEach(entry -> fail(entry, e, now));
+            return;
+        }
+        entries.forEach(this::succeed);
+    }
+
+    /**
+     * Make one call.
+     *
+     * @return true if the entry is done, false if the rest of its route has to wait
+     */
+    private boolean deliver(OutboxEntry entry, LocalDateTime now) throws InterruptedException {
+        try {
+            switch (entry.getKind()) {
+                case CHANNEL_MESSAGE:
+                    tokenBucket.acquire();
+                    directMessageGateway.sendMessage(entry.getChannelId(), entry.getMessage());
+                    break;
+                case GRANT_CHANNEL_ACCESS:
+                    if (!grantChannelAccess(entry)) {
+                        return false;
+                    }
+                    break;
+                case CREATE_GROUP_CHANNEL:
+                    createGroupChannel(entry);
+                    break;
+                default:
+                    throw new DiscordRequestException("Unknown outbox call " + entry.getKind());
+            }
+        } catch (RuntimeException e) {
+            fail(entry, e, now);
+            return false;
+        }
+        succeed(entry);
+        return true;
+    }
+
+    /** @return false if the group's channel is still to be created */
+    private boolean grantChannelAccess(OutboxEntry entry) throws InterruptedException {
+        StudyGroup studyGroup = findStudyGroup(entry);
+        if (studyGroup == null) {
+            log.info("Study group {} is gone, not granting access", entry.getStudyGroupId());
+            return true;
+        }
+        String channelId = studyGroup.getChannelId();
+        if (channelId == null || channelId.isBlank()) {
+            if (outboxController.isChannelPending(studyGroup.getId())) {
+                return false;
+            }
+            log.info("Group channel not found for {}", studyGroup.getId());
+            return true;
+        }
+        tokenBucket.acquire();
+        channelGateway.grantAccess(channelId, entry.getDiscordUserId());
+        return true;
+    }
+
+    private void createGroupChannel(OutboxEntry entry) throws InterruptedException {
+        StudyGroup studyGroup = findStudyGroup(entry);
+        if (studyGroup == null) {
+            log.info("Study group {} is gone, not creating its channel", entry.getStudyGroupId());
+            return;
+        }
+        String channelId = studyGroup.getChannelId();
+        // Set if the channel was made before a restart cut this entry short
+        if (channelId == null || channelId.isBlank()) {
+            tokenBucket.acquire();
+            channelId =
+                    channelGateway.createPrivateChannel(
+                            entry.getGuildId(),
+                            entry.getDiscordUserId(),
+                            studyGroup.getName().toLowerCase(),
+                            "Private channel for the study group: " + studyGroup.getName());
+            studyGroup.setChannelId(channelId);
+            studyGroupController.updateStudyGroup(studyGroup);
+            log.info("Private channel created and saved for group: {}", studyGroup.getName());
+        }
+        if (entry.getMessage() != null) {
+            outboxController.postToChannel(channelId, entry.getMessage());
+        }
+    }
+
+    @Nullable
+    private StudyGroup findStudyGroup(OutboxEntry entry) {
+        List<StudyGroup> groups =
+                studyGroupController.getStudyGroupsByIds(List.of(entry.getStudyGroupId()));
+        return groups.isEmpty() ? null : groups.get(0);
+    }
+
+    private void succeed(OutboxEntry entry) {
+        outboxController.complete(entry);
+        metricsService.counter(MetricsService.OUTBOX_DELIVERED, entry.getKind().name()).increment();
+    }
+
+    private void fail(OutboxEntry entry, RuntimeException e, LocalDateTime now) {
+        int attempt = entry.getAttempts() + 1;
+        if (!isRetryable(e) || attempt >= MAX_ATTEMPTS) {
+            log.error(
+                    "Dropping {} on {} after {} attempt(s)",
+                    entry.getKind(),
+                    entry.getRoute(),
+                    attempt,
+                    e);
+            outboxController.complete(entry);
+            metricsService
+                    .counter(MetricsService.OUTBOX_DROPPED, entry.getKind().name())
+                    .increment();
+            return;
+        }
+        log.warn("Retrying {} on {}: {}", entry.getKind(), entry.getRoute(), e.getMessage());
+        entry.setAttempts(attempt);
+        entry.setNextAttemptTime(now.plus(backoffMillis(attempt), ChronoUnit.MILLIS));
+        outboxController.reschedule(entry);
+    }
+
+    /** Anything other than an error Discord says is final, such as a database error, may pass. */
+    static boolean isRetryable(RuntimeException e) {
+        if (e instanceof DirectMessageException) {
+            return e instanceof RetryableDirectMessageException;
+        }
+        if (e instanceof DiscordRequestException) {
+            return e instanceof RetryableDiscordRequestException;
+        }
+        return true;
+    }
+
+    long backoffMillis(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MS, baseBackoffMillis << Math.min(attempt, 20));
+        return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
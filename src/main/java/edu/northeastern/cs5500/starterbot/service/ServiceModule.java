@@ -20,6 +20,12 @@ public abstract class ServiceModule { // NOSONAR
     @Binds
     abstract OpenTelemetry bindOpenTelemetry(OpenTelemetryService service);
 
+    @Binds
+    abstract DirectMessageGateway bindDirectMessageGateway(JdaDirectMessageGateway gateway);
+
+    @Binds
+    abstract ChannelGateway bindChannelGateway(JdaChannelGateway gateway);
+
     static String getBotToken() {
         return new ProcessBuilder().environment().get("BOT_TOKEN");
     }
@@ -0,0 +1,38 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import dagger.Module;
+import dagger.Provides;
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import javax.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+/** Provides one {@link SessionStore} per multi-step flow, shared by every handler of that flow. */
+@Module
+@Slf4j
+public class SessionModule {
+    public static final String MEETING_DRAFTS = "createmeeting";
+    public static final String STUDY_GROUP_DRAFTS = "creategroup";
+
+    private static <V> SessionStore<V> store(String flow, MetricsService metricsService) {
+        SessionStore<V> store = new SessionStore<>(flow);
+        store.addEvictionListener(
+                (discordUserId, value, cause) -> {
+                    log.debug("Evicted {} session of {} ({})", flow, discordUserId, cause);
+                    metricsService.counter(MetricsService.SESSION_EVICTIONS, flow).increment();
+                });
+        return store;
+    }
+
+    @Provides
+    @Singleton
+    public SessionStore<AbstractMeeting> provideMeetingDrafts(MetricsService metricsService) {
+        return store(MEETING_DRAFTS, metricsService);
+    }
+
+    @Provides
+    @Singleton
+    public SessionStore<StudyGroup> provideStudyGroupDrafts(MetricsService metricsService) {
+        return store(STUDY_GROUP_DRAFTS, metricsService);
+    }
+}
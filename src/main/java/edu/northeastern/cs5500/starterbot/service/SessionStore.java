@@ -0,0 +1,194 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * Holds the in-progress state of one multi-step flow, such as a meeting or study group draft,
+ * keyed by the Discord user running it.
+ *
+ * <p>Each user has at most one session per flow, so a lookup is a single hash probe. Sessions idle
+ * for longer than the timeout are evicted, and once the store is full the least recently used
+ * session makes room for a new one. Because the map is kept in access order the stale sessions are
+ * always at its head, so sweeping them costs only as much as there is to evict.
+ */
+public class SessionStore<V> {
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    public static final int DEFAULT_MAX_SESSIONS = 1_000;
+
+    public enum EvictionCause {
+        EXPIRED,
+        SIZE
+    }
+
+    @FunctionalInterface
+    public interface EvictionListener<V> {
+        void onEviction(String discordUserId, V value, EvictionCause cause);
+    }
+
+    @Getter private final String flow;
+    private final Duration idleTimeout;
+    private final int maxSessions;
+    private final Clock clock;
+    private final LinkedHashMap<String, Session<V>> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<EvictionListener<V>> listeners = new CopyOnWriteArrayList<>();
+
+    public SessionStore(@Nonnull String flow) {
+        this(flow, DEFAULT_IDLE_TIMEOUT, DEFAULT_MAX_SESSIONS, Clock.systemUTC());
+    }
+
+    public SessionStore(
+            @Nonnull String flow,
+            @Nonnull Duration idleTimeout,
+            int maxSessions,
+            @Nonnull Clock clock) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero() || maxSessions <= 0) {
+            throw new IllegalArgumentException("Idle timeout and max sessions must be positive");
+        }
+        this.flow = flow;
+        this.idleTimeout = idleTimeout;
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+    }
+
+    /**
+     * Be told about sessions that are dropped because they expired or the store was full. Explicit
+     * removals are not reported. Listeners run on the caller's thread, after the store's lock is
+     * released.
+     *
+     * @param listener the listener
+     */
+    public void addEvictionListener(@Nonnull EvictionListener<V> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Start or replace the session of a user
+     *
+     * @param discordUserId the user running the flow
+     * @param value the session state
+     */
+    public void put(@Nonnull String discordUserId, @Nonnull V value) {
+        List<Evicted<V>> evicted = new ArrayList<>();
+        synchronized (sessions) {
+            Instant now = clock.instant();
+            sweepExpired(now, evicted);
+            sessions.put(discordUserId, new Session<>(value, now));
+            Iterator<Map.Entry<String, Session<V>>> eldest = sessions.entrySet().iterator();
+            while (sessions.size() > maxSessions) {
+                Map.Entry<String, Session<V>> entry = eldest.next();
+                eldest.remove();
+                evicted.add(
+                        new Evicted<>(entry.getKey(), entry.getValue().value, EvictionCause.SIZE));
+            }
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Get the session of a user and mark it as used
+     *
+     * @param discordUserId the user running the flow
+     * @return the session state, or null if there is none or it expired
+     */
+    @Nullable
+    public V get(@Nonnull String discordUserId) {
+        List<Evicted<V>> evicted = new ArrayList<>();
+        V value = null;
+        synchronized (sessions) {
+            Instant now = clock.instant();
+            sweepExpired(now, evicted);
+            Session<V> session = sessions.get(discordUserId);
+            if (session != null) {
+                session.lastAccess = now;
+                value = session.value;
+            }
+        }
+        notifyEvicted(evicted);
+        return value;
+    }
+
+    /**
+     * End the session of a user
+     *
+     * @param discordUserId the user running the flow
+     * @return the session state that was removed, or null if there was none
+     */
+    @Nullable
+    public V remove(@Nonnull String discordUserId) {
+        synchronized (sessions) {
+            Session<V> session = sessions.remove(discordUserId);
+            return session == null ? null : session.value;
+        }
+    }
+
+    /** Drop every session that has been idle for longer than the timeout. */
+    public void evictExpired() {
+        List<Evicted<V>> evicted = new ArrayList<>();
+        synchronized (sessions) {
+            sweepExpired(clock.instant(), evicted);
+        }
+        notifyEvicted(evicted);
+    }
+
+    /** @return the number of live sessions, including expired ones not swept yet */
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    private void sweepExpired(Instant now, List<Evicted<V>> evicted) {
+        Instant cutoff = now.minus(idleTimeout);
+        Iterator<Map.Entry<String, Session<V>>> eldest = sessions.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<String, Session<V>> entry = eldest.next();
+            if (!entry.getValue().lastAccess.isBefore(cutoff)) {
+                break; // everything after this was used more recently
+            }
+            eldest.remove();
+            evicted.add(
+                    new Evicted<>(entry.getKey(), entry.getValue().value, EvictionCause.EXPIRED));
+        }
+    }
+
+    private void notifyEvicted(List<Evicted<V>> evicted) {
+        for (Evicted<V> eviction : evicted) {
+            for (EvictionListener<V> listener : listeners) {
+                listener.onEviction(eviction.discordUserId, eviction.value, eviction.cause);
+            }
+        }
+    }
+
+    private static class Session<V> {
+        final V value;
+        Instant lastAccess;
+
+        Session(V value, Instant lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static class Evicted<V> {
+        final String discordUserId;
+        final V value;
+        final EvictionCause cause;
+
+        Evicted(String discordUserId, V value, EvictionCause cause) {
+            this.discordUserId = discordUserId;
+            this.value = value;
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Head-based sampling for high-volume spans such as repository calls. The decision is made once
+ * at the root of a trace: an operation inside a sampled span is always traced, one inside an
+ * unsampled span never is, and a root operation is traced with the configured ratio. A ratio of 0
+ * turns tracing off entirely.
+ */
+@Singleton
+@Slf4j
+public class TraceSampler {
+    static final String SAMPLE_RATIO_ENV = "REPOSITORY_TRACE_SAMPLE_RATIO";
+
+    @Getter private final double ratio;
+
+    static double getConfiguredRatio() {
+        String configured = new ProcessBuilder().environment().get(SAMPLE_RATIO_ENV);
+        if (configured == null) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(configured);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid {}: {}", SAMPLE_RATIO_ENV, configured);
+            return 0;
+        }
+    }
+
+    @Inject
+    public TraceSampler() {
+        this(getConfiguredRatio());
+    }
+
+    public TraceSampler(double ratio) {
+        this.ratio = Math.max(0, Math.min(1, ratio));
+    }
+
+    public boolean isEnabled() {
+        return ratio > 0;
+    }
+
+    /** Decide whether the operation about to start should get its own span. */
+    public boolean shouldSample() {
+        if (ratio == 0) {
+            return false;
+        }
+        SpanContext parent = Span.current().getSpanContext();
+        if (parent.isValid()) {
+            return parent.isSampled();
+        }
+        return ratio == 1 || ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+}
@@ -2,13 +2,12 @@ package edu.northeastern.cs5500.starterbot.command;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController.RankedGroup;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.Interest.Category;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.Set;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.components.buttons.Button;
@@ -133,11 +132,8 @@ class FindGroupCommandTest {
      */
     @Test
     void testGetSlashCommandResponseNoGroups() {
-        Iterator<StudyGroup> emptyIterator = Collections.emptyIterator();
-        String discordUserId = "user1";
         FindGroupCommand findGroupCommand = new FindGroupCommand();
-        MessageCreateBuilder response =
-                findGroupCommand.getSlashCommandResponse(emptyIterator, discordUserId);
+        MessageCreateBuilder response = findGroupCommand.getSlashCommandResponse(null).join();
 
         assertThat(response.getContent())
                 .isEqualTo(
@@ -151,4 +147,18 @@ class FindGroupCommandTest {
         Button cancelButton = response.getComponents().get(0).getButtons().get(1);
         assertThat(cancelButton.getLabel()).isEqualTo("\u274C Not Now");
     }
+
+    /** Tests that the join and decline buttons carry the id and rank of the group shown. */
+    @Test
+    void testGroupButtonsCarryRankCursor() {
+        FindGroupCommand findGroupCommand = new FindGroupCommand();
+        StudyGroup studyGroup = new StudyGroup();
+        studyGroup.setId(new ObjectId());
+
+        Button[] buttons = findGroupCommand.getGroupButtons(new RankedGroup(studyGroup, 4));
+
+        String cursor = studyGroup.getId().toHexString() + ":4";
+        assertThat(buttons[0].getId()).isEqualTo("findgroups:join:" + cursor);
+        assertThat(buttons[1].getId()).isEqualTo("findgroups:decline:" + cursor);
+    }
 }
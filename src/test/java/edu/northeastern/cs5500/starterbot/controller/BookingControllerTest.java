@@ -9,7 +9,11 @@ import edu.northeastern.cs5500.starterbot.model.Room;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -38,9 +42,9 @@ public class BookingControllerTest {
                         .bookedSlots(
                                 Set.of(
                                         TimeSlot.builder()
-                                                .day("Monday")
-                                                .start(LocalDateTime.of(2023, 12, 11, 10, 0))
-                                                .end(LocalDateTime.of(2023, 12, 11, 11, 0))
+                                                .day(DayOfWeek.MONDAY)
+                                                .start(Instant.parse("2023-12-11T10:00:00Z"))
+                                                .end(Instant.parse("2023-12-11T11:00:00Z"))
                                                 .build()))
                         .build();
 
@@ -57,9 +61,9 @@ public class BookingControllerTest {
 
         TimeSlot timeSlot =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2023, 12, 11, 11, 0))
-                        .end(LocalDateTime.of(2023, 12, 11, 12, 0))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.parse("2023-12-11T11:00:00Z"))
+                        .end(Instant.parse("2023-12-11T12:00:00Z"))
                         .build();
 
         // Act
@@ -70,6 +74,32 @@ public class BookingControllerTest {
         assertThat(availableRooms.get(0).getLocation()).isEqualTo("Room 2");
     }
 
+    /** Test that slots are compared as instants, even when they fall on different days by zone */
+    @Test
+    void testGetAvailableRoomsComparesSlotsAcrossZones() {
+        BookingController bookingController = getBookingController();
+        // Monday 11pm in New York, after the switch to daylight saving, is Tuesday 3am in UTC
+        ZonedDateTime bookedStart =
+                ZonedDateTime.of(2024, 3, 11, 23, 0, 0, 0, ZoneId.of("America/New_York"));
+        TimeSlot booked = TimeSlot.of(bookedStart, bookedStart.plusHours(1));
+        Room room =
+                Room.builder()
+                        .id(new ObjectId())
+                        .location("Room 1")
+                        .capacity(5)
+                        .bookedSlots(new HashSet<>(Set.of(booked)))
+                        .build();
+        bookingController.roomRepository.add(room);
+
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 12, 3, 30, 0, 0, ZoneOffset.UTC);
+        TimeSlot overlapping = TimeSlot.of(start, start.plusHours(1));
+        TimeSlot after = TimeSlot.of(start.plusHours(1), start.plusHours(2));
+
+        assertThat(overlapping.getDay()).isNotEqualTo(booked.getDay());
+        assertThat(bookingController.getAvailableRooms(overlapping)).isEmpty();
+        assertThat(bookingController.getAvailableRooms(after)).containsExactly(room);
+    }
+
     @Test
     void testCreateBooking() {
         // setup
@@ -90,9 +120,9 @@ public class BookingControllerTest {
         List<TimeSlot> timeSlots = new ArrayList<>();
         TimeSlot timeSlot =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2023, 12, 11, 10, 0))
-                        .end(LocalDateTime.of(2023, 12, 11, 11, 0))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.parse("2023-12-11T10:00:00Z"))
+                        .end(Instant.parse("2023-12-11T11:00:00Z"))
                         .build();
         timeSlots.add(timeSlot);
         meeting.setTimeSlots(timeSlots);
@@ -174,9 +204,9 @@ public class BookingControllerTest {
         List<TimeSlot> timeSlots = new ArrayList<>();
         TimeSlot timeSlot =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2023, 12, 11, 10, 0))
-                        .end(LocalDateTime.of(2023, 12, 11, 11, 0))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.parse("2023-12-11T10:00:00Z"))
+                        .end(Instant.parse("2023-12-11T11:00:00Z"))
                         .build();
         timeSlots.add(timeSlot);
         meeting.setTimeSlots(timeSlots);
@@ -0,0 +1,124 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.FileRepository;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Times one run over 100k students in 10k groups, ranking them and storing the affinities in a
+ * file repository that forces its writes to disk, with a single thread like the bot's smallest
+ * machines and with one thread per core. Run with {@code ./gradlew loadTest}.
+ */
+@Slf4j
+@Tag("load")
+class CollaborativeFilteringJobLoadTest {
+    static final int STUDENTS = 100_000;
+    static final int GROUPS = 10_000;
+    static final int INTERESTS = 50;
+    static final long MAX_MINUTES = 5;
+
+    @TempDir Path directory;
+
+    @Test
+    void testRanksHundredThousandStudents() throws IOException {
+        Random random = new Random(STUDENTS);
+        List<Interest> interests = new ArrayList<>();
+        for (int i = 0; i < INTERESTS; i++) {
+            interests.add(
+                    Interest.builder()
+                            .studentInterest("Interest " + i)
+                            .category(Interest.Category.OTHER_TOPICS)
+                            .build());
+        }
+        List<StudyGroup> groups = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            groups.add(
+                    StudyGroup.builder()
+                            .name("Group " + g)
+                            .interestSet(pick(interests, 1 + random.nextInt(3), random))
+                            .description("Generated for the load test")
+                            .autoApprove(true)
+                            .maxMembers(5 + random.nextInt(26))
+                            .groupLeaderId(new ObjectId())
+                            .customCriteria("")
+                            .build());
+        }
+        List<Student> students = new ArrayList<>();
+        for (int s = 0; s < STUDENTS; s++) {
+            List<ObjectId> groupList = new ArrayList<>();
+            for (StudyGroup group : pick(groups, random.nextInt(4), random)) {
+                groupList.add(group.getId());
+            }
+            students.add(
+                    Student.builder()
+                            .displayName("Student " + s)
+                            .email("student" + s + "@northeastern.edu")
+                            .availability(new ArrayList<>())
+                            .discordUserId(Integer.toString(s))
+                            .groupList(groupList)
+                            .interestSet(pick(interests, 1 + random.nextInt(3), random))
+                            .build());
+        }
+
+        InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+        students.forEach(studentRepository::add);
+        InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+        groups.forEach(studyGroupRepository::add);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism : new int[] {1, cores}) {
+            // The whole run, from reading the students to storing the affinities on disk
+            try (FileRepository<GroupAffinity> groupAffinityRepository =
+                    new FileRepository<>(
+                            GroupAffinity.class,
+                            directory.resolve(Integer.toString(parallelism)),
+                            MongoDBService.getCodecRegistry(),
+                            true)) {
+                CollaborativeFilteringJob job =
+                        new CollaborativeFilteringJob(
+                                studentRepository,
+                                studyGroupRepository,
+                                new GroupAffinityController(groupAffinityRepository),
+                                parallelism);
+                long start = System.nanoTime();
+                job.run();
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                log.info(
+                        "Ranked and stored {} students on {} thread(s) in {} ms",
+                        STUDENTS,
+                        parallelism,
+                        elapsedMillis);
+
+                assertThat(groupAffinityRepository.count()).isEqualTo(STUDENTS);
+                assertThat(elapsedMillis).isLessThan(TimeUnit.MINUTES.toMillis(MAX_MINUTES));
+            }
+        }
+    }
+
+    private static <T> Set<T> pick(List<T> items, int count, Random random) {
+        Set<T> picked = new HashSet<>();
+        while (picked.size() < count) {
+            picked.add(items.get(random.nextInt(items.size())));
+        }
+        return picked;
+    }
+}
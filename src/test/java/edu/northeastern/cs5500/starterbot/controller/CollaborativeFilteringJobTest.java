@@ -0,0 +1,113 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class CollaborativeFilteringJobTest {
+    private final InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+    private final GroupAffinityController groupAffinityController =
+            new GroupAffinityController(new InMemoryRepository<>());
+    private final CollaborativeFilteringJob job =
+            new CollaborativeFilteringJob(
+                    studentRepository, studyGroupRepository, groupAffinityController, 2);
+
+    private static Interest interest(String name) {
+        return Interest.builder()
+                .studentInterest(name)
+                .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                .build();
+    }
+
+    private StudyGroup addGroup(String name, int maxMembers, Interest... interests) {
+        return studyGroupRepository.add(
+                StudyGroup.builder()
+                        .name(name)
+                        .interestSet(Set.of(interests))
+                        .description(name)
+                        .autoApprove(true)
+                        .maxMembers(maxMembers)
+                        .groupLeaderId(new ObjectId())
+                        .customCriteria("")
+                        .build());
+    }
+
+    private Student addStudent(
+            String discordUserId, List<StudyGroup> groups, Interest... interests) {
+        List<ObjectId> groupList = new ArrayList<>();
+        groups.forEach(group -> groupList.add(group.getId()));
+        return studentRepository.add(
+                Student.builder()
+                        .displayName(discordUserId)
+                        .email(discordUserId + "@northeastern.edu")
+                        .availability(new ArrayList<>())
+                        .discordUserId(discordUserId)
+                        .groupList(groupList)
+                        .interestSet(Set.of(interests))
+                        .build());
+    }
+
+    /** Test that a student is ranked the groups that students in their groups also joined */
+    @Test
+    void testRanksGroupsJoinedByCoMembers() {
+        StudyGroup graphs = addGroup("Graphs", 10);
+        StudyGroup compilers = addGroup("Compilers", 10);
+        StudyGroup databases = addGroup("Databases", 10);
+        StudyGroup unrelated = addGroup("Unrelated", 10);
+        addStudent("1", List.of(graphs, compilers));
+        addStudent("2", List.of(graphs, compilers, databases));
+        addStudent("3", List.of(unrelated));
+        Student student = addStudent("4", List.of(graphs));
+
+        job.run();
+
+        // Both other members of Graphs joined Compilers, only one joined Databases
+        assertThat(groupAffinityController.getTopGroupIds(student.getId()))
+                .containsExactly(compilers.getId(), databases.getId())
+                .inOrder();
+    }
+
+    /** Test that shared interests add to the score, and full groups are never ranked */
+    @Test
+    void testBlendsInterestsAndSkipsFullGroups() {
+        Interest java = interest("Java");
+        Interest python = interest("Python");
+        StudyGroup javaOnly = addGroup("Java", 10, java);
+        StudyGroup javaAndPython = addGroup("Both", 10, java, python);
+        StudyGroup full = addGroup("Full", 1, java, python);
+        addStudent("1", List.of(full));
+        addStudent("2", List.of(), java, python);
+
+        List<List<GroupAffinity.ScoredGroup>> ranked =
+                job.compute(
+                        List.copyOf(studentRepository.getPage(null, 10)),
+                        List.copyOf(studyGroupRepository.getPage(null, 10)));
+
+        List<GroupAffinity.ScoredGroup> best = ranked.get(1);
+        assertThat(best).hasSize(2);
+        assertThat(best.get(0).getGroupId()).isEqualTo(javaAndPython.getId());
+        assertThat(best.get(1).getGroupId()).isEqualTo(javaOnly.getId());
+        assertThat(best.get(0).getScore()).isGreaterThan(best.get(1).getScore());
+    }
+
+    /** Test that the best candidates are kept in order, ties going to the lower number */
+    @Test
+    void testTopKeepsBestInOrder() {
+        double[] scores = {0.5, 0.9, 0.5, 0.1};
+
+        assertThat(CollaborativeFilteringJob.top(new int[] {0, 1, 2, 3}, 4, scores, 3))
+                .asList()
+                .containsExactly(1, 0, 2)
+                .inOrder();
+    }
+}
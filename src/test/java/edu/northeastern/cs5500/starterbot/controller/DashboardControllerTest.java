@@ -0,0 +1,264 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
+import edu.northeastern.cs5500.starterbot.model.Frequency;
+import edu.northeastern.cs5500.starterbot.model.GroupApplication;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudentDashboard;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DashboardControllerTest {
+    // Shared repositories
+    private final InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<GroupApplication> groupApplicationRepository =
+            new InMemoryRepository<>();
+    private final InMemoryRepository<StudentDashboard> dashboardRepository =
+            new InMemoryRepository<>();
+
+    private DashboardController dashboardController;
+    private StudentController studentController;
+    private StudyGroupController studyGroupController;
+    private MeetingController meetingController;
+    private GroupApplicationController groupApplicationController;
+    private ReminderController reminderController;
+    private BookingController bookingController;
+
+    private Student leader;
+    private Student member;
+    private StudyGroup studyGroup;
+
+    @BeforeEach
+    void setUp() {
+        // Every controller invalidates through the same dashboard controller, as under Dagger
+        dashboardController = new DashboardController(dashboardRepository);
+        studentController =
+                new StudentController(
+                        studentRepository, new InterestController(new InMemoryRepository<>()));
+        studentController.dashboardController = dashboardController;
+        studyGroupController =
+                new StudyGroupController(
+                        studyGroupRepository, groupApplicationRepository, studentRepository);
+        studyGroupController.dashboardController = dashboardController;
+        meetingController =
+                new MeetingController(new InMemoryRepository<>(), new InMemoryRepository<>());
+        meetingController.dashboardController = dashboardController;
+        groupApplicationController =
+                new GroupApplicationController(
+                        groupApplicationRepository, studentController, studyGroupController);
+        groupApplicationController.dashboardController = dashboardController;
+        reminderController =
+                new ReminderController(
+                        new InMemoryRepository<>(),
+                        studentController,
+                        meetingController,
+                        studyGroupController,
+                        null);
+        bookingController =
+                new BookingController(new InMemoryRepository<>(), new InMemoryRepository<>());
+
+        leader = createStudent("111111111111111111");
+        member = createStudent("222222222222222222");
+        studyGroup =
+                StudyGroup.builder()
+                        .name("Graphs")
+                        .interestSet(new HashSet<>())
+                        .description("Graph algorithms")
+                        .autoApprove(false)
+                        .maxMembers(10)
+                        .groupLeaderId(leader.getId())
+                        .customCriteria("")
+                        .build();
+        studyGroupRepository.add(studyGroup);
+        leader.getGroupList().add(studyGroup.getId());
+        studentRepository.update(leader);
+        member.getGroupList().add(studyGroup.getId());
+        studentRepository.update(member);
+    }
+
+    private Student createStudent(String discordUserId) {
+        Student student =
+                Student.builder()
+                        .displayName("Student " + discordUserId)
+                        .email("")
+                        .discordUserId(discordUserId)
+                        .interestSet(new HashSet<Interest>())
+                        .availability(new ArrayList<>())
+                        .build();
+        studentRepository.add(student);
+        return student;
+    }
+
+    private StudentDashboard getDashboard(Student student) {
+        return dashboardController.getDashboard(
+                student.getDiscordUserId(),
+                studentController,
+                studyGroupController,
+                meetingController,
+                groupApplicationController);
+    }
+
+    private OnlineMeeting createMeeting() {
+        OnlineMeeting meeting =
+                new OnlineMeeting(
+                        new ObjectId(),
+                        "Shortest paths",
+                        Frequency.WEEKLY,
+                        new ArrayList<>(),
+                        studyGroup.getId(),
+                        leader.getId(),
+                        "https://example.com",
+                        new ParticipantStatusMap());
+        meetingController.createOnlineMeeting(meeting, studyGroupController);
+        return meeting;
+    }
+
+    @Test
+    void testFirstReadBuildsAndStoresDashboard() {
+        OnlineMeeting meeting = createMeeting();
+        leader.setReminderTimeInMin(15);
+        studentRepository.update(leader);
+
+        StudentDashboard dashboard = getDashboard(leader);
+
+        assertThat(dashboard.getId()).isEqualTo(leader.getId());
+        StudentDashboard.GroupEntry group =
+                new StudentDashboard.GroupEntry(studyGroup.getId(), "Graphs", true);
+        assertThat(dashboard.getGroups()).containsExactly(group);
+        assertThat(dashboard.getMeetings()).hasSize(1);
+        StudentDashboard.MeetingEntry entry = dashboard.getMeetings().get(0);
+        assertThat(entry.getMeetingId()).isEqualTo(meeting.getId());
+        assertThat(entry.getGroupName()).isEqualTo("Graphs");
+        assertThat(entry.getFrequency()).isEqualTo(Frequency.WEEKLY);
+        assertThat(dashboard.getPendingApplications()).isEqualTo(0);
+        assertThat(dashboard.getReminderTimeInMin()).isEqualTo(15);
+        assertThat(dashboardRepository.get(leader.getId())).isEqualTo(dashboard);
+        assertThat(getDashboard(member).getGroups().get(0).isLeader()).isFalse();
+    }
+
+    @Test
+    void testStoredDashboardIsServedUntilInvalidated() {
+        StudentDashboard first = getDashboard(member);
+
+        // A direct repository write does not reach the dashboard
+        member.setGroupList(new ArrayList<>());
+        studentRepository.update(member);
+        assertThat(getDashboard(member)).isEqualTo(first);
+
+        studentController.updateStudent(member);
+
+        assertThat(dashboardRepository.get(member.getId())).isNull();
+        assertThat(getDashboard(member).getGroups()).isEmpty();
+    }
+
+    /** Run a step in the middle of every dashboard build, as a concurrent write would. */
+    private void duringBuild(Runnable step) {
+        meetingController =
+                new MeetingController(new InMemoryRepository<>(), new InMemoryRepository<>()) {
+                    boolean running;
+
+                    @Override
+                    public List<AbstractMeeting> getMeetingsForStudent(Student student) {
+                        if (!running) {
+                            running = true;
+                            step.run();
+                            running = false;
+                        }
+                        return super.getMeetingsForStudent(student);
+                    }
+                };
+        meetingController.dashboardController = dashboardController;
+    }
+
+    @Test
+    void testInvalidationDuringBuildIsNotOverwritten() {
+        duringBuild(() -> dashboardController.invalidate(member.getId()));
+
+        getDashboard(member);
+
+        assertThat(dashboardRepository.get(member.getId())).isNull();
+        assertThat(dashboardController.lastInvalidation).containsKey(member.getId());
+    }
+
+    @Test
+    void testStoringRebuiltDashboardPrunesInvalidation() {
+        getDashboard(member);
+        studentController.updateStudent(member);
+        assertThat(dashboardController.lastInvalidation).containsKey(member.getId());
+
+        getDashboard(member);
+
+        assertThat(dashboardRepository.get(member.getId())).isNotNull();
+        assertThat(dashboardController.lastInvalidation).isEmpty();
+    }
+
+    @Test
+    void testSlowBuildDoesNotOverwriteNewerDashboard() {
+        // While one build runs, the student changes and a faster build stores the result
+        duringBuild(
+                () -> {
+                    member.setGroupList(new ArrayList<>());
+                    studentController.updateStudent(member);
+                    getDashboard(member);
+                });
+
+        StudentDashboard slow = getDashboard(member);
+
+        assertThat(slow.getGroups()).hasSize(1);
+        assertThat(dashboardRepository.get(member.getId()).getGroups()).isEmpty();
+        assertThat(dashboardController.lastInvalidation).isEmpty();
+    }
+
+    @Test
+    void testApplicationsUpdateLeaderCount() {
+        assertThat(getDashboard(leader).getPendingApplications()).isEqualTo(0);
+        Student applicant = createStudent("333333333333333333");
+
+        studyGroupController.submitApplication(
+                applicant.getId(),
+                applicant.getDiscordUserId(),
+                studyGroup,
+                "Hello",
+                studentController);
+        assertThat(getDashboard(leader).getPendingApplications()).isEqualTo(1);
+
+        GroupApplication application = groupApplicationRepository.getAll().iterator().next();
+        groupApplicationController.declineApplication(application);
+        assertThat(getDashboard(leader).getPendingApplications()).isEqualTo(0);
+    }
+
+    @Test
+    void testMeetingWritesReachParticipants() {
+        assertThat(getDashboard(member).getMeetings()).isEmpty();
+
+        OnlineMeeting meeting = createMeeting();
+        assertThat(getDashboard(member).getMeetings()).hasSize(1);
+
+        meetingController.cancelMeeting(meeting, bookingController, reminderController);
+        assertThat(getDashboard(member).getMeetings()).isEmpty();
+        assertThat(getDashboard(leader).getMeetings()).isEmpty();
+    }
+
+    @Test
+    void testRenamingGroupReachesMembers() {
+        assertThat(getDashboard(member).getGroups().get(0).getName()).isEqualTo("Graphs");
+
+        studyGroup.setName("Trees");
+        studyGroupController.updateStudyGroup(studyGroup);
+
+        assertThat(getDashboard(member).getGroups().get(0).getName()).isEqualTo("Trees");
+        assertThat(getDashboard(leader).getGroups().get(0).getName()).isEqualTo("Trees");
+    }
+}
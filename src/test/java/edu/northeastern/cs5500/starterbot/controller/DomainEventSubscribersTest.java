@@ -0,0 +1,51 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.event.StudentJoinedGroup;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DomainEventSubscribersTest {
+
+    /* Test that an event whose follow-up work fails is counted and the rest of the batch runs */
+    @Test
+    void testFailedEventIsCountedAndBatchContinues() {
+        List<Student> handled = new ArrayList<>();
+        Student failing = new Student();
+        Student joining = new Student();
+        DomainEventSubscribers subscribers = new DomainEventSubscribers();
+        subscribers.metricsService = new MetricsService();
+        subscribers.meetingController =
+                new MeetingController(new InMemoryRepository<>(), new InMemoryRepository<>()) {
+                    @Override
+                    public void updateParticipantsAfterJoinGroup(
+                            Student member,
+                            StudyGroup studyGroup,
+                            ReminderController reminderController) {
+                        if (member == failing) {
+                            throw new IllegalStateException("Simulated meeting update failure");
+                        }
+                        handled.add(member);
+                    }
+                };
+
+        subscribers.onStudentsJoinedGroups(
+                List.of(
+                        new StudentJoinedGroup(failing, new StudyGroup()),
+                        new StudentJoinedGroup(joining, new StudyGroup())));
+
+        assertThat(handled).containsExactly(joining);
+        assertThat(
+                        subscribers
+                                .metricsService
+                                .counter(MetricsService.DOMAIN_EVENT_FAILURES, "StudentJoinedGroup")
+                                .sum())
+                .isEqualTo(1L);
+    }
+}
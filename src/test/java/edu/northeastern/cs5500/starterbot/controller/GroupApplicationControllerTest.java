@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 
@@ -166,6 +167,49 @@ class GroupApplicationControllerTest {
         assertThat(applications).isEmpty();
     }
 
+    /****************** tests for getNextApplicationForLeader() **************/
+
+    /**
+     * Test that getNextApplicationForLeader() walks the leader's applications one at a time from
+     * the cursor, skipping applications to other groups.
+     */
+    @Test
+    void testGetNextApplicationForLeaderPagesFromCursor() {
+        GroupApplicationController controller = getGroupApplicationController();
+
+        ObjectId leaderId = new ObjectId();
+        Student leader = createDefaultStudent(leaderId, "123456789", "Group Leader");
+        ObjectId groupId = new ObjectId();
+        ObjectId otherGroupId = new ObjectId();
+        controller.studentController.studentRepository.add(leader);
+        controller.studyGroupController.studyGroupRepository.add(
+                createDefaultStudyGroup(groupId, leaderId, "Leader's Group"));
+        controller.studyGroupController.studyGroupRepository.add(
+                createDefaultStudyGroup(otherGroupId, new ObjectId(), "Other Group"));
+
+        List<GroupApplication> applications = new ArrayList<>();
+        for (ObjectId receiver : List.of(groupId, otherGroupId, groupId)) {
+            GroupApplication application =
+                    GroupApplication.builder()
+                            .sender("applicant")
+                            .receiver(receiver)
+                            .message("Please let me in.")
+                            .interestSet(new HashSet<>())
+                            .build();
+            controller.groupApplicationRepository.add(application);
+            applications.add(application);
+        }
+
+        GroupApplication first = controller.getNextApplicationForLeader("123456789", null);
+        assertThat(first).isEqualTo(applications.get(0));
+
+        GroupApplication second =
+                controller.getNextApplicationForLeader("123456789", first.getId());
+        assertThat(second).isEqualTo(applications.get(2));
+
+        assertThat(controller.getNextApplicationForLeader("123456789", second.getId())).isNull();
+    }
+
     /****************** tests for accept application **************/
     /** Test that acceptApplication() works correctly. */
     @Test
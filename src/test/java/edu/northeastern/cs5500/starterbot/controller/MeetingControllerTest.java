@@ -10,14 +10,15 @@ import edu.northeastern.cs5500.starterbot.model.GroupApplication;
 import edu.northeastern.cs5500.starterbot.model.InPersonMeeting;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
 import edu.northeastern.cs5500.starterbot.model.Room;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import org.bson.types.ObjectId;
@@ -68,7 +69,6 @@ class MeetingControllerTest {
         // setup
         StudyGroupController studyGroupController = getStudyGroupController();
         MeetingController meetingController = getMeetingController();
-        ReminderController reminderController = getReminderController();
 
         ObjectId studyGroupId = new ObjectId();
         ObjectId meetingId = new ObjectId();
@@ -81,7 +81,7 @@ class MeetingControllerTest {
                         studyGroupId,
                         new ObjectId(),
                         "https://example.com",
-                        new HashMap<>());
+                        new ParticipantStatusMap());
 
         StudyGroup studyGroup = new StudyGroup();
         studyGroup.setId(studyGroupId);
@@ -99,18 +99,16 @@ class MeetingControllerTest {
         studyGroupController.studentRepository.add(student2);
 
         // Act createMeeting method
-        meetingController.createOnlineMeeting(newMeeting, studyGroupController, reminderController);
+        meetingController.createOnlineMeeting(newMeeting, studyGroupController);
 
         // Assert the result
 
         // retrieve
         AbstractMeeting retrieveMeeting = meetingController.onlineMeetingRepository.get(meetingId);
-        HashMap<String, AbstractMeeting.Status> participants = retrieveMeeting.getParticipants();
-        assertThat(participants).hasSize(2);
-        assertThat(participants.get(student1.getId().toString()))
-                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
-        assertThat(participants.get(student2.getId().toString()))
-                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        ParticipantStatusMap participants = retrieveMeeting.getParticipants();
+        assertThat(participants.size()).isEqualTo(2);
+        assertThat(participants.get(student1.getId())).isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.get(student2.getId())).isEqualTo(AbstractMeeting.Status.TENTATIVE);
     }
 
     /**
@@ -124,7 +122,6 @@ class MeetingControllerTest {
         // setup
         StudyGroupController studyGroupController = getStudyGroupController();
         MeetingController meetingController = getMeetingController();
-        ReminderController reminderController = getReminderController();
 
         ObjectId studyGroupId = new ObjectId();
         ObjectId meetingId = new ObjectId();
@@ -137,7 +134,7 @@ class MeetingControllerTest {
                         studyGroupId,
                         new ObjectId(),
                         new Booking(),
-                        new HashMap<>());
+                        new ParticipantStatusMap());
 
         StudyGroup studyGroup = new StudyGroup();
         studyGroup.setId(studyGroupId);
@@ -155,20 +152,17 @@ class MeetingControllerTest {
         studyGroupController.studentRepository.add(student2);
 
         // Act createMeeting method
-        meetingController.createInPersonMeeting(
-                newMeeting, studyGroupController, reminderController);
+        meetingController.createInPersonMeeting(newMeeting, studyGroupController);
 
         // Assert the result
 
         // retrieve
         AbstractMeeting retrieveMeeting =
                 meetingController.inPersonMeetingRepository.get(meetingId);
-        HashMap<String, AbstractMeeting.Status> participants = retrieveMeeting.getParticipants();
-        assertThat(participants).hasSize(2);
-        assertThat(participants.get(student1.getId().toString()))
-                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
-        assertThat(participants.get(student2.getId().toString()))
-                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        ParticipantStatusMap participants = retrieveMeeting.getParticipants();
+        assertThat(participants.size()).isEqualTo(2);
+        assertThat(participants.get(student1.getId())).isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.get(student2.getId())).isEqualTo(AbstractMeeting.Status.TENTATIVE);
     }
 
     /**
@@ -199,12 +193,11 @@ class MeetingControllerTest {
                         new ObjectId(),
                         studentId,
                         "https://example.com",
-                        new HashMap<>());
-        meetingController.meetingMemory.add(meeting);
+                        new ParticipantStatusMap());
+        meetingController.meetingMemory.put(discordUserId, meeting);
 
         // Act
-        AbstractMeeting result =
-                meetingController.getMeetingFromMemorybyDiscordId(discordUserId, studentController);
+        AbstractMeeting result = meetingController.getMeetingFromMemorybyDiscordId(discordUserId);
 
         // Assert
         assertThat(result).isNotNull();
@@ -224,11 +217,12 @@ class MeetingControllerTest {
                         new ObjectId(),
                         new ObjectId(),
                         "https://example.com",
-                        new HashMap<>());
-        meetingController.addMeetingToMemory(meeting);
+                        new ParticipantStatusMap());
+        meetingController.addMeetingToMemory("test-user", meeting);
 
-        AbstractMeeting retrieveMeeting = meetingController.meetingMemory.get(meetingId);
+        AbstractMeeting retrieveMeeting = meetingController.meetingMemory.get("test-user");
         assertThat(retrieveMeeting).isNotNull();
+        assertThat(retrieveMeeting.getId()).isEqualTo(meetingId);
     }
 
     @Test
@@ -244,11 +238,11 @@ class MeetingControllerTest {
                         new ObjectId(),
                         new ObjectId(),
                         "https://example.com",
-                        new HashMap<>());
-        meetingController.meetingMemory.add(meeting);
-        meetingController.deleteMeetingFromMemory(meetingId);
+                        new ParticipantStatusMap());
+        meetingController.meetingMemory.put("test-user", meeting);
+        meetingController.deleteMeetingFromMemory("test-user");
 
-        assertThat(meetingController.meetingMemory.getAll()).isEmpty();
+        assertThat(meetingController.meetingMemory.size()).isEqualTo(0);
     }
 
     @Test
@@ -264,13 +258,13 @@ class MeetingControllerTest {
                         new ObjectId(),
                         new ObjectId(),
                         "https://example.com",
-                        new HashMap<>());
-        meetingController.meetingMemory.add(meeting);
+                        new ParticipantStatusMap());
+        meetingController.meetingMemory.put("test-user", meeting);
 
         meeting.setTopic("Test Test");
-        meetingController.updateMeetingToMemory(meeting);
+        meetingController.updateMeetingToMemory("test-user", meeting);
 
-        AbstractMeeting retrieveMeeting = meetingController.meetingMemory.get(meetingId);
+        AbstractMeeting retrieveMeeting = meetingController.meetingMemory.get("test-user");
         assertThat(retrieveMeeting.getTopic()).isEqualTo("Test Test");
     }
 
@@ -356,33 +350,29 @@ class MeetingControllerTest {
         OnlineMeeting onlineMeeting1 = new OnlineMeeting();
         onlineMeeting1.setId(new ObjectId());
         onlineMeeting1.setOrganizer(student.getId());
-        onlineMeeting1.setParticipants(new HashMap<>());
+        onlineMeeting1.setParticipants(new ParticipantStatusMap());
         onlineMeeting1.setStudyGroup(studyGroup.getId());
 
         OnlineMeeting onlineMeeting2 = new OnlineMeeting();
         onlineMeeting2.setId(new ObjectId());
         onlineMeeting2.setOrganizer(new ObjectId());
-        onlineMeeting2.setParticipants(
-                new HashMap<>() {
-                    {
-                        put(student.getId().toString(), AbstractMeeting.Status.ACCEPT);
-                    }
-                });
+        onlineMeeting2.setParticipants(new ParticipantStatusMap());
+        onlineMeeting2.getParticipants().put(student.getId(), AbstractMeeting.Status.ACCEPT);
         onlineMeeting2.setStudyGroup(studyGroup.getId());
 
         List<TimeSlot> timeSlots1 = new ArrayList<>();
         timeSlots1.add(
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2023, 12, 11, 10, 0))
-                        .end(LocalDateTime.of(2023, 12, 11, 11, 0))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.parse("2023-12-11T10:00:00Z"))
+                        .end(Instant.parse("2023-12-11T11:00:00Z"))
                         .build());
         List<TimeSlot> timeSlots2 = new ArrayList<>();
         timeSlots2.add(
                 TimeSlot.builder()
-                        .day("Tuesday")
-                        .start(LocalDateTime.of(2023, 12, 12, 12, 0))
-                        .end(LocalDateTime.of(2023, 12, 12, 13, 0))
+                        .day(DayOfWeek.TUESDAY)
+                        .start(Instant.parse("2023-12-12T12:00:00Z"))
+                        .end(Instant.parse("2023-12-12T13:00:00Z"))
                         .build());
         HashSet<TimeSlot> bookedSlots = new HashSet<>();
         bookedSlots.add(timeSlots1.get(0));
@@ -399,7 +389,7 @@ class MeetingControllerTest {
         InPersonMeeting inPersonMeeting1 = new InPersonMeeting();
         inPersonMeeting1.setId(new ObjectId());
         inPersonMeeting1.setOrganizer(student.getId());
-        inPersonMeeting1.setParticipants(new HashMap<>());
+        inPersonMeeting1.setParticipants(new ParticipantStatusMap());
         inPersonMeeting1.setStudyGroup(studyGroup.getId());
         inPersonMeeting1.setTimeSlots(timeSlots1);
 
@@ -421,12 +411,8 @@ class MeetingControllerTest {
                         .studentId(inPersonMeeting2.getOrganizer())
                         .build();
         inPersonMeeting2.setBooking(booking2);
-        inPersonMeeting2.setParticipants(
-                new HashMap<>() {
-                    {
-                        put(student.getId().toString(), AbstractMeeting.Status.ACCEPT);
-                    }
-                });
+        inPersonMeeting2.setParticipants(new ParticipantStatusMap());
+        inPersonMeeting2.getParticipants().put(student.getId(), AbstractMeeting.Status.ACCEPT);
         inPersonMeeting2.setStudyGroup(studyGroup.getId());
 
         inPersonMeeting2.setTimeSlots(timeSlots2);
@@ -443,12 +429,10 @@ class MeetingControllerTest {
                 studyGroup, student, reminderController, bookingController);
 
         // Verify student is removed from onlineMeeting2
-        assertThat(onlineMeeting2.getParticipants().containsKey(student.getId().toString()))
-                .isFalse();
+        assertThat(onlineMeeting2.getParticipants().containsKey(student.getId())).isFalse();
 
         // Verify student is removed from inPersonMeeting2
-        assertThat(inPersonMeeting2.getParticipants().containsKey(student.getId().toString()))
-                .isFalse();
+        assertThat(inPersonMeeting2.getParticipants().containsKey(student.getId())).isFalse();
     }
 
     @Test
@@ -459,12 +443,8 @@ class MeetingControllerTest {
         // Arrange
         OnlineMeeting onlineMeeting = new OnlineMeeting();
         onlineMeeting.setId(meetingId);
-        onlineMeeting.setParticipants(
-                new HashMap<>() {
-                    {
-                        put(studentId.toString(), AbstractMeeting.Status.TENTATIVE);
-                    }
-                });
+        onlineMeeting.setParticipants(new ParticipantStatusMap());
+        onlineMeeting.getParticipants().put(studentId, AbstractMeeting.Status.TENTATIVE);
         meetingController.onlineMeetingRepository.add(onlineMeeting);
 
         // Act
@@ -473,15 +453,13 @@ class MeetingControllerTest {
         // Assert
         OnlineMeeting newMeeting = meetingController.onlineMeetingRepository.get(meetingId);
         assertNotNull(newMeeting);
-        assertEquals(
-                AbstractMeeting.Status.ACCEPT,
-                newMeeting.getParticipants().get(studentId.toString()));
+        assertEquals(AbstractMeeting.Status.ACCEPT, newMeeting.getParticipants().get(studentId));
 
         // Test for no student
         ObjectId meetingId2 = new ObjectId();
         ObjectId studentId2 = new ObjectId();
         onlineMeeting.setId(meetingId2);
-        onlineMeeting.setParticipants(new HashMap<>());
+        onlineMeeting.setParticipants(new ParticipantStatusMap());
         meetingController.onlineMeetingRepository.add(onlineMeeting);
         Exception exception =
                 assertThrows(
@@ -491,4 +469,62 @@ class MeetingControllerTest {
                                         meetingId2, studentId2, AbstractMeeting.Status.ACCEPT));
         assertEquals("Student is not in this meeting!", exception.getMessage());
     }
+
+    /**
+     * Test that a status change replaces the participant map, so a reader still holding the old
+     * map is not changed under it.
+     */
+    @Test
+    void testUpdateMeetingStatusReplacesParticipants() {
+        MeetingController meetingController = getMeetingController();
+        ObjectId studentId = new ObjectId();
+        OnlineMeeting onlineMeeting = new OnlineMeeting();
+        onlineMeeting.setId(new ObjectId());
+        onlineMeeting.setParticipants(new ParticipantStatusMap());
+        onlineMeeting.getParticipants().put(studentId, AbstractMeeting.Status.TENTATIVE);
+        meetingController.onlineMeetingRepository.add(onlineMeeting);
+        ParticipantStatusMap before = onlineMeeting.getParticipants();
+
+        meetingController.updateMeetingStatus(
+                onlineMeeting.getId(), studentId, AbstractMeeting.Status.ACCEPT);
+
+        assertThat(before.get(studentId)).isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(
+                        meetingController
+                                .onlineMeetingRepository
+                                .get(onlineMeeting.getId())
+                                .getParticipants()
+                                .get(studentId))
+                .isEqualTo(AbstractMeeting.Status.ACCEPT);
+    }
+
+    /** Test that a new member is not added to a meeting cancelled after it was looked up */
+    @Test
+    void testJoinDoesNotRestoreCancelledMeeting() {
+        StudyGroup studyGroup = new StudyGroup();
+        studyGroup.setId(new ObjectId());
+        OnlineMeeting onlineMeeting = new OnlineMeeting();
+        onlineMeeting.setId(new ObjectId());
+        onlineMeeting.setOrganizer(new ObjectId());
+        onlineMeeting.setParticipants(new ParticipantStatusMap());
+        onlineMeeting.setStudyGroup(studyGroup.getId());
+        MeetingController meetingController =
+                new MeetingController(new InMemoryRepository<>(), new InMemoryRepository<>()) {
+                    @Override
+                    public List<AbstractMeeting> getMeetingsForStudyGroup(StudyGroup group) {
+                        List<AbstractMeeting> meetings = super.getMeetingsForStudyGroup(group);
+                        // The organizer cancels between the lookup and the update
+                        onlineMeetingRepository.delete(onlineMeeting.getId());
+                        return meetings;
+                    }
+                };
+        meetingController.onlineMeetingRepository.add(onlineMeeting);
+        Student member = new Student();
+        member.setId(new ObjectId());
+
+        meetingController.updateParticipantsAfterJoinGroup(
+                member, studyGroup, getReminderController());
+
+        assertThat(meetingController.onlineMeetingRepository.get(onlineMeeting.getId())).isNull();
+    }
 }
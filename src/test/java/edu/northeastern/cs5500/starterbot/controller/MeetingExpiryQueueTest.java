@@ -0,0 +1,91 @@
+package edu.northeastern.cs5500.starterbot.controller;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Frequency;
+import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
+import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class MeetingExpiryQueueTest {
+    private static final ZonedDateTime NOW =
+            ZonedDateTime.of(2024, 12, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private OnlineMeeting meetingEndingAt(ZonedDateTime... ends) {
+        List<TimeSlot> timeSlots = new ArrayList<>();
+        for (ZonedDateTime end : ends) {
+            timeSlots.add(TimeSlot.of(end.minusHours(1), end));
+        }
+        return OnlineMeeting.builder()
+                .id(new ObjectId())
+                .topic("Test Meeting")
+                .frequency(Frequency.ONETIME)
+                .timeSlots(timeSlots)
+                .studyGroup(new ObjectId())
+                .organizer(new ObjectId())
+                .meetingLink("example.com")
+                .participants(new ParticipantStatusMap())
+                .build();
+    }
+
+    @Test
+    void testPollExpiredReturnsOnlyMeetingsThatAreOverEarliestFirst() {
+        MeetingExpiryQueue queue = new MeetingExpiryQueue();
+        OnlineMeeting later = meetingEndingAt(NOW.minusMinutes(5));
+        OnlineMeeting earlier = meetingEndingAt(NOW.minusHours(2));
+        // The last slot decides, even though an earlier slot is already over
+        OnlineMeeting upcoming = meetingEndingAt(NOW.minusHours(3), NOW.plusHours(1));
+        queue.track(later);
+        queue.track(upcoming);
+        queue.track(earlier);
+
+        assertThat(queue.pollExpired(NOW.toInstant(), 10))
+                .containsExactly(earlier.getId(), later.getId())
+                .inOrder();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.pollExpired(NOW.toInstant(), 10)).isEmpty();
+    }
+
+    @Test
+    void testPollExpiredRespectsBatchSize() {
+        MeetingExpiryQueue queue = new MeetingExpiryQueue();
+        for (int i = 1; i <= 5; i++) {
+            queue.track(meetingEndingAt(NOW.minusMinutes(i)));
+        }
+
+        assertThat(queue.pollExpired(NOW.toInstant(), 2)).hasSize(2);
+        assertThat(queue.pollExpired(NOW.toInstant(), 2)).hasSize(2);
+        assertThat(queue.pollExpired(NOW.toInstant(), 2)).hasSize(1);
+    }
+
+    @Test
+    void testUntrackedAndRetrackedMeetingsAreNotReturnedEarly() {
+        MeetingExpiryQueue queue = new MeetingExpiryQueue();
+        OnlineMeeting cancelled = meetingEndingAt(NOW.minusHours(1));
+        OnlineMeeting extended = meetingEndingAt(NOW.minusHours(1));
+        queue.track(cancelled);
+        queue.track(extended);
+
+        queue.untrack(cancelled.getId());
+        extended.getTimeSlots().get(0).setEnd(NOW.plusHours(1).toInstant());
+        queue.track(extended);
+
+        assertThat(queue.pollExpired(NOW.toInstant(), 10)).isEmpty();
+        assertThat(queue.pollExpired(NOW.plusHours(2).toInstant(), 10))
+                .containsExactly(extended.getId());
+    }
+
+    @Test
+    void testMeetingWithoutTimeSlotsIsNotTracked() {
+        MeetingExpiryQueue queue = new MeetingExpiryQueue();
+        queue.track(meetingEndingAt());
+
+        assertThat(queue.size()).isEqualTo(0);
+    }
+}
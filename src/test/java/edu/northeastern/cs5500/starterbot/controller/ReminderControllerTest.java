@@ -2,22 +2,26 @@ package edu.northeastern.cs5500.starterbot.controller;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import edu.northeastern.cs5500.starterbot.model.AbstractMeeting;
 import edu.northeastern.cs5500.starterbot.model.Frequency;
 import edu.northeastern.cs5500.starterbot.model.InPersonMeeting;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
 import edu.northeastern.cs5500.starterbot.model.Reminder;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
 import edu.northeastern.cs5500.starterbot.model.TimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 
@@ -77,7 +81,7 @@ public class ReminderControllerTest {
         Reminder storedReminder = reminderController.reminderRepository.get(reminder.getId());
         assertThat(storedReminder).isNotNull();
         assertThat(storedReminder.getReminderDateTime())
-                .isEqualTo(meeting.getTimeSlots().get(0).getStart().minusMinutes(10));
+                .isEqualTo(minutesBeforeStart(meeting, 10));
         assertThat(storedReminder.getStudent().getId()).isEqualTo(studentId);
     }
 
@@ -107,7 +111,7 @@ public class ReminderControllerTest {
         assertThat(reminders).hasSize(1);
         Reminder storedReminder = reminders.get(0);
         assertThat(storedReminder.getReminderDateTime())
-                .isEqualTo(meeting.getTimeSlots().get(0).getStart().minusMinutes(15));
+                .isEqualTo(minutesBeforeStart(meeting, 15));
         assertThat(storedReminder.getStudent().getId()).isEqualTo(studentId);
     }
 
@@ -208,7 +212,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId)
                         .student(student)
                         .reminderTimeInMin(10)
-                        .reminderDateTime(meeting.getTimeSlots().get(0).getStart().minusMinutes(10))
+                        .reminderDateTime(minutesBeforeStart(meeting, 10))
                         .message("Test Reminder")
                         .build();
         reminderController.reminderRepository.add(reminder);
@@ -245,7 +249,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId)
                         .student(student)
                         .reminderTimeInMin(10)
-                        .reminderDateTime(meeting.getTimeSlots().get(0).getStart().minusMinutes(10))
+                        .reminderDateTime(minutesBeforeStart(meeting, 10))
                         .message("Test Reminder")
                         .build();
         reminderController.reminderRepository.add(reminder);
@@ -257,7 +261,114 @@ public class ReminderControllerTest {
         assertThat(updatedReminder).isNotNull();
         assertThat(updatedReminder.getReminderTimeInMin()).isEqualTo(20);
         assertThat(updatedReminder.getReminderDateTime())
-                .isEqualTo(meeting.getTimeSlots().get(0).getStart().minusMinutes(20));
+                .isEqualTo(minutesBeforeStart(meeting, 20));
+    }
+
+    /* A student reminded in the channel moves to the channel reminder for the new time */
+    @Test
+    void testUpdateReminderMovesChannelStudentToNewChannelReminder() {
+        ReminderController reminderController = getReminderController();
+        MeetingController meetingController = getMeetingController();
+        ObjectId meetingId = new ObjectId();
+        ObjectId studyGroupId = new ObjectId();
+        ObjectId studentId = new ObjectId();
+
+        OnlineMeeting meeting = createDefaultOnlineMeeting(meetingId, studyGroupId, studentId);
+        meetingController.onlineMeetingRepository.add(meeting);
+
+        Student student = createDefaultStudent(studentId, studyGroupId);
+        student.setReminderTimeInMin(10);
+        studentRepository.add(student);
+
+        StudyGroup studyGroup = createDefaultStudyGroup(studyGroupId, studentId);
+        studyGroup.setChannelId("987654321");
+        studyGroupRepository.add(studyGroup);
+
+        Reminder oldChannelReminder = reminderController.createChannelReminder(meetingId, 10);
+
+        reminderController.updateReminder(student.getDiscordUserId(), 20, false);
+
+        assertThat(reminderRepository.get(oldChannelReminder.getId())).isNull();
+        Collection<Reminder> reminders = reminderRepository.getAll();
+        assertThat(reminders).hasSize(1);
+        Reminder channelReminder = reminders.iterator().next();
+        assertThat(channelReminder.getStudent()).isNull();
+        assertThat(channelReminder.getReminderTimeInMin()).isEqualTo(20);
+        assertThat(channelReminder.getReminderDateTime())
+                .isEqualTo(minutesBeforeStart(meeting, 20));
+    }
+
+    /* The channel reminder for the old time stays while another member still uses it */
+    @Test
+    void testUpdateReminderKeepsChannelReminderUsedByOtherMembers() {
+        ReminderController reminderController = getReminderController();
+        MeetingController meetingController = getMeetingController();
+        ObjectId meetingId = new ObjectId();
+        ObjectId studyGroupId = new ObjectId();
+        ObjectId studentId = new ObjectId();
+
+        OnlineMeeting meeting = createDefaultOnlineMeeting(meetingId, studyGroupId, studentId);
+        meetingController.onlineMeetingRepository.add(meeting);
+
+        Student student = createDefaultStudent(studentId, studyGroupId);
+        student.setReminderTimeInMin(10);
+        studentRepository.add(student);
+        Student otherStudent = createDefaultStudent(new ObjectId(), studyGroupId);
+        otherStudent.setDiscordUserId("987654321");
+        otherStudent.setReminderTimeInMin(10);
+        studentRepository.add(otherStudent);
+
+        StudyGroup studyGroup = createDefaultStudyGroup(studyGroupId, studentId);
+        studyGroup.setChannelId("987654321");
+        studyGroupRepository.add(studyGroup);
+
+        Reminder oldChannelReminder = reminderController.createChannelReminder(meetingId, 10);
+
+        reminderController.updateReminder(student.getDiscordUserId(), 20, false);
+
+        assertThat(reminderRepository.get(oldChannelReminder.getId())).isNotNull();
+        assertThat(
+                        reminderRepository.getAll().stream()
+                                .map(Reminder::getReminderTimeInMin)
+                                .collect(Collectors.toList()))
+                .containsExactly(10, 20);
+    }
+
+    /* Canceling one instance removes the channel reminder and every student's own reminder */
+    @Test
+    void testDeleteRemindersForSpecificMeetingRemovesChannelAndDirectReminders() {
+        ReminderController reminderController = getReminderController();
+        MeetingController meetingController = getMeetingController();
+        ObjectId meetingId = new ObjectId();
+        ObjectId studyGroupId = new ObjectId();
+        ObjectId studentId = new ObjectId();
+
+        OnlineMeeting meeting = createDefaultOnlineMeeting(meetingId, studyGroupId, studentId);
+        meetingController.onlineMeetingRepository.add(meeting);
+
+        Student student = createDefaultStudent(studentId, studyGroupId);
+        studentRepository.add(student);
+
+        StudyGroup studyGroup = createDefaultStudyGroup(studyGroupId, studentId);
+        studyGroup.setChannelId("987654321");
+        studyGroupRepository.add(studyGroup);
+
+        reminderController.createChannelReminder(meetingId, 10);
+        reminderController.createReminder(meetingId, 10, student);
+        TimeSlot secondTimeSlot = meeting.getTimeSlots().get(1);
+
+        reminderController.deleteAllRemindersForSpecificMeeting(
+                meeting, meeting.getTimeSlots().get(0));
+
+        // Both reminders move on to the next time slot
+        Collection<Reminder> reminders = reminderRepository.getAll();
+        assertThat(reminders).hasSize(2);
+        for (Reminder reminder : reminders) {
+            assertThat(reminder.getReminderDateTime())
+                    .isEqualTo(secondTimeSlot.getStart().minus(Duration.ofMinutes(10)));
+        }
+        assertThat(reminders.stream().filter(reminder -> reminder.getStudent() == null).count())
+                .isEqualTo(1);
     }
 
     /* Delete all reminders for one student for the meeting series when the meeting series is canceled */
@@ -284,7 +395,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId)
                         .student(student)
                         .reminderTimeInMin(10)
-                        .reminderDateTime(meeting.getTimeSlots().get(0).getStart().minusMinutes(10))
+                        .reminderDateTime(minutesBeforeStart(meeting, 10))
                         .message("Test Reminder 1")
                         .build();
         Reminder reminder2 =
@@ -292,7 +403,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId)
                         .student(student)
                         .reminderTimeInMin(15)
-                        .reminderDateTime(meeting.getTimeSlots().get(0).getStart().minusMinutes(15))
+                        .reminderDateTime(minutesBeforeStart(meeting, 15))
                         .message("Test Reminder 2")
                         .build();
         reminderController.reminderRepository.add(reminder1);
@@ -329,7 +440,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId)
                         .student(student)
                         .reminderTimeInMin(10)
-                        .reminderDateTime(meeting.getTimeSlots().get(0).getStart().minusMinutes(10))
+                        .reminderDateTime(minutesBeforeStart(meeting, 10))
                         .message("Test Reminder")
                         .build();
         reminderController.reminderRepository.add(reminder);
@@ -347,20 +458,64 @@ public class ReminderControllerTest {
     }
 
     // Helper function to create a default online meeting object
+    /* Members of a group with a channel share one channel reminder, DM opt-ins keep their own */
+    @Test
+    void testCreateRemindersForMeetingFansOutToGroupChannel() {
+        ReminderController reminderController = getReminderController();
+        MeetingController meetingController = getMeetingController();
+        ObjectId studyGroupId = new ObjectId();
+        ObjectId meetingId = new ObjectId();
+        ObjectId firstStudentId = new ObjectId();
+        ObjectId secondStudentId = new ObjectId();
+        ObjectId thirdStudentId = new ObjectId();
+
+        OnlineMeeting meeting = createDefaultOnlineMeeting(meetingId, studyGroupId, firstStudentId);
+        meetingController.onlineMeetingRepository.add(meeting);
+
+        StudyGroup studyGroup = createDefaultStudyGroup(studyGroupId, firstStudentId);
+        studyGroup.setChannelId("987654321");
+
+        Student firstStudent = createDefaultStudent(firstStudentId, studyGroupId);
+        firstStudent.setReminderTimeInMin(15);
+        Student secondStudent = createDefaultStudent(secondStudentId, studyGroupId);
+        secondStudent.setReminderTimeInMin(15);
+        Student thirdStudent = createDefaultStudent(thirdStudentId, studyGroupId);
+        thirdStudent.setReminderTimeInMin(15);
+        thirdStudent.setDirectMessageReminders(true);
+
+        reminderController.createRemindersForMeeting(
+                meetingId, studyGroup, List.of(firstStudent, secondStudent, thirdStudent));
+
+        Collection<Reminder> reminders = reminderController.reminderRepository.getAll();
+        assertThat(reminders).hasSize(2);
+        assertThat(reminders.stream().filter(reminder -> reminder.getStudent() == null).count())
+                .isEqualTo(1);
+        assertThat(
+                        reminders.stream()
+                                .filter(reminder -> reminder.getStudent() != null)
+                                .map(reminder -> reminder.getStudent().getId())
+                                .toList())
+                .containsExactly(thirdStudentId);
+    }
+
+    private static Instant minutesBeforeStart(AbstractMeeting meeting, int minutes) {
+        return meeting.getTimeSlots().get(0).getStart().minus(Duration.ofMinutes(minutes));
+    }
+
     private OnlineMeeting createDefaultOnlineMeeting(
             ObjectId meetingId, ObjectId studyGroupId, ObjectId organizerId) {
         List<TimeSlot> meetingTime = new ArrayList<>();
         TimeSlot timeSlot1 =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.now().plusMinutes(60))
-                        .end(LocalDateTime.now().plusMinutes(120))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.now().plus(Duration.ofMinutes(60)))
+                        .end(Instant.now().plus(Duration.ofMinutes(120)))
                         .build();
         TimeSlot timeSlot2 =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.now().plusMinutes(60))
-                        .end(LocalDateTime.now().plusMinutes(120))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.now().plus(Duration.ofMinutes(60)))
+                        .end(Instant.now().plus(Duration.ofMinutes(120)))
                         .build();
         meetingTime.add(timeSlot1);
         meetingTime.add(timeSlot2);
@@ -373,7 +528,7 @@ public class ReminderControllerTest {
                 .studyGroup(studyGroupId)
                 .organizer(organizerId)
                 .meetingLink("example.com")
-                .participants(new HashMap<>())
+                .participants(new ParticipantStatusMap())
                 .build();
     }
 
@@ -383,15 +538,15 @@ public class ReminderControllerTest {
         List<TimeSlot> meetingTime = new ArrayList<>();
         TimeSlot timeSlot1 =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.now().plusMinutes(60))
-                        .end(LocalDateTime.now().plusMinutes(120))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.now().plus(Duration.ofMinutes(60)))
+                        .end(Instant.now().plus(Duration.ofMinutes(120)))
                         .build();
         TimeSlot timeSlot2 =
                 TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.now().plusMinutes(180))
-                        .end(LocalDateTime.now().plusMinutes(240))
+                        .day(DayOfWeek.MONDAY)
+                        .start(Instant.now().plus(Duration.ofMinutes(180)))
+                        .end(Instant.now().plus(Duration.ofMinutes(240)))
                         .build();
         meetingTime.add(timeSlot1);
         meetingTime.add(timeSlot2);
@@ -404,7 +559,7 @@ public class ReminderControllerTest {
                 .studyGroup(studyGroupId)
                 .organizer(organizerId)
                 .meetingLink("example.com")
-                .participants(new HashMap<>())
+                .participants(new ParticipantStatusMap())
                 .build();
     }
 
@@ -480,8 +635,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId1)
                         .student(student)
                         .reminderTimeInMin(10)
-                        .reminderDateTime(
-                                meeting1.getTimeSlots().get(0).getStart().minusMinutes(10))
+                        .reminderDateTime(minutesBeforeStart(meeting1, 10))
                         .message("Test Reminder 1")
                         .build();
         Reminder reminder2 =
@@ -489,8 +643,7 @@ public class ReminderControllerTest {
                         .meetingId(meetingId2)
                         .student(student)
                         .reminderTimeInMin(15)
-                        .reminderDateTime(
-                                meeting2.getTimeSlots().get(0).getStart().minusMinutes(15))
+                        .reminderDateTime(minutesBeforeStart(meeting2, 15))
                         .message("Test Reminder 2")
                         .build();
         reminderController.reminderRepository.add(reminder1);
@@ -4,11 +4,11 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import edu.northeastern.cs5500.starterbot.model.Student;
-import edu.northeastern.cs5500.starterbot.model.TimeSlot;
+import edu.northeastern.cs5500.starterbot.model.WeeklyTimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
 import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
 import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
-import java.time.LocalDateTime;
+import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,10 +53,10 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         assertThat(student.getAvailability()).hasSize(1);
 
-        TimeSlot timeSlot = student.getAvailability().get(0);
-        assertThat(timeSlot.getDay()).isEqualTo(day);
-        assertThat(timeSlot.getStart().toLocalTime()).isEqualTo(LocalTime.parse("09:00"));
-        assertThat(timeSlot.getEnd().toLocalTime()).isEqualTo(LocalTime.parse("10:00"));
+        WeeklyTimeSlot timeSlot = student.getAvailability().get(0);
+        assertThat(timeSlot.getDayName()).isEqualTo(day);
+        assertThat(timeSlot.getStartTime()).isEqualTo(LocalTime.parse("09:00"));
+        assertThat(timeSlot.getEndTime()).isEqualTo(LocalTime.parse("10:00"));
     }
 
     @Test
@@ -100,15 +100,15 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         assertThat(student.getAvailability()).hasSize(3);
 
-        TimeSlot timeSlot1 = student.getAvailability().get(0);
-        assertThat(timeSlot1.getDay()).isEqualTo(day1);
-        assertThat(timeSlot1.getStart().toLocalTime()).isEqualTo(LocalTime.parse("09:00"));
-        assertThat(timeSlot1.getEnd().toLocalTime()).isEqualTo(LocalTime.parse("10:00"));
+        WeeklyTimeSlot timeSlot1 = student.getAvailability().get(0);
+        assertThat(timeSlot1.getDayName()).isEqualTo(day1);
+        assertThat(timeSlot1.getStartTime()).isEqualTo(LocalTime.parse("09:00"));
+        assertThat(timeSlot1.getEndTime()).isEqualTo(LocalTime.parse("10:00"));
 
-        TimeSlot timeSlot2 = student.getAvailability().get(1);
-        assertThat(timeSlot2.getDay()).isEqualTo(day2);
-        assertThat(timeSlot2.getStart().toLocalTime()).isEqualTo(LocalTime.parse("10:00"));
-        assertThat(timeSlot2.getEnd().toLocalTime()).isEqualTo(LocalTime.parse("11:00"));
+        WeeklyTimeSlot timeSlot2 = student.getAvailability().get(1);
+        assertThat(timeSlot2.getDayName()).isEqualTo(day2);
+        assertThat(timeSlot2.getStartTime()).isEqualTo(LocalTime.parse("10:00"));
+        assertThat(timeSlot2.getEndTime()).isEqualTo(LocalTime.parse("11:00"));
     }
 
     @Test
@@ -129,10 +129,46 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         assertThat(student.getAvailability()).hasSize(1);
 
-        TimeSlot timeSlot = student.getAvailability().get(0);
-        assertThat(timeSlot.getDay()).isEqualTo(day);
-        assertThat(timeSlot.getStart().toLocalTime()).isEqualTo(LocalTime.parse("09:00"));
-        assertThat(timeSlot.getEnd().toLocalTime()).isEqualTo(LocalTime.parse("10:00"));
+        WeeklyTimeSlot timeSlot = student.getAvailability().get(0);
+        assertThat(timeSlot.getDayName()).isEqualTo(day);
+        assertThat(timeSlot.getStartTime()).isEqualTo(LocalTime.parse("09:00"));
+        assertThat(timeSlot.getEndTime()).isEqualTo(LocalTime.parse("10:00"));
+    }
+
+    @Test
+    void testSetTimeSlotInStudentTimeZone() {
+        String discordUserId = "23h5ikoqaehokljhaoe";
+        studentController.setTimeZoneForStudent(discordUserId, "America/New_York");
+
+        studentAvailabilityController.setTimeSlot(discordUserId, "Monday", "09:00AM", "10:00AM");
+
+        // Stored as the wall clock, so it stays 9am across daylight saving changes
+        Student student = studentController.getStudentByDiscordUserId(discordUserId);
+        WeeklyTimeSlot timeSlot = student.getAvailability().get(0);
+        assertThat(timeSlot.getDay()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(timeSlot.getStartMinute()).isEqualTo(9 * 60);
+        assertThat(timeSlot.getEndMinute()).isEqualTo(10 * 60);
+        assertThat(studentAvailabilityController.removeTimeSlot(discordUserId, "Monday", "09:00"))
+                .isTrue();
+    }
+
+    @Test
+    void testTimeSlotKeepsWallClockWhenZoneChanges() {
+        String discordUserId = "23h5ikoqaehokljhaoe";
+        studentController.setTimeZoneForStudent(discordUserId, "America/New_York");
+
+        // 8pm Monday in New York is Tuesday morning in Tokyo, but the slot is still Monday 8pm
+        studentAvailabilityController.setTimeSlot(discordUserId, "Monday", "08:00PM", "09:00PM");
+        studentController.setTimeZoneForStudent(discordUserId, "Asia/Tokyo");
+
+        Student student = studentController.getStudentByDiscordUserId(discordUserId);
+        WeeklyTimeSlot timeSlot = student.getAvailability().get(0);
+        assertThat(timeSlot.getDayName()).isEqualTo("Monday");
+        assertThat(timeSlot.getStartTime()).isEqualTo(LocalTime.parse("20:00"));
+        assertThat(studentAvailabilityController.removeTimeSlot(discordUserId, "Tuesday", "20:00"))
+                .isFalse();
+        assertThat(studentAvailabilityController.removeTimeSlot(discordUserId, "Monday", "20:00"))
+                .isTrue();
     }
 
     @Test
@@ -144,25 +180,16 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         student.setDiscordUserId(discordUserId);
 
-        List<TimeSlot> availability = new ArrayList<>();
+        List<WeeklyTimeSlot> availability = new ArrayList<>();
         availability.add(
-                TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2024, 12, 4, 9, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 10, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00")));
         availability.add(
-                TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2024, 12, 4, 11, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 12, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.MONDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00")));
         availability.add(
-                TimeSlot.builder()
-                        .day("Friday")
-                        .start(LocalDateTime.of(2024, 12, 4, 11, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 12, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.FRIDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00")));
 
         student.setAvailability(availability);
 
@@ -182,7 +209,7 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         student.setDiscordUserId(discordUserId);
 
-        List<TimeSlot> availability = new ArrayList<>();
+        List<WeeklyTimeSlot> availability = new ArrayList<>();
         student.setAvailability(availability); // set empty availability
 
         boolean removed =
@@ -201,25 +228,16 @@ class StudentAvailabilityControllerTest {
         Student student = studentController.getStudentByDiscordUserId(discordUserId);
         student.setDiscordUserId(discordUserId);
 
-        List<TimeSlot> availability = new ArrayList<>();
+        List<WeeklyTimeSlot> availability = new ArrayList<>();
         availability.add(
-                TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2024, 12, 4, 9, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 10, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.MONDAY, LocalTime.parse("09:00"), LocalTime.parse("10:00")));
         availability.add(
-                TimeSlot.builder()
-                        .day("Monday")
-                        .start(LocalDateTime.of(2024, 12, 4, 11, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 12, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.MONDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00")));
         availability.add(
-                TimeSlot.builder()
-                        .day("Friday")
-                        .start(LocalDateTime.of(2024, 12, 4, 11, 0))
-                        .end(LocalDateTime.of(2024, 12, 4, 12, 0))
-                        .build());
+                WeeklyTimeSlot.of(
+                        DayOfWeek.FRIDAY, LocalTime.parse("11:00"), LocalTime.parse("12:00")));
 
         student.setAvailability(availability);
 
@@ -5,7 +5,9 @@ import static com.google.common.truth.Truth.assertThat;
 import com.mongodb.MongoException;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.TimeSlot;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -282,6 +284,37 @@ class StudentControllerTest {
         assertThat(student.getEmail()).isNotEqualTo(invalidEmail);
     }
 
+    /****************** tests for setTimeZoneForStudent() **************/
+    @Test
+    void testSetTimeZoneForStudent() {
+        StudentController studentController = getStudentController();
+        String discordUserId = "123456789";
+
+        Student student = createStudent(discordUserId);
+        studentController.studentRepository.add(student);
+
+        assertThat(StudentController.getZoneForStudent(student)).isEqualTo(TimeSlot.DEFAULT_ZONE);
+        boolean result = studentController.setTimeZoneForStudent(discordUserId, "Asia/Tokyo");
+
+        assertThat(result).isTrue();
+        assertThat(studentController.getZoneForStudent(discordUserId))
+                .isEqualTo(ZoneId.of("Asia/Tokyo"));
+    }
+
+    @Test
+    void testSetTimeZoneForStudent_withUnknownZone() {
+        StudentController studentController = getStudentController();
+        String discordUserId = "123456789";
+
+        Student student = createStudent(discordUserId);
+        studentController.studentRepository.add(student);
+
+        boolean result = studentController.setTimeZoneForStudent(discordUserId, "Mars/Olympus");
+
+        assertThat(result).isFalse();
+        assertThat(student.getTimeZone()).isNull();
+    }
+
     /****************** tests for getDisplayNameForStudent() **************/
     @Test
     void testGetDisplayNameForStudent() {
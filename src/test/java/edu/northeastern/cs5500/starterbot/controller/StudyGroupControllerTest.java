@@ -1,28 +1,49 @@
 package edu.northeastern.cs5500.starterbot.controller;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.mongodb.MongoException;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController.RankedGroup;
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
 import edu.northeastern.cs5500.starterbot.model.GroupApplication;
 import edu.northeastern.cs5500.starterbot.model.Interest;
 import edu.northeastern.cs5500.starterbot.model.Student;
 import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.AffinityStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.CachingStudyGroupRecommender;
 import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.IndexedStudyGroupRecommender;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import javax.annotation.Nonnull;
 import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 
 class StudyGroupControllerTest {
     InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+    InMemoryRepository<GroupAffinity> groupAffinityRepository = new InMemoryRepository<>();
+    GroupAffinityController groupAffinityController =
+            new GroupAffinityController(groupAffinityRepository);
 
     private StudyGroupController getStudyGroupController() {
-        return new StudyGroupController(
-                new InMemoryRepository<>(), new InMemoryRepository<>(), studentRepository);
+        StudyGroupController controller =
+                new StudyGroupController(
+                        new InMemoryRepository<>(), new InMemoryRepository<>(), studentRepository);
+        controller.studyGroupRecommender =
+                new CachingStudyGroupRecommender(
+                        new AffinityStudyGroupRecommender(
+                                new IndexedStudyGroupRecommender(
+                                        controller.studyGroupRepository, studentRepository),
+                                groupAffinityRepository,
+                                controller.studyGroupRepository,
+                                studentRepository));
+        return controller;
     }
 
     private StudentController getStudentController() {
@@ -86,6 +107,30 @@ class StudyGroupControllerTest {
         assertThat(members).hasSize(2);
     }
 
+    @Test
+    void testCountMembersOfStudyGroupAsyncMatchesBlockingLookup() {
+        ObjectId studyGroupId = new ObjectId();
+        StudyGroup studyGroup = new StudyGroup();
+        studyGroup.setId(studyGroupId);
+
+        Student member = new Student();
+        member.setId(new ObjectId());
+        member.setGroupList(List.of(studyGroupId));
+        Student nonMember = new Student();
+        nonMember.setId(new ObjectId());
+        nonMember.setGroupList(List.of());
+
+        StudyGroupController studyGroupController = getStudyGroupController();
+        studyGroupController.studentRepository.add(member);
+        studyGroupController.studentRepository.add(nonMember);
+
+        assertThat(studyGroupController.countMembersOfStudyGroupAsync(studyGroup).join())
+                .isEqualTo(
+                        (long) studyGroupController.getMemberListOfStudyGroup(studyGroup).size());
+        assertThat(studyGroupController.countMembersOfStudyGroupAsync(studyGroup).join())
+                .isEqualTo(1L);
+    }
+
     @Test
     void testGetMemberListOfStudyGroupWithNoMembers() {
         // Create a study group
@@ -109,12 +154,15 @@ class StudyGroupControllerTest {
         StudyGroup studyGroup = new StudyGroup();
         studyGroup.setId(studyGroupId);
 
-        // Simulate an exception by overriding getAll() to throw an exception
+        // Simulate an exception by overriding findByAny() to throw an exception
         StudyGroupController studyGroupController = getStudyGroupController();
         studyGroupController.studentRepository =
                 new InMemoryRepository<Student>() {
                     @Override
-                    public Collection<Student> getAll() {
+                    public List<Student> findByAny(
+                            String field,
+                            Function<Student, Object> fieldExtractor,
+                            Collection<?> values) {
                         throw new RuntimeException("Simulated repository exception");
                     }
                 };
@@ -405,6 +453,18 @@ class StudyGroupControllerTest {
         assertThat("Expected exception was not thrown").isEmpty();
     }
 
+    @Test
+    void testGetStudyGroupByIdAsyncWithInvalidIdCompletesExceptionally() {
+        StudyGroupController studyGroupController = getStudyGroupController();
+        ObjectId invalidId = new ObjectId();
+
+        CompletionException e =
+                assertThrows(
+                        CompletionException.class,
+                        () -> studyGroupController.getStudyGroupByIdAsync(invalidId).join());
+        assertThat(e).hasCauseThat().isInstanceOf(IllegalArgumentException.class);
+    }
+
     /**
      * Simulates a database failure when retrieving a study group by ID. Ensures the method can
      * handle database interaction errors and provides meaningful feedback.
@@ -540,18 +600,52 @@ class StudyGroupControllerTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    void testGetStudyGroupsLedByFollowsLeaderChanges() {
+        Student leader = new Student();
+        leader.setId(new ObjectId());
+        Student other = new Student();
+        other.setId(new ObjectId());
+
+        StudyGroupController studyGroupController = getStudyGroupController();
+        StudyGroup first = new StudyGroup();
+        first.setGroupLeaderId(leader.getId());
+        studyGroupController.studyGroupRepository.add(first);
+        StudyGroup second = new StudyGroup();
+        second.setGroupLeaderId(leader.getId());
+        studyGroupController.studyGroupRepository.add(second);
+
+        assertThat(studyGroupController.getStudyGroupsLedBy(leader))
+                .containsExactly(first, second)
+                .inOrder();
+        assertThat(studyGroupController.getStudyGroupsLedBy(other)).isEmpty();
+
+        // Hand the first group over, then disband the second
+        first.setGroupLeaderId(other.getId());
+        studyGroupController.updateStudyGroup(first);
+        studyGroupController.studyGroupRepository.delete(second.getId());
+
+        assertThat(studyGroupController.getStudyGroupsLedBy(leader)).isEmpty();
+        assertThat(studyGroupController.getStudyGroupIdsForLeader(other))
+                .containsExactly(first.getId());
+        assertThat(studyGroupController.getStudyGroupForLeader(other)).isEqualTo(first);
+    }
+
     @Test
     void testExceptionHandlingInGetStudyGroupForLeader() {
         // Create a student
         Student leader = new Student();
         leader.setId(new ObjectId());
 
-        // Simulate an exception by overriding getAll() to throw an exception
+        // Simulate an exception by overriding findBy() to throw an exception
         StudyGroupController studyGroupController = getStudyGroupController();
         studyGroupController.studyGroupRepository =
                 new InMemoryRepository<StudyGroup>() {
                     @Override
-                    public Collection<StudyGroup> getAll() {
+                    public List<StudyGroup> findBy(
+                            String field,
+                            Function<StudyGroup, Object> fieldExtractor,
+                            Object value) {
                         throw new RuntimeException("Simulated repository exception");
                     }
                 };
@@ -574,8 +668,6 @@ class StudyGroupControllerTest {
     void testSubmitApplicationSuccessfully() {
         StudyGroupController controller = getStudyGroupController();
         StudentController studentController = getStudentController();
-        MeetingController meetingController = getMeetingController();
-        ReminderController reminderController = getReminderController();
 
         ObjectId studentId = new ObjectId();
         ObjectId groupId = new ObjectId();
@@ -592,9 +684,7 @@ class StudyGroupControllerTest {
                 "123456789",
                 studyGroup,
                 "I want to join",
-                studentController,
-                meetingController,
-                reminderController);
+                studentController);
 
         // Validate application was created
         List<GroupApplication> applications =
@@ -638,14 +728,222 @@ class StudyGroupControllerTest {
         assertThat(recommendedGroups.get(0).getId()).isEqualTo(groupId);
     }
 
+    // Test that groups ranked by the collaborative filtering job are blended in, unless full
+    @Test
+    void testRecommendStudyGroupsBlendsAffinities() {
+        StudyGroupController controller = getStudyGroupController();
+        StudentController studentController = getStudentController();
+
+        Interest interest =
+                Interest.builder()
+                        .studentInterest("Java")
+                        .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                        .build();
+        Student student = createDefaultStudent(new ObjectId(), "123456789", "Test Student");
+        student.getInterestSet().add(interest);
+        studentController.studentRepository.add(student);
+        StudyGroup byInterest = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Java");
+        byInterest.getInterestSet().add(interest);
+        StudyGroup both = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Both");
+        both.getInterestSet().add(interest);
+        StudyGroup byAffinity = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Other");
+        StudyGroup full = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Full");
+        full.setMaxMembers(0);
+        controller.studyGroupRepository.add(byInterest);
+        controller.studyGroupRepository.add(both);
+        controller.studyGroupRepository.add(byAffinity);
+        controller.studyGroupRepository.add(full);
+        groupAffinityController.saveAffinity(
+                GroupAffinity.builder()
+                        .id(student.getId())
+                        .groups(
+                                List.of(
+                                        new GroupAffinity.ScoredGroup(both.getId(), 2.0),
+                                        new GroupAffinity.ScoredGroup(full.getId(), 1.5),
+                                        new GroupAffinity.ScoredGroup(byAffinity.getId(), 1.0)))
+                        .build());
+
+        List<StudyGroup> recommendedGroups =
+                controller.recommendStudyGroups("123456789", studentController);
+
+        // Both is on both lists, Java is first by interest and Other third by affinity
+        assertThat(recommendedGroups).containsExactly(both, byInterest, byAffinity).inOrder();
+    }
+
+    // Test that recommendations can be walked one group at a time from a cursor, ties in id order
+    @Test
+    void testFindNextRecommendedGroupPagesFromCursor() {
+        StudyGroupController controller = getStudyGroupController();
+        StudentController studentController = getStudentController();
+
+        Student student = createDefaultStudent(new ObjectId(), "123456789", "Test Student");
+        Interest interest =
+                Interest.builder()
+                        .studentInterest("Java")
+                        .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                        .build();
+        student.getInterestSet().add(interest);
+        studentController.studentRepository.add(student);
+
+        // Ids increase in creation order, and only a few groups spread across them match
+        List<StudyGroup> matching = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            StudyGroup group =
+                    createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Group " + i);
+            if (i == 10 || i == 75 || i == 110) {
+                group.getInterestSet().add(interest);
+                matching.add(group);
+            }
+            controller.studyGroupRepository.add(group);
+        }
+
+        assertThat(walkRecommendations(controller, studentController))
+                .containsExactlyElementsIn(matching)
+                .inOrder();
+    }
+
+    private static List<StudyGroup> walkRecommendations(
+            StudyGroupController controller, StudentController studentController) {
+        List<StudyGroup> walked = new ArrayList<>();
+        RankedGroup next =
+                controller.findNextRecommendedGroup("123456789", null, 0, studentController);
+        while (next != null) {
+            walked.add(next.getStudyGroup());
+            next =
+                    controller.findNextRecommendedGroup(
+                            "123456789",
+                            next.getStudyGroup().getId(),
+                            next.getRank(),
+                            studentController);
+        }
+        return walked;
+    }
+
+    // Test that walking the recommendations follows the blended ranking, not id order
+    @Test
+    void testFindNextRecommendedGroupFollowsBlendedRanking() {
+        StudyGroupController controller = getStudyGroupController();
+        StudentController studentController = getStudentController();
+
+        Interest interest =
+                Interest.builder()
+                        .studentInterest("Java")
+                        .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                        .build();
+        Student student = createDefaultStudent(new ObjectId(), "123456789", "Test Student");
+        student.getInterestSet().add(interest);
+        studentController.studentRepository.add(student);
+        StudyGroup byInterest = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Java");
+        byInterest.getInterestSet().add(interest);
+        StudyGroup both = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Both");
+        both.getInterestSet().add(interest);
+        StudyGroup byAffinity = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Other");
+        controller.studyGroupRepository.add(byInterest);
+        controller.studyGroupRepository.add(both);
+        controller.studyGroupRepository.add(byAffinity);
+        groupAffinityController.saveAffinity(
+                GroupAffinity.builder()
+                        .id(student.getId())
+                        .groups(
+                                List.of(
+                                        new GroupAffinity.ScoredGroup(both.getId(), 2.0),
+                                        new GroupAffinity.ScoredGroup(byAffinity.getId(), 1.0)))
+                        .build());
+
+        assertThat(walkRecommendations(controller, studentController))
+                .containsExactlyElementsIn(
+                        controller.recommendStudyGroups("123456789", studentController))
+                .inOrder();
+        assertThat(walkRecommendations(controller, studentController))
+                .containsExactly(both, byInterest, byAffinity)
+                .inOrder();
+    }
+
+    // Test that joining the group shown does not skip the one ranked after it
+    @Test
+    void testFindNextRecommendedGroupAfterJoiningShownGroup() {
+        StudyGroupController controller = getStudyGroupController();
+        StudentController studentController = getStudentController();
+
+        Interest interest =
+                Interest.builder()
+                        .studentInterest("Java")
+                        .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                        .build();
+        Student student = createDefaultStudent(new ObjectId(), "123456789", "Test Student");
+        student.getInterestSet().add(interest);
+        studentController.studentRepository.add(student);
+        List<StudyGroup> groups = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            StudyGroup group =
+                    createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Group " + i);
+            group.getInterestSet().add(interest);
+            controller.studyGroupRepository.add(group);
+            groups.add(group);
+        }
+
+        RankedGroup first =
+                controller.findNextRecommendedGroup("123456789", null, 0, studentController);
+        RankedGroup second =
+                controller.findNextRecommendedGroup(
+                        "123456789",
+                        first.getStudyGroup().getId(),
+                        first.getRank(),
+                        studentController);
+        controller.addStudyGroup(student, second.getStudyGroup(), studentController);
+        RankedGroup third =
+                controller.findNextRecommendedGroup(
+                        "123456789",
+                        second.getStudyGroup().getId(),
+                        second.getRank(),
+                        studentController);
+
+        assertThat(first.getStudyGroup()).isEqualTo(groups.get(0));
+        assertThat(second.getStudyGroup()).isEqualTo(groups.get(1));
+        assertThat(third.getStudyGroup()).isEqualTo(groups.get(2));
+        assertThat(third.getRank()).isEqualTo(1);
+    }
+
+    // Test that a group filled since a student was last recommended it is not offered again
+    @Test
+    void testFindNextRecommendedGroupSkipsGroupFilledByJoin() {
+        StudyGroupController controller = getStudyGroupController();
+        StudentController studentController = getStudentController();
+
+        Interest interest =
+                Interest.builder()
+                        .studentInterest("Java")
+                        .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                        .build();
+        Student student = createDefaultStudent(new ObjectId(), "123456789", "Test Student");
+        Student joiner = createDefaultStudent(new ObjectId(), "987654321", "Joiner");
+        student.getInterestSet().add(interest);
+        joiner.getInterestSet().add(interest);
+        studentController.studentRepository.add(student);
+        studentController.studentRepository.add(joiner);
+        StudyGroup studyGroup = createDefaultStudyGroup(new ObjectId(), new ObjectId(), "Group");
+        studyGroup.getInterestSet().add(interest);
+        studyGroup.setMaxMembers(1);
+        controller.studyGroupRepository.add(studyGroup);
+
+        assertThat(
+                        controller
+                                .findNextRecommendedGroup("123456789", null, 0, studentController)
+                                .getStudyGroup())
+                .isEqualTo(studyGroup);
+
+        controller.addStudyGroup(joiner, studyGroup, studentController);
+
+        assertThat(controller.findNextRecommendedGroup("123456789", null, 0, studentController))
+                .isNull();
+    }
+
     // Test that after applicaiton is approved, the application is removed and the group is added to
     // applicant's groupList
     @Test
     void testApproveApplicationSuccessfully() {
         StudyGroupController studyGroupController = getStudyGroupController();
         StudentController studentController = getStudentController();
-        MeetingController meetingController = getMeetingController();
-        ReminderController reminderController = getReminderController();
 
         ObjectId studentId = new ObjectId();
         ObjectId groupId = new ObjectId();
@@ -680,8 +978,7 @@ class StudyGroupControllerTest {
         studyGroupController.groupApplicationRepository.add(application);
 
         // Approve application
-        studyGroupController.approveApplication(
-                application, studentController, meetingController, reminderController);
+        studyGroupController.approveApplication(application, studentController);
 
         // Validate application is removed
         assertThat(studyGroupController.groupApplicationRepository.getAll()).isEmpty();
@@ -778,9 +1075,6 @@ class StudyGroupControllerTest {
     void testDisbandGroup() {
         StudyGroupController studyGroupController = getStudyGroupController();
         StudentController studentController = getStudentController();
-        ReminderController reminderController = getReminderController();
-        BookingController bookingController = getBookingController();
-        MeetingController meetingController = getMeetingController();
 
         // the group to be disbanded
         StudyGroup studyGroup = new StudyGroup();
@@ -801,12 +1095,7 @@ class StudyGroupControllerTest {
         }
 
         // Act
-        studyGroupController.disbandGroup(
-                studyGroup,
-                studentController,
-                meetingController,
-                bookingController,
-                reminderController);
+        studyGroupController.disbandGroup(studyGroup, studentController);
 
         // Assert
         for (int i = 0; i < 5; i++) {
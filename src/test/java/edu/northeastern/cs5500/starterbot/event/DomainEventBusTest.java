@@ -0,0 +1,133 @@
+package edu.northeastern.cs5500.starterbot.event;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Frequency;
+import edu.northeastern.cs5500.starterbot.model.OnlineMeeting;
+import edu.northeastern.cs5500.starterbot.model.ParticipantStatusMap;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class DomainEventBusTest {
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private static StudyGroup group(String name) {
+        StudyGroup studyGroup = new StudyGroup();
+        studyGroup.setId(new ObjectId());
+        studyGroup.setName(name);
+        return studyGroup;
+    }
+
+    private static MeetingCreated created(StudyGroup studyGroup) {
+        OnlineMeeting meeting =
+                new OnlineMeeting(
+                        new ObjectId(),
+                        "Topic",
+                        Frequency.WEEKLY,
+                        new ArrayList<>(),
+                        studyGroup.getId(),
+                        new ObjectId(),
+                        "https://example.com",
+                        new ParticipantStatusMap());
+        return new MeetingCreated(meeting, studyGroup);
+    }
+
+    private static GroupDisbanded disbanded(String name) {
+        return new GroupDisbanded(group(name));
+    }
+
+    /** Record each call as the subscriber's name followed by the names of the groups it got. */
+    private EventSubscriber<GroupDisbanded> recorder(String subscriber) {
+        return events -> {
+            StringBuilder call = new StringBuilder(subscriber);
+            for (GroupDisbanded event : events) {
+                call.append(" ").append(event.getStudyGroup().getName());
+            }
+            calls.add(call.toString());
+        };
+    }
+
+    /* Test that a synchronous bus delivers before publish returns */
+    @Test
+    void testSynchronousDeliversOnPublish() {
+        DomainEventBus bus = DomainEventBus.synchronous();
+        bus.subscribe(GroupDisbanded.class, recorder("first"));
+        bus.subscribe(GroupDisbanded.class, recorder("second"));
+
+        bus.publish(disbanded("a"));
+
+        assertThat(calls).containsExactly("first a", "second a").inOrder();
+        assertThat(bus.getPendingCount()).isEqualTo(0);
+    }
+
+    /* Test that queued events arrive in order, batched by runs of the same type */
+    @Test
+    void testAsynchronousBatchesRunsInOrder() throws InterruptedException {
+        DomainEventBus bus = new DomainEventBus(new MetricsService());
+        CountDownLatch done = new CountDownLatch(1);
+        bus.subscribe(GroupDisbanded.class, recorder("disbanded"));
+        bus.subscribe(
+                MeetingCreated.class,
+                events -> calls.add("created " + events.get(0).getStudyGroup().getName()));
+        bus.subscribe(
+                StudentJoinedGroup.class,
+                events -> {
+                    calls.add("joined " + events.size());
+                    done.countDown();
+                });
+
+        // Published before start, so they are all waiting for the first pass
+        bus.publish(disbanded("a"));
+        bus.publish(disbanded("b"));
+        bus.publish(created(group("c")));
+        bus.publish(disbanded("d"));
+        bus.publish(new StudentJoinedGroup(new Student(), group("e")));
+        assertThat(bus.getPendingCount()).isEqualTo(5);
+        bus.start();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls)
+                .containsExactly("disbanded a b", "created c", "disbanded d", "joined 1")
+                .inOrder();
+    }
+
+    /* Test that a failing subscriber is counted and does not stop the others */
+    @Test
+    void testFailingSubscriberIsIsolated() throws InterruptedException {
+        MetricsService metricsService = new MetricsService();
+        DomainEventBus bus = new DomainEventBus(metricsService);
+        CountDownLatch done = new CountDownLatch(1);
+        bus.subscribe(
+                GroupDisbanded.class,
+                events -> {
+                    throw new IllegalStateException("Simulated subscriber failure");
+                });
+        bus.subscribe(
+                GroupDisbanded.class,
+                events -> {
+                    recorder("after").onEvents(events);
+                    done.countDown();
+                });
+        bus.start();
+
+        bus.publish(disbanded("a"));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls).containsExactly("after a");
+        assertThat(
+                        metricsService
+                                .counter(MetricsService.DOMAIN_EVENT_FAILURES, "GroupDisbanded")
+                                .sum())
+                .isEqualTo(1L);
+        assertThat(metricsService.counter(MetricsService.DOMAIN_EVENTS, "GroupDisbanded").sum())
+                .isEqualTo(1L);
+    }
+}
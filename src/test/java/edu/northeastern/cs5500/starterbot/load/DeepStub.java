@@ -0,0 +1,142 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+
+/**
+ * Stands in for any JDA interface without a network. Calls that were given an answer return it;
+ * every other call returns something harmless: the stub itself for fluent builder methods, another
+ * stub for interface results, and empty or zero values otherwise. Nothing is ever sent.
+ *
+ * <p>A reply queued with a callback calls it back with a stub hook, the way Discord would once the
+ * reply is acknowledged, so follow-up messages sent from the callback are exercised too.
+ */
+final class DeepStub implements InvocationHandler {
+    private final Class<?> type;
+    private final Map<String, Function<Object[], Object>> answers;
+    private final Map<Class<?>, Object> children = new HashMap<>();
+
+    private DeepStub(Class<?> type, Map<String, Function<Object[], Object>> answers) {
+        this.type = type;
+        this.answers = answers;
+    }
+
+    static <T> T of(@Nonnull Class<T> type) {
+        return of(type, Collections.emptyMap());
+    }
+
+    /**
+     * Create a stub
+     *
+     * @param type the interface to stub
+     * @param answers the results of specific methods by name, computed from the call's arguments
+     * @return the stub
+     */
+    static <T> T of(
+            @Nonnull Class<T> type, @Nonnull Map<String, Function<Object[], Object>> answers) {
+        return type.cast(
+                Proxy.newProxyInstance(
+                        DeepStub.class.getClassLoader(),
+                        new Class<?>[] {type},
+                        new DeepStub(type, answers)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Object[] arguments = args == null ? new Object[0] : args;
+        Function<Object[], Object> answer = answers.get(method.getName());
+        if (answer != null) {
+            return answer.apply(arguments);
+        }
+        switch (method.getName()) {
+            case "equals":
+                return arguments.length == 1 && proxy == arguments[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "DeepStub(" + type.getSimpleName() + ")";
+            case "queue":
+                acknowledge(arguments);
+                return null;
+            default:
+                return defaultValue(proxy, method.getReturnType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void acknowledge(Object[] arguments) {
+        if (arguments.length > 0
+                && arguments[0] instanceof Consumer
+                && ReplyCallbackAction.class.isAssignableFrom(type)) {
+            ((Consumer<Object>) arguments[0]).accept(DeepStub.of(InteractionHook.class));
+        }
+    }
+
+    private synchronized Object defaultValue(Object proxy, Class<?> returnType) {
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType.isInstance(proxy)) {
+            return proxy; // builder methods such as setEphemeral return the same action
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == char.class) {
+            return '\0';
+        }
+        if (returnType.isPrimitive()) {
+            return defaultNumber(returnType);
+        }
+        if (returnType == String.class) {
+            return "";
+        }
+        if (returnType == List.class) {
+            return Collections.emptyList();
+        }
+        if (returnType == Set.class) {
+            return Collections.emptySet();
+        }
+        if (returnType == Map.class) {
+            return Collections.emptyMap();
+        }
+        if (returnType == Optional.class) {
+            return Optional.empty();
+        }
+        if (returnType.isInterface()) {
+            return children.computeIfAbsent(returnType, DeepStub::of);
+        }
+        return null;
+    }
+
+    private static Object defaultNumber(Class<?> returnType) {
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        if (returnType == float.class) {
+            return 0.0f;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,122 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.controller.StudentController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController.RankedGroup;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives the onboarding flow a new student goes through, /profile to joining a group, for many
+ * students at once through {@link edu.northeastern.cs5500.starterbot.listener.MessageListener}.
+ * Run with {@code ./gradlew loadTest}, optionally with {@code -Dload.users=N}.
+ */
+@Slf4j
+@Tag("load")
+class InteractionLoadTest {
+    static final String INTEREST = "Java";
+    static final int GROUPS = 20;
+    static final int WARMUP_USERS = 100;
+
+    final LoadTestComponent component = DaggerLoadTestComponent.create();
+    final StudentController studentController = component.studentController();
+    final StudyGroupController studyGroupController = component.studyGroupController();
+    final Interactions interactions = new Interactions(component.jda());
+
+    private void seedGroups(int users) {
+        // Joins publish events, and the queue fills and blocks them if nothing delivers it
+        component.domainEventSubscribers().start();
+        component.interestSeeder().seedInterests();
+        Interest interest = component.interestController().getInterestByInterestName(INTEREST);
+        // Room for the warm up and the run, plus each group's leader
+        int maxMembers = (users + WARMUP_USERS) / GROUPS + 2;
+        for (int i = 0; i < GROUPS; i++) {
+            Student leader = studentController.getStudentByDiscordUserId("leader" + i);
+            StudyGroup group =
+                    StudyGroup.builder()
+                            .name("Load group " + i)
+                            .interestSet(Set.of(interest))
+                            .description("Seeded for the load test")
+                            .autoApprove(true)
+                            .maxMembers(maxMembers)
+                            .groupLeaderId(leader.getId())
+                            .customCriteria("")
+                            .channelId("")
+                            .build();
+            studyGroupController.createStudyGroup(leader, group, studentController);
+        }
+    }
+
+    /** The id and rank of the first group recommended to a student, as the buttons carry them */
+    private String recommendedGroupCursor(String discordUserId) {
+        RankedGroup group =
+                studyGroupController.findNextRecommendedGroup(
+                        discordUserId, null, 0, studentController);
+        if (group == null) {
+            throw new IllegalStateException("No study group left for " + discordUserId);
+        }
+        return group.getStudyGroup().getId().toHexString() + ":" + group.getRank();
+    }
+
+    @Test
+    void testOnboardingFlow() {
+        int users = Integer.getInteger("load.users", 1000);
+        seedGroups(users);
+
+        LoadHarness harness =
+                new LoadHarness(component.messageListener())
+                        .step("/profile", user -> interactions.slash(user, "profile"))
+                        .step(
+                                "profilemodal",
+                                user ->
+                                        interactions.modal(
+                                                user,
+                                                "profilemodal",
+                                                Map.of(
+                                                        "displayname",
+                                                        "Student " + user,
+                                                        "email",
+                                                        user + "@northeastern.edu")))
+                        .step("/interests", user -> interactions.slash(user, "interests"))
+                        .step(
+                                "languages_skills",
+                                user ->
+                                        interactions.select(
+                                                user, "languages_skills", List.of(INTEREST)))
+                        .step("continue", user -> interactions.button(user, "continue"))
+                        .step("accept", user -> interactions.button(user, "accept"))
+                        .step("/findgroups", user -> interactions.slash(user, "findgroups"))
+                        .step(
+                                "findgroups:join",
+                                user ->
+                                        interactions.button(
+                                                user,
+                                                "findgroups:join:" + recommendedGroupCursor(user)));
+
+        harness.warmUp(WARMUP_USERS);
+        LoadReport report = harness.run(users);
+        log.info("Onboarding load test\n{}", report.format());
+
+        assertThat(report.getInteractions()).isEqualTo(8L * users);
+        for (String user : report.getUserIds()) {
+            Student student = studentController.getStudentByDiscordUserId(user);
+            assertThat(student.getEmail()).isEqualTo(user + "@northeastern.edu");
+            assertThat(
+                            student.getInterestSet().stream()
+                                    .map(Interest::getStudentInterest)
+                                    .collect(Collectors.toList()))
+                    .containsExactly(INTEREST);
+            assertThat(student.getGroupList()).hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.ModalInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
+import net.dv8tion.jda.api.interactions.commands.SlashCommandInteraction;
+import net.dv8tion.jda.api.interactions.components.buttons.ButtonInteraction;
+import net.dv8tion.jda.api.interactions.components.selections.StringSelectInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalInteraction;
+import net.dv8tion.jda.api.interactions.modals.ModalMapping;
+import net.dv8tion.jda.api.utils.data.DataObject;
+
+/**
+ * Builds the interaction events Discord would deliver for one user, backed by {@link DeepStub}s so
+ * handlers can read them and reply to them without a gateway connection.
+ */
+final class Interactions {
+    // Text input components, see Component.Type
+    private static final int TEXT_INPUT = 4;
+
+    private final JDA jda;
+    private final AtomicLong responseNumber = new AtomicLong();
+
+    Interactions(@Nonnull JDA jda) {
+        this.jda = jda;
+    }
+
+    SlashCommandInteractionEvent slash(@Nonnull String discordUserId, @Nonnull String name) {
+        Map<String, Function<Object[], Object>> answers = common(discordUserId);
+        answers.put("getName", args -> name);
+        return new SlashCommandInteractionEvent(
+                jda,
+                responseNumber.incrementAndGet(),
+                DeepStub.of(SlashCommandInteraction.class, answers));
+    }
+
+    ButtonInteractionEvent button(@Nonnull String discordUserId, @Nonnull String componentId) {
+        Map<String, Function<Object[], Object>> answers = common(discordUserId);
+        answers.put("getComponentId", args -> componentId);
+        return new ButtonInteractionEvent(
+                jda,
+                responseNumber.incrementAndGet(),
+                DeepStub.of(ButtonInteraction.class, answers));
+    }
+
+    StringSelectInteractionEvent select(
+            @Nonnull String discordUserId, @Nonnull String menuId, @Nonnull List<String> values) {
+        Map<String, Function<Object[], Object>> answers = common(discordUserId);
+        answers.put("getComponentId", args -> menuId);
+        answers.put("getValues", args -> values);
+        return new StringSelectInteractionEvent(
+                jda,
+                responseNumber.incrementAndGet(),
+                DeepStub.of(StringSelectInteraction.class, answers));
+    }
+
+    ModalInteractionEvent modal(
+            @Nonnull String discordUserId,
+            @Nonnull String modalId,
+            @Nonnull Map<String, String> values) {
+        List<ModalMapping> mappings =
+                values.entrySet().stream()
+                        .map(
+                                entry ->
+                                        new ModalMapping(
+                                                DataObject.empty()
+                                                        .put("custom_id", entry.getKey())
+                                                        .put("value", entry.getValue())
+                                                        .put("type", TEXT_INPUT)))
+                        .collect(Collectors.toList());
+        Map<String, Function<Object[], Object>> answers = common(discordUserId);
+        answers.put("getModalId", args -> modalId);
+        answers.put("getValues", args -> mappings);
+        answers.put(
+                "getValue",
+                args ->
+                        mappings.stream()
+                                .filter(mapping -> mapping.getId().equals(args[0]))
+                                .findFirst()
+                                .orElse(null));
+        return new ModalInteractionEvent(
+                jda,
+                responseNumber.incrementAndGet(),
+                DeepStub.of(ModalInteraction.class, answers));
+    }
+
+    private Map<String, Function<Object[], Object>> common(String discordUserId) {
+        Map<String, Function<Object[], Object>> userAnswers = new HashMap<>();
+        userAnswers.put("getId", args -> discordUserId);
+        userAnswers.put("getIdLong", args -> Long.parseLong(discordUserId));
+        User user = DeepStub.of(User.class, userAnswers);
+
+        Map<String, Function<Object[], Object>> answers = new HashMap<>();
+        answers.put("getUser", args -> user);
+        answers.put("getJDA", args -> jda);
+        return answers;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * Replays a script of interactions for many users through an event listener and measures how long
+ * the listener takes to handle each one.
+ *
+ * <p>Users advance through the script together, one step at a time, so every step runs against
+ * repositories already holding everyone's earlier steps. Events are delivered on the calling
+ * thread, as JDA does with its default single event thread, and each event is built before its
+ * timer starts so only handling is measured.
+ */
+final class LoadHarness {
+    // Discord snowflakes are numeric, and handlers may parse them
+    private static final long FIRST_USER_ID = 100_000_000_000_000_000L;
+
+    /** One interaction in the script, built for a given user. */
+    @Value
+    static class Step {
+        String name;
+        Function<String, GenericEvent> event;
+    }
+
+    private final EventListener listener;
+    private final List<Step> script = new ArrayList<>();
+    private long nextUserId = FIRST_USER_ID;
+
+    LoadHarness(@Nonnull EventListener listener) {
+        this.listener = listener;
+    }
+
+    LoadHarness step(@Nonnull String name, @Nonnull Function<String, GenericEvent> event) {
+        script.add(new Step(name, event));
+        return this;
+    }
+
+    /**
+     * Run the script for new users and discard the measurements, so the run that follows is not
+     * dominated by class loading and the JIT.
+     */
+    void warmUp(int users) {
+        play(newUsers(users), new LoadReport.Recorder());
+    }
+
+    /**
+     * Run the script for new users.
+     *
+     * @param users how many users to simulate
+     * @return what the run measured, along with the ids of the simulated users
+     */
+    LoadReport run(int users) {
+        List<String> userIds = newUsers(users);
+        LoadReport.Recorder recorder = new LoadReport.Recorder();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        play(userIds, recorder);
+        long elapsedNanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return recorder.report(userIds, elapsedNanos, allocated);
+    }
+
+    private List<String> newUsers(int users) {
+        List<String> userIds = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userIds.add(Long.toString(nextUserId++));
+        }
+        return userIds;
+    }
+
+    private void play(List<String> userIds, LoadReport.Recorder recorder) {
+        for (Step step : script) {
+            for (String userId : userIds) {
+                GenericEvent event = step.getEvent().apply(userId);
+                long start = System.nanoTime();
+                listener.onEvent(event);
+                recorder.record(step.getName(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    /** Bytes allocated by this thread so far, or -1 if the JVM cannot tell. */
+    private static long allocatedBytes() {
+        var threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            var hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+            if (hotspotThreads.isThreadAllocatedMemorySupported()
+                    && hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+                return hotspotThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
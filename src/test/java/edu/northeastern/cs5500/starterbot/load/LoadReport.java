@@ -0,0 +1,98 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+/** What one {@link LoadHarness} run measured. Latencies are in microseconds. */
+@Value
+class LoadReport {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    List<String> userIds;
+    long elapsedNanos;
+    /** Bytes allocated by the delivering thread, or -1 if the JVM cannot tell. */
+    long allocatedBytes;
+
+    Histogram latency;
+    Map<String, Histogram> latencyByStep;
+
+    long getInteractions() {
+        return latency.getTotalCount();
+    }
+
+    double getThroughputPerSecond() {
+        return getInteractions() / seconds();
+    }
+
+    long getP50Micros() {
+        return latency.getValueAtPercentile(50);
+    }
+
+    long getP99Micros() {
+        return latency.getValueAtPercentile(99);
+    }
+
+    /** Megabytes allocated per second of the run, or -1 if the JVM cannot tell. */
+    double getAllocationRateMbPerSecond() {
+        return allocatedBytes < 0 ? -1 : allocatedBytes / 1e6 / seconds();
+    }
+
+    private double seconds() {
+        return Math.max(elapsedNanos, 1) / 1e9;
+    }
+
+    /** A table of the run for the test log. */
+    String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(
+                String.format(
+                        "%d interactions from %d users in %d ms: %.0f/s, p50 %d us, p99 %d us,"
+                                + " %.1f MB/s allocated (%d B per interaction)%n",
+                        getInteractions(),
+                        userIds.size(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        getThroughputPerSecond(),
+                        getP50Micros(),
+                        getP99Micros(),
+                        getAllocationRateMbPerSecond(),
+                        allocatedBytes < 0 ? -1 : allocatedBytes / Math.max(getInteractions(), 1)));
+        for (Map.Entry<String, Histogram> step : latencyByStep.entrySet()) {
+            report.append(
+                    String.format(
+                            "  %-24s p50 %6d us  p99 %6d us  max %6d us%n",
+                            step.getKey(),
+                            step.getValue().getValueAtPercentile(50),
+                            step.getValue().getValueAtPercentile(99),
+                            step.getValue().getMaxValue()));
+        }
+        return report.toString();
+    }
+
+    /** Collects latencies while a run is in progress. */
+    static class Recorder {
+        private final Histogram latency = new Histogram(SIGNIFICANT_DIGITS);
+        private final Map<String, Histogram> latencyByStep = new LinkedHashMap<>();
+
+        void record(String step, long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            latency.recordValue(micros);
+            latencyByStep
+                    .computeIfAbsent(step, name -> new Histogram(SIGNIFICANT_DIGITS))
+                    .recordValue(micros);
+        }
+
+        LoadReport report(List<String> userIds, long elapsedNanos, long allocatedBytes) {
+            return new LoadReport(
+                    List.copyOf(userIds),
+                    elapsedNanos,
+                    allocatedBytes,
+                    latency,
+                    Collections.unmodifiableMap(latencyByStep));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import dagger.Component;
+import edu.northeastern.cs5500.starterbot.command.CommandModule;
+import edu.northeastern.cs5500.starterbot.controller.DomainEventSubscribers;
+import edu.northeastern.cs5500.starterbot.controller.InterestController;
+import edu.northeastern.cs5500.starterbot.controller.StudentController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
+import edu.northeastern.cs5500.starterbot.listener.MessageListener;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.seeder.InterestSeeder;
+import edu.northeastern.cs5500.starterbot.service.SessionModule;
+import javax.inject.Singleton;
+import net.dv8tion.jda.api.JDA;
+
+/** The bot's real command graph wired to {@link LoadTestModule} instead of MongoDB and Discord. */
+@Component(
+        modules = {
+            CommandModule.class,
+            LoadTestModule.class,
+            SessionModule.class,
+        })
+@Singleton
+interface LoadTestComponent {
+    MessageListener messageListener();
+
+    DomainEventSubscribers domainEventSubscribers();
+
+    JDA jda();
+
+    InterestSeeder interestSeeder();
+
+    InterestController interestController();
+
+    StudentController studentController();
+
+    StudyGroupController studyGroupController();
+
+    GenericRepository<StudyGroup> studyGroupRepository();
+}
@@ -0,0 +1,159 @@
+package edu.northeastern.cs5500.starterbot.load;
+
+import dagger.Module;
+import dagger.Provides;
+import edu.northeastern.cs5500.starterbot.model.*;
+import edu.northeastern.cs5500.starterbot.repository.AffinityStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.AsyncGenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.AsyncRepositoryAdapter;
+import edu.northeastern.cs5500.starterbot.repository.CachingStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.GenericRepository;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.IndexedStudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.repository.StudyGroupRecommender;
+import edu.northeastern.cs5500.starterbot.service.DirectMessageGateway;
+import edu.northeastern.cs5500.starterbot.service.FakeOpenTelemetryService;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import javax.inject.Singleton;
+import net.dv8tion.jda.api.JDA;
+
+/**
+ * Stands in for RepositoryModule and ServiceModule under load: every repository is in memory, and
+ * JDA and the direct message gateway are {@link DeepStub}s, so a run measures the bot's own code
+ * rather than MongoDB or Discord.
+ */
+@Module
+public class LoadTestModule {
+    @Provides
+    @Singleton
+    public GenericRepository<Student> provideStudentRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public AsyncGenericRepository<Student> provideAsyncStudentRepository(
+            GenericRepository<Student> repository) {
+        return new AsyncRepositoryAdapter<>(repository);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<StudyGroup> provideStudyGroupRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public AsyncGenericRepository<StudyGroup> provideAsyncStudyGroupRepository(
+            GenericRepository<StudyGroup> repository) {
+        return new AsyncRepositoryAdapter<>(repository);
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Interest> provideInterestRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<GroupApplication> provideGroupApplicationRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Room> provideRoomRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    public GenericRepository<AbstractMeeting> provideAbstractMeetingRepository(
+            InMemoryRepository<AbstractMeeting> repository) {
+        return repository;
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<OnlineMeeting> provideOnlineMeetingRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<InPersonMeeting> provideInPersonMeetingRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Booking> provideBookingRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<Reminder> provideReminderRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<StudentDashboard> provideStudentDashboardRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<GroupAffinity> provideGroupAffinityRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public GenericRepository<OutboxEntry> provideOutboxEntryRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    @Provides
+    @Singleton
+    public OpenTelemetry provideOpenTelemetry() {
+        return new FakeOpenTelemetryService();
+    }
+
+    @Provides
+    @Singleton
+    public JDA provideJDA() {
+        return DeepStub.of(JDA.class);
+    }
+
+    @Provides
+    @Singleton
+    public DirectMessageGateway provideDirectMessageGateway() {
+        return DeepStub.of(DirectMessageGateway.class);
+    }
+
+    @Provides
+    @Singleton
+    public StudyGroupRecommender provideStudyGroupRecommender(
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository) {
+        return new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository);
+    }
+
+    @Provides
+    @Singleton
+    public CachingStudyGroupRecommender provideCachingStudyGroupRecommender(
+            StudyGroupRecommender studyGroupRecommender,
+            GenericRepository<GroupAffinity> groupAffinityRepository,
+            GenericRepository<StudyGroup> studyGroupRepository,
+            GenericRepository<Student> studentRepository) {
+        return new CachingStudyGroupRecommender(
+                new AffinityStudyGroupRecommender(
+                        studyGroupRecommender,
+                        groupAffinityRepository,
+                        studyGroupRepository,
+                        studentRepository));
+    }
+}
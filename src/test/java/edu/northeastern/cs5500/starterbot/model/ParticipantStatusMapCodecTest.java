@@ -0,0 +1,122 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.List;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class ParticipantStatusMapCodecTest {
+    private final ParticipantStatusMapCodec codec = new ParticipantStatusMapCodec();
+
+    private BsonDocument encode(ParticipantStatusMap participants) {
+        BsonDocument document = new BsonDocument();
+        BsonDocumentWriter writer = new BsonDocumentWriter(document);
+        writer.writeStartDocument();
+        writer.writeName("participants");
+        codec.encode(writer, participants, EncoderContext.builder().build());
+        writer.writeEndDocument();
+        return document;
+    }
+
+    private ParticipantStatusMap decode(BsonDocument document) {
+        BsonDocumentReader reader = new BsonDocumentReader(document);
+        reader.readStartDocument();
+        reader.readBsonType();
+        reader.readName();
+        return codec.decode(reader, DecoderContext.builder().build());
+    }
+
+    @Test
+    void testRoundTrip() {
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        participants.put(new ObjectId(), AbstractMeeting.Status.ACCEPT);
+        participants.put(new ObjectId(), AbstractMeeting.Status.DECLINE);
+        participants.put(new ObjectId(), AbstractMeeting.Status.TENTATIVE);
+
+        BsonDocument document = encode(participants);
+
+        assertThat(document.get("participants").getBsonType()).isEqualTo(BsonType.BINARY);
+        assertThat(document.getBinary("participants").getData()).hasLength(3 * 13);
+        ParticipantStatusMap decoded = decode(document);
+        assertThat(decoded).isEqualTo(participants);
+        assertThat(decoded.count(AbstractMeeting.Status.DECLINE)).isEqualTo(1);
+    }
+
+    @Test
+    void testEmptyRoundTrip() {
+        ParticipantStatusMap empty = new ParticipantStatusMap();
+
+        assertThat(decode(encode(empty))).isEqualTo(empty);
+    }
+
+    @Test
+    void testDecodesLegacyDocument() {
+        ObjectId studentId = new ObjectId();
+        BsonDocument legacy =
+                new BsonDocument(
+                        "participants",
+                        new BsonDocument(studentId.toHexString(), new BsonString("DECLINE")));
+
+        ParticipantStatusMap decoded = decode(legacy);
+
+        assertThat(decoded.size()).isEqualTo(1);
+        assertThat(decoded.get(studentId)).isEqualTo(AbstractMeeting.Status.DECLINE);
+    }
+
+    @Test
+    void testRejectsTruncatedData() {
+        BsonDocument document = new BsonDocument("participants", new BsonBinary(new byte[14]));
+
+        assertThrows(IllegalStateException.class, () -> decode(document));
+    }
+
+    @Test
+    void testMeetingRoundTripThroughRegistry() {
+        ObjectId studentId = new ObjectId();
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        participants.put(studentId, AbstractMeeting.Status.ACCEPT);
+        OnlineMeeting meeting =
+                OnlineMeeting.builder()
+                        .id(new ObjectId())
+                        .topic("Graphs")
+                        .frequency(Frequency.ONETIME)
+                        .timeSlots(
+                                List.of(
+                                        TimeSlot.builder()
+                                                .day(DayOfWeek.MONDAY)
+                                                .start(Instant.parse("2024-01-08T10:00:00Z"))
+                                                .end(Instant.parse("2024-01-08T11:00:00Z"))
+                                                .build()))
+                        .studyGroup(new ObjectId())
+                        .organizer(studentId)
+                        .meetingLink("https://example.com/meet")
+                        .participants(participants)
+                        .build();
+        Codec<OnlineMeeting> meetingCodec =
+                MongoDBService.getCodecRegistry().get(OnlineMeeting.class);
+
+        BsonDocument document = new BsonDocument();
+        meetingCodec.encode(
+                new BsonDocumentWriter(document), meeting, EncoderContext.builder().build());
+        OnlineMeeting decoded =
+                meetingCodec.decode(
+                        new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        assertThat(document.get("participants").getBsonType()).isEqualTo(BsonType.BINARY);
+        assertThat(decoded.getParticipants()).isEqualTo(participants);
+    }
+}
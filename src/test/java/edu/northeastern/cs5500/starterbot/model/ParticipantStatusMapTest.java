@@ -0,0 +1,117 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class ParticipantStatusMapTest {
+
+    @Test
+    void testPutGetAndReplace() {
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        ObjectId studentId = new ObjectId();
+
+        assertThat(participants.put(studentId, AbstractMeeting.Status.TENTATIVE)).isNull();
+        assertThat(participants.get(studentId)).isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.put(studentId, AbstractMeeting.Status.ACCEPT))
+                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.get(studentId)).isEqualTo(AbstractMeeting.Status.ACCEPT);
+        assertThat(participants.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testMissingStudent() {
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        participants.put(new ObjectId(), AbstractMeeting.Status.ACCEPT);
+        ObjectId stranger = new ObjectId();
+
+        assertThat(participants.containsKey(stranger)).isFalse();
+        assertThat(participants.get(stranger)).isNull();
+        assertThat(participants.getOrDefault(stranger, AbstractMeeting.Status.TENTATIVE))
+                .isEqualTo(AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.remove(stranger)).isNull();
+        assertThat(participants.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testCountsFollowEveryChange() {
+        ParticipantStatusMap participants = new ParticipantStatusMap();
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        participants.put(first, AbstractMeeting.Status.TENTATIVE);
+        participants.put(second, AbstractMeeting.Status.TENTATIVE);
+        assertThat(participants.count(AbstractMeeting.Status.TENTATIVE)).isEqualTo(2);
+
+        participants.put(first, AbstractMeeting.Status.DECLINE);
+        assertThat(participants.count(AbstractMeeting.Status.TENTATIVE)).isEqualTo(1);
+        assertThat(participants.count(AbstractMeeting.Status.DECLINE)).isEqualTo(1);
+
+        participants.remove(second);
+        assertThat(participants.count(AbstractMeeting.Status.TENTATIVE)).isEqualTo(0);
+        assertThat(participants.count(AbstractMeeting.Status.ACCEPT)).isEqualTo(0);
+        assertThat(participants.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomChanges() {
+        Random random = new Random(42);
+        List<ObjectId> studentIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Random bytes so ids differ in every position, including the sign bits
+            byte[] bytes = new byte[12];
+            random.nextBytes(bytes);
+            studentIds.add(new ObjectId(bytes));
+        }
+        AbstractMeeting.Status[] statuses = AbstractMeeting.Status.values();
+        ParticipantStatusMap participants = new ParticipantStatusMap(1);
+        Map<ObjectId, AbstractMeeting.Status> expected = new HashMap<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            ObjectId studentId = studentIds.get(random.nextInt(studentIds.size()));
+            if (random.nextInt(4) == 0) {
+                assertThat(participants.remove(studentId)).isEqualTo(expected.remove(studentId));
+            } else {
+                AbstractMeeting.Status status = statuses[random.nextInt(statuses.length)];
+                assertThat(participants.put(studentId, status))
+                        .isEqualTo(expected.put(studentId, status));
+            }
+        }
+
+        assertThat(participants.size()).isEqualTo(expected.size());
+        for (ObjectId studentId : studentIds) {
+            assertThat(participants.get(studentId)).isEqualTo(expected.get(studentId));
+        }
+        for (AbstractMeeting.Status status : statuses) {
+            assertThat(participants.count(status))
+                    .isEqualTo(Collections.frequency(expected.values(), status));
+        }
+        List<ObjectId> sorted = new ArrayList<>(expected.keySet());
+        Collections.sort(sorted);
+        assertThat(participants.getStudentIds()).isEqualTo(sorted);
+    }
+
+    @Test
+    void testEqualityIgnoresInsertionOrderAndCapacity() {
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        ParticipantStatusMap one = new ParticipantStatusMap(1);
+        one.put(first, AbstractMeeting.Status.ACCEPT);
+        one.put(second, AbstractMeeting.Status.DECLINE);
+        ParticipantStatusMap other = new ParticipantStatusMap(64);
+        other.put(second, AbstractMeeting.Status.DECLINE);
+        other.put(first, AbstractMeeting.Status.ACCEPT);
+
+        assertThat(one).isEqualTo(other);
+        assertThat(one.hashCode()).isEqualTo(other.hashCode());
+
+        other.put(first, AbstractMeeting.Status.TENTATIVE);
+        assertThat(one).isNotEqualTo(other);
+    }
+}
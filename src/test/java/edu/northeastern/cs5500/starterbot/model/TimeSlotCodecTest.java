@@ -0,0 +1,97 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.util.Set;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+class TimeSlotCodecTest {
+    private static final TimeSlot SLOT =
+            TimeSlot.builder()
+                    .day(DayOfWeek.MONDAY)
+                    .start(Instant.parse("2024-01-08T10:00:00Z"))
+                    .end(Instant.parse("2024-01-08T11:00:00Z"))
+                    .build();
+
+    private final TimeSlotCodec codec = new TimeSlotCodec();
+
+    private BsonDocument encode(TimeSlot timeSlot) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), timeSlot, EncoderContext.builder().build());
+        return document;
+    }
+
+    private TimeSlot decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    void testRoundTrip() {
+        BsonDocument document = encode(SLOT);
+
+        assertThat(document.get("day").getBsonType()).isEqualTo(BsonType.INT32);
+        assertThat(document.getInt32("day").getValue()).isEqualTo(1);
+        assertThat(document.get("start").getBsonType()).isEqualTo(BsonType.INT64);
+        assertThat(document.getInt64("start").getValue())
+                .isEqualTo(SLOT.getStart().getEpochSecond());
+        assertThat(decode(document)).isEqualTo(SLOT);
+    }
+
+    @Test
+    void testDecodesLegacyDocument() {
+        // Meetings wrote the day as an enum name, availability as a display name
+        BsonDocument legacy =
+                new BsonDocument("day", new BsonString("Monday"))
+                        .append("start", new BsonDateTime(SLOT.getStart().toEpochMilli()))
+                        .append("end", new BsonDateTime(SLOT.getEnd().toEpochMilli()));
+
+        assertThat(decode(legacy)).isEqualTo(SLOT);
+
+        legacy.put("day", new BsonString("MONDAY"));
+
+        assertThat(decode(legacy)).isEqualTo(SLOT);
+    }
+
+    @Test
+    void testRejectsDocumentWithoutDay() {
+        BsonDocument document = encode(SLOT);
+        document.remove("day");
+
+        assertThrows(IllegalStateException.class, () -> decode(document));
+    }
+
+    @Test
+    void testRoomRoundTripThroughRegistry() {
+        Room room =
+                Room.builder()
+                        .location("Snell Library 001")
+                        .capacity(4)
+                        .bookedSlots(Set.of(SLOT))
+                        .build();
+        Codec<Room> roomCodec = MongoDBService.getCodecRegistry().get(Room.class);
+
+        BsonDocument document = new BsonDocument();
+        roomCodec.encode(new BsonDocumentWriter(document), room, EncoderContext.builder().build());
+        Room decoded =
+                roomCodec.decode(
+                        new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        BsonDocument slot = document.getArray("bookedSlots").get(0).asDocument();
+        assertThat(slot.get("day")).isEqualTo(new BsonInt32(1));
+        assertThat(decoded.getBookedSlots()).containsExactly(SLOT);
+    }
+}
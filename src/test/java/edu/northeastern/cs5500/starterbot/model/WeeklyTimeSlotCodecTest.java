@@ -0,0 +1,105 @@
+package edu.northeastern.cs5500.starterbot.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.junit.jupiter.api.Test;
+
+class WeeklyTimeSlotCodecTest {
+    private static final WeeklyTimeSlot SLOT =
+            WeeklyTimeSlot.of(DayOfWeek.MONDAY, LocalTime.parse("10:00"), LocalTime.parse("11:00"));
+
+    private final WeeklyTimeSlotCodec codec = new WeeklyTimeSlotCodec();
+
+    private BsonDocument encode(WeeklyTimeSlot timeSlot) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), timeSlot, EncoderContext.builder().build());
+        return document;
+    }
+
+    private WeeklyTimeSlot decode(BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    @Test
+    void testRoundTrip() {
+        BsonDocument document = encode(SLOT);
+
+        assertThat(document.getInt32("day").getValue()).isEqualTo(1);
+        assertThat(document.get("startMinute").getBsonType()).isEqualTo(BsonType.INT32);
+        assertThat(document.getInt32("startMinute").getValue()).isEqualTo(600);
+        assertThat(document.getInt32("endMinute").getValue()).isEqualTo(660);
+        assertThat(decode(document)).isEqualTo(SLOT);
+    }
+
+    @Test
+    void testDecodesLegacyTimeSlotDocument() {
+        // Availability was stored as dated time slots, first as display names and dates
+        Instant start = Instant.parse("2024-01-08T10:00:00Z");
+        Instant end = Instant.parse("2024-01-08T11:00:00Z");
+        BsonDocument legacy =
+                new BsonDocument("day", new BsonString("Monday"))
+                        .append("start", new BsonDateTime(start.toEpochMilli()))
+                        .append("end", new BsonDateTime(end.toEpochMilli()));
+
+        assertThat(decode(legacy)).isEqualTo(SLOT);
+
+        // then as an ISO day and epoch seconds
+        legacy =
+                new BsonDocument("day", new BsonInt32(1))
+                        .append("start", new BsonInt64(start.getEpochSecond()))
+                        .append("end", new BsonInt64(end.getEpochSecond()));
+
+        assertThat(decode(legacy)).isEqualTo(SLOT);
+    }
+
+    @Test
+    void testRejectsDocumentWithoutDay() {
+        BsonDocument document = encode(SLOT);
+        document.remove("day");
+
+        assertThrows(IllegalStateException.class, () -> decode(document));
+    }
+
+    @Test
+    void testStudentRoundTripThroughRegistry() {
+        Student student =
+                Student.builder()
+                        .displayName("Ada")
+                        .email("ada@northeastern.edu")
+                        .discordUserId("1234")
+                        .availability(new ArrayList<>(List.of(SLOT)))
+                        .interestSet(new HashSet<>())
+                        .build();
+        Codec<Student> studentCodec = MongoDBService.getCodecRegistry().get(Student.class);
+
+        BsonDocument document = new BsonDocument();
+        studentCodec.encode(
+                new BsonDocumentWriter(document), student, EncoderContext.builder().build());
+        Student decoded =
+                studentCodec.decode(
+                        new BsonDocumentReader(document), DecoderContext.builder().build());
+
+        BsonDocument slot = document.getArray("availability").get(0).asDocument();
+        assertThat(slot.get("startMinute")).isEqualTo(new BsonInt32(600));
+        assertThat(decoded.getAvailability()).containsExactly(SLOT);
+    }
+}
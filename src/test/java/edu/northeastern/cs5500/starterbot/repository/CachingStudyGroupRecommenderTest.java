@@ -0,0 +1,156 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.GroupAffinity;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class CachingStudyGroupRecommenderTest {
+    private final InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+    private final List<ObjectId> computedFor = new ArrayList<>();
+    private final StudyGroupRecommender counting =
+            student -> {
+                computedFor.add(student.getId());
+                return new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository)
+                        .recommend(student);
+            };
+
+    private static Interest interest(String name) {
+        return Interest.builder()
+                .studentInterest(name)
+                .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                .build();
+    }
+
+    private StudyGroup addGroup(String name, Interest interest) {
+        return studyGroupRepository.add(
+                StudyGroup.builder()
+                        .name(name)
+                        .interestSet(Set.of(interest))
+                        .description(name)
+                        .autoApprove(true)
+                        .maxMembers(10)
+                        .groupLeaderId(new ObjectId())
+                        .customCriteria("")
+                        .build());
+    }
+
+    private Student addStudent(String discordUserId, Interest interest) {
+        return studentRepository.add(
+                Student.builder()
+                        .displayName(discordUserId)
+                        .email(discordUserId + "@northeastern.edu")
+                        .availability(new ArrayList<>())
+                        .discordUserId(discordUserId)
+                        .interestSet(Set.of(interest))
+                        .build());
+    }
+
+    /** Test that asking again is answered from the cache until the student is invalidated */
+    @Test
+    void testRepeatedRecommendationsAreCached() {
+        Interest java = interest("Java");
+        StudyGroup group = addGroup("Java", java);
+        Student student = addStudent("1", java);
+        CachingStudyGroupRecommender recommender = new CachingStudyGroupRecommender(counting);
+
+        assertThat(recommender.recommend(student)).containsExactly(group);
+        assertThat(recommender.recommend(student)).containsExactly(group);
+        assertThat(computedFor).hasSize(1);
+
+        recommender.invalidateStudent(student.getId());
+        recommender.recommend(student);
+
+        assertThat(computedFor).hasSize(2);
+    }
+
+    /** Test that a group only drops students it was recommended to or shares an interest with */
+    @Test
+    void testGroupInvalidationIsTargeted() {
+        Interest java = interest("Java");
+        Interest python = interest("Python");
+        StudyGroup javaGroup = addGroup("Java", java);
+        Student javaStudent = addStudent("1", java);
+        Student pythonStudent = addStudent("2", python);
+        CachingStudyGroupRecommender recommender = new CachingStudyGroupRecommender(counting);
+        recommender.recommend(javaStudent);
+        recommender.recommend(pythonStudent);
+
+        StudyGroup newPythonGroup = addGroup("Python", python);
+        recommender.invalidateGroup(newPythonGroup);
+
+        assertThat(recommender.isCached(javaStudent.getId())).isTrue();
+        assertThat(recommender.isCached(pythonStudent.getId())).isFalse();
+        assertThat(recommender.recommend(pythonStudent)).containsExactly(newPythonGroup);
+
+        // The group no longer shares the student's interest, but was recommended to them
+        javaGroup.setInterestSet(Set.of(python));
+        studyGroupRepository.update(javaGroup);
+        recommender.invalidateGroup(javaGroup);
+
+        assertThat(recommender.isCached(javaStudent.getId())).isFalse();
+        assertThat(recommender.recommend(javaStudent)).isEmpty();
+    }
+
+    /** Test that groups blended in from affinities are cached and invalidated like the others */
+    @Test
+    void testBlendedAffinitiesAreCached() {
+        Interest java = interest("Java");
+        StudyGroup javaGroup = addGroup("Java", java);
+        StudyGroup pythonGroup = addGroup("Python", interest("Python"));
+        Student student = addStudent("1", java);
+        InMemoryRepository<GroupAffinity> groupAffinityRepository = new InMemoryRepository<>();
+        groupAffinityRepository.add(
+                GroupAffinity.builder()
+                        .id(student.getId())
+                        .groups(List.of(new GroupAffinity.ScoredGroup(pythonGroup.getId(), 1.0)))
+                        .build());
+        CachingStudyGroupRecommender recommender =
+                new CachingStudyGroupRecommender(
+                        new AffinityStudyGroupRecommender(
+                                counting,
+                                groupAffinityRepository,
+                                studyGroupRepository,
+                                studentRepository));
+
+        assertThat(recommender.recommend(student)).containsExactly(javaGroup, pythonGroup);
+        groupAffinityRepository.delete(student.getId());
+        assertThat(recommender.recommend(student)).containsExactly(javaGroup, pythonGroup);
+        assertThat(computedFor).hasSize(1);
+
+        // The blended group was recommended to the student, so it drops them when it changes
+        recommender.invalidateGroup(pythonGroup);
+        assertThat(recommender.isCached(student.getId())).isFalse();
+        assertThat(recommender.recommend(student)).containsExactly(javaGroup);
+
+        recommender.invalidateAll();
+        assertThat(recommender.isCached(student.getId())).isFalse();
+    }
+
+    /** Test that the least recently used student is evicted beyond the size limit */
+    @Test
+    void testLeastRecentlyUsedStudentIsEvicted() {
+        Interest java = interest("Java");
+        Student first = addStudent("1", java);
+        Student second = addStudent("2", java);
+        Student third = addStudent("3", java);
+        CachingStudyGroupRecommender recommender = new CachingStudyGroupRecommender(counting, 2);
+        recommender.recommend(first);
+        recommender.recommend(second);
+        recommender.recommend(first);
+
+        recommender.recommend(third);
+
+        assertThat(recommender.isCached(first.getId())).isTrue();
+        assertThat(recommender.isCached(second.getId())).isFalse();
+        assertThat(recommender.isCached(third.getId())).isTrue();
+    }
+}
@@ -0,0 +1,309 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileRepositoryTest extends GenericRepositoryConformanceTest {
+    @TempDir Path directory;
+
+    FileRepository<Interest> opened;
+
+    private FileRepository<Interest> open(long minCompactionBytes) {
+        close();
+        opened =
+                new FileRepository<>(
+                        Interest.class,
+                        directory,
+                        MongoDBService.getCodecRegistry(),
+                        false,
+                        minCompactionBytes);
+        return opened;
+    }
+
+    private FileRepository<Interest> reopen() {
+        return open(FileRepository.MIN_COMPACTION_BYTES);
+    }
+
+    private Path journalPath() {
+        return directory.resolve(Interest.class.getName() + FileRepository.JOURNAL_SUFFIX);
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(Interest.class.getName() + FileRepository.SNAPSHOT_SUFFIX);
+    }
+
+    @Override
+    GenericRepository<Interest> newRepository() {
+        return reopen();
+    }
+
+    @AfterEach
+    void close() {
+        if (opened == null) {
+            return;
+        }
+        try {
+            opened.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        opened = null;
+    }
+
+    @Test
+    void testReopenRecoversWrites() {
+        Interest kept = repository.add(interest("Java"));
+        Interest deleted = repository.add(interest("Rust"));
+        Interest renamed = new Interest(kept.getId(), "Kotlin", kept.getCategory());
+        repository.update(renamed);
+        repository.delete(deleted.getId());
+
+        FileRepository<Interest> recovered = reopen();
+
+        assertThat(recovered.getAll()).containsExactly(renamed);
+        assertThat(recovered.findBy(KEY_FIELD, Interest::getStudentInterest, "Kotlin"))
+                .containsExactly(renamed);
+    }
+
+    @Test
+    void testReopenRecoversBatchedUpdates() {
+        Interest kept = repository.add(interest("Java"));
+        Interest renamed = new Interest(kept.getId(), "Kotlin", kept.getCategory());
+        Interest added = interest("Rust");
+        repository.updateAll(List.of(renamed, added));
+
+        assertThat(reopen().getAll()).containsExactly(renamed, added);
+    }
+
+    @Test
+    void testFailedBatchIsCutOffJournal() throws IOException {
+        Interest kept = repository.add(interest("Java"));
+        long goodBytes = Files.size(journalPath());
+        FileChannel journal = opened.journal;
+        opened.journal = new FailingChannel(journal, false);
+
+        assertThrows(
+                UncheckedIOException.class,
+                () -> repository.updateAll(List.of(interest("Rust"), interest("Go"))));
+        assertThat(Files.size(journalPath())).isEqualTo(goodBytes);
+
+        opened.journal = journal;
+        assertThat(reopen().getAll()).containsExactly(kept);
+    }
+
+    @Test
+    void testReopenDropsTornRecord() throws IOException {
+        Interest kept = repository.add(interest("Java"));
+        repository.add(interest("Rust"));
+        close();
+
+        // Cut the last record short, as a crash in the middle of a write would
+        long size = Files.size(journalPath());
+        try (FileChannel journal = FileChannel.open(journalPath(), StandardOpenOption.WRITE)) {
+            journal.truncate(size - 3);
+        }
+
+        FileRepository<Interest> recovered = reopen();
+        assertThat(recovered.getAll()).containsExactly(kept);
+
+        // Writes after recovery follow the last good record
+        Interest added = recovered.add(interest("Go"));
+        assertThat(reopen().getAll()).containsExactly(kept, added);
+    }
+
+    @Test
+    void testReopenDropsRecordWithBadChecksum() throws IOException {
+        Interest kept = repository.add(interest("Java"));
+        long firstRecordEnd = Files.size(journalPath());
+        repository.add(interest("Rust"));
+        close();
+
+        byte[] journal = Files.readAllBytes(journalPath());
+        journal[journal.length - 1] ^= 1;
+        Files.write(journalPath(), journal);
+
+        assertThat(reopen().getAll()).containsExactly(kept);
+        assertThat(Files.size(journalPath())).isEqualTo(firstRecordEnd);
+    }
+
+    @Test
+    void testCompactionReplacesJournalWithSnapshot() {
+        FileRepository<Interest> compacting = open(1);
+
+        Interest first = compacting.add(interest("Java"));
+        Interest second = compacting.add(interest("Rust"));
+        compacting.delete(first.getId());
+
+        assertThat(Files.exists(snapshotPath())).isTrue();
+        assertThat(reopen().getAll()).containsExactly(second);
+    }
+
+    @Test
+    void testCorruptSnapshotFailsToOpen() throws IOException {
+        FileRepository<Interest> compacting = open(1);
+        compacting.add(interest("Java"));
+        close();
+
+        Files.write(snapshotPath(), new byte[] {1, 2}, StandardOpenOption.APPEND);
+
+        assertThrows(UncheckedIOException.class, this::reopen);
+    }
+
+    @Test
+    void testFailedWriteIsCutOffJournal() throws IOException {
+        Interest kept = repository.add(interest("Java"));
+        long goodBytes = Files.size(journalPath());
+        FileChannel journal = opened.journal;
+        opened.journal = new FailingChannel(journal, false);
+
+        assertThrows(UncheckedIOException.class, () -> repository.add(interest("Rust")));
+        assertThat(Files.size(journalPath())).isEqualTo(goodBytes);
+
+        // Once the disk recovers, later writes are not lost behind the torn record
+        opened.journal = journal;
+        Interest added = repository.add(interest("Go"));
+        assertThat(reopen().getAll()).containsExactly(kept, added);
+    }
+
+    @Test
+    void testWritesAreRefusedWhenTornRecordCannotBeCutOff() {
+        repository.add(interest("Java"));
+        FileChannel journal = opened.journal;
+        opened.journal = new FailingChannel(journal, true);
+
+        assertThrows(UncheckedIOException.class, () -> repository.add(interest("Rust")));
+
+        opened.journal = journal;
+        assertThrows(UncheckedIOException.class, () -> repository.add(interest("Go")));
+    }
+
+    /** A journal that takes a few bytes of the first write and then fails, like a full disk. */
+    private static class FailingChannel extends FileChannel {
+        static final int PARTIAL_BYTES = 3;
+
+        final FileChannel delegate;
+        final boolean failTruncate;
+        boolean wrotePart;
+
+        FailingChannel(FileChannel delegate, boolean failTruncate) {
+            this.delegate = delegate;
+            this.failTruncate = failTruncate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (wrotePart) {
+                throw new IOException("No space left on device");
+            }
+            wrotePart = true;
+            ByteBuffer part = src.duplicate();
+            part.limit(part.position() + PARTIAL_BYTES);
+            int written = delegate.write(part);
+            src.position(src.position() + written);
+            return written;
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("I/O error");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void implCloseChannel() {
+            // The repository's own channel is put back and closed by the test
+        }
+    }
+}
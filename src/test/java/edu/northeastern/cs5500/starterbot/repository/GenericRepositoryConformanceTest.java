@@ -0,0 +1,429 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Model;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The behavior every {@link GenericRepository} must share. Each implementation gets a subclass
+ * that supplies an empty repository, and inherits every test here.
+ *
+ * <p>The scaling test is tagged "load" and only runs with {@code ./gradlew loadTest}. It fills the
+ * repository at growing sizes, checks that paging still visits every item exactly once, and logs
+ * the cost of each operation so a rewrite that changes its complexity shows up side by side.
+ */
+@Slf4j
+abstract class GenericRepositoryConformanceTest {
+    static final String KEY_FIELD = "studentInterest";
+    static final int[] SCALING_SIZES = {1_000, 10_000, 50_000};
+    static final int SCALING_LOOKUPS = 1_000;
+    static final int SCALING_PAGE = 100;
+
+    GenericRepository<Interest> repository;
+
+    /** @return an empty repository of interests */
+    abstract GenericRepository<Interest> newRepository();
+
+    @BeforeEach
+    void setUp() {
+        repository = newRepository();
+    }
+
+    static Interest interest(String name) {
+        return new Interest(new ObjectId(), name, Interest.Category.OTHER_TOPICS);
+    }
+
+    private List<Interest> addAll(int count) {
+        List<Interest> added = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            added.add(repository.add(interest("interest" + i)));
+        }
+        return added;
+    }
+
+    private static List<ObjectId> ids(Collection<Interest> items) {
+        return items.stream().map(Model::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testGetMissingReturnsNull() {
+        assertThat(repository.get(new ObjectId())).isNull();
+    }
+
+    @Test
+    void testAddAssignsMissingId() {
+        Interest item = interest("Java");
+        item.setId(null);
+
+        Interest added = repository.add(item);
+
+        assertThat(added).isSameInstanceAs(item);
+        assertThat(added.getId()).isNotNull();
+        assertThat(repository.get(added.getId())).isEqualTo(item);
+    }
+
+    @Test
+    void testAddKeepsGivenId() {
+        Interest item = interest("Java");
+        ObjectId id = item.getId();
+
+        repository.add(item);
+
+        assertThat(item.getId()).isEqualTo(id);
+        assertThat(repository.get(id)).isEqualTo(item);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetManySkipsMissingIds() {
+        List<Interest> added = addAll(3);
+        List<ObjectId> wanted = List.of(added.get(2).getId(), new ObjectId(), added.get(0).getId());
+
+        assertThat(repository.get(wanted)).containsExactly(added.get(2), added.get(0));
+        assertThat(repository.get(List.of())).isEmpty();
+    }
+
+    @Test
+    void testUpdateReturnsNewVersion() {
+        Interest item = repository.add(interest("Java"));
+        Interest changed = new Interest(item.getId(), "Kotlin", item.getCategory());
+
+        Interest updated = repository.update(changed);
+
+        assertThat(updated).isEqualTo(changed);
+        assertThat(repository.get(item.getId())).isEqualTo(changed);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateStoresMissingItem() {
+        Interest item = interest("Java");
+
+        assertThat(repository.update(item)).isEqualTo(item);
+        assertThat(repository.get(item.getId())).isEqualTo(item);
+    }
+
+    @Test
+    void testUpdateAllReplacesAndStoresMissingItems() {
+        Interest item = repository.add(interest("Java"));
+        Interest changed = new Interest(item.getId(), "Kotlin", item.getCategory());
+        Interest missing = interest("Rust");
+
+        repository.updateAll(List.of(changed, missing));
+        repository.updateAll(List.of());
+
+        assertThat(repository.get(item.getId())).isEqualTo(changed);
+        assertThat(repository.get(missing.getId())).isEqualTo(missing);
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Kotlin"))
+                .containsExactly(changed);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testDelete() {
+        List<Interest> added = addAll(2);
+
+        repository.delete(added.get(0).getId());
+        repository.delete(new ObjectId());
+
+        assertThat(repository.get(added.get(0).getId())).isNull();
+        assertThat(repository.getAll()).containsExactly(added.get(1));
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetAllReturnsCopy() {
+        List<Interest> added = addAll(2);
+
+        Collection<Interest> all = repository.getAll();
+        repository.add(interest("later"));
+        repository.delete(added.get(0).getId());
+
+        assertThat(all).containsExactlyElementsIn(added);
+        all.clear();
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpsertAllOnlyInsertsMissingKeys() {
+        Interest existing = repository.add(interest("Java"));
+        Interest duplicate =
+                new Interest(new ObjectId(), "Java", Interest.Category.PROGRAMMING_LANGUAGES);
+        Interest missing = interest("Rust");
+
+        repository.upsertAll(KEY_FIELD, Interest::getStudentInterest, List.of(duplicate, missing));
+        repository.upsertAll(KEY_FIELD, Interest::getStudentInterest, List.of());
+
+        assertThat(repository.get(existing.getId())).isEqualTo(existing);
+        assertThat(repository.get(duplicate.getId())).isNull();
+        assertThat(repository.get(missing.getId())).isEqualTo(missing);
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetPageWalksInIdOrder() {
+        List<Interest> added = addAll(5);
+        added.sort(Comparator.comparing(Model::getId));
+
+        List<Interest> first = repository.getPage(null, 2);
+        List<Interest> second = repository.getPage(first.get(1).getId(), 2);
+        List<Interest> last = repository.getPage(second.get(1).getId(), 2);
+
+        assertThat(first).containsExactly(added.get(0), added.get(1)).inOrder();
+        assertThat(second).containsExactly(added.get(2), added.get(3)).inOrder();
+        assertThat(last).containsExactly(added.get(4));
+        assertThat(repository.getPage(added.get(4).getId(), 2)).isEmpty();
+    }
+
+    @Test
+    void testFindPageFiltersByField() {
+        List<Interest> added = addAll(6);
+        added.sort(Comparator.comparing(Model::getId));
+        List<Object> wanted =
+                List.of(
+                        added.get(1).getStudentInterest(),
+                        added.get(3).getStudentInterest(),
+                        added.get(4).getStudentInterest());
+
+        List<Interest> first =
+                repository.findPage(KEY_FIELD, Interest::getStudentInterest, wanted, null, 2);
+        List<Interest> rest =
+                repository.findPage(
+                        KEY_FIELD,
+                        Interest::getStudentInterest,
+                        wanted,
+                        first.get(1).getId(),
+                        2);
+
+        assertThat(first).containsExactly(added.get(1), added.get(3)).inOrder();
+        assertThat(rest).containsExactly(added.get(4));
+        assertThat(
+                        repository.findPage(
+                                KEY_FIELD, Interest::getStudentInterest, List.of(), null, 2))
+                .isEmpty();
+    }
+
+    @Test
+    void testFindRangeMatchesInIdOrder() {
+        Interest c = repository.add(interest("c"));
+        Interest a = repository.add(interest("a"));
+        Interest d = repository.add(interest("d"));
+        Interest b = repository.add(interest("b"));
+
+        assertThat(
+                        repository.findRange(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                "a",
+                                "d",
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                List.of("c"),
+                                10))
+                .containsExactly(d, b)
+                .inOrder();
+        assertThat(
+                        repository.findRange(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                null,
+                                "b",
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                List.of(),
+                                10))
+                .containsExactly(a, b)
+                .inOrder();
+        assertThat(
+                        repository.findRange(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                null,
+                                null,
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                List.of(),
+                                2))
+                .containsExactly(c, a)
+                .inOrder();
+    }
+
+    @Test
+    void testFindRangePerValueLimitsEachValue() {
+        Interest a = repository.add(interest("a"));
+        Interest b = repository.add(interest("b"));
+        repository.add(interest("c"));
+        Interest java =
+                repository.add(
+                        new Interest(
+                                new ObjectId(), "d", Interest.Category.PROGRAMMING_LANGUAGES));
+        Interest core =
+                repository.add(new Interest(new ObjectId(), "e", Interest.Category.COURSE_CORE));
+
+        assertThat(
+                        repository.findRangePerValue(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                null,
+                                "d",
+                                "category",
+                                Interest::getCategory,
+                                List.of(),
+                                2))
+                .containsExactly(a, b, java)
+                .inOrder();
+        assertThat(
+                        repository.findRangePerValue(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                "a",
+                                null,
+                                "category",
+                                Interest::getCategory,
+                                List.of(Interest.Category.PROGRAMMING_LANGUAGES),
+                                1))
+                .containsExactly(b, core)
+                .inOrder();
+    }
+
+    @Test
+    void testFindByMatchesInIdOrder() {
+        List<Interest> added = addAll(4);
+        Interest java =
+                repository.add(
+                        new Interest(
+                                new ObjectId(), "Java", Interest.Category.PROGRAMMING_LANGUAGES));
+        Interest javaAgain =
+                repository.add(
+                        new Interest(new ObjectId(), "Java", Interest.Category.COURSE_CORE));
+
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Java"))
+                .containsExactly(java, javaAgain)
+                .inOrder();
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "interest2"))
+                .containsExactly(added.get(2));
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Rust")).isEmpty();
+    }
+
+    @Test
+    void testFindByFollowsWrites() {
+        Interest item = repository.add(interest("Java"));
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Java"))
+                .containsExactly(item);
+
+        Interest renamed = new Interest(item.getId(), "Kotlin", item.getCategory());
+        repository.update(renamed);
+        Interest added = repository.add(interest("Java"));
+
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Java"))
+                .containsExactly(added);
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Kotlin"))
+                .containsExactly(renamed);
+
+        repository.delete(renamed.getId());
+        assertThat(repository.findBy(KEY_FIELD, Interest::getStudentInterest, "Kotlin")).isEmpty();
+    }
+
+    @Test
+    void testFindByAnyMatchesEachValueOnceInIdOrder() {
+        List<Interest> added = addAll(5);
+        Interest java = repository.add(interest("Java"));
+
+        assertThat(
+                        repository.findByAny(
+                                KEY_FIELD,
+                                Interest::getStudentInterest,
+                                List.of("Java", "interest3", "interest1", "Java", "Rust")))
+                .containsExactly(added.get(1), added.get(3), java)
+                .inOrder();
+        assertThat(repository.findByAny(KEY_FIELD, Interest::getStudentInterest, List.of()))
+                .isEmpty();
+    }
+
+    @Test
+    void testFindByAnyFollowsWrites() {
+        Interest item = repository.add(interest("Java"));
+        List<String> values = List.of("Java", "Kotlin");
+        assertThat(repository.findByAny(KEY_FIELD, Interest::getStudentInterest, values))
+                .containsExactly(item);
+
+        Interest renamed = new Interest(item.getId(), "Scala", item.getCategory());
+        repository.update(renamed);
+        assertThat(repository.findByAny(KEY_FIELD, Interest::getStudentInterest, values))
+                .isEmpty();
+
+        Interest kotlin = repository.add(interest("Kotlin"));
+        repository.delete(renamed.getId());
+        assertThat(repository.findByAny(KEY_FIELD, Interest::getStudentInterest, values))
+                .containsExactly(kotlin);
+    }
+
+    @Test
+    @Tag("load")
+    void testScaling() {
+        Random random = new Random(42);
+        int stored = 0;
+        for (int size : SCALING_SIZES) {
+            long start = System.nanoTime();
+            List<Interest> added = addAll(size - stored);
+            long addNanos = (System.nanoTime() - start) / added.size();
+            stored = size;
+            List<ObjectId> ids = ids(repository.getAll());
+
+            start = System.nanoTime();
+            for (int i = 0; i < SCALING_LOOKUPS; i++) {
+                ObjectId id = ids.get(random.nextInt(ids.size()));
+                assertThat(repository.get(id)).isNotNull();
+            }
+            long getNanos = (System.nanoTime() - start) / SCALING_LOOKUPS;
+
+            start = System.nanoTime();
+            assertThat(repository.count()).isEqualTo(size);
+            long countNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Interest> page = repository.getPage(null, SCALING_PAGE);
+            long firstPageNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int pages = 0;
+            int seen = 0;
+            ObjectId cursor = null;
+            while (!page.isEmpty()) {
+                for (Interest item : page) {
+                    assertThat(cursor == null || item.getId().compareTo(cursor) > 0).isTrue();
+                    cursor = item.getId();
+                }
+                seen += page.size();
+                pages++;
+                page = repository.getPage(cursor, SCALING_PAGE);
+            }
+            long pageNanos = (System.nanoTime() - start) / pages;
+            assertThat(seen).isEqualTo(size);
+
+            log.info(
+                    "{} at {} items: add {} us, get {} us, count {} us, first page {} us,"
+                            + " page walk {} us/page",
+                    getClass().getSimpleName(),
+                    size,
+                    TimeUnit.NANOSECONDS.toMicros(addNanos),
+                    TimeUnit.NANOSECONDS.toMicros(getNanos),
+                    TimeUnit.NANOSECONDS.toMicros(countNanos),
+                    TimeUnit.NANOSECONDS.toMicros(firstPageNanos),
+                    TimeUnit.NANOSECONDS.toMicros(pageNanos));
+        }
+    }
+}
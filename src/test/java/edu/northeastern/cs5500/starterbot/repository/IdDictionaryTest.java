@@ -0,0 +1,50 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class IdDictionaryTest {
+
+    @Test
+    void testNumbersAreDenseAndStable() {
+        IdDictionary dictionary = new IdDictionary();
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+
+        assertThat(dictionary.intern(first)).isEqualTo(0);
+        assertThat(dictionary.intern(second)).isEqualTo(1);
+        assertThat(dictionary.intern(first)).isEqualTo(0);
+        assertThat(dictionary.size()).isEqualTo(2);
+        assertThat(dictionary.idAt(1)).isEqualTo(second);
+    }
+
+    @Test
+    void testLookupOfUnknownId() {
+        IdDictionary dictionary = new IdDictionary();
+        dictionary.intern(new ObjectId());
+
+        assertThat(dictionary.lookup(new ObjectId())).isEqualTo(-1);
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.idAt(1));
+    }
+
+    @Test
+    void testSurvivesGrowth() {
+        IdDictionary dictionary = new IdDictionary();
+        List<ObjectId> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            assertThat(dictionary.intern(id)).isEqualTo(i);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(dictionary.lookup(ids.get(i))).isEqualTo(i);
+            assertThat(dictionary.idAt(i)).isEqualTo(ids.get(i));
+        }
+    }
+}
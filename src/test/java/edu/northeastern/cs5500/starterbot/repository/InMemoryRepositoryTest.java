@@ -0,0 +1,63 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRepositoryTest extends GenericRepositoryConformanceTest {
+    @Override
+    GenericRepository<Interest> newRepository() {
+        return new InMemoryRepository<>();
+    }
+
+    private static Student student(ObjectId... groups) {
+        Student student = new Student();
+        student.setId(new ObjectId());
+        student.setGroupList(new ArrayList<>(List.of(groups)));
+        return student;
+    }
+
+    @Test
+    void testFindByAnyMatchesElementsOfCollectionFields() {
+        InMemoryRepository<Student> students = new InMemoryRepository<>();
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        Student both = students.add(student(first, second));
+        Student onlySecond = students.add(student(second, second));
+        students.add(student());
+
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(first)))
+                .containsExactly(both);
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(first, second)))
+                .containsExactly(both, onlySecond)
+                .inOrder();
+    }
+
+    @Test
+    void testFindByAnyUsesTheLastWrittenElements() {
+        InMemoryRepository<Student> students = new InMemoryRepository<>();
+        ObjectId group = new ObjectId();
+        Student student = students.add(student(group));
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(group)))
+                .containsExactly(student);
+
+        // Leaving changes the list in place, which only counts once it is written back
+        student.getGroupList().remove(group);
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(group)))
+                .containsExactly(student);
+        students.update(student);
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(group)))
+                .isEmpty();
+
+        // A repeated element is removed cleanly along with the item
+        Student twice = students.add(student(group, group));
+        students.delete(twice.getId());
+        assertThat(students.findByAny("groupList", Student::getGroupList, List.of(group)))
+                .isEmpty();
+    }
+}
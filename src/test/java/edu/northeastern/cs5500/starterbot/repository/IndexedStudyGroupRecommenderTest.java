@@ -0,0 +1,80 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class IndexedStudyGroupRecommenderTest {
+    private final InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+    private final StudyGroupRecommender recommender =
+            new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository);
+
+    private static Interest interest(String name) {
+        return Interest.builder()
+                .studentInterest(name)
+                .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                .build();
+    }
+
+    private StudyGroup addGroup(String name, int maxMembers, Interest... interests) {
+        return studyGroupRepository.add(
+                StudyGroup.builder()
+                        .name(name)
+                        .interestSet(Set.of(interests))
+                        .description(name)
+                        .autoApprove(true)
+                        .maxMembers(maxMembers)
+                        .groupLeaderId(new ObjectId())
+                        .customCriteria("")
+                        .build());
+    }
+
+    private Student addStudent(String discordUserId, List<ObjectId> groups, Interest... interests) {
+        return studentRepository.add(
+                Student.builder()
+                        .displayName(discordUserId)
+                        .email(discordUserId + "@northeastern.edu")
+                        .availability(new ArrayList<>())
+                        .discordUserId(discordUserId)
+                        .groupList(new ArrayList<>(groups))
+                        .interestSet(Set.of(interests))
+                        .build());
+    }
+
+    /** Test that groups sharing more interests come first, and ties are in id order */
+    @Test
+    void testOrdersByOverlapThenId() {
+        Interest java = interest("Java");
+        Interest python = interest("Python");
+        StudyGroup javaGroup = addGroup("Java", 10, java);
+        StudyGroup bothGroup = addGroup("Both", 10, java, python);
+        StudyGroup pythonGroup = addGroup("Python", 10, python);
+        Student student = addStudent("1", List.of(), java, python);
+
+        assertThat(recommender.recommend(student))
+                .containsExactly(bothGroup, javaGroup, pythonGroup)
+                .inOrder();
+    }
+
+    /** Test that joined, full and unrelated groups are left out */
+    @Test
+    void testSkipsJoinedFullAndUnrelatedGroups() {
+        Interest java = interest("Java");
+        StudyGroup openGroup = addGroup("Open", 2, java);
+        StudyGroup joinedGroup = addGroup("Joined", 10, java);
+        StudyGroup fullGroup = addGroup("Full", 1, java);
+        addGroup("Unrelated", 10, interest("Python"));
+        addStudent("2", List.of(fullGroup.getId(), openGroup.getId()), java);
+        Student student = addStudent("1", List.of(joinedGroup.getId()), java);
+
+        assertThat(recommender.recommend(student)).containsExactly(openGroup);
+    }
+}
@@ -0,0 +1,195 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.service.MetricsService;
+import edu.northeastern.cs5500.starterbot.service.OpenTelemetry;
+import edu.northeastern.cs5500.starterbot.service.TraceSampler;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentedRepositoryTest extends GenericRepositoryConformanceTest {
+    private static final long DOCUMENT_SIZE = 10;
+
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private OpenTelemetry openTelemetry;
+
+    @Override
+    GenericRepository<Interest> newRepository() {
+        return new InstrumentedRepository<>(
+                new InMemoryRepository<>(), "Interest", new MetricsService());
+    }
+
+    @BeforeEach
+    void setUpTracing() {
+        exporter = InMemorySpanExporter.create();
+        tracerProvider =
+                SdkTracerProvider.builder()
+                        .setSampler(Sampler.alwaysOn())
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build();
+        Tracer tracer = tracerProvider.get("test");
+        openTelemetry =
+                new OpenTelemetry() {
+                    @Override
+                    public Span span(String name) {
+                        return span(name, SpanKind.SERVER);
+                    }
+
+                    @Override
+                    public Span span(String name, SpanKind kind) {
+                        return tracer.spanBuilder(name).setSpanKind(kind).startSpan();
+                    }
+                };
+    }
+
+    @AfterEach
+    void tearDownTracing() {
+        tracerProvider.close();
+    }
+
+    private InstrumentedRepository<Interest> tracedRepository(double ratio) {
+        return new InstrumentedRepository<>(
+                new InMemoryRepository<>(),
+                "Interest",
+                new MetricsService(),
+                openTelemetry,
+                new TraceSampler(ratio),
+                interest -> DOCUMENT_SIZE);
+    }
+
+    private static Interest interest(String name) {
+        return Interest.builder().studentInterest(name).build();
+    }
+
+    private static SpanData onlySpanNamed(List<SpanData> spans, String name) {
+        List<SpanData> named =
+                spans.stream().filter(s -> s.getName().equals(name)).collect(Collectors.toList());
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+
+    /** Test that a sampled call gets a client span with its entity, method and document count */
+    @Test
+    void testSampledCallsGetSpans() {
+        InstrumentedRepository<Interest> repository = tracedRepository(1);
+        repository.add(interest("Java"));
+        repository.add(interest("Python"));
+        repository.add(interest("Rust"));
+
+        repository.getAll();
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertThat(spans).hasSize(4);
+        SpanData add = spans.get(0);
+        assertThat(add.getName()).isEqualTo("Interest.add");
+        assertThat(add.getKind()).isEqualTo(SpanKind.CLIENT);
+        assertThat(add.getAttributes().get(AttributeKey.stringKey("repository.entity")))
+                .isEqualTo("Interest");
+        assertThat(add.getAttributes().get(AttributeKey.stringKey("repository.method")))
+                .isEqualTo("add");
+        assertThat(add.getAttributes().get(AttributeKey.longKey("repository.document_count")))
+                .isEqualTo(1L);
+
+        SpanData getAll = onlySpanNamed(spans, "Interest.getAll");
+        assertThat(getAll.getAttributes().get(AttributeKey.stringKey("repository.method")))
+                .isEqualTo("getAll");
+        assertThat(getAll.getAttributes().get(AttributeKey.longKey("repository.document_count")))
+                .isEqualTo(3L);
+        assertThat(getAll.getAttributes().get(AttributeKey.longKey("repository.byte_size")))
+                .isEqualTo(3 * DOCUMENT_SIZE);
+        assertThat(
+                        getAll.getAttributes()
+                                .get(AttributeKey.booleanKey("repository.byte_size_estimated")))
+                .isNull();
+    }
+
+    /** Test that the byte size of a large result is extrapolated from its first documents */
+    @Test
+    void testLargeResultSizeIsEstimated() {
+        InstrumentedRepository<Interest> repository = tracedRepository(1);
+        int documents = InstrumentedRepository.MAX_SIZED_DOCUMENTS * 3 / 2;
+        for (int i = 0; i < documents; i++) {
+            repository.add(interest("Interest " + i));
+        }
+        exporter.reset();
+
+        repository.getAll();
+
+        SpanData getAll = onlySpanNamed(exporter.getFinishedSpanItems(), "Interest.getAll");
+        assertThat(getAll.getAttributes().get(AttributeKey.longKey("repository.document_count")))
+                .isEqualTo((long) documents);
+        assertThat(getAll.getAttributes().get(AttributeKey.longKey("repository.byte_size")))
+                .isEqualTo(documents * DOCUMENT_SIZE);
+        assertThat(
+                        getAll.getAttributes()
+                                .get(AttributeKey.booleanKey("repository.byte_size_estimated")))
+                .isTrue();
+    }
+
+    /** Test that no spans are started when tracing is off */
+    @Test
+    void testZeroRatioRecordsNoSpans() {
+        InstrumentedRepository<Interest> repository = tracedRepository(0);
+
+        repository.add(interest("Java"));
+        repository.getAll();
+
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    }
+
+    /** Test that a call inside a sampled trace is traced as a child, whatever the ratio */
+    @Test
+    void testCallsInsideSampledTraceAreChildren() {
+        // A ratio this small would almost never sample a root call
+        InstrumentedRepository<Interest> repository = tracedRepository(1e-9);
+
+        Span parent = openTelemetry.span("interaction");
+        try (Scope scope = parent.makeCurrent()) {
+            repository.count();
+        } finally {
+            parent.end();
+        }
+
+        SpanData count = onlySpanNamed(exporter.getFinishedSpanItems(), "Interest.count");
+        assertThat(count.getParentSpanId()).isEqualTo(parent.getSpanContext().getSpanId());
+        assertThat(count.getTraceId()).isEqualTo(parent.getSpanContext().getTraceId());
+    }
+
+    /** Test that a call inside a trace that was not sampled gets no span */
+    @Test
+    void testCallsInsideUnsampledTraceAreSkipped() {
+        SdkTracerProvider unsampledProvider =
+                SdkTracerProvider.builder()
+                        .setSampler(Sampler.alwaysOff())
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build();
+        InstrumentedRepository<Interest> repository = tracedRepository(1);
+
+        Span parent = unsampledProvider.get("test").spanBuilder("interaction").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            repository.add(interest("Java"));
+            repository.getAll();
+        } finally {
+            parent.end();
+            unsampledProvider.close();
+        }
+
+        assertThat(exporter.getFinishedSpanItems()).isEmpty();
+    }
+}
@@ -0,0 +1,39 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Runs the conformance suite against a {@link TestMongoDatabase}. The tests are skipped when no
+ * server answers.
+ */
+class MongoDBRepositoryTest extends GenericRepositoryConformanceTest {
+    static final String DEFAULT_TEST_URI = "mongodb://localhost:27017/starterbot_conformance";
+
+    static TestMongoDatabase testDatabase;
+    static MongoDatabase mongoDatabase;
+
+    @BeforeAll
+    static void connect() {
+        testDatabase = TestMongoDatabase.connect(DEFAULT_TEST_URI);
+        mongoDatabase = testDatabase.mongoDatabase;
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (testDatabase != null) {
+            testDatabase.close();
+        }
+    }
+
+    @Override
+    GenericRepository<Interest> newRepository() {
+        MongoCollection<Interest> collection =
+                mongoDatabase.getCollection(Interest.class.getName(), Interest.class);
+        collection.drop();
+        return new MongoDBRepository<>(collection);
+    }
+}
@@ -0,0 +1,26 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RecommenderStrategyTest {
+    @Test
+    void testDefaultsToIndexed() {
+        assertThat(RecommenderStrategy.fromEnvironment(Map.of()))
+                .isEqualTo(RecommenderStrategy.INDEXED);
+    }
+
+    @Test
+    void testParsesAnyCase() {
+        assertThat(RecommenderStrategy.fromEnvironment(Map.of("RECOMMENDER", " aggregation ")))
+                .isEqualTo(RecommenderStrategy.AGGREGATION);
+    }
+
+    @Test
+    void testInvalidValueIsIgnored() {
+        assertThat(RecommenderStrategy.fromEnvironment(Map.of("RECOMMENDER", "graph")))
+                .isEqualTo(RecommenderStrategy.INDEXED);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RepositoryBackendTest {
+    @Test
+    void testDefaultsToMongoDB() {
+        assertThat(RepositoryBackend.forEntity(Student.class, Map.of()))
+                .isEqualTo(RepositoryBackend.MONGODB);
+    }
+
+    @Test
+    void testEntityOverridesDefault() {
+        Map<String, String> env =
+                Map.of("REPOSITORY_BACKEND", "file", "REPOSITORY_BACKEND_STUDYGROUP", "mongodb");
+
+        assertThat(RepositoryBackend.forEntity(Student.class, env))
+                .isEqualTo(RepositoryBackend.FILE);
+        assertThat(RepositoryBackend.forEntity(StudyGroup.class, env))
+                .isEqualTo(RepositoryBackend.MONGODB);
+    }
+
+    @Test
+    void testInvalidValueIsIgnored() {
+        Map<String, String> env =
+                Map.of("REPOSITORY_BACKEND", "file", "REPOSITORY_BACKEND_STUDENT", "postgres");
+
+        assertThat(RepositoryBackend.forEntity(Student.class, env))
+                .isEqualTo(RepositoryBackend.FILE);
+    }
+
+    @Test
+    void testMongoDBIsUsedUnlessEveryEntityIsElsewhere() {
+        assertThat(RepositoryBackend.isMongoDBUsed(Map.of())).isTrue();
+        assertThat(RepositoryBackend.isMongoDBUsed(Map.of("REPOSITORY_BACKEND", "file")))
+                .isFalse();
+        assertThat(
+                        RepositoryBackend.isMongoDBUsed(
+                                Map.of(
+                                        "REPOSITORY_BACKEND",
+                                        "file",
+                                        "REPOSITORY_BACKEND_OUTBOXENTRY",
+                                        "mongodb")))
+                .isTrue();
+    }
+}
@@ -0,0 +1,177 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.model.Student;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the two {@link StudyGroupRecommender}s on the same generated data, one group for every
+ * ten students, in memory and in a {@link TestMongoDatabase}. Both must recommend the same groups,
+ * and the latency of each is logged. Run with {@code ./gradlew loadTest}; it is skipped when no
+ * server answers.
+ */
+@Slf4j
+@Tag("load")
+class StudyGroupRecommenderLoadTest {
+    static final String DEFAULT_TEST_URI = "mongodb://localhost:27017/starterbot_recommender";
+    static final int INTERESTS = 50;
+    static final int SAMPLES = 200;
+    static final int INSERT_BATCH = 10_000;
+
+    static TestMongoDatabase testDatabase;
+    static MongoDatabase mongoDatabase;
+
+    @BeforeAll
+    static void connect() {
+        testDatabase = TestMongoDatabase.connect(DEFAULT_TEST_URI);
+        mongoDatabase = testDatabase.mongoDatabase;
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (testDatabase != null) {
+            testDatabase.close();
+        }
+    }
+
+    @Test
+    void testTenThousandStudents() {
+        benchmark(10_000);
+    }
+
+    @Test
+    void testHundredThousandStudents() {
+        benchmark(100_000);
+    }
+
+    private void benchmark(int studentCount) {
+        Random random = new Random(studentCount);
+        List<Interest> interests = new ArrayList<>();
+        for (int i = 0; i < INTERESTS; i++) {
+            interests.add(
+                    Interest.builder()
+                            .studentInterest("Interest " + i)
+                            .category(Interest.Category.OTHER_TOPICS)
+                            .build());
+        }
+        List<StudyGroup> groups = new ArrayList<>();
+        for (int i = 0; i < studentCount / 10; i++) {
+            groups.add(
+                    StudyGroup.builder()
+                            .name("Group " + i)
+                            .interestSet(pick(interests, 1 + random.nextInt(3), random))
+                            .description("Generated for the benchmark")
+                            .autoApprove(true)
+                            .maxMembers(5 + random.nextInt(16))
+                            .groupLeaderId(new ObjectId())
+                            .customCriteria("")
+                            .channelId("")
+                            .build());
+        }
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < studentCount; i++) {
+            List<ObjectId> groupList = new ArrayList<>();
+            for (StudyGroup group : pick(groups, random.nextInt(3), random)) {
+                groupList.add(group.getId());
+            }
+            students.add(
+                    Student.builder()
+                            .displayName("Student " + i)
+                            .email("student" + i + "@northeastern.edu")
+                            .availability(new ArrayList<>())
+                            .discordUserId(Integer.toString(i))
+                            .groupList(groupList)
+                            .interestSet(pick(interests, 1 + random.nextInt(3), random))
+                            .build());
+        }
+
+        InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+        InMemoryRepository<Student> studentRepository = new InMemoryRepository<>();
+        groups.forEach(studyGroupRepository::add);
+        students.forEach(studentRepository::add);
+        StudyGroupRecommender indexed =
+                new IndexedStudyGroupRecommender(studyGroupRepository, studentRepository);
+
+        MongoCollection<StudyGroup> studyGroupCollection =
+                mongoDatabase.getCollection(StudyGroup.class.getName(), StudyGroup.class);
+        MongoCollection<Student> studentCollection =
+                mongoDatabase.getCollection(Student.class.getName(), Student.class);
+        studyGroupCollection.drop();
+        studentCollection.drop();
+        insert(studyGroupCollection, groups);
+        insert(studentCollection, students);
+        StudyGroupRecommender aggregation =
+                new AggregationStudyGroupRecommender(studyGroupCollection, studentCollection);
+
+        List<Student> sample = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            sample.add(students.get(random.nextInt(studentCount)));
+        }
+        // Warm up the JIT, the indexes and the server's cache before timing
+        for (Student student : sample) {
+            assertThat(ids(aggregation.recommend(student)))
+                    .containsExactlyElementsIn(ids(indexed.recommend(student)))
+                    .inOrder();
+        }
+        report("indexed", studentCount, sample, indexed::recommend);
+        report("aggregation", studentCount, sample, aggregation::recommend);
+    }
+
+    private static <T> Set<T> pick(List<T> items, int count, Random random) {
+        Set<T> picked = new HashSet<>();
+        while (picked.size() < count) {
+            picked.add(items.get(random.nextInt(items.size())));
+        }
+        return picked;
+    }
+
+    private static <T> void insert(MongoCollection<T> collection, List<T> items) {
+        for (int from = 0; from < items.size(); from += INSERT_BATCH) {
+            collection.insertMany(items.subList(from, Math.min(items.size(), from + INSERT_BATCH)));
+        }
+    }
+
+    private static List<ObjectId> ids(List<StudyGroup> groups) {
+        List<ObjectId> ids = new ArrayList<>();
+        groups.forEach(group -> ids.add(group.getId()));
+        return ids;
+    }
+
+    private static void report(
+            String strategy,
+            int studentCount,
+            List<Student> sample,
+            Function<Student, List<StudyGroup>> recommend) {
+        long[] nanos = new long[sample.size()];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            recommend.apply(sample.get(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        log.info(
+                "{} recommender, {} students: p50 {} us, p99 {} us",
+                strategy,
+                studentCount,
+                TimeUnit.NANOSECONDS.toMicros(nanos[nanos.length / 2]),
+                TimeUnit.NANOSECONDS.toMicros(nanos[nanos.length * 99 / 100]));
+    }
+}
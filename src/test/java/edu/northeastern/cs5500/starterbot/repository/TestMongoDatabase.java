@@ -0,0 +1,70 @@
+package edu.northeastern.cs5500.starterbot.repository;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import edu.northeastern.cs5500.starterbot.service.MongoDBService;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+
+/**
+ * A throwaway database on a local MongoDB, such as {@code docker run -p 27017:27017 mongo}, named
+ * by MONGODB_TEST_URI or else by the default of the test class. Connecting skips the calling tests
+ * when no server answers, and closing drops the database.
+ */
+class TestMongoDatabase implements AutoCloseable {
+    private final MongoClient mongoClient;
+    final MongoDatabase mongoDatabase;
+
+    private TestMongoDatabase(MongoClient mongoClient, MongoDatabase mongoDatabase) {
+        this.mongoClient = mongoClient;
+        this.mongoDatabase = mongoDatabase;
+    }
+
+    /**
+     * Connect with the codecs the bot uses, or skip the calling tests if no server answers.
+     *
+     * @param defaultUri the database to use when MONGODB_TEST_URI is not set
+     * @return the connected database
+     */
+    static TestMongoDatabase connect(String defaultUri) {
+        String uri = new ProcessBuilder().environment().get("MONGODB_TEST_URI");
+        ConnectionString connectionString = new ConnectionString(uri == null ? defaultUri : uri);
+        MongoClient mongoClient =
+                MongoClients.create(
+                        MongoClientSettings.builder()
+                                .applyConnectionString(connectionString)
+                                .codecRegistry(MongoDBService.getCodecRegistry())
+                                .applyToClusterSettings(
+                                        cluster ->
+                                                cluster.serverSelectionTimeout(
+                                                        1, TimeUnit.SECONDS))
+                                .build());
+        MongoDatabase mongoDatabase = mongoClient.getDatabase(connectionString.getDatabase());
+        boolean reachable;
+        try {
+            mongoDatabase.runCommand(new Document("ping", 1));
+            reachable = true;
+        } catch (MongoException e) {
+            reachable = false;
+            mongoClient.close();
+        }
+        assumeTrue(reachable, "No MongoDB at " + connectionString);
+        return new TestMongoDatabase(mongoClient, mongoDatabase);
+    }
+
+    /** Drop the database and disconnect. */
+    @Override
+    public void close() {
+        try {
+            mongoDatabase.drop();
+        } finally {
+            mongoClient.close();
+        }
+    }
+}
@@ -43,6 +43,30 @@ class InterestSeederTest {
                 .isEqualTo(repository.getAll().size()); // Size shouldn't double
     }
 
+    @Test
+    void testSeedInterestsKeepsExistingInterests() {
+        InMemoryRepository<Interest> repository = new InMemoryRepository<>();
+        Interest existing =
+                repository.add(
+                        Interest.builder()
+                                .studentInterest("Java")
+                                .category(Interest.Category.PROGRAMMING_LANGUAGES)
+                                .build());
+        InterestSeeder seeder = getInterestSeeder(repository);
+
+        seeder.seedInterests();
+        long seededCount = repository.count();
+        seeder.seedInterests();
+
+        assertThat(repository.count()).isEqualTo(seededCount);
+        assertThat(repository.get(existing.getId())).isSameInstanceAs(existing);
+        long javaCount =
+                repository.getAll().stream()
+                        .filter(interest -> "Java".equals(interest.getStudentInterest()))
+                        .count();
+        assertThat(javaCount).isEqualTo(1);
+    }
+
     @Test
     void testSeedInterestsAddsSpecificInterests() {
         InMemoryRepository<Interest> repository = new InMemoryRepository<>();
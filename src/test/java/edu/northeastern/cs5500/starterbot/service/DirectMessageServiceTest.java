@@ -0,0 +1,110 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DirectMessageServiceTest {
+    private static final String USER_ID = "905314236824162344";
+
+    private final FakeDirectMessageGateway gateway = new FakeDirectMessageGateway();
+    private final MetricsService metricsService = new MetricsService();
+
+    private DirectMessageService getDirectMessageService() {
+        // No pacing and no backoff so deliveries run immediately
+        return new DirectMessageService(
+                gateway, metricsService, new TokenBucket(1_000_000, 1_000_000), 0);
+    }
+
+    /** Test that messages queued for the same user are sent as one message */
+    @Test
+    void testMessagesToSameUserAreCoalesced() throws InterruptedException {
+        DirectMessageService directMessageService = getDirectMessageService();
+        directMessageService.send(USER_ID, "first");
+        directMessageService.send(USER_ID, "second");
+        assertThat(directMessageService.getPendingCount()).isEqualTo(2);
+
+        directMessageService.drain();
+
+        assertThat(gateway.sentTo(USER_ID)).containsExactly("first\n\nsecond");
+        assertThat(directMessageService.getPendingCount()).isEqualTo(0);
+    }
+
+    /** Test that the private channel is opened once and reused afterwards */
+    @Test
+    void testPrivateChannelIsCached() throws InterruptedException {
+        DirectMessageService directMessageService = getDirectMessageService();
+        directMessageService.send(USER_ID, "first");
+        directMessageService.drain();
+        directMessageService.send(USER_ID, "second");
+        directMessageService.drain();
+
+        assertThat(gateway.openedFor).containsExactly(USER_ID);
+        assertThat(gateway.sentTo(USER_ID)).containsExactly("first", "second").inOrder();
+        assertThat(metricsService.scrape()).contains("cache_hit_ratio{cache=\"dmChannels\"} 0.5");
+    }
+
+    /** Test that a retryable failure is retried and the channel is reopened */
+    @Test
+    void testRetryableFailureIsRetried() throws InterruptedException {
+        DirectMessageService directMessageService = getDirectMessageService();
+        gateway.sendFailures.add(new RetryableDirectMessageException("server error"));
+        directMessageService.send(USER_ID, "hello");
+
+        directMessageService.drain();
+
+        assertThat(gateway.sentTo(USER_ID)).containsExactly("hello");
+        assertThat(gateway.openedFor).containsExactly(USER_ID, USER_ID);
+        assertThat(gateway.evicted).containsExactly(FakeDirectMessageGateway.channelIdFor(USER_ID));
+    }
+
+    /** Test that a permanent failure drops the message without retrying */
+    @Test
+    void testPermanentFailureIsNotRetried() throws InterruptedException {
+        DirectMessageService directMessageService = getDirectMessageService();
+        gateway.sendFailures.add(new DirectMessageException("cannot send to user"));
+        directMessageService.send(USER_ID, "hello");
+
+        directMessageService.drain();
+
+        assertThat(gateway.sentTo(USER_ID)).isEmpty();
+        assertThat(directMessageService.getPendingCount()).isEqualTo(0);
+    }
+
+    /** Test that a delivery is given up after the maximum number of attempts */
+    @Test
+    void testRetriesStopAfterMaxAttempts() throws InterruptedException {
+        DirectMessageService directMessageService = getDirectMessageService();
+        for (int i = 0; i < DirectMessageService.MAX_ATTEMPTS + 1; i++) {
+            gateway.sendFailures.add(new RetryableDirectMessageException("server error"));
+        }
+        directMessageService.send(USER_ID, "hello");
+
+        directMessageService.drain();
+
+        assertThat(gateway.sentTo(USER_ID)).isEmpty();
+        assertThat(gateway.sendFailures).hasSize(1);
+    }
+
+    /** Test that coalescing never produces a message over Discord's limit */
+    @Test
+    void testCoalesceRespectsMessageLimit() {
+        String longMessage = "a".repeat(DirectMessageService.MAX_MESSAGE_LENGTH + 10);
+
+        List<String> chunks =
+                DirectMessageService.coalesce(List.of("short", longMessage, "tail"));
+
+        assertThat(chunks)
+                .containsExactly(
+                        "short",
+                        "a".repeat(DirectMessageService.MAX_MESSAGE_LENGTH),
+                        "a".repeat(10) + "\n\ntail")
+                .inOrder();
+        for (String chunk : chunks) {
+            assertThat(chunk.length()).isAtMost(DirectMessageService.MAX_MESSAGE_LENGTH);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/** Stands in for Discord: records the channels created and the access granted to them. */
+class FakeChannelGateway implements ChannelGateway {
+    final List<String> createdChannels = new ArrayList<>();
+    final List<String> grants = new ArrayList<>();
+
+    static String channelIdFor(String name) {
+        return "channel-" + name;
+    }
+
+    @Override
+    public void grantAccess(@Nonnull String channelId, @Nonnull String discordUserId) {
+        grants.add(channelId + ":" + discordUserId);
+    }
+
+    @Override
+    @Nonnull
+    public String createPrivateChannel(
+            @Nonnull String guildId,
+            @Nonnull String leaderDiscordUserId,
+            @Nonnull String name,
+            @Nonnull String topic) {
+        String channelId = channelIdFor(name);
+        createdChannels.add(channelId);
+        return channelId;
+    }
+}
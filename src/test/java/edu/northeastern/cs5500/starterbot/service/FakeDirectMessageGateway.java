@@ -0,0 +1,47 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/** Stands in for Discord: records what would have been sent and can be told to fail. */
+class FakeDirectMessageGateway implements DirectMessageGateway {
+    final List<String> openedFor = new ArrayList<>();
+    final Map<String, List<String>> sentByChannel = new HashMap<>();
+    final List<String> evicted = new ArrayList<>();
+    final Deque<DirectMessageException> sendFailures = new ArrayDeque<>();
+
+    static String channelIdFor(String discordUserId) {
+        return "dm-" + discordUserId;
+    }
+
+    @Override
+    @Nonnull
+    public String openPrivateChannel(@Nonnull String discordUserId) {
+        openedFor.add(discordUserId);
+        return channelIdFor(discordUserId);
+    }
+
+    @Override
+    public void sendMessage(@Nonnull String channelId, @Nonnull String content) {
+        DirectMessageException failure = sendFailures.poll();
+        if (failure != null) {
+            throw failure;
+        }
+        sentByChannel.computeIfAbsent(channelId, k -> new ArrayList<>()).add(content);
+    }
+
+    @Override
+    public void evictChannel(@Nonnull String channelId) {
+        evicted.add(channelId);
+    }
+
+    List<String> sentTo(String discordUserId) {
+        return sentByChannel.getOrDefault(channelIdFor(discordUserId), new ArrayList<>());
+    }
+}
@@ -0,0 +1,40 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class HeartbeatTest {
+    /** Test that a heartbeat is unhealthy until it has been started and has beaten */
+    @Test
+    void testHeartbeatUnhealthyBeforeFirstBeat() {
+        Heartbeat heartbeat =
+                new Heartbeat("reminders", Duration.ofMinutes(1), new SteppingClock());
+
+        assertThat(heartbeat.isHealthy()).isFalse();
+        heartbeat.markStarted();
+        assertThat(heartbeat.isHealthy()).isFalse();
+        assertThat(heartbeat.getAge()).isNull();
+
+        heartbeat.beat();
+        assertThat(heartbeat.isHealthy()).isTrue();
+        assertThat(heartbeat.getAge()).isEqualTo(Duration.ZERO);
+    }
+
+    /** Test that a heartbeat becomes unhealthy after missing several periods */
+    @Test
+    void testHeartbeatUnhealthyWhenStale() {
+        SteppingClock clock = new SteppingClock();
+        Heartbeat heartbeat = new Heartbeat("reminders", Duration.ofMinutes(1), clock);
+        heartbeat.markStarted();
+        heartbeat.beat();
+
+        clock.now = clock.now.plus(Duration.ofMinutes(3));
+        assertThat(heartbeat.isHealthy()).isTrue();
+
+        clock.now = clock.now.plus(Duration.ofSeconds(1));
+        assertThat(heartbeat.isHealthy()).isFalse();
+        assertThat(heartbeat.getAge()).isEqualTo(Duration.ofSeconds(181));
+    }
+}
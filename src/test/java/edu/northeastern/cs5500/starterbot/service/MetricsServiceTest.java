@@ -0,0 +1,160 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.northeastern.cs5500.starterbot.model.Interest;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import edu.northeastern.cs5500.starterbot.repository.InstrumentedRepository;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class MetricsServiceTest {
+
+    /** Test that recorded latencies show up as a summary with quantiles, sum and count */
+    @Test
+    void testScrapeRendersLatencySummary() {
+        MetricsService metricsService = new MetricsService();
+        LatencyHistogram histogram =
+                metricsService.latency(MetricsService.SLASH_COMMAND_LATENCY, "findgroups");
+        histogram.recordMillis(10);
+        histogram.recordMillis(20);
+
+        String scrape = metricsService.scrape();
+
+        assertThat(scrape).contains("# TYPE discord_slash_command_seconds summary");
+        assertThat(scrape)
+                .contains("discord_slash_command_seconds{command=\"findgroups\",quantile=\"0.99\"}");
+        assertThat(scrape).contains("discord_slash_command_seconds_count{command=\"findgroups\"} 2");
+    }
+
+    /** Test that looking up the same series twice returns the same instance */
+    @Test
+    void testLatencyReturnsSameSeries() {
+        MetricsService metricsService = new MetricsService();
+
+        assertThat(metricsService.latency(MetricsService.MODAL_LATENCY, "profile"))
+                .isSameInstanceAs(metricsService.latency(MetricsService.MODAL_LATENCY, "profile"));
+    }
+
+    /** Test that gauges render their current value, which can go down as well as up */
+    @Test
+    void testScrapeRendersGauge() {
+        MetricsService metricsService = new MetricsService();
+        AtomicLong inUse =
+                metricsService.gauge(
+                        MetricsService.MONGODB_POOL_IN_USE, "sync", "localhost:27017");
+        inUse.addAndGet(3);
+        inUse.decrementAndGet();
+        metricsService
+                .gauge(MetricsService.MONGODB_POOL_IN_USE, "reactive", "localhost:27017")
+                .incrementAndGet();
+
+        String scrape = metricsService.scrape();
+
+        assertThat(scrape).contains("# TYPE mongodb_pool_connections_in_use gauge");
+        assertThat(scrape)
+                .contains(
+                        "mongodb_pool_connections_in_use{client=\"sync\",server=\"localhost:27017\"} 2");
+        assertThat(scrape)
+                .contains(
+                        "mongodb_pool_connections_in_use{client=\"reactive\",server=\"localhost:27017\"} 1");
+    }
+
+    /** Test that an undeclared metric name is rejected */
+    @Test
+    void testLatencyRejectsUnknownMetric() {
+        MetricsService metricsService = new MetricsService();
+
+        assertThrows(
+                IllegalArgumentException.class, () -> metricsService.latency("unknown", "label"));
+    }
+
+    /** Test that cache hits and misses are rendered as counters and a hit ratio */
+    @Test
+    void testScrapeRendersCacheHitRatio() {
+        MetricsService metricsService = new MetricsService();
+        metricsService.recordCacheHit("channels");
+        metricsService.recordCacheHit("channels");
+        metricsService.recordCacheHit("channels");
+        metricsService.recordCacheMiss("channels");
+
+        String scrape = metricsService.scrape();
+
+        assertThat(scrape).contains("cache_hits_total{cache=\"channels\"} 3");
+        assertThat(scrape).contains("cache_misses_total{cache=\"channels\"} 1");
+        assertThat(scrape).contains("cache_hit_ratio{cache=\"channels\"} 0.75");
+    }
+
+    /** Test that an instrumented repository records its calls by entity and method */
+    @Test
+    void testInstrumentedRepositoryRecordsOperations() {
+        MetricsService metricsService = new MetricsService();
+        InstrumentedRepository<Interest> repository =
+                new InstrumentedRepository<>(
+                        new InMemoryRepository<>(), "Interest", metricsService);
+
+        repository.add(Interest.builder().studentInterest("Java").build());
+        repository.getAll();
+        repository.getAll();
+
+        String scrape = metricsService.scrape();
+
+        assertThat(scrape)
+                .contains(
+                        "repository_operation_seconds_count{entity=\"Interest\",method=\"add\"} 1");
+        assertThat(scrape)
+                .contains(
+                        "repository_operation_seconds_count{entity=\"Interest\",method=\"getAll\"} 2");
+    }
+
+    /** Test that an instrumented repository only creates series for the methods it calls */
+    @Test
+    void testInstrumentedRepositoryCreatesSeriesLazily() {
+        MetricsService metricsService = new MetricsService();
+        InstrumentedRepository<Interest> repository =
+                new InstrumentedRepository<>(
+                        new InMemoryRepository<>(), "Interest", metricsService);
+
+        assertThat(metricsService.scrape()).doesNotContain("entity=\"Interest\"");
+
+        repository.count();
+
+        String scrape = metricsService.scrape();
+        assertThat(scrape).contains("method=\"count\"");
+        assertThat(scrape).doesNotContain("method=\"getAll\"");
+    }
+
+    /** Test that a value beyond the family's trackable range is clamped rather than rejected */
+    @Test
+    void testLatencyClampsSlowValues() {
+        MetricsService metricsService = new MetricsService();
+        LatencyHistogram histogram =
+                metricsService.latency(MetricsService.SCHEDULER_TICK, "meetings");
+
+        histogram.recordMillis(TimeUnit.HOURS.toMillis(2));
+
+        assertThat(metricsService.scrape())
+                .contains("scheduler_tick_seconds_count{scheduler=\"meetings\"} 1");
+        assertThat(histogram.snapshot().getMaxValue())
+                .isGreaterThan(TimeUnit.MINUTES.toMicros(59));
+        assertThat(histogram.snapshot().getMaxValue()).isLessThan(TimeUnit.MINUTES.toMicros(61));
+    }
+
+    /** Test that families declared with a higher ceiling keep values beyond a minute */
+    @Test
+    void testReminderLagTracksMinutesLateReminders() {
+        MetricsService metricsService = new MetricsService();
+        LatencyHistogram reminderLag = metricsService.latency(MetricsService.REMINDER_LAG, "");
+        LatencyHistogram command =
+                metricsService.latency(MetricsService.SLASH_COMMAND_LATENCY, "findgroups");
+
+        reminderLag.recordMillis(TimeUnit.MINUTES.toMillis(30));
+        command.recordMillis(TimeUnit.MINUTES.toMillis(30));
+
+        assertThat(reminderLag.snapshot().getMaxValue())
+                .isGreaterThan(TimeUnit.MINUTES.toMicros(29));
+        assertThat(command.snapshot().getMaxValue()).isLessThan(TimeUnit.MINUTES.toMicros(2));
+    }
+}
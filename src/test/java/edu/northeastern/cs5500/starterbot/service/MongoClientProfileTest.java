@@ -0,0 +1,90 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MongoClientProfileTest {
+
+    /** Test that an empty environment gives the defaults */
+    @Test
+    void testDefaults() {
+        MongoClientProfile profile = MongoClientProfile.fromEnvironment(Map.of());
+
+        assertThat(profile.getCompressors()).containsExactly("zstd", "snappy").inOrder();
+        assertThat(profile.getMaxPoolSize()).isEqualTo(100);
+        assertThat(profile.getMaxWaitMillis()).isEqualTo(2_000);
+        assertThat(profile.getReadPreference()).isEqualTo(ReadPreference.primary());
+    }
+
+    /** Test that every setting can be overridden from the environment */
+    @Test
+    void testFromEnvironment() {
+        MongoClientProfile profile =
+                MongoClientProfile.fromEnvironment(
+                        Map.of(
+                                MongoClientProfile.COMPRESSORS_ENV, "Snappy, zlib",
+                                MongoClientProfile.MIN_POOL_SIZE_ENV, "5",
+                                MongoClientProfile.MAX_POOL_SIZE_ENV, "20",
+                                MongoClientProfile.MAX_WAIT_MS_ENV, "500",
+                                MongoClientProfile.READ_PREFERENCE_ENV, "secondaryPreferred"));
+
+        assertThat(profile.getCompressors()).containsExactly("snappy", "zlib").inOrder();
+        assertThat(profile.getMinPoolSize()).isEqualTo(5);
+        assertThat(profile.getMaxPoolSize()).isEqualTo(20);
+        assertThat(profile.getMaxWaitMillis()).isEqualTo(500);
+        assertThat(profile.getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+    }
+
+    /** Test that invalid values are ignored rather than failing startup */
+    @Test
+    void testInvalidValuesFallBackToDefaults() {
+        MongoClientProfile profile =
+                MongoClientProfile.fromEnvironment(
+                        Map.of(
+                                MongoClientProfile.MAX_POOL_SIZE_ENV, "lots",
+                                MongoClientProfile.MAX_WAIT_MS_ENV, "-1",
+                                MongoClientProfile.READ_PREFERENCE_ENV, "nearest-ish",
+                                MongoClientProfile.COMPRESSORS_ENV, "zstd,brotli"));
+
+        assertThat(profile.getMaxPoolSize()).isEqualTo(100);
+        assertThat(profile.getMaxWaitMillis()).isEqualTo(2_000);
+        assertThat(profile.getReadPreference()).isEqualTo(ReadPreference.primary());
+        assertThat(profile.getMongoCompressors()).hasSize(1);
+    }
+
+    /** Test that the profile ends up in the driver settings */
+    @Test
+    void testApplyTo() {
+        MongoClientProfile profile =
+                MongoClientProfile.builder().maxPoolSize(7).maxWaitMillis(250).build();
+
+        MongoClientSettings settings = profile.applyTo(MongoClientSettings.builder()).build();
+
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(7);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(250);
+        assertThat(settings.getCompressorList()).hasSize(2);
+    }
+
+    /** Test that clients sharing a profile split its pool sizes between them */
+    @Test
+    void testShareOfSplitsPoolBudget() {
+        MongoClientProfile profile =
+                MongoClientProfile.builder().minPoolSize(4).maxPoolSize(100).build();
+
+        MongoClientProfile share = profile.shareOf(2);
+
+        assertThat(share.getMaxPoolSize()).isEqualTo(50);
+        assertThat(share.getMinPoolSize()).isEqualTo(2);
+        assertThat(share.getMaxWaitMillis()).isEqualTo(profile.getMaxWaitMillis());
+        assertThat(MongoClientProfile.builder().maxPoolSize(1).build().shareOf(2).getMaxPoolSize())
+                .isEqualTo(1);
+        assertThat(MongoClientProfile.builder().maxPoolSize(0).build().shareOf(2).getMaxPoolSize())
+                .isEqualTo(0);
+    }
+}
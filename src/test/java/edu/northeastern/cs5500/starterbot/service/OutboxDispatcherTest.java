@@ -0,0 +1,172 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import edu.northeastern.cs5500.starterbot.controller.OutboxController;
+import edu.northeastern.cs5500.starterbot.controller.StudyGroupController;
+import edu.northeastern.cs5500.starterbot.exception.DirectMessageException;
+import edu.northeastern.cs5500.starterbot.exception.RetryableDirectMessageException;
+import edu.northeastern.cs5500.starterbot.model.OutboxEntry;
+import edu.northeastern.cs5500.starterbot.model.StudyGroup;
+import edu.northeastern.cs5500.starterbot.repository.InMemoryRepository;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class OutboxDispatcherTest {
+    private static final String USER_ID = "905314236824162344";
+    private static final String GUILD_ID = "1317335221544161291";
+    private static final String CHANNEL_ID = "1317335221544161292";
+
+    private final InMemoryRepository<OutboxEntry> outboxRepository = new InMemoryRepository<>();
+    private final InMemoryRepository<StudyGroup> studyGroupRepository = new InMemoryRepository<>();
+    private final OutboxController outboxController = new OutboxController(outboxRepository);
+    private final StudyGroupController studyGroupController =
+            new StudyGroupController(
+                    studyGroupRepository, new InMemoryRepository<>(), new InMemoryRepository<>());
+    private final FakeChannelGateway channelGateway = new FakeChannelGateway();
+    private final FakeDirectMessageGateway directMessageGateway = new FakeDirectMessageGateway();
+    private final MetricsService metricsService = new MetricsService();
+
+    private OutboxDispatcher getOutboxDispatcher(double routeRequestsPerSecond) {
+        // No global pacing and no backoff so retries are due immediately
+        return new OutboxDispatcher(
+                outboxController,
+                studyGroupController,
+                channelGateway,
+                directMessageGateway,
+                metricsService,
+                new TokenBucket(1_000_000, 1_000_000),
+                routeRequestsPerSecond,
+                0);
+    }
+
+    private OutboxDispatcher getOutboxDispatcher() {
+        return getOutboxDispatcher(1_000_000);
+    }
+
+    private StudyGroup createStudyGroup() {
+        StudyGroup studyGroup =
+                StudyGroup.builder()
+                        .name("Graphs")
+                        .interestSet(new HashSet<>())
+                        .description("Graph algorithms")
+                        .autoApprove(true)
+                        .maxMembers(10)
+                        .groupLeaderId(new ObjectId())
+                        .customCriteria("")
+                        .build();
+        return studyGroupRepository.add(studyGroup);
+    }
+
+    /** Test that direct messages queued for the same user are sent as one message */
+    @Test
+    void testDirectMessagesToSameUserAreBatched() throws InterruptedException {
+        outboxController.sendDirectMessage(USER_ID, "first");
+        outboxController.sendDirectMessage(USER_ID, "second");
+
+        getOutboxDispatcher().deliverDue(LocalDateTime.now());
+
+        assertThat(directMessageGateway.openedFor).containsExactly(USER_ID);
+        assertThat(directMessageGateway.sentTo(USER_ID)).containsExactly("first\n\nsecond");
+        assertThat(outboxController.getPendingCount()).isEqualTo(0);
+        assertThat(metricsService.counter(MetricsService.OUTBOX_DELIVERED, "DIRECT_MESSAGE").sum())
+                .isEqualTo(2L);
+    }
+
+    /** Test that a grant queued before its group's channel exists waits for the channel */
+    @Test
+    void testGrantWaitsForChannelCreation() throws InterruptedException {
+        StudyGroup studyGroup = createStudyGroup();
+        outboxController.grantChannelAccess(studyGroup, USER_ID);
+        outboxController.createGroupChannel(GUILD_ID, studyGroup, "leader", "Welcome!");
+        OutboxDispatcher outboxDispatcher = getOutboxDispatcher();
+
+        outboxDispatcher.deliverDue(LocalDateTime.now());
+
+        String channelId = FakeChannelGateway.channelIdFor("graphs");
+        assertThat(channelGateway.createdChannels).containsExactly(channelId);
+        assertThat(channelGateway.grants).isEmpty();
+        assertThat(studyGroupRepository.get(studyGroup.getId()).getChannelId())
+                .isEqualTo(channelId);
+
+        outboxDispatcher.deliverDue(LocalDateTime.now());
+
+        assertThat(channelGateway.grants).containsExactly(channelId + ":" + USER_ID);
+        assertThat(directMessageGateway.sentByChannel.get(channelId)).containsExactly("Welcome!");
+        assertThat(outboxController.getPendingCount()).isEqualTo(0);
+    }
+
+    /** Test that a failed call is retried before the calls queued behind it on its route */
+    @Test
+    void testRetryKeepsRouteInOrder() throws InterruptedException {
+        directMessageGateway.sendFailures.add(new RetryableDirectMessageException("server error"));
+        outboxController.postToChannel(CHANNEL_ID, "first");
+        outboxController.postToChannel(CHANNEL_ID, "second");
+        OutboxDispatcher outboxDispatcher = getOutboxDispatcher();
+
+        outboxDispatcher.deliverDue(LocalDateTime.now());
+
+        assertThat(directMessageGateway.sentByChannel).isEmpty();
+        assertThat(outboxController.getPendingCount()).isEqualTo(2);
+
+        outboxDispatcher.deliverDue(LocalDateTime.now());
+
+        assertThat(directMessageGateway.sentByChannel.get(CHANNEL_ID))
+                .containsExactly("first", "second")
+                .inOrder();
+        assertThat(outboxController.getPendingCount()).isEqualTo(0);
+    }
+
+    /** Test that a call Discord rejects for good is dropped instead of retried */
+    @Test
+    void testPermanentFailureIsDropped() throws InterruptedException {
+        directMessageGateway.sendFailures.add(new DirectMessageException("cannot send"));
+        outboxController.postToChannel(CHANNEL_ID, "hello");
+
+        getOutboxDispatcher().deliverDue(LocalDateTime.now());
+
+        assertThat(directMessageGateway.sentByChannel).isEmpty();
+        assertThat(outboxController.getPendingCount()).isEqualTo(0);
+        assertThat(metricsService.counter(MetricsService.OUTBOX_DROPPED, "CHANNEL_MESSAGE").sum())
+                .isEqualTo(1L);
+    }
+
+    /** Test that a route out of permits waits without holding up other routes */
+    @Test
+    void testRoutesArePacedSeparately() throws InterruptedException {
+        for (int i = 0; i < OutboxDispatcher.ROUTE_BURST + 2; i++) {
+            outboxController.postToChannel(CHANNEL_ID, "message " + i);
+        }
+        outboxController.postToChannel("other", "hello");
+
+        // Refills too slowly to matter, so each route only has its burst
+        getOutboxDispatcher(1e-9).deliverDue(LocalDateTime.now());
+
+        List<String> sent = directMessageGateway.sentByChannel.get(CHANNEL_ID);
+        assertThat(sent).hasSize(OutboxDispatcher.ROUTE_BURST);
+        assertThat(directMessageGateway.sentByChannel.get("other")).containsExactly("hello");
+        assertThat(outboxController.getPendingCount()).isEqualTo(2);
+    }
+
+    /** Test that a route with a long backlog does not keep other routes from being read */
+    @Test
+    void testBackedUpRouteDoesNotStarveOthers() throws InterruptedException {
+        for (int i = 0; i < 2_000; i++) {
+            outboxController.postToChannel(CHANNEL_ID, "message " + i);
+        }
+        outboxController.postToChannel("other", "hello");
+
+        Map<String, List<OutboxEntry>> due =
+                outboxController.getDueByRoute(LocalDateTime.now(), 5);
+        assertThat(due.get("channel:" + CHANNEL_ID)).hasSize(5);
+        assertThat(due.get("channel:other")).hasSize(1);
+
+        getOutboxDispatcher(1e-9).deliverDue(LocalDateTime.now());
+
+        assertThat(directMessageGateway.sentByChannel.get("other")).containsExactly("hello");
+    }
+}
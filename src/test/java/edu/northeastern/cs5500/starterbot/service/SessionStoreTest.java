@@ -0,0 +1,80 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SessionStoreTest {
+    private final SteppingClock clock = new SteppingClock();
+    private final List<String> evictions = new ArrayList<>();
+
+    private SessionStore<String> getSessionStore(int maxSessions) {
+        SessionStore<String> store =
+                new SessionStore<>("test", Duration.ofMinutes(30), maxSessions, clock);
+        store.addEvictionListener(
+                (discordUserId, value, cause) -> evictions.add(discordUserId + ":" + cause));
+        return store;
+    }
+
+    /* Test that sessions idle for longer than the timeout are dropped */
+    @Test
+    void testIdleSessionExpires() {
+        SessionStore<String> store = getSessionStore(10);
+        store.put("alice", "draft");
+
+        clock.now = clock.now.plus(Duration.ofMinutes(31));
+
+        assertThat(store.get("alice")).isNull();
+        assertThat(store.size()).isEqualTo(0);
+        assertThat(evictions).containsExactly("alice:EXPIRED");
+    }
+
+    /* Test that using a session keeps it alive */
+    @Test
+    void testGetKeepsSessionAlive() {
+        SessionStore<String> store = getSessionStore(10);
+        store.put("alice", "draft");
+        store.put("bob", "draft");
+
+        clock.now = clock.now.plus(Duration.ofMinutes(20));
+        assertThat(store.get("alice")).isEqualTo("draft");
+        clock.now = clock.now.plus(Duration.ofMinutes(20));
+
+        store.evictExpired();
+        assertThat(store.get("alice")).isEqualTo("draft");
+        assertThat(store.get("bob")).isNull();
+        assertThat(evictions).containsExactly("bob:EXPIRED");
+    }
+
+    /* Test that a full store makes room by dropping the least recently used session */
+    @Test
+    void testFullStoreEvictsLeastRecentlyUsed() {
+        SessionStore<String> store = getSessionStore(2);
+        store.put("alice", "draft");
+        store.put("bob", "draft");
+        store.get("alice");
+
+        store.put("carol", "draft");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("bob")).isNull();
+        assertThat(store.get("alice")).isEqualTo("draft");
+        assertThat(evictions).containsExactly("bob:SIZE");
+    }
+
+    /* Test that a user has one session per flow and explicit removal is not reported */
+    @Test
+    void testPutReplacesAndRemoveIsSilent() {
+        SessionStore<String> store = getSessionStore(10);
+        store.put("alice", "first");
+        store.put("alice", "second");
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.remove("alice")).isEqualTo("second");
+        assertThat(store.remove("alice")).isNull();
+        assertThat(evictions).isEmpty();
+    }
+}
@@ -0,0 +1,26 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/** A clock the test can move forward. */
+class SteppingClock extends Clock {
+    Instant now = Instant.parse("2024-12-01T18:00:00Z");
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
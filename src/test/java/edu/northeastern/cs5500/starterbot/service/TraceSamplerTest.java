@@ -0,0 +1,64 @@
+package edu.northeastern.cs5500.starterbot.service;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+class TraceSamplerTest {
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String SPAN_ID = "b7ad6b7169203331";
+
+    private Span parent(boolean sampled) {
+        return Span.wrap(
+                SpanContext.create(
+                        TRACE_ID,
+                        SPAN_ID,
+                        sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
+                        TraceState.getDefault()));
+    }
+
+    /** Test that a ratio of 0 never samples, even inside a sampled trace */
+    @Test
+    void testZeroRatioNeverSamples() {
+        TraceSampler traceSampler = new TraceSampler(0);
+
+        assertThat(traceSampler.isEnabled()).isFalse();
+        assertThat(traceSampler.shouldSample()).isFalse();
+        try (Scope scope = parent(true).makeCurrent()) {
+            assertThat(traceSampler.shouldSample()).isFalse();
+        }
+    }
+
+    /** Test that a root operation is always sampled with a ratio of 1 */
+    @Test
+    void testFullRatioSamplesRoots() {
+        TraceSampler traceSampler = new TraceSampler(1);
+
+        assertThat(traceSampler.shouldSample()).isTrue();
+    }
+
+    /** Test that the parent's sampling decision is followed */
+    @Test
+    void testFollowsParentDecision() {
+        TraceSampler traceSampler = new TraceSampler(1);
+
+        try (Scope scope = parent(false).makeCurrent()) {
+            assertThat(traceSampler.shouldSample()).isFalse();
+        }
+        try (Scope scope = parent(true).makeCurrent()) {
+            assertThat(traceSampler.shouldSample()).isTrue();
+        }
+    }
+
+    /** Test that out of range ratios are clamped */
+    @Test
+    void testRatioIsClamped() {
+        assertThat(new TraceSampler(-1).getRatio()).isEqualTo(0.0);
+        assertThat(new TraceSampler(2).getRatio()).isEqualTo(1.0);
+    }
+}